@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.analysis;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.evaluation.CompiledFormula;
+import de.featjar.formula.structure.IFormula;
+
+/**
+ * Tests configurations by evaluating a formula on them.
+ * The formula is compiled once for the current variable map, such that each test only runs the
+ * {@link CompiledFormula compiled formula}.
+ * Like {@link ExternalConfigurationTester}, returns {@code 0} for configurations that satisfy the formula and
+ * {@code 1} for configurations that do not.
+ *
+ * @author agent
+ */
+public class FormulaConfigurationTester implements IConfigurationTester {
+
+    private final IFormula formula;
+
+    private VariableMap variableMap;
+    private Result<CompiledFormula> compiledFormula;
+
+    public FormulaConfigurationTester(IFormula formula) {
+        this.formula = formula;
+    }
+
+    public FormulaConfigurationTester(IFormula formula, VariableMap variableMap) {
+        this.formula = formula;
+        setVariableMap(variableMap);
+    }
+
+    @Override
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    @Override
+    public void setVariableMap(VariableMap variableMap) {
+        this.variableMap = variableMap;
+        compiledFormula = CompiledFormula.compile(formula, variableMap);
+    }
+
+    @Override
+    public Result<Integer> test(BooleanAssignment configuration) {
+        if (compiledFormula == null) {
+            return Result.empty(new Problem("No variable map was set", Problem.Severity.ERROR));
+        }
+        return compiledFormula.flatMap(compiled -> {
+            Boolean value = compiled.evaluate(configuration);
+            return value == null
+                    ? Result.empty(new Problem("Configuration does not determine the formula", Problem.Severity.ERROR))
+                    : Result.of(value ? 0 : 1);
+        });
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.composition;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.Assignment;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.evaluation.BitSlicedEvaluator;
+import de.featjar.formula.structure.IExpression;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The lines of a file together with a tree of its annotated blocks.
+ * Each annotation is parsed and compiled only once, when the file is {@link Preprocessor#compile(List) compiled}.
+ * Afterwards, any number of variants can be derived from the file in a single pass over the tree, evaluating the
+ * presence condition of each block for all variants at once.
+ *
+ * @author Sebastian Krieter
+ */
+public class AnnotatedFile {
+
+    /**
+     * A sequence of nodes that are either ranges of plain lines or conditional blocks.
+     */
+    static final class Block {
+        private final List<Object> nodes = new ArrayList<>();
+    }
+
+    /**
+     * A range of lines that are copied to each variant in which the surrounding block is present.
+     */
+    static final class Lines {
+        private final int from;
+        private int to;
+
+        private Lines(int from) {
+            this.from = from;
+            this.to = from + 1;
+        }
+    }
+
+    /**
+     * A chain of {@code if}, {@code elif}, and {@code else} branches.
+     * At most one branch is present in each variant.
+     */
+    static final class Conditional {
+        private final List<Branch> branches = new ArrayList<>();
+    }
+
+    /**
+     * A branch of a conditional block.
+     * Else branches have no condition.
+     */
+    static final class Branch {
+        private final IExpression condition;
+        private final BitSlicedEvaluator evaluator;
+        private final int lineNumber;
+        private final Block block = new Block();
+
+        private Branch(IExpression condition, BitSlicedEvaluator evaluator, int lineNumber) {
+            this.condition = condition;
+            this.evaluator = evaluator;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    private final List<String> lines;
+    private final VariableMap variableMap;
+    private final Block root;
+
+    AnnotatedFile(List<String> lines, VariableMap variableMap, Block root) {
+        this.lines = lines;
+        this.variableMap = variableMap;
+        this.root = root;
+    }
+
+    static void addLine(Block block, int lineIndex) {
+        List<Object> nodes = block.nodes;
+        Object last = nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+        if (last instanceof Lines && ((Lines) last).to == lineIndex) {
+            ((Lines) last).to++;
+        } else {
+            nodes.add(new Lines(lineIndex));
+        }
+    }
+
+    static Conditional addConditional(Block block) {
+        Conditional conditional = new Conditional();
+        block.nodes.add(conditional);
+        return conditional;
+    }
+
+    static Block addBranch(
+            Conditional conditional, IExpression condition, BitSlicedEvaluator evaluator, int lineNumber) {
+        Branch branch = new Branch(condition, evaluator, lineNumber);
+        conditional.branches.add(branch);
+        return branch.block;
+    }
+
+    /**
+     * {@return whether preprocessing may change the file, i.e., whether the file contains any annotations}
+     */
+    public boolean hasAnnotations() {
+        if (root.nodes.isEmpty()) {
+            return false;
+        }
+        if (root.nodes.size() > 1 || !(root.nodes.get(0) instanceof Lines)) {
+            return true;
+        }
+        Lines range = (Lines) root.nodes.get(0);
+        return range.from != 0 || range.to != lines.size();
+    }
+
+    /**
+     * {@return the lines of the file, including annotations}
+     */
+    public List<String> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * {@return all variables that occur in annotations of the file}
+     */
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * {@return the variable names that occur in annotations of the file}
+     */
+    public List<String> getVariableNames() {
+        return variableMap.getVariableNames();
+    }
+
+    /**
+     * {@return the lines that remain after preprocessing with the given variable assignment}
+     *
+     * @param assignment the variable assignment
+     */
+    public List<String> preprocess(Assignment assignment) {
+        return preprocess(List.of(assignment)).get(0);
+    }
+
+    /**
+     * {@return for each given variable assignment, the lines that remain after preprocessing}
+     *
+     * @param assignments the variable assignments
+     */
+    public List<List<String>> preprocess(List<Assignment> assignments) {
+        List<List<String>> variants = new ArrayList<>(assignments.size());
+        for (int i = 0; i < assignments.size(); i++) {
+            variants.add(new ArrayList<>());
+        }
+        preprocess(assignments, (line, presentVariants) -> {
+            for (int i = presentVariants.nextSetBit(0); i >= 0; i = presentVariants.nextSetBit(i + 1)) {
+                variants.get(i).add(line);
+            }
+        });
+        return variants;
+    }
+
+    /**
+     * Derives a variant for each given variable assignment in one pass over the file.
+     * Passes each line of the file that is present in at least one variant in order to the given consumer, together
+     * with the indices of all variants that contain the line.
+     * The consumer must not modify the bitset.
+     *
+     * @param assignments the variable assignments
+     * @param lineConsumer the consumer for the lines
+     */
+    public void preprocess(List<Assignment> assignments, BiConsumer<String, BitSet> lineConsumer) {
+        preprocessLineIndices(assignments, (presentVariants, i) -> lineConsumer.accept(lines.get(i), presentVariants));
+    }
+
+    /**
+     * Derives a variant for each given variable assignment in one pass over the file.
+     * Works like {@link #preprocess(List, BiConsumer)}, but passes the index of each line in {@link #getLines()}
+     * instead of the line itself.
+     * The consumer must not modify the bitset.
+     *
+     * @param assignments the variable assignments
+     * @param lineIndexConsumer the consumer for the line indices
+     */
+    public void preprocessLineIndices(List<Assignment> assignments, ObjIntConsumer<BitSet> lineIndexConsumer) {
+        BooleanAssignmentList booleanAssignments = new BooleanAssignmentList(variableMap, assignments.size());
+        for (Assignment assignment : assignments) {
+            int[] literals = new int[variableMap.size()];
+            int i = 0;
+            for (String variableName : variableMap.getVariableNames()) {
+                Object value = assignment.getValue(variableName).orElse(null);
+                if (value instanceof Boolean) {
+                    int index = variableMap.get(variableName).get();
+                    literals[i++] = (Boolean) value ? index : -index;
+                }
+            }
+            booleanAssignments.add(new BooleanAssignment(Arrays.copyOf(literals, i)));
+        }
+        preprocessLineIndices(booleanAssignments, lineIndexConsumer);
+    }
+
+    /**
+     * Derives a variant for each given boolean assignment in one pass over the file.
+     * Works like {@link #preprocessLineIndices(List, ObjIntConsumer)}, but takes the assignments as literals over the
+     * indices of {@link #getVariableMap()}, such that no {@link Assignment} has to be created for each variant.
+     * Variables that are not assigned are treated as missing.
+     * The consumer must not modify the bitset.
+     *
+     * @param booleanAssignments the boolean assignments
+     * @param lineIndexConsumer the consumer for the line indices
+     */
+    public void preprocessLineIndices(
+            BooleanAssignmentList booleanAssignments, ObjIntConsumer<BitSet> lineIndexConsumer) {
+        BitSet allVariants = new BitSet(booleanAssignments.size());
+        allVariants.set(0, booleanAssignments.size());
+        process(root, allVariants, booleanAssignments, lineIndexConsumer);
+    }
+
+    private void process(
+            Block block,
+            BitSet presentVariants,
+            BooleanAssignmentList booleanAssignments,
+            ObjIntConsumer<BitSet> lineIndexConsumer) {
+        for (Object node : block.nodes) {
+            if (node instanceof Lines) {
+                Lines range = (Lines) node;
+                for (int i = range.from; i < range.to; i++) {
+                    lineIndexConsumer.accept(presentVariants, i);
+                }
+            } else {
+                BitSet remainingVariants = (BitSet) presentVariants.clone();
+                for (Branch branch : ((Conditional) node).branches) {
+                    if (remainingVariants.isEmpty()) {
+                        break;
+                    }
+                    BitSet branchVariants = branch.condition == null
+                            ? (BitSet) remainingVariants.clone()
+                            : evaluate(branch, remainingVariants, booleanAssignments);
+                    remainingVariants.andNot(branchVariants);
+                    if (!branchVariants.isEmpty()) {
+                        process(branch.block, branchVariants, booleanAssignments, lineIndexConsumer);
+                    }
+                }
+            }
+        }
+    }
+
+    private BitSet evaluate(Branch branch, BitSet presentVariants, BooleanAssignmentList booleanAssignments) {
+        BitSet trueVariants;
+        BitSet undeterminedVariants;
+        if (branch.evaluator != null) {
+            BitSet[] results = branch.evaluator.evaluateTrueAndFalse(booleanAssignments);
+            trueVariants = results[0];
+            trueVariants.and(presentVariants);
+            undeterminedVariants = (BitSet) presentVariants.clone();
+            undeterminedVariants.andNot(trueVariants);
+            undeterminedVariants.andNot(results[1]);
+        } else {
+            trueVariants = new BitSet();
+            undeterminedVariants = new BitSet();
+            for (int i = presentVariants.nextSetBit(0); i >= 0; i = presentVariants.nextSetBit(i + 1)) {
+                Object evaluation = branch.condition
+                        .evaluate(booleanAssignments.get(i), variableMap)
+                        .orElse(null);
+                if (evaluation instanceof Boolean) {
+                    if ((Boolean) evaluation) {
+                        trueVariants.set(i);
+                    }
+                } else {
+                    undeterminedVariants.set(i);
+                }
+            }
+        }
+        if (!undeterminedVariants.isEmpty()) {
+            FeatJAR.log()
+                    .warning(
+                            "Line %d: could not evaluate annotation for %d variants: %s",
+                            branch.lineNumber,
+                            undeterminedVariants.cardinality(),
+                            lines.get(branch.lineNumber - 1));
+        }
+        return trueVariants;
+    }
+}
@@ -104,6 +104,9 @@ public class ExpressionParser {
         } catch (final ParseException e) {
             problemList.add(new ParseProblem(e, 0));
             return Result.empty(problemList);
+        } catch (final IllegalStateException | ClassCastException e) {
+            problemList.add(new ParseProblem(new ParseException("invalid expression: " + formulaString, 0), 0));
+            return Result.empty(problemList);
         }
     }
 
@@ -165,9 +168,9 @@ public class ExpressionParser {
                 case OPERATOR:
                     Class<? extends IExpression> value = (Class<? extends IExpression>) token.value;
                     if (value == Literal.class) {
-                        expression = (IFormula) iterator.next().value;
+                        expression = parseOperand(iterator);
                     } else if (value == Not.class) {
-                        expression = new Not((IFormula) iterator.next().value);
+                        expression = new Not((IFormula) parseOperand(iterator));
                     } else if (value == And.class) {
                         expression = new And((IFormula) expression, (IFormula) parseSubExpression(iterator).value);
                     } else if (value == Or.class) {
@@ -194,6 +197,33 @@ public class ExpressionParser {
         return new Token(TokenClass.EXPRESSION, expression, -1, -1);
     }
 
+    @SuppressWarnings("unchecked")
+    private IExpression parseOperand(ListIterator<Token> iterator) {
+        if (!iterator.hasNext()) {
+            throw new IllegalStateException();
+        }
+        Token token = iterator.next();
+        switch (token.type) {
+            case QUOTED_IDENTIFIER:
+            case IDENTIFIER:
+                return new Literal((String) token.value);
+            case NUMBER:
+                return new Constant(token.value);
+            case EXPRESSION:
+                return (IExpression) token.value;
+            case OPERATOR:
+                Class<? extends IExpression> value = (Class<? extends IExpression>) token.value;
+                if (value == Literal.class) {
+                    return parseOperand(iterator);
+                } else if (value == Not.class) {
+                    return new Not((IFormula) parseOperand(iterator));
+                }
+                throw new IllegalStateException();
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
     private List<Token> tokenize(String expression) {
         final ArrayList<Token> tokens = new ArrayList<>();
         final StringBuilder tokenBuilder = new StringBuilder();
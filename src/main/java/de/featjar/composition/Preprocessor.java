@@ -22,14 +22,17 @@ package de.featjar.composition;
 
 import de.featjar.base.FeatJAR;
 import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.Assignment;
+import de.featjar.formula.evaluation.BitSlicedEvaluator;
 import de.featjar.formula.io.textual.Symbols;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -42,108 +45,6 @@ public class Preprocessor {
     private final Pattern annotationPattern;
     private final Pattern startAnnotationPattern;
 
-    private class Filter implements Predicate<String> {
-
-        private final Assignment assignment;
-
-        private final LinkedList<IExpression> expressionStack = new LinkedList<>();
-        private final LinkedList<Boolean> evaluationStack = new LinkedList<>();
-
-        private int lineNumber;
-
-        public Filter(Assignment assignment) {
-            this.assignment = assignment;
-        }
-
-        @Override
-        public boolean test(String line) {
-            lineNumber++;
-            Matcher matcher = annotationPattern.matcher(line);
-            if (matcher.matches()) {
-                if (matcher.group(2) != null) {
-                    if (expressionStack.isEmpty()) {
-                        FeatJAR.log().warning("Line %d: no annotation to end", lineNumber);
-                    } else {
-                        expressionStack.pop();
-                        evaluationStack.pop();
-                    }
-                    return false;
-                } else if (matcher.group(3) != null) {
-                    if (expressionStack.isEmpty()) {
-                        FeatJAR.log().warning("Line %d: no annotation for else", lineNumber);
-                    } else {
-                        Boolean eval = evaluationStack.pop();
-                        if (evaluationStack.isEmpty() || evaluationStack.peek()) {
-                            evaluationStack.push(!eval);
-                        } else {
-                            evaluationStack.push(Boolean.FALSE);
-                        }
-                    }
-                    return false;
-                } else if (matcher.group(6) != null) {
-                    if (expressionStack.isEmpty()) {
-                        FeatJAR.log().warning("Line %d: no annotation for elif", lineNumber);
-                    } else {
-                        Boolean eval = evaluationStack.pop();
-                        if (evaluationStack.isEmpty() || evaluationStack.peek()) {
-                            evaluationStack.push(!eval);
-                        } else {
-                            evaluationStack.push(Boolean.FALSE);
-                        }
-                    }
-                    Result<IExpression> parse = annotationParser.parse(matcher.group(7));
-                    if (parse.isPresent()) {
-                        IExpression annotationExpression = parse.get();
-                        expressionStack.push(annotationExpression);
-                        if (evaluationStack.isEmpty() || evaluationStack.peek()) {
-                            Object evaluation =
-                                    annotationExpression.evaluate(assignment).orElse(null);
-                            if (evaluation instanceof Boolean) {
-                                evaluationStack.push((Boolean) evaluation);
-                            } else {
-                                FeatJAR.log().warning("Line %d: could not evaluate annotation: %s", lineNumber, line);
-                                evaluationStack.push(Boolean.FALSE);
-                            }
-                        } else {
-                            evaluationStack.push(Boolean.FALSE);
-                        }
-                    } else {
-                        FeatJAR.log().warning("Line %d: could not parse annotation: %s", lineNumber, line);
-                        return true;
-                    }
-                    return false;
-                } else if (matcher.group(4) != null) {
-                    Result<IExpression> parse = annotationParser.parse(matcher.group(5));
-                    if (parse.isPresent()) {
-                        IExpression annotationExpression = parse.get();
-                        expressionStack.push(annotationExpression);
-                        if (evaluationStack.isEmpty() || evaluationStack.peek()) {
-                            Object evaluation =
-                                    annotationExpression.evaluate(assignment).orElse(null);
-                            if (evaluation instanceof Boolean) {
-                                evaluationStack.push((Boolean) evaluation);
-                            } else {
-                                FeatJAR.log().warning("Line %d: could not evaluate annotation: %s", lineNumber, line);
-                                evaluationStack.push(Boolean.FALSE);
-                            }
-                        } else {
-                            evaluationStack.push(Boolean.FALSE);
-                        }
-                        return false;
-                    } else {
-                        FeatJAR.log().warning("Line %d: could not parse annotation: %s", lineNumber, line);
-                        return true;
-                    }
-                } else {
-                    FeatJAR.log().warning("Line %d: syntax error: %s", lineNumber, line);
-                    return true;
-                }
-            } else {
-                return evaluationStack.isEmpty() || evaluationStack.peek();
-            }
-        }
-    }
-
     private class VariableNames implements Function<String, Stream<Variable>> {
 
         private int lineNumber;
@@ -175,16 +76,97 @@ public class Preprocessor {
     }
 
     /**
-     * {@return a filtered stream that contains only lines that remain after preprocessing with the given variable assignment}
-     *
-     * <b>Note</b>: The return stream is <b>not state less</b>.
-     * It is not suitable for parallel consumption.
+     * {@return a stream that contains only lines that remain after preprocessing with the given variable assignment}
+     * The lines are {@link #compile(List) compiled} first, thus the given stream is consumed completely.
+     * An {@code endif} closes a complete chain of {@code if}, {@code elif}, and {@code else} annotations.
      *
      * @param lines the line stream
      * @param assignment the variable assignment
      */
     public Stream<String> preprocess(Stream<String> lines, Assignment assignment) {
-        return lines.sequential().filter(new Filter(assignment));
+        return compile(lines.collect(Collectors.toList())).preprocess(assignment).stream();
+    }
+
+    /**
+     * Parses all annotations in the given lines and builds a tree of the annotated blocks.
+     * The returned file can be used to derive many variants without parsing the annotations again.
+     * Lines with annotations that cannot be parsed are kept as plain lines.
+     * An {@code endif} closes a complete chain of {@code if}, {@code elif}, and {@code else} annotations.
+     *
+     * @param lines the lines of the file
+     * @return the annotated file
+     */
+    public AnnotatedFile compile(List<String> lines) {
+        List<IExpression> conditions = new ArrayList<>();
+        List<Integer> conditionLines = new ArrayList<>();
+        LinkedHashSet<String> variableNames = new LinkedHashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            Matcher matcher = startAnnotationPattern.matcher(lines.get(i));
+            if (matcher.matches()) {
+                Result<IExpression> parse = annotationParser.parse(matcher.group(2));
+                if (parse.isPresent()) {
+                    conditions.add(parse.get());
+                    conditionLines.add(i);
+                    parse.get().getVariableStream().map(Variable::getName).forEach(variableNames::add);
+                }
+            }
+        }
+        VariableMap variableMap = new VariableMap(variableNames);
+
+        AnnotatedFile.Block root = new AnnotatedFile.Block();
+        LinkedList<AnnotatedFile.Conditional> conditionalStack = new LinkedList<>();
+        LinkedList<AnnotatedFile.Block> blockStack = new LinkedList<>();
+        blockStack.push(root);
+        int nextCondition = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            final String line = lines.get(i);
+            final int lineNumber = i + 1;
+            Matcher matcher = annotationPattern.matcher(line);
+            if (matcher.matches()) {
+                IExpression condition = null;
+                if (nextCondition < conditionLines.size() && conditionLines.get(nextCondition) == i) {
+                    condition = conditions.get(nextCondition++);
+                }
+                if (matcher.group(2) != null) {
+                    if (conditionalStack.isEmpty()) {
+                        FeatJAR.log().warning("Line %d: no annotation to end", lineNumber);
+                    } else {
+                        conditionalStack.pop();
+                        blockStack.pop();
+                    }
+                } else if (matcher.group(3) != null) {
+                    if (conditionalStack.isEmpty()) {
+                        FeatJAR.log().warning("Line %d: no annotation for else", lineNumber);
+                    } else {
+                        blockStack.pop();
+                        blockStack.push(AnnotatedFile.addBranch(conditionalStack.peek(), null, null, lineNumber));
+                    }
+                } else if (matcher.group(4) != null || matcher.group(6) != null) {
+                    if (condition == null) {
+                        FeatJAR.log().warning("Line %d: could not parse annotation: %s", lineNumber, line);
+                        AnnotatedFile.addLine(blockStack.peek(), i);
+                        continue;
+                    }
+                    BitSlicedEvaluator evaluator = BitSlicedEvaluator.compile(condition, variableMap).orElse(null);
+                    if (matcher.group(6) != null && !conditionalStack.isEmpty()) {
+                        blockStack.pop();
+                    } else {
+                        if (matcher.group(6) != null) {
+                            FeatJAR.log().warning("Line %d: no annotation for elif", lineNumber);
+                        }
+                        conditionalStack.push(AnnotatedFile.addConditional(blockStack.peek()));
+                    }
+                    blockStack.push(
+                            AnnotatedFile.addBranch(conditionalStack.peek(), condition, evaluator, lineNumber));
+                } else {
+                    FeatJAR.log().warning("Line %d: syntax error: %s", lineNumber, line);
+                    AnnotatedFile.addLine(blockStack.peek(), i);
+                }
+            } else {
+                AnnotatedFile.addLine(blockStack.peek(), i);
+            }
+        }
+        return new AnnotatedFile(new ArrayList<>(lines), variableMap, root);
     }
 
     public List<String> extractVariableNames(Stream<String> lines) {
@@ -26,26 +26,46 @@ import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.data.Result;
 import de.featjar.base.io.IO;
+import de.featjar.composition.AnnotatedFile;
 import de.featjar.composition.Preprocessor;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.Assignment;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.io.BooleanAssignmentListFormats;
 import de.featjar.formula.io.textual.CPPAssignmentFormat;
 import de.featjar.formula.io.textual.JavaSymbols;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class PreprocessorCommand extends ACommand {
 
     public static enum Mode {
         PROCESS,
+        PROCESS_BATCH,
         PRINT_VARIABLES,
         PRINT_ANNOTATIONS
     }
@@ -60,6 +80,10 @@ public class PreprocessorCommand extends ACommand {
             .setDescription("Path to configuration file")
             .setValidator(Option.PathValidator);
 
+    public static final Option<Path> SAMPLE_OPTION = Option.newOption("sample", Option.PathParser)
+            .setDescription("Path to sample file with one configuration per variant (only for batch mode)")
+            .setValidator(Option.PathValidator);
+
     public static final Option<Mode> MODE_OPTION = Option.newEnumOption("mode", Mode.class)
             .setDefaultValue(Mode.PROCESS)
             .setDescription("Mode of operation");
@@ -73,6 +97,16 @@ public class PreprocessorCommand extends ACommand {
             .setDefaultValue("#")
             .setDescription("The prefix that precedes each annotation");
 
+    /**
+     * Number of configurations that are processed together in one pass over a file in batch mode.
+     */
+    private static final int CONFIGURATIONS_PER_PASS = 64;
+
+    /**
+     * Algorithm used to compare existing outputs with new variants in batch mode.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
     @Override
     public int run(OptionList optionParser) {
         Path in = optionParser.getResult(INPUT_OPTION).orElseThrow();
@@ -84,6 +118,25 @@ public class PreprocessorCommand extends ACommand {
 
         Mode mode = optionParser.getResult(MODE_OPTION).orElseThrow();
 
+        if (mode == Mode.PROCESS_BATCH) {
+            if (out == null) {
+                FeatJAR.log().error("Batch mode requires an output directory.");
+                return 1;
+            }
+            Path samplePath = optionParser.getResult(SAMPLE_OPTION).orElse(null);
+            if (samplePath == null) {
+                FeatJAR.log().error("Batch mode requires a sample file.");
+                return 1;
+            }
+            return processBatch(
+                    in,
+                    out,
+                    samplePath,
+                    optionParser.getResult(MISSING_VARIABLES_OPTION).orElseThrow(),
+                    charset,
+                    annotationPrefix);
+        }
+
         Stream<String> stream = null;
         try {
             switch (mode) {
@@ -117,7 +170,6 @@ public class PreprocessorCommand extends ACommand {
                     try {
                         writer.write(line);
                         writer.newLine();
-                        writer.flush();
                     } catch (IOException e) {
                         FeatJAR.log().error(e);
                     }
@@ -146,29 +198,279 @@ public class PreprocessorCommand extends ACommand {
             return Stream.empty();
         }
 
+        AnnotatedFile annotatedFile = preprocessor.compile(Files.readAllLines(in, charset));
         final Assignment assignment;
         switch (missingVariables) {
             case FALSE:
                 assignment = addMissingVariablesToAssignment(
-                        parsedAssignment.get(),
-                        preprocessor.extractVariableNames(Files.lines(in, charset)),
-                        Boolean.FALSE);
+                        parsedAssignment.get(), annotatedFile.getVariableNames(), Boolean.FALSE);
                 break;
             case IGNORE:
-                assignment = addMissingVariablesToAssignment(
-                        parsedAssignment.get(), preprocessor.extractVariableNames(Files.lines(in, charset)), null);
+                assignment =
+                        addMissingVariablesToAssignment(parsedAssignment.get(), annotatedFile.getVariableNames(), null);
                 break;
             case TRUE:
                 assignment = addMissingVariablesToAssignment(
-                        parsedAssignment.get(),
-                        preprocessor.extractVariableNames(Files.lines(in, charset)),
-                        Boolean.TRUE);
+                        parsedAssignment.get(), annotatedFile.getVariableNames(), Boolean.TRUE);
                 break;
             default:
                 throw new IllegalStateException(String.valueOf(missingVariables));
         }
 
-        return preprocessor.preprocess(Files.lines(in, charset), assignment);
+        return annotatedFile.preprocess(assignment).stream();
+    }
+
+    private int processBatch(
+            Path in,
+            Path out,
+            Path samplePath,
+            MissingVariables missingVariables,
+            Charset charset,
+            String annotationPrefix) {
+        Result<BooleanAssignmentList> sample = IO.load(samplePath, BooleanAssignmentListFormats.getInstance());
+        if (sample.isEmpty()) {
+            FeatJAR.log().problems(sample);
+            return 1;
+        }
+        final BooleanAssignmentList configurations = sample.get();
+        final Path inputDirectory = Files.isDirectory(in) ? in : in.toAbsolutePath().getParent();
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(in)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+            return 1;
+        }
+
+        // the expression parser is not thread-safe
+        ThreadLocal<Preprocessor> preprocessor =
+                ThreadLocal.withInitial(() -> new Preprocessor(annotationPrefix, JavaSymbols.INSTANCE));
+        BatchStatistic statistic = new BatchStatistic();
+        files.parallelStream().forEach(file -> {
+            try {
+                processFile(
+                        file,
+                        inputDirectory.relativize(file.toAbsolutePath()),
+                        out,
+                        configurations,
+                        missingVariables,
+                        charset,
+                        preprocessor,
+                        statistic);
+            } catch (IOException | UncheckedIOException e) {
+                FeatJAR.log().error("Could not process file %s", file);
+                FeatJAR.log().error(e);
+                statistic.errors.incrementAndGet();
+            }
+        });
+        FeatJAR.log()
+                .info(
+                        "Processed %d files for %d configurations: %d written, %d unchanged, %d errors",
+                        files.size(),
+                        configurations.size(),
+                        statistic.written.get(),
+                        statistic.unchanged.get(),
+                        statistic.errors.get());
+        return statistic.errors.get() == 0 ? 0 : 1;
+    }
+
+    private static class BatchStatistic {
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+    }
+
+    private void processFile(
+            Path file,
+            Path relativePath,
+            Path out,
+            BooleanAssignmentList configurations,
+            MissingVariables missingVariables,
+            Charset charset,
+            ThreadLocal<Preprocessor> preprocessor,
+            BatchStatistic statistic)
+            throws IOException {
+        final byte[] content = Files.readAllBytes(file);
+        final int numberOfConfigurations = configurations.size();
+        final List<String> lines = new ArrayList<>();
+        final List<String> lineTerminators = new ArrayList<>();
+        try {
+            splitLines(charset.newDecoder().decode(ByteBuffer.wrap(content)), lines, lineTerminators);
+        } catch (CharacterCodingException e) {
+            // binary files are copied unchanged
+            final byte[] digest = digest(content);
+            for (int i = 0; i < numberOfConfigurations; i++) {
+                write(out, i, relativePath, content, digest, statistic);
+            }
+            return;
+        }
+
+        final AnnotatedFile annotatedFile = preprocessor.get().compile(lines);
+        if (!annotatedFile.hasAnnotations()) {
+            final byte[] digest = digest(content);
+            for (int i = 0; i < numberOfConfigurations; i++) {
+                write(out, i, relativePath, content, digest, statistic);
+            }
+            return;
+        }
+
+        final VariableMap variableMap = annotatedFile.getVariableMap();
+        final VariableMap sampleVariableMap = configurations.getVariableMap();
+        final int[] variableIndices = new int[sampleVariableMap.maxIndex() + 1];
+        final int[] missingLiterals = new int[variableMap.maxIndex()];
+        for (String variableName : annotatedFile.getVariableNames()) {
+            final int index = variableMap.get(variableName).orElseThrow();
+            sampleVariableMap.get(variableName).ifPresent(sampleIndex -> variableIndices[sampleIndex] = index);
+            switch (missingVariables) {
+                case FALSE:
+                    missingLiterals[index - 1] = -index;
+                    break;
+                case IGNORE:
+                    break;
+                case TRUE:
+                    missingLiterals[index - 1] = index;
+                    break;
+                default:
+                    throw new IllegalStateException(String.valueOf(missingVariables));
+            }
+        }
+
+        final int numberOfPasses = (numberOfConfigurations + CONFIGURATIONS_PER_PASS - 1) / CONFIGURATIONS_PER_PASS;
+        IntStream.range(0, numberOfPasses).parallel().forEach(pass -> {
+            final int from = pass * CONFIGURATIONS_PER_PASS;
+            final int to = Math.min(numberOfConfigurations, from + CONFIGURATIONS_PER_PASS);
+            // configurations that agree on all variables of the file share one variant
+            final BooleanAssignmentList variantAssignments = new BooleanAssignmentList(variableMap, to - from);
+            final HashMap<BooleanAssignment, Integer> variantIndices = new HashMap<>();
+            final int[] variantOfConfiguration = new int[to - from];
+            int configurationIndex = 0;
+            for (BooleanAssignment configuration : configurations.views(from, to)) {
+                final BooleanAssignment variantAssignment =
+                        project(configuration.get(), variableIndices, missingLiterals);
+                final Integer variantIndex = variantIndices.putIfAbsent(variantAssignment, variantIndices.size());
+                if (variantIndex == null) {
+                    variantAssignments.add(variantAssignment);
+                    variantOfConfiguration[configurationIndex++] = variantAssignments.size() - 1;
+                } else {
+                    variantOfConfiguration[configurationIndex++] = variantIndex;
+                }
+            }
+            final StringBuilder[] variants = new StringBuilder[variantAssignments.size()];
+            for (int i = 0; i < variants.length; i++) {
+                variants[i] = new StringBuilder();
+            }
+            annotatedFile.preprocessLineIndices(variantAssignments, (presentVariants, line) -> {
+                for (int i = presentVariants.nextSetBit(0); i >= 0; i = presentVariants.nextSetBit(i + 1)) {
+                    variants[i].append(lines.get(line)).append(lineTerminators.get(line));
+                }
+            });
+            final byte[][] contents = new byte[variants.length][];
+            final byte[][] digests = new byte[variants.length][];
+            for (int i = 0; i < variants.length; i++) {
+                contents[i] = variants[i].toString().getBytes(charset);
+                digests[i] = digest(contents[i]);
+            }
+            for (int i = from; i < to; i++) {
+                final int variantIndex = variantOfConfiguration[i - from];
+                try {
+                    write(out, i, relativePath, contents[variantIndex], digests[variantIndex], statistic);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * {@return the literals of the given configuration restricted to the variables of a file}
+     * The literals are ordered by the index of their variable in the file, such that configurations which agree on
+     * all variables of the file yield equal assignments.
+     *
+     * @param configuration the literals of the configuration
+     * @param variableIndices the index in the file for each variable index in the configuration, or 0
+     * @param missingLiterals the literal for each variable of the file that is not assigned by the configuration, or 0
+     */
+    private static BooleanAssignment project(int[] configuration, int[] variableIndices, int[] missingLiterals) {
+        final int[] literals = Arrays.copyOf(missingLiterals, missingLiterals.length);
+        for (int literal : configuration) {
+            final int variable = Math.abs(literal);
+            if (variable < variableIndices.length && variableIndices[variable] != 0) {
+                final int index = variableIndices[variable];
+                literals[index - 1] = literal > 0 ? index : -index;
+            }
+        }
+        int size = 0;
+        for (int literal : literals) {
+            if (literal != 0) {
+                literals[size++] = literal;
+            }
+        }
+        return new BooleanAssignment(size == literals.length ? literals : Arrays.copyOf(literals, size));
+    }
+
+    /**
+     * Splits the given text into lines like {@link String#lines()}, but also keeps the terminator of each line, such
+     * that lines which are present in a variant are written with their original line endings.
+     */
+    private static void splitLines(CharSequence text, List<String> lines, List<String> lineTerminators) {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                int end = i;
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                lines.add(text.subSequence(start, end).toString());
+                lineTerminators.add(text.subSequence(end, i + 1).toString());
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            lines.add(text.subSequence(start, length).toString());
+            lineTerminators.add("");
+        }
+    }
+
+    /**
+     * Writes the content for the given variant, unless the file already exists with the same content.
+     * Skipping unchanged files preserves their modification time, such that build tools do not recompile them.
+     * Existing files are compared by their size and digest, so they are never loaded completely.
+     */
+    private static void write(
+            Path out, int variantIndex, Path relativePath, byte[] content, byte[] digest, BatchStatistic statistic)
+            throws IOException {
+        Path target = out.resolve(String.valueOf(variantIndex)).resolve(relativePath);
+        if (Files.isRegularFile(target)
+                && Files.size(target) == content.length
+                && MessageDigest.isEqual(digest(target), digest)) {
+            statistic.unchanged.incrementAndGet();
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Files.write(target, content);
+        statistic.written.incrementAndGet();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] digest(byte[] content) {
+        return createDigest().digest(content);
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        MessageDigest digest = createDigest();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
     }
 
     private Assignment addMissingVariablesToAssignment(
@@ -51,6 +51,12 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
 
     private static final long serialVersionUID = 1614980283996088122L;
 
+    /**
+     * Maximal ratio between the size of a marker array and the number of elements and look-ups for which
+     * {@link #markVariables(int...)} and {@link #markNegatedLiterals(int...)} use a marker array.
+     */
+    private static final int MARKER_ARRAY_FACTOR = 8;
+
     /**
      * Constructs a new literal array from the given clause with all literals
      * removed that evaluate to {@code false}. Returns {@code null} if any literal
@@ -174,6 +180,17 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         return new BooleanAssignment(newElements);
     }
 
+    /**
+     * Changes the literals in this assignment to a new mapping using a precomputed plan.
+     * This creates a copy of this assignment.
+     *
+     * @param remappingPlan the remapping plan
+     * @return the new assignment with changed mapping
+     */
+    public BooleanAssignment remap(RemappingPlan remappingPlan) {
+        return new BooleanAssignment(remappingPlan.remap(elements));
+    }
+
     public BooleanAssignment shuffle(Random random) {
         return new BooleanAssignment(shuffle(elements, random));
     }
@@ -182,10 +199,12 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         if (variable < 0) {
             throw new IllegalArgumentException(String.format("%d is negative", variable));
         }
-        return IntStream.range(0, elements.length)
-                .filter(i -> Math.abs(elements[i]) == variable)
-                .findFirst()
-                .orElse(-1);
+        for (int i = 0; i < elements.length; i++) {
+            if (Math.abs(elements[i]) == variable) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public int[] indicesOfVariable(int variable) {
@@ -202,43 +221,150 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
     }
 
     public final boolean containsAnyVariable(int... integers) {
-        return Arrays.stream(integers).anyMatch(integer -> containsVariable(integer));
+        for (int integer : integers) {
+            if (containsVariable(integer)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public final boolean containsAllVariables(int... integers) {
-        return Arrays.stream(integers).allMatch(integer -> containsVariable(integer));
+        for (int integer : integers) {
+            if (!containsVariable(integer)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public final boolean containsNoneVariables(int... integers) {
-        return Arrays.stream(integers).noneMatch(integer -> containsVariable(integer));
+        return !containsAnyVariable(integers);
     }
 
     /**
-     * {@return the intersection of this integer list with the given integers}
+     * Marks all elements of this assignment whose variable is contained in the given variables.
+     * Uses a marker array over all variables of this assignment and thus runs in linear time.
+     * If the largest variable is much larger than the number of elements, the given variables are sorted and searched
+     * instead, such that no marker array needs to be allocated.
+     * Subclasses that support constant-time look-up of variables may override this method.
      *
-     * @param integers the integers
+     * @param variables the variables
+     * @return an array that contains {@code true} at each index of an element whose variable is contained in the given
+     *         variables
      */
-    public int[] retainAllVariablesInts(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOfVariable(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
+    protected boolean[] markVariables(int... variables) {
+        final int maxVariable = maxVariable();
+        final boolean[] marker = new boolean[elements.length];
+        if (isSparse(maxVariable, variables.length)) {
+            final int[] sortedVariables = Arrays.copyOf(variables, variables.length);
+            Arrays.sort(sortedVariables);
+            if (sortedVariables.length > 0 && sortedVariables[0] < 0) {
+                throw new IllegalArgumentException(String.format("%d is negative", sortedVariables[0]));
+            }
+            for (int i = 0; i < elements.length; i++) {
+                marker[i] = Arrays.binarySearch(sortedVariables, Math.abs(elements[i])) >= 0;
+            }
+            return marker;
+        }
+        final boolean[] variableMarker = new boolean[maxVariable + 1];
+        for (int variable : variables) {
+            if (variable < 0) {
+                throw new IllegalArgumentException(String.format("%d is negative", variable));
+            }
+            if (variable <= maxVariable) {
+                variableMarker[variable] = true;
+            }
+        }
+        for (int i = 0; i < elements.length; i++) {
+            marker[i] = variableMarker[Math.abs(elements[i])];
+        }
+        return marker;
+    }
+
+    /**
+     * Marks all elements of this assignment whose complement is contained in the given literals.
+     * Uses a marker array over all variables of this assignment and thus runs in linear time.
+     * If the largest variable is much larger than the number of elements, the given literals are sorted and searched
+     * instead, such that no marker array needs to be allocated.
+     * Subclasses that support constant-time look-up of literals may override this method.
+     *
+     * @param literals the literals
+     * @return an array that contains {@code true} at each index of an element whose complement is contained in the
+     *         given literals
+     */
+    protected boolean[] markNegatedLiterals(int... literals) {
+        final int maxVariable = maxVariable();
+        final boolean[] marker = new boolean[elements.length];
+        if (isSparse(maxVariable, literals.length)) {
+            final int[] sortedLiterals = Arrays.copyOf(literals, literals.length);
+            Arrays.sort(sortedLiterals);
+            for (int i = 0; i < elements.length; i++) {
+                marker[i] = Arrays.binarySearch(sortedLiterals, -elements[i]) >= 0;
             }
+            return marker;
+        }
+        final byte[] literalMarker = new byte[maxVariable + 1];
+        for (int literal : literals) {
+            final int variable = Math.abs(literal);
+            if (variable <= maxVariable) {
+                literalMarker[variable] |= polarity(-literal);
+            }
+        }
+        for (int i = 0; i < elements.length; i++) {
+            final int element = elements[i];
+            marker[i] = (literalMarker[Math.abs(element)] & polarity(element)) != 0;
+        }
+        return marker;
+    }
+
+    /**
+     * {@return whether a marker array over all variables up to the given one would be much larger than this
+     * assignment and the given number of look-ups together}
+     *
+     * @param maxVariable the largest variable of this assignment
+     * @param numberOfLookups the number of variables or literals to look up
+     */
+    private boolean isSparse(int maxVariable, int numberOfLookups) {
+        return maxVariable > MARKER_ARRAY_FACTOR * ((long) elements.length + numberOfLookups);
+    }
+
+    private static byte polarity(int literal) {
+        return literal > 0 ? (byte) 1 : (byte) 2;
+    }
+
+    private int maxVariable() {
+        int maxVariable = 0;
+        for (int element : elements) {
+            maxVariable = Math.max(maxVariable, Math.abs(element));
         }
+        return maxVariable;
+    }
 
-        int[] newArray = new int[count];
+    private int[] select(boolean[] marker, boolean selected) {
+        int count = 0;
+        for (boolean mark : marker) {
+            if (mark == selected) {
+                count++;
+            }
+        }
+        final int[] newArray = new int[count];
         int j = 0;
         for (int i = 0; i < elements.length; i++) {
-            if (intersectionMarker[i]) {
+            if (marker[i] == selected) {
                 newArray[j++] = elements[i];
             }
         }
+        return newArray;
+    }
+
+    /**
+     * {@return the intersection of this integer list with the given integers}
+     *
+     * @param integers the integers
+     */
+    public int[] retainAllVariablesInts(int... integers) {
+        final int[] newArray = select(markVariables(integers), true);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
                         == Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
@@ -251,29 +377,10 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public int[] retainAllNegatedInts(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOf(-integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
-        }
-
-        int[] newArray = new int[count];
-        int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (intersectionMarker[i]) {
-                newArray[j++] = elements[i];
-            }
-        }
+        final int[] newArray = select(markNegatedLiterals(integers), true);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
-                        == Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
+                        == Arrays.stream(integers).anyMatch(i -> i == -e));
         return newArray;
     }
 
@@ -283,26 +390,7 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public int[] removeAllVariablesInts(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOfVariable(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
-        }
-
-        int[] newArray = new int[elements.length - count];
-        int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (!intersectionMarker[i]) {
-                newArray[j++] = elements[i];
-            }
-        }
+        final int[] newArray = select(markVariables(integers), false);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
                         ^ Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
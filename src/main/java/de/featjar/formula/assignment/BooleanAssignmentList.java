@@ -21,17 +21,28 @@
 package de.featjar.formula.assignment;
 
 import de.featjar.formula.VariableMap;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
  * A list of Boolean assignments.
+ * <p>
+ * Subclasses may store the literals of their assignments without keeping an object per assignment, such as
+ * {@link CompactBooleanAssignmentList}. For these, {@link #get(int)}, {@link #iterator()}, and the elements of
+ * {@link #getAll()} are new assignment objects containing a copy of the stored literals. Modifying such an object
+ * in place does not change the list, the changes must be stored with {@link #set(int, BooleanAssignment)}.
+ * Code that only reads all assignments should use {@link #views()} or {@link #getLiteralArrays()} instead, which do
+ * not create an object per access.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -74,6 +85,41 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         }
     }
 
+    /**
+     * A read-only list of selected elements of another list.
+     */
+    private static class SelectionView extends AbstractList<BooleanAssignment> implements RandomAccess {
+        private final List<BooleanAssignment> source;
+        private final int[] indices;
+
+        private SelectionView(List<BooleanAssignment> source, int[] indices) {
+            this.source = source;
+            this.indices = indices;
+        }
+
+        @Override
+        public BooleanAssignment get(int index) {
+            return source.get(indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+    }
+
+    /**
+     * A read-only list of assignments, as returned by {@link BooleanAssignmentList#select(int...)}.
+     * All methods that modify the list, such as {@link #add(BooleanAssignment)}, {@link #set(int, BooleanAssignment)},
+     * or {@link #remove(int)}, throw an {@link UnsupportedOperationException}.
+     * Use {@link BooleanAssignmentList#BooleanAssignmentList(BooleanAssignmentList)} to obtain a modifiable copy.
+     */
+    public static class ReadOnlyBooleanAssignmentList extends BooleanAssignmentList {
+        private ReadOnlyBooleanAssignmentList(List<BooleanAssignment> assignments, VariableMap variableMap) {
+            super(assignments, variableMap);
+        }
+    }
+
     protected VariableMap variableMap;
     protected final List<BooleanAssignment> assignments;
 
@@ -106,6 +152,17 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         this(other.variableMap, other.getAll());
     }
 
+    /**
+     * Creates a list that is backed by the given list of assignments, which is not copied.
+     *
+     * @param assignments the backing list
+     * @param variableMap the variable map
+     */
+    protected BooleanAssignmentList(List<BooleanAssignment> assignments, VariableMap variableMap) {
+        this.variableMap = variableMap;
+        this.assignments = assignments;
+    }
+
     public VariableMap getVariableMap() {
         return variableMap;
     }
@@ -157,6 +214,9 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
      * @return the new list
      */
     public BooleanAssignmentList remap(VariableMap newVariables, boolean integrateOldVariables) {
+        if (!integrateOldVariables && variableMap != null && newVariables != null) {
+            return remap(new RemappingPlan(variableMap, newVariables));
+        }
         BooleanAssignmentList newList = new BooleanAssignmentList(newVariables);
         for (BooleanAssignment assignment : assignments) {
             newList.add(assignment.remap(variableMap, newVariables, integrateOldVariables));
@@ -164,6 +224,105 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         return newList;
     }
 
+    /**
+     * Remaps every assignment in this list according to the given plan.
+     * The assignments are remapped in parallel.
+     * This creates a copy of this list.
+     *
+     * @param remappingPlan the remapping plan, which must have been computed for the variable map of this list
+     * @return the new list
+     */
+    public BooleanAssignmentList remap(RemappingPlan remappingPlan) {
+        if (!Objects.equals(remappingPlan.getOldVariableMap(), variableMap)) {
+            throw new IllegalArgumentException("Remapping plan does not apply to the variable map of this list");
+        }
+        final BooleanAssignment[] newAssignments = new BooleanAssignment[assignments.size()];
+        IntStream.range(0, newAssignments.length)
+                .parallel()
+                .forEach(i -> newAssignments[i] = assignments.get(i).remap(remappingPlan));
+        return new BooleanAssignmentList(remappingPlan.getNewVariableMap(), Arrays.asList(newAssignments));
+    }
+
+    /**
+     * {@return a read-only view of the assignments at the given indices of this list, in the given order}
+     * Neither the assignments nor the list are copied, so the view reflects later changes of this list.
+     *
+     * @param indices the indices of the selected assignments
+     */
+    public ReadOnlyBooleanAssignmentList select(int... indices) {
+        return new ReadOnlyBooleanAssignmentList(new SelectionView(assignments, indices), variableMap);
+    }
+
+    /**
+     * {@inheritDoc}
+     * May return a copy of the stored assignment, see {@link BooleanAssignmentList}.
+     */
+    @Override
+    public BooleanAssignment get(int index) {
+        return IAssignmentList.super.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     * May return copies of the stored assignments, see {@link BooleanAssignmentList}.
+     */
+    @Override
+    public Iterator<BooleanAssignment> iterator() {
+        return IAssignmentList.super.iterator();
+    }
+
+    /**
+     * {@return the literals of each assignment in this list}
+     * The arrays must not be modified.
+     * The arrays of stored assignment objects are returned without copying them.
+     */
+    public int[][] getLiteralArrays() {
+        final int[][] literalArrays = new int[assignments.size()][];
+        for (int i = 0; i < literalArrays.length; i++) {
+            literalArrays[i] = assignments.get(i).get();
+        }
+        return literalArrays;
+    }
+
+    /**
+     * {@return a new list containing the assignments at the given indices of this list, in the given order}
+     * In contrast to {@link #select(int...)}, the new list does not depend on this list and stores its assignments
+     * in the same way as this list. Assignment objects stored in this list are shared, not copied.
+     *
+     * @param indices the indices of the selected assignments
+     */
+    public BooleanAssignmentList copySelection(int... indices) {
+        final List<BooleanAssignment> selection = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            selection.add(assignments.get(index));
+        }
+        return new BooleanAssignmentList(selection, variableMap);
+    }
+
+    /**
+     * {@return the assignments in this list for reading them once in order}
+     * In contrast to {@link #iterator()}, the returned assignments may be reused between iterations and are only
+     * valid until the next call of {@link java.util.Iterator#next()}.
+     * Thus, they must neither be stored nor modified.
+     * Implementations that do not store an object per assignment (e.g., {@link CompactBooleanAssignmentList}) use
+     * this to avoid creating such an object for every assignment.
+     */
+    public Iterable<BooleanAssignment> views() {
+        return assignments;
+    }
+
+    /**
+     * {@return the assignments in the given range of this list for reading them once in order}
+     * Behaves like {@link #views()}, but only iterates from index {@code from} (inclusive) to {@code to} (exclusive).
+     * Each call creates its own iteration state, so different ranges can be read by different threads.
+     *
+     * @param from the first index
+     * @param to the index after the last index
+     */
+    public Iterable<BooleanAssignment> views(int from, int to) {
+        return assignments.subList(from, to);
+    }
+
     @Override
     public BooleanAssignmentList clone() {
         return new BooleanAssignmentList(
@@ -166,6 +166,11 @@ public class BooleanClause extends BooleanAssignment implements IClause<Integer,
         return new BooleanClause(newElements);
     }
 
+    @Override
+    public BooleanClause remap(RemappingPlan remappingPlan) {
+        return new BooleanClause(remappingPlan.remap(elements));
+    }
+
     @Override
     public BooleanClause addAll(IntegerList integers) {
         return new BooleanClause(addAllInts(integers.get()));
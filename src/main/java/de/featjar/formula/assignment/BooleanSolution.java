@@ -159,6 +159,30 @@ public class BooleanSolution extends BooleanAssignment implements ISolution<Inte
         return new int[] {indexOfVariable(variable)};
     }
 
+    @Override
+    protected boolean[] markVariables(int... variables) {
+        final boolean[] marker = new boolean[elements.length];
+        for (int variable : variables) {
+            final int index = indexOfVariable(variable);
+            if (index >= 0) {
+                marker[index] = true;
+            }
+        }
+        return marker;
+    }
+
+    @Override
+    protected boolean[] markNegatedLiterals(int... literals) {
+        final boolean[] marker = new boolean[elements.length];
+        for (int literal : literals) {
+            final int index = indexOf(-literal);
+            if (index >= 0) {
+                marker[index] = true;
+            }
+        }
+        return marker;
+    }
+
     @Override
     public ValueSolution toValue() {
         return VariableMap.toValue(this);
@@ -214,6 +238,17 @@ public class BooleanSolution extends BooleanAssignment implements ISolution<Inte
         return new BooleanSolution(newElements);
     }
 
+    @Override
+    public BooleanSolution remap(RemappingPlan remappingPlan) {
+        int[] newElements = new int[remappingPlan.getNewVariableMap().size()];
+        for (int i = 0; i < elements.length; i++) {
+            int newLiteral = remappingPlan.remapVariable(i + 1);
+            int oldLiteral = elements[i];
+            newElements[newLiteral - 1] = oldLiteral == 0 ? 0 : oldLiteral > 0 ? newLiteral : -newLiteral;
+        }
+        return new BooleanSolution(newElements);
+    }
+
     @Override
     public BooleanSolution negate() {
         return new BooleanSolution(negateInts(), false);
@@ -0,0 +1,483 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * A list of Boolean assignments that stores the literals of all assignments in a single array.
+ * In contrast to {@link BooleanAssignmentList}, no object is kept per assignment, which saves memory and garbage
+ * collection time for large lists, such as CNFs with millions of clauses or large samples.
+ * {@link #get(int)} and {@link #iterator()} create a new assignment object containing a copy of the stored literals,
+ * so changes to these objects do not affect this list, unless they are stored again with {@link #set(int,
+ * BooleanAssignment)}.
+ * {@link #views()} reuses one assignment object per type and length to iterate without creating objects.
+ * The type of each assignment ({@link BooleanAssignment}, {@link BooleanClause}, or {@link BooleanSolution}) is
+ * preserved, other subclasses of {@link BooleanAssignment} are stored as plain {@link BooleanAssignment}.
+ * The total number of literals is limited to {@link Integer#MAX_VALUE}.
+ *
+ * @author Sebastian Krieter
+ */
+public class CompactBooleanAssignmentList extends BooleanAssignmentList {
+
+    private static final byte ASSIGNMENT = 0;
+    private static final byte CLAUSE = 1;
+    private static final byte SOLUTION = 2;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stores all literals consecutively. The literals of the assignment at index {@code i} start at
+     * {@code offsets[i]} and end at {@code offsets[i + 1]}.
+     */
+    private static final class Arena extends AbstractList<BooleanAssignment> implements RandomAccess {
+        private int[] literals;
+        private int[] offsets;
+        private byte[] types;
+        private int size;
+
+        private Arena(int size, int numberOfLiterals) {
+            literals = new int[Math.max(numberOfLiterals, DEFAULT_CAPACITY)];
+            offsets = new int[Math.max(size, DEFAULT_CAPACITY) + 1];
+            types = new byte[Math.max(size, DEFAULT_CAPACITY)];
+        }
+
+        private Arena(Arena other) {
+            size = other.size;
+            literals = Arrays.copyOf(other.literals, Math.max(other.offsets[size], DEFAULT_CAPACITY));
+            offsets = Arrays.copyOf(other.offsets, Math.max(size, DEFAULT_CAPACITY) + 1);
+            types = Arrays.copyOf(other.types, Math.max(size, DEFAULT_CAPACITY));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public BooleanAssignment get(int index) {
+            final int[] row = copyOfRow(index);
+            switch (types[index]) {
+                case CLAUSE:
+                    return new BooleanClause(row, false);
+                case SOLUTION:
+                    return new BooleanSolution(row, false);
+                default:
+                    return new BooleanAssignment(row);
+            }
+        }
+
+        @Override
+        public BooleanAssignment set(int index, BooleanAssignment assignment) {
+            final BooleanAssignment oldAssignment = get(index);
+            final int[] row = assignment.get();
+            if (row.length == offsets[index + 1] - offsets[index]) {
+                System.arraycopy(row, 0, literals, offsets[index], row.length);
+                types[index] = typeOf(assignment);
+            } else {
+                delete(index);
+                insert(index, row, typeOf(assignment));
+            }
+            return oldAssignment;
+        }
+
+        @Override
+        public void add(int index, BooleanAssignment assignment) {
+            checkIndex(index, size + 1);
+            insert(index, assignment.get(), typeOf(assignment));
+            modCount++;
+        }
+
+        @Override
+        public BooleanAssignment remove(int index) {
+            final BooleanAssignment oldAssignment = get(index);
+            delete(index);
+            modCount++;
+            return oldAssignment;
+        }
+
+        @Override
+        public void clear() {
+            size = 0;
+            modCount++;
+        }
+
+        private final class ViewIterator implements Iterator<BooleanAssignment> {
+            private final int expectedModCount = modCount;
+            private final BooleanAssignment[][] views = new BooleanAssignment[3][];
+            private final int end;
+            private int index;
+
+            private ViewIterator(int from, int to) {
+                index = from;
+                end = to;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            public BooleanAssignment next() {
+                if (index >= end) {
+                    throw new NoSuchElementException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                final int start = offsets[index];
+                final int length = offsets[index + 1] - start;
+                final byte type = types[index];
+                index++;
+
+                BooleanAssignment[] typeViews = views[type];
+                if (typeViews == null || typeViews.length <= length) {
+                    typeViews = Arrays.copyOf(typeViews == null ? new BooleanAssignment[0] : typeViews, length + 1);
+                    views[type] = typeViews;
+                }
+                BooleanAssignment view = typeViews[length];
+                if (view == null) {
+                    final int[] row = Arrays.copyOfRange(literals, start, start + length);
+                    switch (type) {
+                        case CLAUSE:
+                            view = new ClauseView(row);
+                            break;
+                        case SOLUTION:
+                            view = new SolutionView(row);
+                            break;
+                        default:
+                            view = new AssignmentView(row);
+                            break;
+                    }
+                    typeViews[length] = view;
+                } else {
+                    ((IView) view).load(literals, start);
+                }
+                return view;
+            }
+        }
+
+        private void insert(int index, int[] row, byte type) {
+            final int length = row.length;
+            final int end = offsets[size];
+            if (end > Integer.MAX_VALUE - length) {
+                throw new IllegalStateException("Too many literals for a compact list");
+            }
+            ensureCapacity(size + 1, end + length);
+            final int start = offsets[index];
+            System.arraycopy(literals, start, literals, start + length, end - start);
+            System.arraycopy(row, 0, literals, start, length);
+            System.arraycopy(offsets, index + 1, offsets, index + 2, size - index);
+            for (int i = index + 2; i <= size + 1; i++) {
+                offsets[i] += length;
+            }
+            offsets[index + 1] = start + length;
+            System.arraycopy(types, index, types, index + 1, size - index);
+            types[index] = type;
+            size++;
+        }
+
+        private void append(Arena source, int index) {
+            checkIndex(index, source.size);
+            final int start = source.offsets[index];
+            final int length = source.offsets[index + 1] - start;
+            final int end = offsets[size];
+            if (end > Integer.MAX_VALUE - length) {
+                throw new IllegalStateException("Too many literals for a compact list");
+            }
+            ensureCapacity(size + 1, end + length);
+            System.arraycopy(source.literals, start, literals, end, length);
+            offsets[size + 1] = end + length;
+            types[size] = source.types[index];
+            size++;
+            modCount++;
+        }
+
+        private int[] copyOfRow(int index) {
+            checkIndex(index, size);
+            return Arrays.copyOfRange(literals, offsets[index], offsets[index + 1]);
+        }
+
+        private void delete(int index) {
+            final int start = offsets[index];
+            final int length = offsets[index + 1] - start;
+            final int end = offsets[size];
+            System.arraycopy(literals, start + length, literals, start, end - start - length);
+            for (int i = index + 1; i < size; i++) {
+                offsets[i] = offsets[i + 1] - length;
+            }
+            System.arraycopy(types, index + 1, types, index, size - index - 1);
+            size--;
+        }
+
+        private void ensureCapacity(int newSize, int newNumberOfLiterals) {
+            if (newSize >= offsets.length) {
+                final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(newSize, 2L * types.length));
+                offsets = Arrays.copyOf(offsets, capacity + 1);
+                types = Arrays.copyOf(types, capacity);
+            }
+            if (newNumberOfLiterals > literals.length) {
+                final int capacity =
+                        (int) Math.min(Integer.MAX_VALUE - 8, Math.max(newNumberOfLiterals, 2L * literals.length));
+                literals = Arrays.copyOf(literals, capacity);
+            }
+        }
+
+        private void trimToSize() {
+            literals = Arrays.copyOf(literals, offsets[size]);
+            offsets = Arrays.copyOf(offsets, size + 1);
+            types = Arrays.copyOf(types, size);
+        }
+
+        private static void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+        }
+
+        private static byte typeOf(BooleanAssignment assignment) {
+            if (assignment instanceof BooleanSolution) {
+                return SOLUTION;
+            } else if (assignment instanceof BooleanClause) {
+                return CLAUSE;
+            } else {
+                return ASSIGNMENT;
+            }
+        }
+    }
+
+    /**
+     * An assignment whose literals are overwritten with the literals of the current assignment in an iteration.
+     */
+    private interface IView {
+        void load(int[] literals, int start);
+    }
+
+    private static final class AssignmentView extends BooleanAssignment implements IView {
+        private static final long serialVersionUID = -3361452640962618407L;
+
+        private AssignmentView(int[] literals) {
+            super(literals);
+        }
+
+        @Override
+        public void load(int[] literals, int start) {
+            System.arraycopy(literals, start, elements, 0, elements.length);
+            hashCodeValid = false;
+        }
+    }
+
+    private static final class ClauseView extends BooleanClause implements IView {
+        private static final long serialVersionUID = 5083617269712862465L;
+
+        private ClauseView(int[] literals) {
+            super(literals, false);
+        }
+
+        @Override
+        public void load(int[] literals, int start) {
+            System.arraycopy(literals, start, elements, 0, elements.length);
+            hashCodeValid = false;
+        }
+    }
+
+    private static final class SolutionView extends BooleanSolution implements IView {
+        private static final long serialVersionUID = -1205183349541296127L;
+
+        private SolutionView(int[] literals) {
+            super(literals, false);
+        }
+
+        @Override
+        public void load(int[] literals, int start) {
+            System.arraycopy(literals, start, elements, 0, elements.length);
+            hashCodeValid = false;
+        }
+    }
+
+    public CompactBooleanAssignmentList(VariableMap variableMap) {
+        this(variableMap, DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity.
+     *
+     * @param variableMap the variable map
+     * @param size the expected number of assignments
+     * @param numberOfLiterals the expected number of literals of all assignments combined
+     */
+    public CompactBooleanAssignmentList(VariableMap variableMap, int size, int numberOfLiterals) {
+        super(new Arena(size, numberOfLiterals), variableMap);
+    }
+
+    public CompactBooleanAssignmentList(VariableMap variableMap, Collection<? extends BooleanAssignment> assignments) {
+        this(variableMap, assignments.size(), assignments.stream().mapToInt(a -> a.get().length).sum());
+        this.assignments.addAll(assignments);
+    }
+
+    /**
+     * Creates a compact copy of the given list.
+     *
+     * @param other the list to copy
+     */
+    public CompactBooleanAssignmentList(BooleanAssignmentList other) {
+        this(other.getVariableMap(), other.size(), countLiterals(other));
+        for (BooleanAssignment assignment : other.views()) {
+            assignments.add(assignment);
+        }
+    }
+
+    private CompactBooleanAssignmentList(VariableMap variableMap, Arena arena) {
+        super(arena, variableMap);
+    }
+
+    private static int countLiterals(BooleanAssignmentList list) {
+        long count = 0;
+        for (BooleanAssignment assignment : list.views()) {
+            count += assignment.size();
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE - 8);
+    }
+
+    @Override
+    public Iterable<BooleanAssignment> views() {
+        final Arena arena = (Arena) assignments;
+        return () -> arena.new ViewIterator(0, arena.size);
+    }
+
+    @Override
+    public Iterable<BooleanAssignment> views(int from, int to) {
+        final Arena arena = (Arena) assignments;
+        Objects.checkFromToIndex(from, to, arena.size);
+        return () -> arena.new ViewIterator(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Copies the literals of each assignment once, without creating assignment objects.
+     */
+    @Override
+    public int[][] getLiteralArrays() {
+        final Arena arena = (Arena) assignments;
+        final int[][] literalArrays = new int[arena.size][];
+        for (int i = 0; i < literalArrays.length; i++) {
+            literalArrays[i] = arena.copyOfRow(i);
+        }
+        return literalArrays;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The new list is compact as well and is filled without creating assignment objects.
+     */
+    @Override
+    public CompactBooleanAssignmentList copySelection(int... indices) {
+        final Arena arena = (Arena) assignments;
+        long numberOfLiterals = 0;
+        for (int index : indices) {
+            Arena.checkIndex(index, arena.size);
+            numberOfLiterals += arena.offsets[index + 1] - arena.offsets[index];
+        }
+        final Arena selection = new Arena(indices.length, (int) Math.min(numberOfLiterals, Integer.MAX_VALUE - 8));
+        for (int index : indices) {
+            selection.append(arena, index);
+        }
+        return new CompactBooleanAssignmentList(variableMap, selection);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The new list is compact as well and the literals are written directly into its array, without creating
+     * assignment objects.
+     */
+    @Override
+    public CompactBooleanAssignmentList remap(RemappingPlan remappingPlan) {
+        if (!Objects.equals(remappingPlan.getOldVariableMap(), variableMap)) {
+            throw new IllegalArgumentException("Remapping plan does not apply to the variable map of this list");
+        }
+        final Arena arena = (Arena) assignments;
+        final int size = arena.size;
+        final int numberOfVariables = remappingPlan.getNewVariableMap().size();
+        final Arena newArena = new Arena(size, 0);
+        long numberOfLiterals = 0;
+        for (int i = 0; i < size; i++) {
+            numberOfLiterals +=
+                    arena.types[i] == SOLUTION ? numberOfVariables : arena.offsets[i + 1] - arena.offsets[i];
+            if (numberOfLiterals > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many literals for a compact list");
+            }
+            newArena.offsets[i + 1] = (int) numberOfLiterals;
+        }
+        newArena.literals = new int[Math.max((int) numberOfLiterals, DEFAULT_CAPACITY)];
+        System.arraycopy(arena.types, 0, newArena.types, 0, size);
+        newArena.size = size;
+        IntStream.range(0, size).parallel().forEach(i -> remapRow(arena, newArena, i, remappingPlan));
+        return new CompactBooleanAssignmentList(remappingPlan.getNewVariableMap(), newArena);
+    }
+
+    /**
+     * Writes the remapped literals of an assignment into the already allocated row of the given arena.
+     * Behaves like {@link BooleanAssignment#remap(RemappingPlan)} and its overrides for clauses and solutions.
+     */
+    private static void remapRow(Arena arena, Arena newArena, int index, RemappingPlan remappingPlan) {
+        final int start = arena.offsets[index];
+        final int end = arena.offsets[index + 1];
+        final int newStart = newArena.offsets[index];
+        final int[] literals = arena.literals;
+        final int[] newLiterals = newArena.literals;
+        if (arena.types[index] == SOLUTION) {
+            for (int i = start; i < end; i++) {
+                final int newVariable = remappingPlan.remapVariable(i - start + 1);
+                final int literal = literals[i];
+                newLiterals[newStart + newVariable - 1] = literal == 0 ? 0 : literal > 0 ? newVariable : -newVariable;
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                newLiterals[newStart + i - start] = remappingPlan.remapLiteral(literals[i]);
+            }
+            if (arena.types[index] == CLAUSE) {
+                Arrays.sort(newLiterals, newStart, newStart + end - start);
+            }
+        }
+    }
+
+    /**
+     * Reduces the memory used by this list to the memory needed for its current assignments.
+     */
+    public void trimToSize() {
+        ((Arena) assignments).trimToSize();
+    }
+
+    @Override
+    public CompactBooleanAssignmentList clone() {
+        return new CompactBooleanAssignmentList(variableMap, new Arena((Arena) assignments));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A {@link BooleanAssignment} with a dense index from variables to the positions of their literals.
+ * Looking up a literal or variable takes constant time, so that set operations with other lists of literals or
+ * variables (e.g., {@link #containsAll(int...)}, {@link #removeAll(int...)}, or
+ * {@link #retainAllVariables(int...)}) run in time linear in the sizes of both lists.
+ * Building the index takes time and memory linear in the largest variable of this assignment.
+ * Elements that are {@code 0} are not indexed and looked up by a linear scan.
+ * Suited for partial assignments that are queried repeatedly.
+ * The elements of this assignment must not be modified after construction.
+ *
+ * @author Sebastian Krieter
+ */
+public class IndexedBooleanAssignment extends BooleanAssignment {
+
+    private static final long serialVersionUID = -4283510944375726583L;
+
+    private int[] variableIndex;
+    private boolean uniqueVariables;
+
+    public IndexedBooleanAssignment(int... integers) {
+        super(integers);
+        buildIndex();
+    }
+
+    public IndexedBooleanAssignment(Collection<Integer> integers) {
+        super(integers);
+        buildIndex();
+    }
+
+    public IndexedBooleanAssignment(BooleanAssignment booleanAssignment) {
+        super(booleanAssignment);
+        buildIndex();
+    }
+
+    private void buildIndex() {
+        int maxVariable = 0;
+        for (int element : elements) {
+            maxVariable = Math.max(maxVariable, Math.abs(element));
+        }
+        variableIndex = new int[maxVariable + 1];
+        uniqueVariables = true;
+        for (int i = 0; i < elements.length; i++) {
+            final int variable = Math.abs(elements[i]);
+            if (variable == 0) {
+                continue;
+            }
+            if (variableIndex[variable] == 0) {
+                variableIndex[variable] = i + 1;
+            } else {
+                uniqueVariables = false;
+            }
+        }
+    }
+
+    private int lookUp(int variable) {
+        return variable < variableIndex.length ? variableIndex[variable] - 1 : -1;
+    }
+
+    @Override
+    public int indexOf(int literal) {
+        if (!uniqueVariables || literal == 0) {
+            return super.indexOf(literal);
+        }
+        final int index = lookUp(Math.abs(literal));
+        return index >= 0 && elements[index] == literal ? index : -1;
+    }
+
+    @Override
+    public int[] indicesOf(int literal) {
+        if (!uniqueVariables || literal == 0) {
+            return super.indicesOf(literal);
+        }
+        final int index = indexOf(literal);
+        return index >= 0 ? new int[] {index} : new int[0];
+    }
+
+    @Override
+    public int indexOfVariable(int variable) {
+        if (variable < 0) {
+            throw new IllegalArgumentException(String.format("%d is negative", variable));
+        }
+        return variable == 0 ? super.indexOfVariable(variable) : lookUp(variable);
+    }
+
+    @Override
+    public int[] indicesOfVariable(int variable) {
+        if (!uniqueVariables || variable == 0) {
+            return super.indicesOfVariable(variable);
+        }
+        final int index = indexOfVariable(variable);
+        return index >= 0 ? new int[] {index} : new int[0];
+    }
+
+    @Override
+    protected boolean[] markVariables(int... variables) {
+        if (!uniqueVariables) {
+            return super.markVariables(variables);
+        }
+        final boolean[] marker = new boolean[elements.length];
+        for (int variable : variables) {
+            if (variable == 0) {
+                markZeros(marker);
+            } else {
+                final int index = indexOfVariable(variable);
+                if (index >= 0) {
+                    marker[index] = true;
+                }
+            }
+        }
+        return marker;
+    }
+
+    @Override
+    protected boolean[] markNegatedLiterals(int... literals) {
+        if (!uniqueVariables) {
+            return super.markNegatedLiterals(literals);
+        }
+        final boolean[] marker = new boolean[elements.length];
+        for (int literal : literals) {
+            if (literal == 0) {
+                markZeros(marker);
+            } else {
+                final int index = indexOf(-literal);
+                if (index >= 0) {
+                    marker[index] = true;
+                }
+            }
+        }
+        return marker;
+    }
+
+    private void markZeros(boolean[] marker) {
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == 0) {
+                marker[i] = true;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndexedBooleanAssignment%s", Arrays.toString(elements));
+    }
+
+    @Override
+    public IndexedBooleanAssignment clone() {
+        return new IndexedBooleanAssignment(this);
+    }
+}
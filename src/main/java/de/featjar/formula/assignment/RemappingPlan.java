@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import java.util.Objects;
+
+/**
+ * A precomputed mapping of variable indices from one {@link VariableMap variable map} to another.
+ * The mapping is stored as a table from old to new indices, such that remapping a literal does not require any
+ * look-up of variable names.
+ * A plan can be reused for all assignments and assignment lists that share the same pair of variable maps, as long as
+ * neither variable map is modified.
+ * In contrast to {@link BooleanAssignment#remap(VariableMap, VariableMap, boolean)}, variables that are missing in
+ * the new variable map are never added to it.
+ *
+ * @author Sebastian Krieter
+ */
+public class RemappingPlan {
+
+    private final VariableMap oldVariableMap;
+    private final VariableMap newVariableMap;
+    private final int[] newIndices;
+    private final boolean identity;
+
+    /**
+     * Computes a plan for remapping literals from the given old to the given new variable map.
+     *
+     * @param oldVariableMap the old variable map
+     * @param newVariableMap the new variable map
+     */
+    public RemappingPlan(VariableMap oldVariableMap, VariableMap newVariableMap) {
+        this.oldVariableMap = Objects.requireNonNull(oldVariableMap);
+        this.newVariableMap = Objects.requireNonNull(newVariableMap);
+        final int maxIndex = Math.max(oldVariableMap.maxIndex(), 0);
+        newIndices = new int[maxIndex + 1];
+        boolean identity = true;
+        for (int i = 1; i <= maxIndex; i++) {
+            final Result<String> name = oldVariableMap.get(i);
+            if (name.isPresent()) {
+                final Result<Integer> newIndex = newVariableMap.get(name.get());
+                if (newIndex.isPresent()) {
+                    newIndices[i] = newIndex.get();
+                }
+            }
+            identity &= newIndices[i] == i;
+        }
+        this.identity = identity;
+    }
+
+    /**
+     * {@return the variable map from which this plan remaps}
+     */
+    public VariableMap getOldVariableMap() {
+        return oldVariableMap;
+    }
+
+    /**
+     * {@return the variable map to which this plan remaps}
+     */
+    public VariableMap getNewVariableMap() {
+        return newVariableMap;
+    }
+
+    /**
+     * {@return whether this plan maps each variable to the same index}
+     */
+    public boolean isIdentity() {
+        return identity;
+    }
+
+    /**
+     * {@return whether this plan can be used to remap from the given old to the given new variable map}
+     *
+     * @param oldVariableMap the old variable map
+     * @param newVariableMap the new variable map
+     */
+    public boolean appliesTo(VariableMap oldVariableMap, VariableMap newVariableMap) {
+        return this.newVariableMap == newVariableMap
+                && (this.oldVariableMap == oldVariableMap || Objects.equals(this.oldVariableMap, oldVariableMap));
+    }
+
+    /**
+     * {@return the index of the given variable in the new variable map}
+     *
+     * @param variable the index of the variable in the old variable map
+     * @throws IllegalArgumentException if the variable is not contained in the new variable map
+     */
+    public int remapVariable(int variable) {
+        final int newVariable = variable > 0 && variable < newIndices.length ? newIndices[variable] : 0;
+        if (newVariable == 0) {
+            throw new IllegalArgumentException(
+                    String.format("Variable %d is not contained in the new variable map", variable));
+        }
+        return newVariable;
+    }
+
+    /**
+     * {@return the given literal with its variable remapped to the new variable map}
+     * The literal {@code 0} is mapped to itself.
+     *
+     * @param literal the literal
+     * @throws IllegalArgumentException if the variable of the literal is not contained in the new variable map
+     */
+    public int remapLiteral(int literal) {
+        return literal > 0 ? remapVariable(literal) : literal < 0 ? -remapVariable(-literal) : 0;
+    }
+
+    /**
+     * {@return a new array containing the given literals remapped to the new variable map}
+     *
+     * @param literals the literals
+     * @throws IllegalArgumentException if a variable of the literals is not contained in the new variable map
+     */
+    public int[] remap(int[] literals) {
+        final int[] newLiterals = new int[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            newLiterals[i] = remapLiteral(literals[i]);
+        }
+        return newLiterals;
+    }
+}
@@ -55,6 +55,8 @@ public abstract class AAggregatableMetrics {
     protected BooleanAssignmentList sample;
 
     private double[] values = null;
+    private StreamingStatistics statistics = null;
+    private boolean streaming = false;
 
     protected double min = EMPTY;
     protected double max = EMPTY;
@@ -85,6 +87,39 @@ public abstract class AAggregatableMetrics {
 
     protected abstract double[] computeValues();
 
+    /**
+     * {@return whether aggregates are computed in a single streaming pass without storing all values}
+     * In this mode, the median is approximated by a {@link QuantileSketch} once the number of values exceeds its
+     * capacity.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether aggregates are computed in a single streaming pass without storing all values.
+     *
+     * @param streaming whether to use streaming mode
+     */
+    public void setStreaming(boolean streaming) {
+        if (this.streaming != streaming) {
+            this.streaming = streaming;
+            reset();
+        }
+    }
+
+    public StreamingStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = computeStatistics();
+        }
+        return statistics;
+    }
+
+    /**
+     * {@return statistics over the same values as {@link #computeValues()}, accumulated without storing them}
+     */
+    protected abstract StreamingStatistics computeStatistics();
+
     public void setSample(BooleanAssignmentList sample) {
         if ((this.sample == null) || (this.sample != sample)) {
             this.sample = sample;
@@ -94,6 +129,7 @@ public abstract class AAggregatableMetrics {
 
     protected void reset() {
         values = null;
+        statistics = null;
         min = EMPTY;
         max = EMPTY;
         mean = EMPTY;
@@ -104,14 +140,19 @@ public abstract class AAggregatableMetrics {
 
     protected double getMin() {
         if (min == EMPTY) {
-            final double[] values = getValues();
-            if (values.length == 0) {
-                min = INVALID;
+            if (streaming) {
+                final StreamingStatistics statistics = getStatistics();
+                min = statistics.getCount() == 0 ? INVALID : statistics.getMin();
             } else {
-                min = Double.MAX_VALUE;
-                for (final double count : values) {
-                    if (min > count) {
-                        min = count;
+                final double[] values = getValues();
+                if (values.length == 0) {
+                    min = INVALID;
+                } else {
+                    min = Double.MAX_VALUE;
+                    for (final double count : values) {
+                        if (min > count) {
+                            min = count;
+                        }
                     }
                 }
             }
@@ -121,14 +162,19 @@ public abstract class AAggregatableMetrics {
 
     protected double getMax() {
         if (max == EMPTY) {
-            final double[] values = getValues();
-            if (values.length == 0) {
-                max = INVALID;
+            if (streaming) {
+                final StreamingStatistics statistics = getStatistics();
+                max = statistics.getCount() == 0 ? INVALID : statistics.getMax();
             } else {
-                max = 0;
-                for (final double count : values) {
-                    if (max < count) {
-                        max = count;
+                final double[] values = getValues();
+                if (values.length == 0) {
+                    max = INVALID;
+                } else {
+                    max = 0;
+                    for (final double count : values) {
+                        if (max < count) {
+                            max = count;
+                        }
                     }
                 }
             }
@@ -138,15 +184,20 @@ public abstract class AAggregatableMetrics {
 
     protected double getMean() {
         if (mean == EMPTY) {
-            final double[] values = getValues();
-            if (values.length == 0) {
-                mean = INVALID;
+            if (streaming) {
+                final StreamingStatistics statistics = getStatistics();
+                mean = statistics.getCount() == 0 ? INVALID : statistics.getMean();
             } else {
-                double sum = 0;
-                for (final double count : values) {
-                    sum += count;
+                final double[] values = getValues();
+                if (values.length == 0) {
+                    mean = INVALID;
+                } else {
+                    double sum = 0;
+                    for (final double count : values) {
+                        sum += count;
+                    }
+                    mean = sum / values.length;
                 }
-                mean = sum / values.length;
             }
         }
         return mean;
@@ -154,17 +205,22 @@ public abstract class AAggregatableMetrics {
 
     protected double getMedian() {
         if (median == EMPTY) {
-            final double[] values = getValues();
-            if (values.length == 0) {
-                median = INVALID;
+            if (streaming) {
+                final StreamingStatistics statistics = getStatistics();
+                median = statistics.getCount() == 0 ? INVALID : statistics.getMedian();
             } else {
-                final double[] sortedCounts = Arrays.copyOf(values, values.length);
-                Arrays.sort(sortedCounts);
+                final double[] values = getValues();
+                if (values.length == 0) {
+                    median = INVALID;
+                } else {
+                    final double[] sortedCounts = Arrays.copyOf(values, values.length);
+                    Arrays.sort(sortedCounts);
 
-                final int middle = sortedCounts.length / 2;
-                median = ((sortedCounts.length % 2) != 0) //
-                        ? sortedCounts[middle] //
-                        : (sortedCounts[middle - 1] + sortedCounts[middle]) / 2.0;
+                    final int middle = sortedCounts.length / 2;
+                    median = ((sortedCounts.length % 2) != 0) //
+                            ? sortedCounts[middle] //
+                            : (sortedCounts[middle - 1] + sortedCounts[middle]) / 2.0;
+                }
             }
         }
         return median;
@@ -172,17 +228,22 @@ public abstract class AAggregatableMetrics {
 
     protected double getVariance() {
         if (variance == EMPTY) {
-            final double[] values = getValues();
-            if (values.length == 0) {
-                variance = INVALID;
+            if (streaming) {
+                final StreamingStatistics statistics = getStatistics();
+                variance = statistics.getCount() == 0 ? INVALID : statistics.getVariance();
             } else {
-                final double mean = getMean();
-                variance = 0;
-                for (final double count : values) {
-                    final double diff = count - mean;
-                    variance += diff * diff;
+                final double[] values = getValues();
+                if (values.length == 0) {
+                    variance = INVALID;
+                } else {
+                    final double mean = getMean();
+                    variance = 0;
+                    for (final double count : values) {
+                        final double diff = count - mean;
+                        variance += diff * diff;
+                    }
+                    variance /= values.length;
                 }
-                variance /= values.length;
             }
         }
         return variance;
@@ -190,11 +251,16 @@ public abstract class AAggregatableMetrics {
 
     protected double getStandardDeviation() {
         if (standardDeviation == EMPTY) {
-            final double[] values = getValues();
-            if (values.length == 0) {
-                standardDeviation = INVALID;
+            if (streaming) {
+                final StreamingStatistics statistics = getStatistics();
+                standardDeviation = statistics.getCount() == 0 ? INVALID : statistics.getStandardDeviation();
             } else {
-                standardDeviation = Math.sqrt(getVariance());
+                final double[] values = getValues();
+                if (values.length == 0) {
+                    standardDeviation = INVALID;
+                } else {
+                    standardDeviation = Math.sqrt(getVariance());
+                }
             }
         }
         return standardDeviation;
@@ -20,11 +20,15 @@
  */
 package de.featjar.formula.assignment.metrics;
 
+import de.featjar.formula.assignment.BooleanAssignment;
 import java.util.List;
 import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
 
 public class CountMetrics extends AAggregatableMetrics {
 
+    private static final int BLOCK_SIZE = 1024;
+
     private final ICountFunction function;
 
     public CountMetrics(ICountFunction function) {
@@ -32,19 +36,47 @@ public class CountMetrics extends AAggregatableMetrics {
     }
 
     public static List<ISampleMetric> getAllAggregates(ICountFunction function) {
-        return new CountMetrics(function).getAllAggregates();
+        return getAllAggregates(function, false);
+    }
+
+    public static List<ISampleMetric> getAllAggregates(ICountFunction function, boolean streaming) {
+        final CountMetrics metrics = new CountMetrics(function);
+        metrics.setStreaming(streaming);
+        return metrics.getAllAggregates();
     }
 
     @Override
     protected double[] computeValues() {
-        final int size = sample.size();
-        final double[] values = new double[size];
-        for (int i = 0; i < (size - 1); i++) {
-            values[i] = function.compute(sample.get(i));
+        final double[] values = new double[sample.size()];
+        int index = 0;
+        for (BooleanAssignment assignment : sample.views()) {
+            values[index++] = function.compute(assignment);
         }
         return values;
     }
 
+    /**
+     * {@inheritDoc}
+     * The sample is divided into blocks, which are read in parallel with {@link
+     * de.featjar.formula.assignment.BooleanAssignmentList#views(int, int)}, each into statistics of its own thread.
+     */
+    @Override
+    protected StreamingStatistics computeStatistics() {
+        final int size = sample.size();
+        final int numberOfBlocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return IntStream.range(0, numberOfBlocks)
+                .parallel()
+                .collect(
+                        StreamingStatistics::new,
+                        (statistics, block) -> {
+                            final int from = block * BLOCK_SIZE;
+                            for (BooleanAssignment assignment : sample.views(from, Math.min(size, from + BLOCK_SIZE))) {
+                                statistics.add(function.compute(assignment));
+                            }
+                        },
+                        StreamingStatistics::merge);
+    }
+
     @Override
     public ISampleMetric getAggregate(String name, DoubleSupplier aggregate) {
         return new DoubleMetric(function.getName() + "_count_" + name, aggregate);
@@ -20,8 +20,11 @@
  */
 package de.featjar.formula.assignment.metrics;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
 
 public class DistanceMetrics extends AAggregatableMetrics {
 
@@ -31,13 +34,25 @@ public class DistanceMetrics extends AAggregatableMetrics {
     private double mostMean = EMPTY;
     private double meanMin = EMPTY;
     private double meanMax = EMPTY;
+    private double neighborApproximation = 0;
+
+    private int[][] configurations = null;
+    private double[] nearestDistances = null;
+    private double[] farthestDistances = null;
+    private double[] distanceSums = null;
+    private StreamingStatistics pairwiseStatistics = null;
 
     public DistanceMetrics(IDistanceFunction function) {
         this.function = function;
     }
 
     public static List<ISampleMetric> getAllAggregates(IDistanceFunction distanceFunction) {
+        return getAllAggregates(distanceFunction, false);
+    }
+
+    public static List<ISampleMetric> getAllAggregates(IDistanceFunction distanceFunction, boolean streaming) {
         final DistanceMetrics metrics = new DistanceMetrics(distanceFunction);
+        metrics.setStreaming(streaming);
         final List<ISampleMetric> aggregates = metrics.getAllAggregates();
         aggregates.add(metrics.getAggregate("leastMean", metrics::getLeastMean));
         aggregates.add(metrics.getAggregate("mostMean", metrics::getMostMean));
@@ -51,21 +66,38 @@ public class DistanceMetrics extends AAggregatableMetrics {
         return new DoubleMetric(function.getName() + "_distance_" + name, aggregate);
     }
 
+    /**
+     * {@return the literals of each configuration in the sample}
+     * Reads the sample only once, such that pairwise distances do not access the sample for every pair.
+     */
+    private int[][] getConfigurations() {
+        if (configurations == null) {
+            configurations = sample.getLiteralArrays();
+        }
+        return configurations;
+    }
+
     @Override
     protected double[] computeValues() {
-        final int size = sample.size();
+        final int[][] configurations = getConfigurations();
+        final int size = configurations.length;
         final double[] values = new double[(size * (size - 1)) >> 1];
         int index = 0;
         for (int i = 0; i < (size - 1); i++) {
-            final int[] literals1 = sample.get(i).get();
+            final int[] literals1 = configurations[i];
             for (int j = i + 1; j < size; j++) {
-                values[index++] =
-                        function.computeDistance(literals1, sample.get(j).get());
+                values[index++] = function.computeDistance(literals1, configurations[j]);
             }
         }
         return values;
     }
 
+    @Override
+    protected StreamingStatistics computeStatistics() {
+        computePairwiseDistances();
+        return pairwiseStatistics;
+    }
+
     @Override
     protected void reset() {
         super.reset();
@@ -73,30 +105,170 @@ public class DistanceMetrics extends AAggregatableMetrics {
         mostMean = EMPTY;
         meanMin = EMPTY;
         meanMax = EMPTY;
+        configurations = null;
+        nearestDistances = null;
+        farthestDistances = null;
+        distanceSums = null;
+        pairwiseStatistics = null;
+    }
+
+    /**
+     * {@return the approximation factor for nearest and farthest neighbor distances in streaming mode}
+     */
+    public double getNeighborApproximation() {
+        return neighborApproximation;
+    }
+
+    /**
+     * Sets the approximation factor for nearest and farthest neighbor distances in streaming mode.
+     * If the distance function is a metric, neighbors are searched in a {@link VantagePointTree}, which reports
+     * nearest distances at most {@code 1 + epsilon} times too large and farthest distances at most
+     * {@code 1 + epsilon} times too small. With {@code 0}, the default, all distances are exact.
+     *
+     * @param epsilon the approximation factor
+     */
+    public void setNeighborApproximation(double epsilon) {
+        if (epsilon < 0) {
+            throw new IllegalArgumentException(String.valueOf(epsilon));
+        }
+        if (neighborApproximation != epsilon) {
+            neighborApproximation = epsilon;
+            reset();
+        }
+    }
+
+    /**
+     * Computes, for each configuration, the distance to its nearest and farthest neighbor.
+     * In streaming mode and for metric distance functions, neighbors are searched in a {@link VantagePointTree},
+     * unless they are exactly known from a previous pass over all pairwise distances.
+     * Otherwise, they are computed together with all other aggregates in {@link #computePairwiseDistances()}.
+     */
+    private void computeNeighborDistances() {
+        if (nearestDistances == null) {
+            if (isStreaming() && function.isMetric()) {
+                final int[][] configurations = getConfigurations();
+                final int size = configurations.length;
+                final double[] nearest = new double[size];
+                final double[] farthest = new double[size];
+                final VantagePointTree tree = new VantagePointTree(configurations, function, new Random(0));
+                IntStream.range(0, size).parallel().forEach(i -> {
+                    nearest[i] = tree.getNearestDistance(i, neighborApproximation);
+                    farthest[i] = tree.getFarthestDistance(i, neighborApproximation);
+                });
+                nearestDistances = nearest;
+                farthestDistances = farthest;
+            } else {
+                computePairwiseDistances();
+            }
+        }
+    }
+
+    /**
+     * Computes the statistics of all pairwise distances and, for each configuration, the sum of distances to all
+     * other configurations in a single pass, in which each distance is visited once.
+     * If they are not known yet and not approximated, the nearest and farthest neighbor distances of each
+     * configuration are computed in the same pass.
+     * In streaming mode, the distances are computed in parallel without storing the distance matrix. The
+     * configurations are distributed round-robin among one task per processor, and each task keeps its own
+     * aggregates for all configurations, which are merged afterwards.
+     */
+    private void computePairwiseDistances() {
+        if (distanceSums == null) {
+            final PairwiseAggregates aggregates;
+            if (isStreaming()) {
+                final int[][] configurations = getConfigurations();
+                final int size = configurations.length;
+                final int numberOfTasks = Math.max(1, Math.min(size, Runtime.getRuntime().availableProcessors()));
+                aggregates = IntStream.range(0, numberOfTasks)
+                        .parallel()
+                        .mapToObj(task -> {
+                            final PairwiseAggregates taskAggregates = new PairwiseAggregates(size);
+                            for (int i = task; i < size - 1; i += numberOfTasks) {
+                                final int[] literals1 = configurations[i];
+                                for (int j = i + 1; j < size; j++) {
+                                    taskAggregates.add(i, j, function.computeDistance(literals1, configurations[j]));
+                                }
+                            }
+                            return taskAggregates;
+                        })
+                        .reduce(PairwiseAggregates::merge)
+                        .get();
+            } else {
+                final double[] distances = getValues();
+                final int size = sample.size();
+                aggregates = new PairwiseAggregates(size);
+                int index = 0;
+                for (int i = 0; i < (size - 1); i++) {
+                    for (int j = i + 1; j < size; j++) {
+                        aggregates.add(i, j, distances[index++]);
+                    }
+                }
+            }
+            pairwiseStatistics = aggregates.statistics;
+            distanceSums = aggregates.sums;
+            if (nearestDistances == null && (!isStreaming() || !function.isMetric() || neighborApproximation == 0)) {
+                nearestDistances = aggregates.nearest;
+                farthestDistances = aggregates.farthest;
+            }
+        }
+    }
+
+    /**
+     * Aggregates of the pairwise distances of a sample, accumulated for each configuration.
+     */
+    private static final class PairwiseAggregates {
+        private final StreamingStatistics statistics = new StreamingStatistics();
+        private final double[] sums;
+        private final double[] nearest;
+        private final double[] farthest;
+
+        private PairwiseAggregates(int size) {
+            sums = new double[size];
+            nearest = new double[size];
+            farthest = new double[size];
+            Arrays.fill(nearest, Double.MAX_VALUE);
+        }
+
+        private void add(int i, int j, double distance) {
+            statistics.add(distance);
+            sums[i] += distance;
+            sums[j] += distance;
+            if (nearest[i] > distance) {
+                nearest[i] = distance;
+            }
+            if (nearest[j] > distance) {
+                nearest[j] = distance;
+            }
+            if (farthest[i] < distance) {
+                farthest[i] = distance;
+            }
+            if (farthest[j] < distance) {
+                farthest[j] = distance;
+            }
+        }
+
+        private PairwiseAggregates merge(PairwiseAggregates other) {
+            statistics.merge(other.statistics);
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+                nearest[i] = Math.min(nearest[i], other.nearest[i]);
+                farthest[i] = Math.max(farthest[i], other.farthest[i]);
+            }
+            return this;
+        }
     }
 
     private double getLeastMean() {
         if (leastMean == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
+            if (sample.size() < 2) {
                 leastMean = INVALID;
             } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
-
+                computeNeighborDistances();
                 double sum = 0;
-                for (int i = 0; i < size; i++) {
-                    double minDistance = Double.MAX_VALUE;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            final double d = getDistance(distances, size, i, j);
-                            if (minDistance > d) {
-                                minDistance = d;
-                            }
-                        }
-                    }
-                    sum += minDistance;
+                for (final double d : nearestDistances) {
+                    sum += d;
                 }
-                leastMean = sum / size;
+                leastMean = sum / nearestDistances.length;
             }
         }
         return leastMean;
@@ -104,26 +276,15 @@ public class DistanceMetrics extends AAggregatableMetrics {
 
     private double getMostMean() {
         if (mostMean == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
+            if (sample.size() < 2) {
                 mostMean = INVALID;
             } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
-
+                computeNeighborDistances();
                 double sum = 0;
-                for (int i = 0; i < size; i++) {
-                    double maxDistance = 0;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            final double d = getDistance(distances, size, i, j);
-                            if (maxDistance < d) {
-                                maxDistance = d;
-                            }
-                        }
-                    }
-                    sum += maxDistance;
+                for (final double d : farthestDistances) {
+                    sum += d;
                 }
-                mostMean = sum / size;
+                mostMean = sum / farthestDistances.length;
             }
         }
         return mostMean;
@@ -131,20 +292,13 @@ public class DistanceMetrics extends AAggregatableMetrics {
 
     private double getMeanMin() {
         if (meanMin == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
+            if (sample.size() < 2) {
                 meanMin = INVALID;
             } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
+                computePairwiseDistances();
                 double minLocalMean = Double.MAX_VALUE;
-                for (int i = 0; i < size; i++) {
-                    double localMean = 0;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            localMean += getDistance(distances, size, i, j);
-                        }
-                    }
-                    localMean /= size;
+                for (final double sum : distanceSums) {
+                    final double localMean = sum / distanceSums.length;
                     if (localMean < minLocalMean) {
                         minLocalMean = localMean;
                     }
@@ -157,20 +311,13 @@ public class DistanceMetrics extends AAggregatableMetrics {
 
     private double getMeanMax() {
         if (meanMax == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
+            if (sample.size() < 2) {
                 meanMax = INVALID;
             } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
+                computePairwiseDistances();
                 double maxLocalMean = 0;
-                for (int i = 0; i < size; i++) {
-                    double localMean = 0;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            localMean += getDistance(distances, size, i, j);
-                        }
-                    }
-                    localMean /= size;
+                for (final double sum : distanceSums) {
+                    final double localMean = sum / distanceSums.length;
                     if (localMean > maxLocalMean) {
                         maxLocalMean = localMean;
                     }
@@ -180,11 +327,4 @@ public class DistanceMetrics extends AAggregatableMetrics {
         }
         return meanMax;
     }
-
-    private double getDistance(final double[] distances, final int size, int i, int j) {
-        return distances[
-                i < j
-                        ? (distances.length + j) - ((((size - i) * (size - i - 1)) >> 1) + i + 1)
-                        : (distances.length + i) - ((((size - j) * (size - j - 1)) >> 1) + j + 1)];
-    }
 }
@@ -37,6 +37,11 @@ public class EuclideanDistance implements IDistanceFunction {
         return Math.sqrt(conflicts);
     }
 
+    @Override
+    public boolean isMetric() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Euclidean";
@@ -36,6 +36,11 @@ public class HammingDistance implements IDistanceFunction {
         return conflicts / literals1.length;
     }
 
+    @Override
+    public boolean isMetric() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Hamming";
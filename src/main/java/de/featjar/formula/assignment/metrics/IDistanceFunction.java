@@ -29,5 +29,13 @@ public interface IDistanceFunction {
 
     double computeDistance(final int[] literals1, final int[] literals2);
 
+    /**
+     * {@return whether this distance is a metric, i.e., it is symmetric and satisfies the triangle inequality}
+     * Only metrics can be used with a {@link VantagePointTree}.
+     */
+    default boolean isMetric() {
+        return false;
+    }
+
     String getName();
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch for approximate quantiles of a stream of values, following the compactor hierarchy of KLL.
+ * Each level holds up to {@code capacity} values, where a value on level {@code h} stands for {@code 2^h} original
+ * values. A full level is sorted and every other value is promoted to the next level. As long as no level was
+ * compacted, the sketch holds all values and quantiles are exact. Otherwise, the rank error of a quantile is at
+ * most about {@code log2(n / capacity) / capacity} of the number of values {@code n}.
+ *
+ * @author Sebastian Krieter
+ */
+public class QuantileSketch {
+
+    /**
+     * The default number of values per level.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+
+    private double[][] levels;
+    private int[] sizes;
+    private boolean[] offsets;
+    private long count;
+
+    /**
+     * Creates a new sketch with {@link #DEFAULT_CAPACITY}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param capacity the number of values per level, must be at least 2
+     */
+    public QuantileSketch(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException(String.valueOf(capacity));
+        }
+        this.capacity = capacity;
+        levels = new double[1][capacity];
+        sizes = new int[1];
+        offsets = new boolean[1];
+    }
+
+    /**
+     * Adds a value to this sketch.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        levels[0][sizes[0]++] = value;
+        count++;
+        if (sizes[0] == capacity) {
+            compact(0);
+        }
+    }
+
+    /**
+     * Adds all values of another sketch to this sketch.
+     * The other sketch is not modified.
+     *
+     * @param other the other sketch
+     */
+    public void merge(QuantileSketch other) {
+        if (other.levels.length > levels.length) {
+            grow(other.levels.length);
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            final int otherSize = other.sizes[h];
+            if (otherSize > 0) {
+                if (sizes[h] + otherSize > levels[h].length) {
+                    levels[h] = Arrays.copyOf(levels[h], sizes[h] + otherSize);
+                }
+                System.arraycopy(other.levels[h], 0, levels[h], sizes[h], otherSize);
+                sizes[h] += otherSize;
+            }
+        }
+        count += other.count;
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacity) {
+                compact(h);
+            }
+        }
+    }
+
+    private void compact(int h) {
+        if (h + 1 == levels.length) {
+            grow(h + 2);
+        }
+        final double[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+        final int keep = size & 1;
+        size -= keep;
+        final int pairs = size >> 1;
+        if (sizes[h + 1] + pairs > levels[h + 1].length) {
+            levels[h + 1] = Arrays.copyOf(levels[h + 1], Math.max(capacity, sizes[h + 1] + pairs));
+        }
+        final double[] nextLevel = levels[h + 1];
+        int nextSize = sizes[h + 1];
+        for (int i = offsets[h] ? 1 : 0; i < size; i += 2) {
+            nextLevel[nextSize++] = level[i];
+        }
+        offsets[h] = !offsets[h];
+        sizes[h + 1] = nextSize;
+        if (keep != 0) {
+            level[0] = level[size];
+        }
+        sizes[h] = keep;
+        if (nextSize >= capacity) {
+            compact(h + 1);
+        }
+    }
+
+    private void grow(int levelCount) {
+        final int oldLevelCount = levels.length;
+        levels = Arrays.copyOf(levels, levelCount);
+        sizes = Arrays.copyOf(sizes, levelCount);
+        offsets = Arrays.copyOf(offsets, levelCount);
+        for (int h = oldLevelCount; h < levelCount; h++) {
+            levels[h] = new double[capacity];
+        }
+    }
+
+    /**
+     * {@return the number of values added to this sketch}
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * {@return whether this sketch still holds all added values, so quantiles are exact}
+     */
+    public boolean isExact() {
+        for (int h = 1; h < sizes.length; h++) {
+            if (sizes[h] > 0) {
+                return false;
+            }
+        }
+        return sizes[0] == count;
+    }
+
+    /**
+     * {@return the median of all added values, or {@link Double#NaN} if this sketch is empty}
+     * If this sketch is exact, the median of an even number of values is the mean of the two middle values.
+     */
+    public double getMedian() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (isExact()) {
+            final double[] values = Arrays.copyOf(levels[0], sizes[0]);
+            Arrays.sort(values);
+            final int middle = values.length / 2;
+            return ((values.length % 2) != 0) //
+                    ? values[middle] //
+                    : (values[middle - 1] + values[middle]) / 2.0;
+        }
+        return getQuantile(0.5);
+    }
+
+    /**
+     * {@return the smallest retained value whose rank is at least the given fraction of all added values, or
+     * {@link Double#NaN} if this sketch is empty}
+     *
+     * @param fraction the quantile, between 0 and 1
+     */
+    public double getQuantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException(String.valueOf(fraction));
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        final double[][] sortedLevels = new double[levels.length][];
+        for (int h = 0; h < levels.length; h++) {
+            sortedLevels[h] = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(sortedLevels[h]);
+        }
+        final int[] positions = new int[levels.length];
+        final double targetRank = Math.max(1, Math.ceil(fraction * count));
+        long rank = 0;
+        double value = Double.NaN;
+        while (true) {
+            int next = -1;
+            for (int h = 0; h < sortedLevels.length; h++) {
+                if (positions[h] < sortedLevels[h].length
+                        && (next < 0 || sortedLevels[h][positions[h]] < sortedLevels[next][positions[next]])) {
+                    next = h;
+                }
+            }
+            if (next < 0) {
+                return value;
+            }
+            value = sortedLevels[next][positions[next]++];
+            rank += 1L << next;
+            if (rank >= targetRank) {
+                return value;
+            }
+        }
+    }
+}
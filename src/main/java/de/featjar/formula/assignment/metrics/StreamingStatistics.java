@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+/**
+ * Computes count, minimum, maximum, mean, and variance of a stream of values in a single pass, together with a
+ * {@link QuantileSketch} for the median.
+ * The variance is updated with Welford's method. Two instances can be merged, so each thread can accumulate its
+ * own part of a stream.
+ *
+ * @author Sebastian Krieter
+ */
+public class StreamingStatistics {
+
+    private final QuantileSketch sketch;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    private double squaredDifferences;
+
+    /**
+     * Creates new statistics with a quantile sketch of {@link QuantileSketch#DEFAULT_CAPACITY}.
+     */
+    public StreamingStatistics() {
+        this(QuantileSketch.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new statistics.
+     *
+     * @param sketchCapacity the number of values per level of the quantile sketch
+     */
+    public StreamingStatistics(int sketchCapacity) {
+        sketch = new QuantileSketch(sketchCapacity);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        final double delta = value - mean;
+        mean += delta / count;
+        squaredDifferences += delta * (value - mean);
+        sketch.add(value);
+    }
+
+    /**
+     * Adds all values of other statistics to these statistics.
+     * The other statistics are not modified.
+     *
+     * @param other the other statistics
+     */
+    public void merge(StreamingStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        final long mergedCount = count + other.count;
+        final double delta = other.mean - mean;
+        mean += delta * other.count / mergedCount;
+        squaredDifferences += other.squaredDifferences + delta * delta * ((double) count * other.count / mergedCount);
+        count = mergedCount;
+        if (other.min < min) {
+            min = other.min;
+        }
+        if (other.max > max) {
+            max = other.max;
+        }
+        sketch.merge(other.sketch);
+    }
+
+    /**
+     * {@return the number of added values}
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * {@return the smallest added value}
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * {@return the largest added value}
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * {@return the mean of all added values}
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * {@return the population variance of all added values}
+     */
+    public double getVariance() {
+        return count == 0 ? Double.NaN : squaredDifferences / count;
+    }
+
+    /**
+     * {@return the population standard deviation of all added values}
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * {@return the median of all added values, which is approximate if the sketch is not exact}
+     */
+    public double getMedian() {
+        return sketch.getMedian();
+    }
+
+    /**
+     * {@return the quantile sketch}
+     */
+    public QuantileSketch getSketch() {
+        return sketch;
+    }
+}
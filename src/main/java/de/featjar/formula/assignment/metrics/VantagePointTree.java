@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * A vantage-point tree over literal arrays for nearest and farthest neighbor queries.
+ * Requires a distance function that is a metric (see {@link IDistanceFunction#isMetric()}), as subtrees are pruned
+ * using the triangle inequality.
+ * Each node chooses a random vantage point and splits the remaining points at the median of their distance to it.
+ *
+ * <p>
+ * Queries accept an approximation factor {@code epsilon >= 0}.
+ * With {@code epsilon = 0}, results are exact.
+ * Otherwise, a subtree is already pruned if it cannot improve the current result by more than a factor of
+ * {@code 1 + epsilon}. Thus, a reported nearest distance is at most {@code 1 + epsilon} times the exact one, and a
+ * reported farthest distance is at least the exact one divided by {@code 1 + epsilon}.
+ *
+ * @author Sebastian Krieter
+ */
+public class VantagePointTree {
+
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final int[][] points;
+    private final IDistanceFunction function;
+
+    private final int[] items;
+    private final int[] splits;
+    private final double[] innerMin;
+    private final double[] innerMax;
+    private final double[] outerMin;
+    private final double[] outerMax;
+
+    /**
+     * Builds a new tree.
+     *
+     * @param points the literal arrays
+     * @param function the distance function, must be a metric
+     * @param random the random instance used to choose vantage points
+     */
+    public VantagePointTree(int[][] points, IDistanceFunction function, Random random) {
+        this.points = points;
+        this.function = function;
+        final int size = points.length;
+        items = IntStream.range(0, size).toArray();
+        splits = new int[size];
+        innerMin = new double[size];
+        innerMax = new double[size];
+        outerMin = new double[size];
+        outerMax = new double[size];
+        build(0, size, new double[size], random);
+    }
+
+    private void build(int from, int to, double[] distances, Random random) {
+        while (from < to) {
+            final int vantagePointIndex = from + random.nextInt(to - from);
+            swap(distances, from, vantagePointIndex);
+            final int[] vantagePoint = points[items[from]];
+            final int first = from + 1;
+            if (to - first > PARALLEL_THRESHOLD) {
+                IntStream.range(first, to)
+                        .parallel()
+                        .forEach(i -> distances[i] = function.computeDistance(vantagePoint, points[items[i]]));
+            } else {
+                for (int i = first; i < to; i++) {
+                    distances[i] = function.computeDistance(vantagePoint, points[items[i]]);
+                }
+            }
+            final int split = first + ((to - first + 1) >> 1);
+            splits[from] = split;
+            if (first < to) {
+                select(distances, first, to - 1, split - 1);
+                innerMin[from] = min(distances, first, split);
+                innerMax[from] = distances[split - 1];
+                if (split < to) {
+                    outerMin[from] = min(distances, split, to);
+                    outerMax[from] = max(distances, split, to);
+                }
+            }
+            build(first, split, distances, random);
+            from = split;
+        }
+    }
+
+    private void select(double[] distances, int left, int right, int k) {
+        while (left < right) {
+            final double pivot = distances[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (distances[i] < pivot) {
+                    i++;
+                }
+                while (distances[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(distances, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(double[] distances, int i, int j) {
+        final double distance = distances[i];
+        distances[i] = distances[j];
+        distances[j] = distance;
+        final int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+
+    private static double min(double[] distances, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, distances[i]);
+        }
+        return min;
+    }
+
+    private static double max(double[] distances, int from, int to) {
+        double max = 0;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, distances[i]);
+        }
+        return max;
+    }
+
+    /**
+     * {@return the number of points in this tree}
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * {@return the distance from a point to its nearest other point in this tree, or {@link Double#MAX_VALUE} if
+     * there is no other point}
+     *
+     * @param index the index of the point
+     * @param epsilon the approximation factor, 0 for an exact result
+     */
+    public double getNearestDistance(int index, double epsilon) {
+        final Query query = new Query(index, 1 + epsilon, Double.MAX_VALUE);
+        searchNearest(query, 0, points.length);
+        return query.best;
+    }
+
+    /**
+     * {@return the distance from a point to its farthest other point in this tree, or 0 if there is no other point}
+     *
+     * @param index the index of the point
+     * @param epsilon the approximation factor, 0 for an exact result
+     */
+    public double getFarthestDistance(int index, double epsilon) {
+        final Query query = new Query(index, 1 + epsilon, 0);
+        searchFarthest(query, 0, points.length);
+        return query.best;
+    }
+
+    private static final class Query {
+        private final int index;
+        private final double factor;
+        private double best;
+
+        private Query(int index, double factor, double best) {
+            this.index = index;
+            this.factor = factor;
+            this.best = best;
+        }
+    }
+
+    private double distance(Query query, int from) {
+        final int item = items[from];
+        return item == query.index ? 0 : function.computeDistance(points[query.index], points[item]);
+    }
+
+    private void searchNearest(Query query, int from, int to) {
+        while (from < to) {
+            final double distance = distance(query, from);
+            if (items[from] != query.index && distance < query.best) {
+                query.best = distance;
+            }
+            final int first = from + 1;
+            final int split = splits[from];
+            final double innerBound =
+                    first < split ? Math.max(innerMin[from] - distance, distance - innerMax[from]) : Double.MAX_VALUE;
+            final double outerBound =
+                    split < to ? Math.max(outerMin[from] - distance, distance - outerMax[from]) : Double.MAX_VALUE;
+            if (innerBound <= outerBound) {
+                if (innerBound * query.factor < query.best) {
+                    searchNearest(query, first, split);
+                }
+                if (!(outerBound * query.factor < query.best)) {
+                    return;
+                }
+                from = split;
+            } else {
+                if (outerBound * query.factor < query.best) {
+                    searchNearest(query, split, to);
+                }
+                if (!(innerBound * query.factor < query.best)) {
+                    return;
+                }
+                to = split;
+                from = first;
+            }
+        }
+    }
+
+    private void searchFarthest(Query query, int from, int to) {
+        while (from < to) {
+            final double distance = distance(query, from);
+            if (items[from] != query.index && distance > query.best) {
+                query.best = distance;
+            }
+            final int first = from + 1;
+            final int split = splits[from];
+            final double innerBound = first < split ? distance + innerMax[from] : -1;
+            final double outerBound = split < to ? distance + outerMax[from] : -1;
+            if (innerBound >= outerBound) {
+                if (innerBound > query.best * query.factor) {
+                    searchFarthest(query, first, split);
+                }
+                if (!(outerBound > query.best * query.factor)) {
+                    return;
+                }
+                from = split;
+            } else {
+                if (outerBound > query.best * query.factor) {
+                    searchFarthest(query, split, to);
+                }
+                if (!(innerBound > query.best * query.factor)) {
+                    return;
+                }
+                to = split;
+                from = first;
+            }
+        }
+    }
+}
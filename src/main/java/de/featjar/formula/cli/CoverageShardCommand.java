@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.cli;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.cli.ACommand;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.RankRangeCombinationSpecification;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.computation.AComputeTWiseCoverage;
+import de.featjar.formula.computation.Checkpoint;
+import de.featjar.formula.computation.ComputeAbsoluteTWiseCoverage;
+import de.featjar.formula.computation.ComputeRelativeTWiseCoverage;
+import de.featjar.formula.computation.ComputeShardedTWiseCoverage;
+import de.featjar.formula.computation.CoverageCheckpoint;
+import de.featjar.formula.io.BooleanAssignmentListFormats;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Computes the t-wise coverage of a sample for an interval of combination ranks.
+ * The partial statistic is periodically written as {@link CoverageCheckpoint} to the output path.
+ * Used as worker process by {@link ComputeShardedTWiseCoverage}.
+ *
+ * @author Sebastian Krieter
+ */
+public class CoverageShardCommand extends ACommand {
+
+    public static final Option<Path> REFERENCE_OPTION = Option.newOption("reference", Option.PathParser)
+            .setDescription("Path to reference sample. If given, relative coverage is computed.")
+            .setValidator(Option.PathValidator);
+
+    public static final Option<Integer> T_OPTION = Option.newOption("t", Integer::parseInt)
+            .setDescription("Size of interactions")
+            .setValidator(t -> t > 0)
+            .setDefaultValue(1);
+
+    public static final Option<Long> FROM_OPTION = Option.newOption("from", Long::parseLong)
+            .setDescription("First combination rank (inclusive)")
+            .setValidator(rank -> rank >= 0)
+            .setDefaultValue(0L);
+
+    public static final Option<Long> TO_OPTION = Option.newOption("to", Long::parseLong)
+            .setDescription("Last combination rank (exclusive). Defaults to the number of combinations.")
+            .setValidator(rank -> rank >= 0);
+
+    public static final Option<Long> INTERVAL_OPTION = Option.newOption("interval", Long::parseLong)
+            .setDescription("Minimal time between two partial statistics in milliseconds")
+            .setValidator(interval -> interval >= 0)
+            .setDefaultValue(Checkpoint.DEFAULT_INTERVAL);
+
+    @Override
+    public int run(OptionList optionParser) {
+        Path outputPath = optionParser.getResult(OUTPUT_OPTION).orElse(null);
+        if (outputPath == null) {
+            FeatJAR.log().error("No output path given for the partial statistic.");
+            return FeatJAR.ERROR_WRITING_RESULT;
+        }
+        try {
+            BooleanAssignmentList sample = optionParser
+                    .getResult(INPUT_OPTION)
+                    .flatMap(p -> IO.load(p, BooleanAssignmentListFormats.getInstance()))
+                    .orElseThrow();
+            BooleanAssignmentList referenceSample = optionParser
+                    .getResult(REFERENCE_OPTION)
+                    .map(p -> IO.load(p, BooleanAssignmentListFormats.getInstance())
+                            .orElseThrow())
+                    .orElse(null);
+            int t = optionParser.getResult(T_OPTION).orElseThrow();
+            long interval = optionParser.getResult(INTERVAL_OPTION).orElseThrow();
+
+            VariableCombinationSpecification combinationSpecification =
+                    new VariableCombinationSpecification(t, sample.getVariableMap());
+            long fromRank = optionParser.getResult(FROM_OPTION).orElseThrow();
+            long toRank = optionParser.getResult(TO_OPTION).orElse(combinationSpecification.rankCount());
+
+            IComputation<CoverageStatistic> computation = referenceSample == null
+                    ? new ComputeAbsoluteTWiseCoverage(Computations.of(sample))
+                    : new ComputeRelativeTWiseCoverage(Computations.of(sample))
+                            .set(ComputeRelativeTWiseCoverage.REFERENCE_SAMPLE, referenceSample);
+            Result<CoverageStatistic> statistic = computation
+                    .set(
+                            AComputeTWiseCoverage.COMBINATION_SET,
+                            new RankRangeCombinationSpecification(combinationSpecification, fromRank, toRank))
+                    .set(AComputeTWiseCoverage.CHECKPOINT, new Checkpoint(outputPath, interval, false))
+                    .computeResult(false, false);
+            if (statistic.isEmpty()) {
+                FeatJAR.log().problems(statistic.getProblems());
+                return FeatJAR.ERROR_COMPUTING_RESULT;
+            }
+        } catch (Exception e) {
+            FeatJAR.log().error(e);
+            return FeatJAR.ERROR_COMPUTING_RESULT;
+        }
+        return 0;
+    }
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Computes the t-wise coverage of a sample for an interval of combination ranks.");
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("coverage-shard");
+    }
+}
@@ -20,6 +20,7 @@
  */
 package de.featjar.formula.combination;
 
+import de.featjar.base.data.BinomialCalculator;
 import de.featjar.formula.VariableMap;
 import java.util.Arrays;
 import java.util.Objects;
@@ -109,9 +110,25 @@ public abstract class ACombinationSpecification implements ICombinationSpecifica
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * Each rank corresponds to one selection of {@link #t()} elements.
+     */
+    @Override
+    public long rankCount() {
+        try {
+            return BinomialCalculator.computeBinomial(elements.length, t);
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
     public abstract void forEach(Consumer<int[]> consumer);
 
     public abstract <V> void forEach(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
 
     public abstract <V> void forEachParallel(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
+
+    public abstract <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
 }
@@ -20,6 +20,7 @@
  */
 package de.featjar.formula.combination;
 
+import de.featjar.base.data.BinomialCalculator;
 import de.featjar.formula.VariableMap;
 import java.util.Objects;
 import java.util.Random;
@@ -102,6 +103,74 @@ public abstract class ASetsCombinationSpecification implements ICombinationSpeci
         variableMap = newVariableMap;
     }
 
+    /**
+     * {@inheritDoc}
+     * Each rank corresponds to one selection of elements from every element set.
+     */
+    @Override
+    public long rankCount() {
+        try {
+            long count = 1;
+            for (int i = 0; i < tValues.length; i++) {
+                count = Math.multiplyExact(
+                        count, BinomialCalculator.computeBinomial(elementSets[i].length, tValues[i]));
+            }
+            return count;
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Ranks are composed in a mixed radix system, in which the first element set is the least significant digit.
+     * The array passed to the consumer is reused for subsequent combinations.
+     */
+    @Override
+    public <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        final int setCount = tValues.length;
+        final long[][][] binomials = new long[setCount][][];
+        final long[] rankCounts = new long[setCount];
+        int size = 0;
+        for (int i = 0; i < setCount; i++) {
+            binomials[i] = CombinationRanks.binomials(elementSets[i].length, tValues[i]);
+            rankCounts[i] = binomials[i][elementSets[i].length][tValues[i]];
+            size += tValues[i];
+        }
+        final int combinationSize = size;
+        CombinationRanks.forEachChunkParallel(
+                fromRank,
+                toRank,
+                (environment, chunkStart, chunkEnd) -> {
+                    final int[][] indices = new int[setCount][];
+                    long rank = chunkStart;
+                    for (int i = 0; i < setCount; i++) {
+                        indices[i] = new int[tValues[i]];
+                        CombinationRanks.unrank(rank % rankCounts[i], binomials[i], indices[i]);
+                        rank /= rankCounts[i];
+                    }
+                    final int[] combination = new int[combinationSize];
+                    for (long curRank = chunkStart; curRank < chunkEnd; curRank++) {
+                        int offset = 0;
+                        for (int i = 0; i < setCount; i++) {
+                            final int[] elements = elementSets[i];
+                            for (int index : indices[i]) {
+                                combination[offset++] = elements[index];
+                            }
+                        }
+                        consumer.accept(environment, combination);
+                        for (int i = 0; i < setCount; i++) {
+                            if (CombinationRanks.next(indices[i], elementSets[i].length)) {
+                                break;
+                            }
+                            CombinationRanks.unrank(0, binomials[i], indices[i]);
+                        }
+                    }
+                },
+                environmentCreator);
+    }
+
     public abstract void forEach(Consumer<int[]> consumer);
 
     public abstract <V> void forEach(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
@@ -80,6 +80,25 @@ public class BooleanAssignmentListCombinationSpecification implements ICombinati
                 .forEach(assignment -> consumer.accept(environmentCreator.get(), assignment));
     }
 
+    @Override
+    public long rankCount() {
+        return booleanAssignmentList.size();
+    }
+
+    @Override
+    public <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        CombinationRanks.forEachChunkParallel(
+                fromRank,
+                toRank,
+                (environment, chunkStart, chunkEnd) -> {
+                    for (long rank = chunkStart; rank < chunkEnd; rank++) {
+                        consumer.accept(environment, booleanAssignmentList.get((int) rank).get());
+                    }
+                },
+                environmentCreator);
+    }
+
     @Override
     public VariableMap variableMap() {
         return booleanAssignmentList.getVariableMap();
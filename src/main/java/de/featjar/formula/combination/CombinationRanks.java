@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.combination;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Enumerates combinations of a fixed size by their rank in the combinatorial number system (colexicographic order).
+ * Allows to process an arbitrary interval of combinations without enumerating its predecessors, which is required for
+ * resuming and distributing long-running computations.
+ *
+ * @author Sebastian Krieter
+ */
+public final class CombinationRanks {
+
+    /**
+     * Consumer for an interval of ranks.
+     *
+     * @param <V> the type of the environment object
+     */
+    @FunctionalInterface
+    public interface RangeConsumer<V> {
+        /**
+         * Processes all ranks from {@code fromRank} (inclusive) to {@code toRank} (exclusive).
+         *
+         * @param environment the environment object
+         * @param fromRank the first rank
+         * @param toRank the rank after the last rank
+         */
+        void accept(V environment, long fromRank, long toRank);
+    }
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private CombinationRanks() {}
+
+    /**
+     * Computes a table of binomial coefficients {@code C(i, k)} for all {@code 0 <= i <= n} and {@code 0 <= k <= t}.
+     * Values that exceed the range of {@code long} are saturated to {@link Long#MAX_VALUE}.
+     *
+     * @param n the number of elements
+     * @param t the combination size
+     * @return the table, indexed by {@code [i][k]}
+     */
+    public static long[][] binomials(int n, int t) {
+        final long[][] binomials = new long[n + 1][t + 1];
+        for (int i = 0; i <= n; i++) {
+            binomials[i][0] = 1;
+            for (int k = 1; k <= Math.min(i, t); k++) {
+                final long sum = binomials[i - 1][k - 1] + binomials[i - 1][k];
+                binomials[i][k] = sum < 0 ? Long.MAX_VALUE : sum;
+            }
+        }
+        return binomials;
+    }
+
+    /**
+     * Computes the element indices of the combination with the given rank.
+     *
+     * @param rank the rank
+     * @param binomials the binomial table as computed by {@link #binomials(int, int)}
+     * @param indices the array to store the element indices in, its length is the combination size
+     */
+    public static void unrank(long rank, long[][] binomials, int[] indices) {
+        int upper = binomials.length - 1;
+        for (int i = indices.length - 1; i >= 0; i--) {
+            final int k = i + 1;
+            int low = i;
+            int high = upper;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (binomials[mid][k] <= rank) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            indices[i] = low;
+            rank -= binomials[low][k];
+            upper = low - 1;
+        }
+    }
+
+    /**
+     * Advances the given element indices to the combination with the next rank.
+     *
+     * @param indices the element indices
+     * @param n the number of elements
+     * @return {@code true} if there is a next combination, {@code false} otherwise
+     */
+    public static boolean next(int[] indices, int n) {
+        final int t = indices.length;
+        for (int i = 0; i < t; i++) {
+            final int limit = i + 1 < t ? indices[i + 1] : n;
+            if (indices[i] + 1 < limit) {
+                indices[i]++;
+                for (int j = 0; j < i; j++) {
+                    indices[j] = j;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits the given rank interval into chunks and processes them in parallel.
+     * Each chunk receives its own environment object.
+     *
+     * @param <V> the type of the environment object
+     * @param fromRank the first rank
+     * @param toRank the rank after the last rank
+     * @param consumer the consumer for each chunk
+     * @param environmentCreator a supplier for an environment object
+     */
+    public static <V> void forEachChunkParallel(
+            long fromRank, long toRank, RangeConsumer<V> consumer, Supplier<V> environmentCreator) {
+        final long length = toRank - fromRank;
+        if (length <= 0) {
+            return;
+        }
+        final long chunkCount =
+                Math.min(length, (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+        final long chunkSize = (length + chunkCount - 1) / chunkCount;
+        LongStream.range(0, chunkCount).parallel().forEach(chunk -> {
+            final long chunkStart = fromRank + chunk * chunkSize;
+            final long chunkEnd = Math.min(toRank, chunkStart + chunkSize);
+            if (chunkStart < chunkEnd) {
+                consumer.accept(environmentCreator.get(), chunkStart, chunkEnd);
+            }
+        });
+    }
+
+    /**
+     * Applies the given consumer in parallel to each combination of the given elements with a rank in the given
+     * interval. The array passed to the consumer is reused for subsequent combinations of the same chunk.
+     *
+     * @param <V> the type of the environment object
+     * @param elements the elements
+     * @param t the combination size
+     * @param fromRank the first rank
+     * @param toRank the rank after the last rank
+     * @param consumer the consumer function
+     * @param environmentCreator a supplier for an environment object
+     */
+    public static <V> void forEachParallel(
+            int[] elements,
+            int t,
+            long fromRank,
+            long toRank,
+            BiConsumer<V, int[]> consumer,
+            Supplier<V> environmentCreator) {
+        final long[][] binomials = binomials(elements.length, t);
+        forEachChunkParallel(
+                fromRank,
+                toRank,
+                (environment, chunkStart, chunkEnd) -> {
+                    final int[] indices = new int[t];
+                    final int[] combination = new int[t];
+                    unrank(chunkStart, binomials, indices);
+                    for (long rank = chunkStart; rank < chunkEnd; rank++) {
+                        for (int i = 0; i < t; i++) {
+                            combination[i] = elements[indices[i]];
+                        }
+                        consumer.accept(environment, combination);
+                        next(indices, elements.length);
+                    }
+                },
+                environmentCreator);
+    }
+}
@@ -80,6 +80,26 @@ public interface ICombinationSpecification {
      */
     <V> void forEachParallel(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
 
+    /**
+     * {@return the number of ranks that can be processed by {@link #forEachParallel(long, long, BiConsumer, Supplier)}, or -1 if the number of ranks exceeds the range of long}
+     * Depending on the specification, a single rank may correspond to multiple combinations.
+     */
+    long rankCount();
+
+    /**
+     * Applies the given consumer in parallel to each combination with a rank in the given interval.
+     * The consumer also receives an environment object for context.
+     * Processing all ranks from {@code 0} to {@link #rankCount()} is equivalent to {@link #forEachParallel(BiConsumer, Supplier)}.
+     *
+     * @param <V> the type of the environment object
+     * @param fromRank the first rank (inclusive)
+     * @param toRank the last rank (exclusive)
+     * @param consumer the consumer function
+     * @param environmentCreator a supplier for an environment object
+     */
+    <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
+
     /**
      * {@return the variable map}
      */
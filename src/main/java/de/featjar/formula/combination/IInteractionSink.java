@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.combination;
+
+import de.featjar.formula.VariableMap;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives interactions found by a computation, for instance all uncovered interactions of a sample.
+ * Implementations must be thread-safe and must not keep a reference to the given array, as it may be reused.
+ * The computation closes the sink when it ends, also if it fails.
+ *
+ * @author Sebastian Krieter
+ */
+public interface IInteractionSink extends Closeable {
+
+    static IInteractionSink none() {
+        return new IInteractionSink() {
+            @Override
+            public void accept(int... literals) {}
+        };
+    }
+
+    /**
+     * Called before the first interaction is passed to this sink.
+     * May be called again, for instance if the same sink receives interactions of multiple kinds.
+     * Implementations must ignore all calls but the first one.
+     *
+     * @param variableMap the variable map that the literals of all subsequent interactions refer to
+     */
+    default void init(VariableMap variableMap) {}
+
+    /**
+     * Receives an interaction.
+     *
+     * @param literals the literals of the interaction
+     */
+    void accept(int... literals);
+
+    /**
+     * Called after the last interaction was passed to this sink.
+     * May be called multiple times, all calls but the first one must have no effect.
+     *
+     * @throws IOException if the received interactions could not be written
+     */
+    @Override
+    default void close() throws IOException {}
+}
@@ -79,6 +79,12 @@ public class LiteralCombinationSpecification extends ACombinationSpecification {
         });
     }
 
+    @Override
+    public <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        CombinationRanks.forEachParallel(elements, t, fromRank, toRank, consumer, environmentCreator);
+    }
+
     @Override
     public long loopCount() {
         try {
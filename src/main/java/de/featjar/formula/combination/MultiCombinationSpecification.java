@@ -98,6 +98,41 @@ public class MultiCombinationSpecification implements ICombinationSpecification
         }
     }
 
+    @Override
+    public long rankCount() {
+        try {
+            long sum = 0;
+            for (ICombinationSpecification combinationSet : combinationSets) {
+                long rankCount = combinationSet.rankCount();
+                if (rankCount < 0) {
+                    return -1;
+                }
+                sum = Math.addExact(sum, rankCount);
+            }
+            return sum;
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        long offset = 0;
+        for (ICombinationSpecification combinationSet : combinationSets) {
+            if (offset >= toRank) {
+                break;
+            }
+            long rankCount = combinationSet.rankCount();
+            long from = Math.max(fromRank, offset);
+            long to = Math.min(toRank, offset + rankCount);
+            if (from < to) {
+                combinationSet.forEachParallel(from - offset, to - offset, consumer, environmentCreator);
+            }
+            offset += rankCount;
+        }
+    }
+
     @Override
     public VariableMap variableMap() {
         return new VariableMap(combinationSets.stream()
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.combination;
+
+import de.featjar.formula.VariableMap;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Restricts another specification to the combinations with a rank in a given interval.
+ * Can be used to split the combinations of a specification into disjoint shards.
+ *
+ * @see ICombinationSpecification#rankCount()
+ * @author Sebastian Krieter
+ */
+public class RankRangeCombinationSpecification implements ICombinationSpecification {
+
+    private final ICombinationSpecification combinationSpecification;
+    private final long fromRank;
+    private final long toRank;
+
+    /**
+     * Creates a new restricted specification.
+     *
+     * @param combinationSpecification the specification to restrict, its number of ranks must not exceed the range of long
+     * @param fromRank the first rank (inclusive)
+     * @param toRank the last rank (exclusive)
+     */
+    public RankRangeCombinationSpecification(
+            ICombinationSpecification combinationSpecification, long fromRank, long toRank) {
+        this.combinationSpecification = Objects.requireNonNull(combinationSpecification);
+        long rankCount = combinationSpecification.rankCount();
+        if (rankCount < 0) {
+            throw new IllegalArgumentException("Number of combination ranks exceeds the range of long.");
+        }
+        if (fromRank < 0 || fromRank > toRank || toRank > rankCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid rank interval [%d, %d) for %d ranks.", fromRank, toRank, rankCount));
+        }
+        this.fromRank = fromRank;
+        this.toRank = toRank;
+    }
+
+    public long fromRank() {
+        return fromRank;
+    }
+
+    public long toRank() {
+        return toRank;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the ranks of the underlying specification correspond to different numbers of combinations, the result is an
+     * estimate.
+     */
+    @Override
+    public long loopCount() {
+        long rankCount = combinationSpecification.rankCount();
+        if (rankCount == 0) {
+            return 0;
+        }
+        return (long) ((double) combinationSpecification.loopCount() * (toRank - fromRank) / rankCount);
+    }
+
+    @Override
+    public long rankCount() {
+        return toRank - fromRank;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Shuffles the elements of the underlying specification, which changes the combinations within the rank interval.
+     * Specifications that restrict copies of the same specification to disjoint intervals remain disjoint, if they
+     * are shuffled with random instances that use the same seed.
+     */
+    @Override
+    public void shuffleElements(Random random) {
+        combinationSpecification.shuffleElements(random);
+    }
+
+    @Override
+    public void remap(VariableMap variableMap) {
+        combinationSpecification.remap(variableMap);
+    }
+
+    @Override
+    public void forEach(Consumer<int[]> consumer) {
+        final Object lock = new Object();
+        combinationSpecification.forEachParallel(
+                fromRank,
+                toRank,
+                (Object environment, int[] combination) -> {
+                    synchronized (lock) {
+                        consumer.accept(combination);
+                    }
+                },
+                () -> null);
+    }
+
+    @Override
+    public <V> void forEach(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        final Object lock = new Object();
+        combinationSpecification.forEachParallel(
+                fromRank,
+                toRank,
+                (V environment, int[] combination) -> {
+                    synchronized (lock) {
+                        consumer.accept(environment, combination);
+                    }
+                },
+                environmentCreator);
+    }
+
+    @Override
+    public void forEachParallel(Consumer<int[]> consumer) {
+        combinationSpecification.forEachParallel(
+                fromRank, toRank, (Object environment, int[] combination) -> consumer.accept(combination), () -> null);
+    }
+
+    @Override
+    public <V> void forEachParallel(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        combinationSpecification.forEachParallel(fromRank, toRank, consumer, environmentCreator);
+    }
+
+    @Override
+    public <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        if (fromRank < 0 || fromRank > toRank || toRank > rankCount()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid rank interval [%d, %d) for %d ranks.", fromRank, toRank, rankCount()));
+        }
+        combinationSpecification.forEachParallel(
+                this.fromRank + fromRank, this.fromRank + toRank, consumer, environmentCreator);
+    }
+
+    @Override
+    public VariableMap variableMap() {
+        return combinationSpecification.variableMap();
+    }
+
+    @Override
+    public int maxT() {
+        return combinationSpecification.maxT();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The rank interval is kept, but limited to the number of ranks of the reduced specification.
+     */
+    @Override
+    public RankRangeCombinationSpecification reduceTTo(int newT) {
+        ICombinationSpecification reducedSpecification = combinationSpecification.reduceTTo(newT);
+        long rankCount = reducedSpecification.rankCount();
+        return new RankRangeCombinationSpecification(
+                reducedSpecification, Math.min(fromRank, rankCount), Math.min(toRank, rankCount));
+    }
+
+    @Override
+    public RankRangeCombinationSpecification copy() {
+        return new RankRangeCombinationSpecification(combinationSpecification.copy(), fromRank, toRank);
+    }
+}
@@ -140,6 +140,24 @@ public class VariableCombinationSpecification extends ACombinationSpecification
         });
     }
 
+    @Override
+    public <V> void forEachParallel(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        final int[] gray = Ints.grayCode(t);
+        CombinationRanks.forEachParallel(
+                elements,
+                t,
+                fromRank,
+                toRank,
+                (V environment, int[] combinationLiterals) -> {
+                    for (int g : gray) {
+                        consumer.accept(environment, combinationLiterals);
+                        combinationLiterals[g] = -combinationLiterals[g];
+                    }
+                },
+                environmentCreator);
+    }
+
     @Override
     public long loopCount() {
         try {
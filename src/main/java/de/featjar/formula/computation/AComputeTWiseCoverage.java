@@ -31,10 +31,15 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.CoverageStatistic;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.RemappingPlan;
 import de.featjar.formula.combination.ICombinationFilter;
 import de.featjar.formula.combination.ICombinationSpecification;
+import de.featjar.formula.combination.IInteractionSink;
 import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
-import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.SampleIndexType;
+import de.featjar.formula.io.binary.CoverageCheckpointBinaryFormat;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -58,14 +63,39 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
             Dependency.newDependency(ICombinationFilter.class);
     public static final Dependency<ICombinationFilter> INCLUDE_INTERACTIONS =
             Dependency.newDependency(ICombinationFilter.class);
+    public static final Dependency<Checkpoint> CHECKPOINT = Dependency.newDependency(Checkpoint.class);
+    /**
+     * Receives all uncovered interactions and is closed when the computation ends.
+     * When resuming from a {@link #CHECKPOINT}, the output restarts at the checkpointed rank, that is, the sink only
+     * receives the interactions of the remaining ranks.
+     * Interactions that an interrupted computation reported after its last checkpoint are reported again.
+     */
+    public static final Dependency<IInteractionSink> UNCOVERED_INTERACTIONS =
+            Dependency.newDependency(IInteractionSink.class);
+    public static final Dependency<SampleIndexType> SAMPLE_INDEX = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * Number of consecutive blocks the rank range is divided into when checkpointing.
+     * A checkpoint can only be written between two blocks.
+     */
+    private static final long NUMBER_OF_RANK_BLOCKS = 4096;
 
     public AComputeTWiseCoverage(IComputation<BooleanAssignmentList> sample, IComputation<?>... computations) {
-        super(
-                sample,
-                sample.map(VariableCombinationSpecificationComputation::new),
-                Computations.of(ICombinationFilter.of(false)),
-                Computations.of(ICombinationFilter.of(true)),
-                computations);
+        super(dependencies(sample, computations));
+    }
+
+    private static IComputation<?>[] dependencies(
+            IComputation<BooleanAssignmentList> sample, IComputation<?>... computations) {
+        IComputation<?>[] dependencies = new IComputation<?>[7 + computations.length];
+        dependencies[0] = sample;
+        dependencies[1] = sample.map(VariableCombinationSpecificationComputation::new);
+        dependencies[2] = Computations.of(ICombinationFilter.of(false));
+        dependencies[3] = Computations.of(ICombinationFilter.of(true));
+        dependencies[4] = Computations.of(Checkpoint.none());
+        dependencies[5] = Computations.of(IInteractionSink.none());
+        dependencies[6] = Computations.of(SampleIndexType.BIT);
+        System.arraycopy(computations, 0, dependencies, 7, computations.length);
+        return dependencies;
     }
 
     public AComputeTWiseCoverage(AComputeTWiseCoverage other) {
@@ -78,6 +108,9 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     protected ICombinationFilter excludeFilter;
     protected ICombinationFilter includeFilter;
     protected BooleanAssignmentList sample;
+    protected IInteractionSink uncoveredInteractions;
+    protected SampleIndexType sampleIndexType;
+    protected RemappingPlan remappingPlan;
 
     protected final void init(List<Object> dependencyList) {
         initWithOriginalVariableMap(dependencyList);
@@ -103,10 +136,28 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     protected void adaptVariableMap(List<Object> dependencyList) {
         excludeFilter = EXCLUDE_INTERACTIONS.get(dependencyList).remap(sample.getVariableMap());
         includeFilter = INCLUDE_INTERACTIONS.get(dependencyList).remap(sample.getVariableMap());
+        uncoveredInteractions = UNCOVERED_INTERACTIONS.get(dependencyList);
+        uncoveredInteractions.init(sample.getVariableMap());
+        sampleIndexType = SAMPLE_INDEX.get(dependencyList);
     }
 
     protected void adaptToMergedVariableMap(VariableMap mergedVariableMap) {
-        sample = sample.remap(mergedVariableMap);
+        sample = remap(sample, mergedVariableMap);
+    }
+
+    /**
+     * Remaps the given list to the given variable map.
+     * Reuses the remapping plan of the previous call if it applies to the same pair of variable maps.
+     *
+     * @param list the list to remap
+     * @param newVariableMap the new variable map
+     * @return the remapped list
+     */
+    protected BooleanAssignmentList remap(BooleanAssignmentList list, VariableMap newVariableMap) {
+        if (remappingPlan == null || !remappingPlan.appliesTo(list.getVariableMap(), newVariableMap)) {
+            remappingPlan = new RemappingPlan(list.getVariableMap(), newVariableMap);
+        }
+        return list.remap(remappingPlan);
     }
 
     protected VariableMap getReferenceVariableMap() {
@@ -115,32 +166,128 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
 
     @Override
     public Result<CoverageStatistic> compute(List<Object> dependencyList, Progress progress) {
+        Result<CoverageStatistic> result = null;
+        try {
+            result = computeStatistic(dependencyList, progress);
+        } finally {
+            try {
+                closeSinks();
+            } catch (IOException e) {
+                if (result != null) {
+                    result = Result.empty(e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Closes all sinks that were initialized by this computation.
+     * Subclasses with additional sinks must close them as well.
+     *
+     * @throws IOException if a sink could not be closed
+     */
+    protected void closeSinks() throws IOException {
+        if (uncoveredInteractions != null) {
+            uncoveredInteractions.close();
+        }
+    }
+
+    private Result<CoverageStatistic> computeStatistic(List<Object> dependencyList, Progress progress) {
         init(dependencyList);
 
-        SampleBitIndex sampleIndex = new SampleBitIndex(sample);
+        ISampleIndex sampleIndex = sampleIndexType.create(sample);
 
         progress.setTotalSteps(combinationSet.loopCount());
 
+        Checkpoint checkpoint = CHECKPOINT.get(dependencyList);
+        if (checkpoint.isEnabled()) {
+            long rankCount = combinationSet.rankCount();
+            if (rankCount >= 0) {
+                return Result.of(computeWithCheckpoints(checkpoint, rankCount, sampleIndex, progress));
+            }
+            FeatJAR.log().warning("Number of combination ranks exceeds the range of long. Checkpoints are disabled.");
+        }
+
         process(
                 combinationSet,
-                (statistic, interaction) -> {
-                    checkCancel();
-                    progress.incrementCurrentStep();
-                    if (excludeFilter.test(interaction) || !includeFilter.test(interaction)) {
-                        statistic.incNumberOfIgnoredElements();
-                    } else {
-                        if (sampleIndex.test(interaction)) {
-                            statistic.incNumberOfCoveredElements();
-                        } else {
-                            countUncovered(interaction, statistic);
-                        }
-                    }
-                },
+                (statistic, interaction) -> count(statistic, interaction, sampleIndex, progress),
                 this::createStatistic);
         return Result.ofOptional(statisticList.stream() //
                 .reduce((s1, s2) -> s1.merge(s2)));
     }
 
+    private CoverageStatistic computeWithCheckpoints(
+            Checkpoint checkpoint, long rankCount, ISampleIndex sampleIndex, Progress progress) {
+        CoverageStatistic statistic = new CoverageStatistic();
+        long nextRank = 0;
+        long fingerprint = fingerprint().get();
+
+        Result<CoverageCheckpoint> savedState = checkpoint.load(new CoverageCheckpointBinaryFormat());
+        if (savedState.isPresent()) {
+            CoverageCheckpoint state = savedState.get();
+            if (state.matches(rankCount, fingerprint)) {
+                statistic = state.getStatistic();
+                nextRank = state.getNextRank();
+                FeatJAR.log().info("Resuming coverage computation at rank %d of %d.", nextRank, rankCount);
+            } else {
+                FeatJAR.log().warning("Checkpoint %s does not match the current computation.", checkpoint.getFile());
+            }
+        }
+
+        long blockSize = Math.max(1, rankCount / NUMBER_OF_RANK_BLOCKS);
+        long lastSaveTime = System.currentTimeMillis();
+        while (nextRank < rankCount) {
+            long blockEnd = Math.min(rankCount, nextRank + blockSize);
+            statisticList.clear();
+            combinationSet.forEachParallel(
+                    nextRank,
+                    blockEnd,
+                    (CoverageStatistic blockStatistic, int[] interaction) ->
+                            count(blockStatistic, interaction, sampleIndex, progress),
+                    this::createStatistic);
+            for (CoverageStatistic blockStatistic : statisticList) {
+                statistic.merge(blockStatistic);
+            }
+            nextRank = blockEnd;
+            if (checkpoint.isDue(lastSaveTime)) {
+                checkpoint.save(
+                        new CoverageCheckpoint(rankCount, fingerprint, nextRank, statistic),
+                        new CoverageCheckpointBinaryFormat());
+                lastSaveTime = System.currentTimeMillis();
+            }
+        }
+        checkpoint.save(
+                new CoverageCheckpoint(rankCount, fingerprint, nextRank, statistic),
+                new CoverageCheckpointBinaryFormat());
+        return statistic;
+    }
+
+    /**
+     * {@return the fingerprint of all inputs that influence the statistic}
+     * Subclasses with additional inputs must add them to the fingerprint.
+     */
+    protected Fingerprint fingerprint() {
+        return new Fingerprint()
+                .add(getClass().getName())
+                .add(sample)
+                .add(combinationSet, excludeFilter, includeFilter);
+    }
+
+    private void count(CoverageStatistic statistic, int[] interaction, ISampleIndex sampleIndex, Progress progress) {
+        checkCancel();
+        progress.incrementCurrentStep();
+        if (excludeFilter.test(interaction) || !includeFilter.test(interaction)) {
+            statistic.incNumberOfIgnoredElements();
+        } else {
+            if (sampleIndex.test(interaction)) {
+                statistic.incNumberOfCoveredElements();
+            } else {
+                countUncovered(interaction, statistic);
+            }
+        }
+    }
+
     protected CoverageStatistic createStatistic() {
         CoverageStatistic env = new CoverageStatistic();
         synchronized (statisticList) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.base.io.format.IFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * Settings for periodically persisting the intermediate state of a long-running computation to a file, such that the
+ * computation can be resumed after an interruption.
+ *
+ * @author Sebastian Krieter
+ */
+public class Checkpoint {
+
+    /**
+     * The default time between two checkpoints in milliseconds.
+     */
+    public static final long DEFAULT_INTERVAL = 60_000;
+
+    private static final Checkpoint NONE = new Checkpoint(null, DEFAULT_INTERVAL, false);
+
+    /**
+     * {@return settings that disable checkpointing}
+     */
+    public static Checkpoint none() {
+        return NONE;
+    }
+
+    private final Path file;
+    private final long interval;
+    private final boolean resume;
+
+    /**
+     * Creates new checkpoint settings.
+     *
+     * @param file the file to store the checkpoint in, {@code null} disables checkpointing
+     * @param interval the minimal time between two checkpoints in milliseconds
+     * @param resume whether to continue from an existing checkpoint file
+     */
+    public Checkpoint(Path file, long interval, boolean resume) {
+        if (interval < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Checkpoint interval must not be negative. Value was %d.", interval));
+        }
+        this.file = file;
+        this.interval = interval;
+        this.resume = resume;
+    }
+
+    /**
+     * Creates new checkpoint settings with the {@link #DEFAULT_INTERVAL default interval} that resume from an existing
+     * checkpoint file.
+     *
+     * @param file the file to store the checkpoint in
+     */
+    public Checkpoint(Path file) {
+        this(Objects.requireNonNull(file), DEFAULT_INTERVAL, true);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * {@return whether the interval has passed since the given time}
+     *
+     * @param lastSaveTime the time of the last checkpoint as returned by {@link System#currentTimeMillis()}
+     */
+    public boolean isDue(long lastSaveTime) {
+        return isEnabled() && System.currentTimeMillis() - lastSaveTime >= interval;
+    }
+
+    /**
+     * Reads the state stored in the checkpoint file.
+     *
+     * @param <T> the type of the state
+     * @param format the format of the state
+     * @return the stored state or an empty result, if there is no checkpoint to resume from
+     */
+    public <T> Result<T> load(IFormat<T> format) {
+        if (!isEnabled() || !resume || !Files.exists(file)) {
+            return Result.empty();
+        }
+        return IO.load(file, format);
+    }
+
+    /**
+     * Writes the given state to the checkpoint file.
+     * The state is written to a temporary file first, which then atomically replaces the checkpoint file, such that an
+     * interruption while writing never corrupts an existing checkpoint.
+     * Failures are logged, but do not abort the computation.
+     *
+     * @param <T> the type of the state
+     * @param state the state
+     * @param format the format of the state
+     */
+    public <T> void save(T state, IFormat<T> format) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            IO.save(state, tempFile, format);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            FeatJAR.log().warning("Could not write checkpoint %s: %s", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file, interval, resume);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Checkpoint other = (Checkpoint) obj;
+        return Objects.equals(file, other.file) && interval == other.interval && resume == other.resume;
+    }
+}
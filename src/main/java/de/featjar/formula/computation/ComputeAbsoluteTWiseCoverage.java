@@ -42,5 +42,6 @@ public class ComputeAbsoluteTWiseCoverage extends AComputeTWiseCoverage {
     @Override
     protected void countUncovered(int[] uncoveredInteraction, CoverageStatistic statistic) {
         statistic.incNumberOfUncoveredElements();
+        uncoveredInteractions.accept(uncoveredInteraction);
     }
 }
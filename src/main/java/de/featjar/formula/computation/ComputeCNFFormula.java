@@ -41,6 +41,8 @@ import java.util.function.Consumer;
 
 /**
  * Transforms a formula into strict conjunctive normal form.
+ * To repeatedly transform a formula that changes only in few top-level constraints, use
+ * {@link IncrementalCNFTransformer} instead.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -187,7 +189,7 @@ public class ComputeCNFFormula extends AComputation<Reference> {
         return new ComputeCNFFormula(this);
     }
 
-    private static IFormula toStrictForm(IFormula formula) {
+    static IFormula toStrictForm(IFormula formula) {
         if (formula instanceof Literal) {
             formula = new And(new Or(formula));
         } else if (formula instanceof Or) {
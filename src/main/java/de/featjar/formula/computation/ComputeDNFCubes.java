@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.structure.IFormula;
+import java.util.List;
+
+/**
+ * Enumerates the cubes of the disjunctive normal form of a formula without building the formula itself.
+ * Uses {@link DNFCubeIterator}, so duplicate and subsumed cubes are not removed.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeDNFCubes extends AComputation<BooleanAssignmentList> {
+    public static final Dependency<IFormula> NNF_FORMULA = Dependency.newDependency(IFormula.class);
+
+    /**
+     * The maximum number of cubes to enumerate.
+     * Has no default, because the disjunctive normal form may contain exponentially many cubes, all of which are
+     * stored in the resulting list.
+     * To process all cubes one after the other, use {@link DNFCubeIterator} instead.
+     */
+    public static final Dependency<Integer> LIMIT = Dependency.newDependency(Integer.class);
+
+    /**
+     * Creates a computation that enumerates at most the given number of cubes.
+     *
+     * @param nnfFormula the formula in negation normal form
+     * @param limit the maximum number of cubes
+     */
+    public ComputeDNFCubes(IComputation<IFormula> nnfFormula, int limit) {
+        super(nnfFormula, Computations.of(limit));
+    }
+
+    protected ComputeDNFCubes(ComputeDNFCubes other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        int limit = LIMIT.get(dependencyList);
+        if (limit < 0) {
+            return Result.empty(new IllegalArgumentException("Limit must not be negative: " + limit));
+        }
+        DNFCubeIterator iterator = new DNFCubeIterator(NNF_FORMULA.get(dependencyList));
+        iterator.setCancellationCheck(this::checkCancel);
+        progress.setTotalSteps(limit);
+        BooleanAssignmentList cubes = new BooleanAssignmentList(iterator.getVariableMap());
+        while (cubes.size() < limit && iterator.hasNext()) {
+            cubes.add(iterator.next());
+            progress.incrementCurrentStep();
+        }
+        return Result.of(cubes);
+    }
+}
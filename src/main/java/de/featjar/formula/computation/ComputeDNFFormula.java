@@ -36,6 +36,8 @@ import java.util.List;
 
 /**
  * Transforms a formula into strict disjunctive normal form.
+ * To enumerate only some cubes without building the entire formula, use {@link ComputeDNFCubes} or
+ * {@link DNFCubeIterator} instead.
  *
  * @author Sebastian Krieter
  */
@@ -22,16 +22,15 @@ package de.featjar.formula.computation;
 
 import de.featjar.base.computation.*;
 import de.featjar.base.data.Result;
-import de.featjar.base.tree.Trees;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.Reference;
 import de.featjar.formula.structure.predicate.ExpressionKind;
 import de.featjar.formula.structure.term.value.Variable;
-import de.featjar.formula.visitor.*;
 import java.util.List;
 
 /**
  * Transforms a formula into strict negation normal form.
+ * Uses {@link NNFTransformer} to perform the transformation in a single pass.
  *
  * @author Elias Kuiter
  */
@@ -54,11 +53,7 @@ public class ComputeNNFFormula extends AComputation<IFormula> {
                 : getVariables(formula);
         if (variables.isEmpty()) throw new IllegalArgumentException("requires at least one variable");
         Variable variable = variables.get(0);
-        return Reference.mutateClone(formula, reference -> Trees.traverse(reference, new ConnectiveSimplifier())
-                .flatMap(_void -> Trees.traverse(reference, new DeMorganApplier()))
-                .flatMap(_void -> Trees.traverse(reference, new TrueFalseSimplifier()))
-                .flatMap(_void -> Trees.traverse(reference, new TrueFalseRemover(variable)))
-                .flatMap(_void -> Trees.traverse(reference, new AndOrSimplifier())));
+        return new NNFTransformer(variable).apply(formula);
     }
 
     private List<Variable> getVariables(IFormula formula) {
@@ -31,11 +31,12 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanAssignmentValueMap;
 import de.featjar.formula.assignment.ValuedBooleanAssignment;
 import de.featjar.formula.assignment.ValuedBooleanAssignmentList;
-import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.SampleIndexType;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Sorts a sample by a ranked list of assignments.
@@ -49,9 +50,24 @@ public class ComputeRankedSample extends AComputation<BooleanAssignmentList> {
     public static final Dependency<ValuedBooleanAssignmentList> RANK_VALUES =
             Dependency.newDependency(ValuedBooleanAssignmentList.class);
     public static final Dependency<Boolean> OPTIMIZE = Dependency.newDependency(Boolean.class);
+    public static final Dependency<SampleIndexType> SAMPLE_INDEX = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The maximum number of configurations to return.
+     * If less than the sample size, ranking stops as soon as this many configurations are selected.
+     * In any case, the result is a new modifiable list (see {@link BooleanAssignmentList#copySelection(int...)}).
+     */
+    public static final Dependency<Integer> LIMIT = Dependency.newDependency(Integer.class);
+
+    private static final int BLOCK_SIZE = 4096;
 
     public ComputeRankedSample(IComputation<BooleanAssignmentList> sample) {
-        super(sample, sample.map(BooleanAssignmentValueMap.EmptyComputation::new), Computations.of(Boolean.FALSE));
+        super(
+                sample,
+                sample.map(BooleanAssignmentValueMap.EmptyComputation::new),
+                Computations.of(Boolean.FALSE),
+                Computations.of(SampleIndexType.BIT),
+                Computations.of(Integer.MAX_VALUE));
     }
 
     @Override
@@ -62,23 +78,30 @@ public class ComputeRankedSample extends AComputation<BooleanAssignmentList> {
 
         progress.setTotalSteps(rankValues.size());
 
-        SampleBitIndex index = new SampleBitIndex(sample);
-        Collections.sort(rankValues, Comparator.comparing(ValuedBooleanAssignment::getValue));
-        boolean[] used = new boolean[sample.size()];
-        BooleanAssignmentList sortedList = new BooleanAssignmentList(sample.getVariableMap());
-
+        ISampleIndex index = SAMPLE_INDEX.get(dependencyList).create(sample);
         int size = rankValues.size();
+        long[] values = new long[size];
         for (int i = 0; i < size; i++) {
-            BitSet bs = index.getBitSet(rankValues.get(i).get());
-            int k = bs.nextSetBit(0);
-            if (k < 0) {
-                FeatJAR.log().warning("Combination not found in sample: ", rankValues.get(i));
-                progress.incrementCurrentStep();
-            } else {
-                if (optimize) {
+            values[i] = rankValues.get(i).getValue();
+        }
+        int[] order = RankOrder.stableOrder(values);
+        int sampleSize = sample.size();
+        int limit = Math.min(LIMIT.get(dependencyList), sampleSize);
+        boolean[] used = new boolean[sampleSize];
+        int[] selection = new int[sampleSize];
+        int selectionSize = 0;
+
+        if (optimize) {
+            for (int i = 0; i < size && selectionSize < limit; i++) {
+                BitSet bs = index.getBitSet(rankValues.get(order[i]).get());
+                int k = bs.nextSetBit(0);
+                if (k < 0) {
+                    FeatJAR.log().warning("Combination not found in sample: ", rankValues.get(order[i]));
+                    progress.incrementCurrentStep();
+                } else {
                     i++;
                     for (; i < size; i++) {
-                        index.updateBitSet(bs, rankValues.get(i).get());
+                        index.updateBitSet(bs, rankValues.get(order[i]).get());
                         int l = bs.nextSetBit(k);
                         progress.incrementCurrentStep();
                         if (l >= 0) {
@@ -88,21 +111,40 @@ public class ComputeRankedSample extends AComputation<BooleanAssignmentList> {
                             break;
                         }
                     }
+                    if (!used[k]) {
+                        selection[selectionSize++] = k;
+                        used[k] = true;
+                    }
                 }
-                if (!used[k]) {
-                    sortedList.add(sample.get(k));
-                    used[k] = true;
+                progress.incrementCurrentStep();
+            }
+        } else {
+            int[] firstIndices = new int[Math.min(size, BLOCK_SIZE)];
+            for (int blockStart = 0; blockStart < size && selectionSize < limit; blockStart += BLOCK_SIZE) {
+                int start = blockStart;
+                int blockSize = Math.min(BLOCK_SIZE, size - start);
+                IntStream.range(0, blockSize).parallel().forEach(i -> {
+                    firstIndices[i] = index.index(rankValues.get(order[start + i]).get());
+                    progress.incrementCurrentStepSynchronized();
+                });
+                for (int i = 0; i < blockSize && selectionSize < limit; i++) {
+                    int k = firstIndices[i];
+                    if (k < 0) {
+                        FeatJAR.log().warning("Combination not found in sample: ", rankValues.get(order[start + i]));
+                    } else if (!used[k]) {
+                        selection[selectionSize++] = k;
+                        used[k] = true;
+                    }
                 }
             }
-            progress.incrementCurrentStep();
         }
 
-        for (int i = 0; i < used.length; i++) {
+        for (int i = 0; i < used.length && selectionSize < limit; i++) {
             if (!used[i]) {
-                sortedList.add(sample.get(i));
+                selection[selectionSize++] = i;
             }
         }
 
-        return Result.of(sortedList);
+        return Result.of(sample.copySelection(Arrays.copyOf(selection, selectionSize)));
     }
 }
@@ -26,7 +26,9 @@ import de.featjar.base.computation.IComputation;
 import de.featjar.formula.CoverageStatistic;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.combination.IInteractionSink;
+import de.featjar.formula.index.ISampleIndex;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -38,9 +40,11 @@ import java.util.List;
 public class ComputeRelativeTWiseCoverage extends AComputeTWiseCoverage {
     public static final Dependency<BooleanAssignmentList> REFERENCE_SAMPLE =
             Dependency.newDependency(BooleanAssignmentList.class);
+    public static final Dependency<IInteractionSink> INVALID_INTERACTIONS =
+            Dependency.newDependency(IInteractionSink.class);
 
     public ComputeRelativeTWiseCoverage(IComputation<BooleanAssignmentList> sample) {
-        super(sample, Computations.of(new BooleanAssignmentList(null, 0)));
+        super(sample, Computations.of(new BooleanAssignmentList(null, 0)), Computations.of(IInteractionSink.none()));
     }
 
     public ComputeRelativeTWiseCoverage(ComputeRelativeTWiseCoverage other) {
@@ -48,7 +52,8 @@ public class ComputeRelativeTWiseCoverage extends AComputeTWiseCoverage {
     }
 
     private BooleanAssignmentList referenceSample;
-    private SampleBitIndex referenceIndex;
+    private ISampleIndex referenceIndex;
+    private IInteractionSink invalidInteractions;
 
     @Override
     protected void initWithOriginalVariableMap(List<Object> dependencyList) {
@@ -64,21 +69,43 @@ public class ComputeRelativeTWiseCoverage extends AComputeTWiseCoverage {
     @Override
     protected void adaptToMergedVariableMap(VariableMap mergedVariableMap) {
         super.adaptToMergedVariableMap(mergedVariableMap);
-        referenceSample = referenceSample.remap(mergedVariableMap);
+        referenceSample = referenceSample.getVariableMap() != null
+                ? remap(referenceSample, mergedVariableMap)
+                : referenceSample.remap(mergedVariableMap);
     }
 
     @Override
     protected void adaptVariableMap(List<Object> dependencyList) {
         super.adaptVariableMap(dependencyList);
-        referenceIndex = new SampleBitIndex(referenceSample);
+        referenceIndex = sampleIndexType.create(referenceSample);
+        invalidInteractions = INVALID_INTERACTIONS.get(dependencyList);
+        invalidInteractions.init(sample.getVariableMap());
+    }
+
+    @Override
+    protected void closeSinks() throws IOException {
+        try {
+            super.closeSinks();
+        } finally {
+            if (invalidInteractions != null) {
+                invalidInteractions.close();
+            }
+        }
+    }
+
+    @Override
+    protected Fingerprint fingerprint() {
+        return super.fingerprint().add(referenceSample);
     }
 
     @Override
     protected void countUncovered(int[] uncoveredInteraction, CoverageStatistic statistic) {
         if (referenceIndex.test(uncoveredInteraction)) {
             statistic.incNumberOfUncoveredElements();
+            uncoveredInteractions.accept(uncoveredInteraction);
         } else {
             statistic.incNumberOfInvalidElements();
+            invalidInteractions.accept(uncoveredInteraction);
         }
     }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.base.env.TempFile;
+import de.featjar.base.io.IO;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.cli.CoverageShardCommand;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.io.binary.BooleanAssignmentListBinaryFormat;
+import de.featjar.formula.io.binary.CoverageCheckpointBinaryFormat;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates statistics regarding t-wise feature coverage of a sample by splitting the rank range of the
+ * {@link VariableCombinationSpecification t-wise combinations} into shards that are processed by separate local worker
+ * processes.
+ * Each worker runs the {@link CoverageShardCommand} on a copy of the sample and periodically writes its partial
+ * {@link CoverageStatistic statistic} as {@link CoverageCheckpoint} to a file.
+ * The statistics are only merged if every shard was completely processed by exactly one worker.
+ * If the reference sample is empty, absolute coverage is computed, otherwise relative coverage.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeShardedTWiseCoverage extends AComputation<CoverageStatistic> {
+
+    /**
+     * Main class that is used to start worker processes.
+     */
+    public static final String WORKER_MAIN_CLASS = "de.featjar.base.FeatJAR";
+
+    /**
+     * System property that limits the number of threads each worker uses for parallel processing.
+     */
+    private static final String PARALLELISM_PROPERTY = "java.util.concurrent.ForkJoinPool.common.parallelism";
+
+    public static final Dependency<BooleanAssignmentList> SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+    public static final Dependency<BooleanAssignmentList> REFERENCE_SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+    public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
+
+    /**
+     * Number of shards, each processed by its own worker process.
+     * The available processors are split evenly among the workers, so by default there is one single-threaded worker
+     * per processor.
+     */
+    public static final Dependency<Integer> NUMBER_OF_SHARDS = Dependency.newDependency(Integer.class);
+
+    private static class Worker {
+        private final long fromRank;
+        private final long toRank;
+        private final TempFile partialFile;
+        private Process process;
+
+        private Worker(long fromRank, long toRank, TempFile partialFile) {
+            this.fromRank = fromRank;
+            this.toRank = toRank;
+            this.partialFile = partialFile;
+        }
+
+        private Result<CoverageStatistic> getPartial() {
+            Result<CoverageCheckpoint> partial = IO.load(partialFile.getPath(), new CoverageCheckpointBinaryFormat());
+            if (partial.isEmpty()) {
+                return Result.empty(new Problem(
+                        String.format("Worker for ranks %d to %d did not report a statistic.", fromRank, toRank),
+                        Severity.ERROR));
+            }
+            CoverageCheckpoint state = partial.get();
+            if (state.getRankCount() != toRank - fromRank || state.getNextRank() != state.getRankCount()) {
+                return Result.empty(new Problem(
+                        String.format(
+                                "Worker for ranks %d to %d reported a statistic for ranks %d to %d.",
+                                fromRank, toRank, fromRank, fromRank + state.getNextRank()),
+                        Severity.ERROR));
+            }
+            return Result.of(state.getStatistic());
+        }
+    }
+
+    public ComputeShardedTWiseCoverage(IComputation<BooleanAssignmentList> sample) {
+        super(
+                sample,
+                Computations.of(new BooleanAssignmentList(null, 0)),
+                Computations.of(1),
+                Computations.of(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ComputeShardedTWiseCoverage(ComputeShardedTWiseCoverage other) {
+        super(other);
+    }
+
+    @Override
+    public Result<CoverageStatistic> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList sample = SAMPLE.get(dependencyList);
+        BooleanAssignmentList referenceSample = REFERENCE_SAMPLE.get(dependencyList);
+        int t = T.get(dependencyList);
+        int numberOfShards = NUMBER_OF_SHARDS.get(dependencyList);
+        if (numberOfShards < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Number of shards must be greater than 0. Value was %d.", numberOfShards));
+        }
+
+        long rankCount = new VariableCombinationSpecification(t, sample.getVariableMap()).rankCount();
+        if (rankCount < 0) {
+            return Result.empty(new Problem("Number of combinations exceeds supported range.", Severity.ERROR));
+        }
+        if (rankCount == 0) {
+            return Result.of(new CoverageStatistic());
+        }
+        numberOfShards = (int) Math.min(numberOfShards, rankCount);
+        int threadsPerWorker = Math.max(1, Runtime.getRuntime().availableProcessors() / numberOfShards);
+        progress.setTotalSteps(numberOfShards);
+
+        List<Worker> workers = new ArrayList<>(numberOfShards);
+        try (TempFile sampleFile = new TempFile("sample", ".bin");
+                TempFile referenceFile = new TempFile("reference", ".bin")) {
+            IO.save(sample, sampleFile.getPath(), new BooleanAssignmentListBinaryFormat());
+            boolean relative = !referenceSample.isEmpty();
+            if (relative) {
+                IO.save(referenceSample, referenceFile.getPath(), new BooleanAssignmentListBinaryFormat());
+            }
+
+            long shardSize = (rankCount + numberOfShards - 1) / numberOfShards;
+            for (long fromRank = 0; fromRank < rankCount; fromRank += shardSize) {
+                long toRank = Math.min(rankCount, fromRank + shardSize);
+                Worker worker = new Worker(fromRank, toRank, new TempFile("coverage", ".ckpt"));
+                workers.add(worker);
+                List<String> command = workerCommand(
+                        sampleFile.getPath(), worker.partialFile.getPath(), t, fromRank, toRank, threadsPerWorker);
+                if (relative) {
+                    command.add("--" + CoverageShardCommand.REFERENCE_OPTION.getName());
+                    command.add(referenceFile.getPath().toString());
+                }
+                worker.process = new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+            }
+
+            List<CoverageStatistic> partials = new ArrayList<>(workers.size());
+            for (Worker worker : workers) {
+                while (!worker.process.waitFor(100, TimeUnit.MILLISECONDS)) {
+                    checkCancel();
+                }
+                int exitCode = worker.process.exitValue();
+                if (exitCode != 0) {
+                    return Result.empty(new Problem(
+                            String.format(
+                                    "Worker for ranks %d to %d failed with exit code %d.",
+                                    worker.fromRank, worker.toRank, exitCode),
+                            Severity.ERROR));
+                }
+                Result<CoverageStatistic> partial = worker.getPartial();
+                if (partial.isEmpty()) {
+                    return Result.empty(partial);
+                }
+                partials.add(partial.get());
+                progress.incrementCurrentStep();
+            }
+
+            CoverageStatistic statistic = new CoverageStatistic();
+            for (CoverageStatistic partial : partials) {
+                statistic.merge(partial);
+            }
+            return Result.of(statistic);
+        } catch (IOException e) {
+            return Result.empty(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.empty(e);
+        } finally {
+            for (Worker worker : workers) {
+                if (worker.process != null && worker.process.isAlive()) {
+                    worker.process.destroyForcibly();
+                }
+                worker.partialFile.close();
+            }
+        }
+    }
+
+    /**
+     * {@return the command that starts the worker process for the given shard}
+     * The worker inherits the arguments of this virtual machine (e.g., the heap size), except for debugging agents
+     * and the parallelism of the common fork-join pool, which is limited to the given number of threads.
+     *
+     * @param sampleFile the file containing the sample
+     * @param partialFile the file the worker writes its statistic to
+     * @param t the interaction size
+     * @param fromRank the first rank of the shard (inclusive)
+     * @param toRank the last rank of the shard (exclusive)
+     * @param threads the number of threads the worker may use
+     */
+    protected List<String> workerCommand(
+            Path sampleFile, Path partialFile, int t, long fromRank, long toRank, int threads) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!argument.startsWith("-agentlib:jdwp")
+                    && !argument.startsWith("-Xrunjdwp")
+                    && !argument.startsWith("-D" + PARALLELISM_PROPERTY + "=")) {
+                command.add(argument);
+            }
+        }
+        // the thread that starts a parallel computation takes part in it, so the pool only needs the other threads
+        command.add("-D" + PARALLELISM_PROPERTY + "=" + (threads - 1));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(WORKER_MAIN_CLASS);
+        command.add(new CoverageShardCommand().getShortName().orElseThrow());
+        command.add("--" + CoverageShardCommand.INPUT_OPTION.getName());
+        command.add(sampleFile.toString());
+        command.add("--" + CoverageShardCommand.OUTPUT_OPTION.getName());
+        command.add(partialFile.toString());
+        command.add("--" + CoverageShardCommand.T_OPTION.getName());
+        command.add(String.valueOf(t));
+        command.add("--" + CoverageShardCommand.FROM_OPTION.getName());
+        command.add(String.valueOf(fromRank));
+        command.add("--" + CoverageShardCommand.TO_OPTION.getName());
+        command.add(String.valueOf(toRank));
+        return command;
+    }
+}
@@ -21,20 +21,21 @@
 package de.featjar.formula.computation;
 
 import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
-import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanAssignmentValueMap;
 import de.featjar.formula.assignment.ValuedBooleanAssignment;
 import de.featjar.formula.assignment.ValuedBooleanAssignmentList;
-import de.featjar.formula.index.SampleBitIndex;
-import java.util.ArrayList;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.SampleIndexType;
 import java.util.BitSet;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * Sorts a sample by a ranked list of assignments.
@@ -43,28 +44,25 @@ import java.util.List;
  */
 public class ComputeSortedSample extends AComputation<BooleanAssignmentList> {
 
-    private static class SortedListElement implements Comparable<SortedListElement> {
-        private final BooleanAssignment booleanAssignment;
-        private long rank;
-
-        public SortedListElement(BooleanAssignment booleanAssignment, long score) {
-            this.booleanAssignment = booleanAssignment;
-            this.rank = score;
-        }
-
-        @Override
-        public int compareTo(SortedListElement o) {
-            return (rank < o.rank) ? -1 : ((rank == o.rank) ? 0 : 1);
-        }
-    }
-
     public static final Dependency<BooleanAssignmentList> SAMPLE =
             Dependency.newDependency(BooleanAssignmentList.class);
     public static final Dependency<ValuedBooleanAssignmentList> SORTING_VALUES =
             Dependency.newDependency(ValuedBooleanAssignmentList.class);
+    public static final Dependency<SampleIndexType> SAMPLE_INDEX = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The maximum number of configurations to return.
+     * If less than the sample size, only the first configurations of the ordering are selected with a bounded heap.
+     * In any case, the result is a new modifiable list (see {@link BooleanAssignmentList#copySelection(int...)}).
+     */
+    public static final Dependency<Integer> LIMIT = Dependency.newDependency(Integer.class);
 
     public ComputeSortedSample(IComputation<BooleanAssignmentList> sample) {
-        super(sample, sample.map(BooleanAssignmentValueMap.EmptyComputation::new));
+        super(
+                sample,
+                sample.map(BooleanAssignmentValueMap.EmptyComputation::new),
+                Computations.of(SampleIndexType.BIT),
+                Computations.of(Integer.MAX_VALUE));
     }
 
     @Override
@@ -74,32 +72,42 @@ public class ComputeSortedSample extends AComputation<BooleanAssignmentList> {
 
         progress.setTotalSteps(sortingValues.size());
 
-        SampleBitIndex index = new SampleBitIndex(sample);
+        ISampleIndex index = SAMPLE_INDEX.get(dependencyList).create(sample);
         long maxScore = sortingValues.stream()
                 .mapToLong(ValuedBooleanAssignment::getValue)
                 .max()
                 .orElse(0);
-        List<SortedListElement> sortedList = new ArrayList<>();
-        for (BooleanAssignment a : sample) {
-            sortedList.add(new SortedListElement(a, 0));
-        }
 
-        for (ValuedBooleanAssignment a : sortingValues) {
-            long weightedDelta = maxScore - a.getValue();
-            BitSet bs = index.getBitSet(a.get());
-            for (int i = bs.nextSetBit(0); i >= 0; i = bs.nextSetBit(i + 1)) {
-                SortedListElement sortedListElement = sortedList.get(i);
-                sortedListElement.rank = sortedListElement.rank + weightedDelta;
-                if (i == Integer.MAX_VALUE) {
-                    break;
+        int sampleSize = sample.size();
+        int numberOfChunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), sortingValues.size()));
+        long[][] partialRanks = new long[numberOfChunks][];
+        IntStream.range(0, numberOfChunks).parallel().forEach(chunk -> {
+            long[] ranks = new long[sampleSize];
+            int end = (int) (((long) sortingValues.size() * (chunk + 1)) / numberOfChunks);
+            for (int j = (int) (((long) sortingValues.size() * chunk) / numberOfChunks); j < end; j++) {
+                ValuedBooleanAssignment a = sortingValues.get(j);
+                long weightedDelta = maxScore - a.getValue();
+                BitSet bs = index.getBitSet(a.get());
+                for (int i = bs.nextSetBit(0); i >= 0; i = bs.nextSetBit(i + 1)) {
+                    ranks[i] += weightedDelta;
+                    if (i == Integer.MAX_VALUE) {
+                        break;
+                    }
                 }
+                progress.incrementCurrentStepSynchronized();
             }
-            progress.incrementCurrentStep();
-        }
+            partialRanks[chunk] = ranks;
+        });
 
-        Collections.sort(sortedList);
+        long[] ranks = partialRanks[0];
+        IntStream.range(0, sampleSize).parallel().forEach(i -> {
+            for (int chunk = 1; chunk < numberOfChunks; chunk++) {
+                ranks[i] += partialRanks[chunk][i];
+            }
+        });
 
-        return Result.of(new BooleanAssignmentList(
-                sample.getVariableMap(), sortedList.stream().map(e -> e.booleanAssignment)));
+        int limit = LIMIT.get(dependencyList);
+        int[] order = limit < sampleSize ? RankOrder.stableOrder(ranks, limit) : RankOrder.stableOrder(ranks);
+        return Result.of(sample.copySelection(order));
     }
 }
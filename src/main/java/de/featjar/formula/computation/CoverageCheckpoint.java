@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.formula.CoverageStatistic;
+
+/**
+ * Intermediate state of a {@link AComputeTWiseCoverage coverage computation}.
+ * All combinations with a rank lower than {@link #getNextRank()} are already accounted for in the statistic.
+ *
+ * @author Sebastian Krieter
+ */
+public class CoverageCheckpoint {
+
+    private final long rankCount;
+    private final long fingerprint;
+    private final long nextRank;
+    private final CoverageStatistic statistic;
+
+    public CoverageCheckpoint(long rankCount, long fingerprint, long nextRank, CoverageStatistic statistic) {
+        this.rankCount = rankCount;
+        this.fingerprint = fingerprint;
+        this.nextRank = nextRank;
+        this.statistic = statistic;
+    }
+
+    public long getRankCount() {
+        return rankCount;
+    }
+
+    /**
+     * {@return the fingerprint of the inputs of the computation that created this checkpoint}
+     *
+     * @see Fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getNextRank() {
+        return nextRank;
+    }
+
+    public CoverageStatistic getStatistic() {
+        return statistic;
+    }
+
+    /**
+     * {@return whether this checkpoint was created for a computation with the given parameters}
+     *
+     * @param rankCount the number of ranks of the combination specification
+     * @param fingerprint the fingerprint of the inputs of the computation
+     */
+    public boolean matches(long rankCount, long fingerprint) {
+        return this.rankCount == rankCount && this.fingerprint == fingerprint && nextRank <= rankCount;
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.visitor.ITreeVisitor;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.ExpressionKind;
+import de.featjar.formula.structure.predicate.False;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.predicate.True;
+import de.featjar.formula.visitor.ExpressionTraversal;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily enumerates the cubes of the disjunctive normal form of a formula in negation normal form.
+ * Cubes are computed one at a time by backtracking over the children of each {@link Or}, so the disjunctive normal
+ * form is never built in memory.
+ * Contradictory cubes are pruned as soon as a complementary literal is chosen.
+ * In contrast to {@link DistributiveTransformer}, duplicate and subsumed cubes are not removed.
+ * The literals of each cube are sorted by variable index.
+ *
+ * @author Sebastian Krieter
+ */
+public class DNFCubeIterator implements Iterator<BooleanAssignment> {
+
+    private static final int LITERAL = 0;
+    private static final int AND = 1;
+    private static final int OR = 2;
+
+    /**
+     * A persistent list of nodes that remain to be satisfied.
+     */
+    private static final class Agenda {
+        private final int node;
+        private final Agenda next;
+
+        private Agenda(int node, Agenda next) {
+            this.node = node;
+            this.next = next;
+        }
+    }
+
+    /**
+     * An {@link Or} node with children that have not been tried yet.
+     */
+    private static final class ChoicePoint {
+        private final int node;
+        private final Agenda agenda;
+        private final int trailSize;
+        private int nextChild = 1;
+
+        private ChoicePoint(int node, Agenda agenda, int trailSize) {
+            this.node = node;
+            this.agenda = agenda;
+            this.trailSize = trailSize;
+        }
+    }
+
+    private final VariableMap variableMap;
+
+    private int[] kinds = new int[16];
+    private int[] values = new int[16];
+    private int[] counts = new int[16];
+    private int[] children = new int[16];
+    private int numberOfNodes, numberOfChildren;
+
+    private final int[] assignment;
+    private final int[] trail;
+    private int trailSize;
+    private Agenda agenda;
+    private final ArrayDeque<ChoicePoint> choicePoints = new ArrayDeque<>();
+
+    private int[] nextCube;
+    private boolean isExhausted;
+    private Runnable cancellationCheck = () -> {};
+
+    /**
+     * Creates a new cube iterator with a variable map containing all variables of the given formula.
+     *
+     * @param nnfFormula the formula in negation normal form
+     */
+    public DNFCubeIterator(IFormula nnfFormula) {
+        this(nnfFormula, new VariableMap(nnfFormula));
+    }
+
+    /**
+     * Creates a new cube iterator.
+     *
+     * @param nnfFormula the formula in negation normal form
+     * @param variableMap the variable map used to translate literals, must contain all variables of the formula
+     */
+    public DNFCubeIterator(IFormula nnfFormula, VariableMap variableMap) {
+        if (nnfFormula instanceof Reference) {
+            nnfFormula = ((Reference) nnfFormula).getExpression();
+        }
+        if (!ExpressionKind.NNF.test(nnfFormula)) {
+            throw new IllegalArgumentException("Formula is not in NNF");
+        }
+        this.variableMap = variableMap;
+        agenda = new Agenda(ExpressionTraversal.traverse(nnfFormula, new Compiler()).orElseThrow(), null);
+        assignment = new int[variableMap.maxIndex() + 1];
+        trail = new int[assignment.length];
+    }
+
+    /**
+     * {@return the variable map of the enumerated cubes}
+     */
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * Sets a check that is run at each step of the search for the next cube.
+     * The check may cancel the enumeration by throwing an exception, even if no further cube exists for a long time.
+     *
+     * @param cancellationCheck the check
+     */
+    public void setCancellationCheck(Runnable cancellationCheck) {
+        this.cancellationCheck = Objects.requireNonNull(cancellationCheck);
+    }
+
+    /**
+     * {@return a sequential stream of the remaining cubes}
+     * Use {@link Stream#limit(long)} to enumerate only the first cubes.
+     */
+    public Stream<BooleanAssignment> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextCube == null && !isExhausted) {
+            nextCube = computeNextCube();
+            if (nextCube == null) {
+                isExhausted = true;
+            }
+        }
+        return nextCube != null;
+    }
+
+    @Override
+    public BooleanAssignment next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BooleanAssignment cube = new BooleanAssignment(nextCube);
+        nextCube = null;
+        return cube;
+    }
+
+    private int[] computeNextCube() {
+        while (true) {
+            cancellationCheck.run();
+            if (agenda == null) {
+                int[] cube = Arrays.copyOf(trail, trailSize);
+                Arrays.sort(cube);
+                for (int i = 0; i < cube.length; i++) {
+                    cube[i] = assignment[cube[i]];
+                }
+                if (!backtrack()) {
+                    isExhausted = true;
+                }
+                return cube;
+            }
+            int node = agenda.node;
+            agenda = agenda.next;
+            switch (kinds[node]) {
+                case LITERAL:
+                    int literal = values[node];
+                    int variable = Math.abs(literal);
+                    if (assignment[variable] == 0) {
+                        assignment[variable] = literal;
+                        trail[trailSize++] = variable;
+                    } else if (assignment[variable] != literal && !backtrack()) {
+                        return null;
+                    }
+                    break;
+                case AND:
+                    for (int i = counts[node] - 1; i >= 0; i--) {
+                        agenda = new Agenda(children[values[node] + i], agenda);
+                    }
+                    break;
+                case OR:
+                    if (counts[node] == 0) {
+                        if (!backtrack()) {
+                            return null;
+                        }
+                    } else {
+                        choicePoints.push(new ChoicePoint(node, agenda, trailSize));
+                        agenda = new Agenda(children[values[node]], agenda);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException(String.valueOf(kinds[node]));
+            }
+        }
+    }
+
+    /**
+     * Restores the state of the most recent choice point that still has untried children and selects its next child.
+     *
+     * @return whether such a choice point exists
+     */
+    private boolean backtrack() {
+        while (!choicePoints.isEmpty()) {
+            ChoicePoint choicePoint = choicePoints.peek();
+            while (trailSize > choicePoint.trailSize) {
+                assignment[trail[--trailSize]] = 0;
+            }
+            if (choicePoint.nextChild < counts[choicePoint.node]) {
+                agenda = new Agenda(
+                        children[values[choicePoint.node] + choicePoint.nextChild++], choicePoint.agenda);
+                return true;
+            }
+            choicePoints.pop();
+        }
+        while (trailSize > 0) {
+            assignment[trail[--trailSize]] = 0;
+        }
+        return false;
+    }
+
+    /**
+     * Translates a formula into the node arrays in post-order, such that the depth of the formula is not limited by
+     * the native stack.
+     */
+    private final class Compiler implements ITreeVisitor<IExpression, Integer> {
+        private int[] nodeStack = new int[16];
+        private int nodeStackSize;
+
+        @Override
+        public void reset() {
+            nodeStackSize = 0;
+        }
+
+        @Override
+        public TraversalAction firstVisit(List<IExpression> path) {
+            IExpression expression = ITreeVisitor.getCurrentNode(path);
+            if (expression instanceof Literal || expression instanceof True || expression instanceof False) {
+                return TraversalAction.SKIP_CHILDREN;
+            } else if (expression instanceof And || expression instanceof Or) {
+                return TraversalAction.CONTINUE;
+            } else {
+                throw new IllegalArgumentException("Unsupported expression " + expression.getName());
+            }
+        }
+
+        @Override
+        public TraversalAction lastVisit(List<IExpression> path) {
+            IExpression expression = ITreeVisitor.getCurrentNode(path);
+            int node = addNode();
+            if (expression instanceof Literal) {
+                Literal literal = (Literal) expression;
+                String name = literal.getExpression().getName();
+                int index = variableMap
+                        .get(name)
+                        .orElseThrow(p -> new IllegalArgumentException("Unknown variable " + name));
+                kinds[node] = LITERAL;
+                values[node] = literal.isPositive() ? index : -index;
+            } else if (expression instanceof True || expression instanceof False) {
+                kinds[node] = expression instanceof True ? AND : OR;
+                values[node] = numberOfChildren;
+                counts[node] = 0;
+            } else {
+                kinds[node] = expression instanceof And ? AND : OR;
+                int count = expression.getChildrenCount();
+                int offset = numberOfChildren;
+                numberOfChildren += count;
+                if (children.length < numberOfChildren) {
+                    children = Arrays.copyOf(children, Math.max(numberOfChildren, 2 * children.length));
+                }
+                values[node] = offset;
+                counts[node] = count;
+                nodeStackSize -= count;
+                System.arraycopy(nodeStack, nodeStackSize, children, offset, count);
+            }
+            if (nodeStackSize == nodeStack.length) {
+                nodeStack = Arrays.copyOf(nodeStack, 2 * nodeStack.length);
+            }
+            nodeStack[nodeStackSize++] = node;
+            return TraversalAction.CONTINUE;
+        }
+
+        @Override
+        public Result<Integer> getResult() {
+            return Result.of(nodeStack[0]);
+        }
+    }
+
+    private int addNode() {
+        if (numberOfNodes == kinds.length) {
+            int length = 2 * kinds.length;
+            kinds = Arrays.copyOf(kinds, length);
+            values = Arrays.copyOf(values, length);
+            counts = Arrays.copyOf(counts, length);
+        }
+        return numberOfNodes++;
+    }
+}
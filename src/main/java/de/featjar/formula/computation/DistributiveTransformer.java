@@ -99,6 +99,11 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
         }
     }
 
+    private static final int EXHAUSTED = -1;
+    private static final int REJECTED = 0;
+    private static final int SELECTED = 1;
+    private static final int SELECTED_LAST = 2;
+
     protected final boolean isCNF;
     protected final Class<? extends IConnective> clauseClass;
     protected final Function<List<? extends IFormula>, IFormula> clauseConstructor;
@@ -188,7 +193,7 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
             ArrayList<LinkedHashSet<Literal>> clauses = new ArrayList<>();
             List<IFormula> children = new ArrayList<>((List<IFormula>) formula.getChildren());
             children.sort(Comparator.comparingInt(ITree::getChildrenCount));
-            transform(children, clauses, new LinkedHashSet<>(children.size() * 2), 0);
+            transform(children, clauses, new LinkedHashSet<>(children.size() * 2));
 
             List<IFormula> filteredClauseList = new ArrayList<>(clauses.size());
             clauses.sort(Comparator.comparingInt(Set::size));
@@ -212,56 +217,97 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
         }
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Enumerates all combinations of one element of each child, skipping combinations with complementary literals.
+     * Each child is a literal (one element) or a clause of literals and conjunctions of literals (one element per
+     * child of the clause).
+     * Uses an explicit stack instead of one recursive call per child, so clauses with many children can be
+     * transformed in constant native stack.
+     */
     private void transform(
-            List<IFormula> children, List<LinkedHashSet<Literal>> clauses, LinkedHashSet<Literal> literals, int index)
+            List<IFormula> children, List<LinkedHashSet<Literal>> clauses, LinkedHashSet<Literal> literals)
             throws CancelledException {
-        if (index == children.size()) {
-            LinkedHashSet<Literal> newClause = new LinkedHashSet<>(literals);
-            Throwable cancelThrowable = cancelPredicate.apply(newClause);
-            if (cancelThrowable != null) {
-                throw new CancelledException(cancelThrowable);
-            }
-            clauses.add(newClause);
-        } else {
-            IExpression child = children.get(index);
-            if (child instanceof Literal) {
-                Literal clauseLiteral = (Literal) child;
-                if (literals.contains(clauseLiteral)) {
-                    transform(children, clauses, literals, index + 1);
-                } else if (!literals.contains(clauseLiteral.invert())) {
-                    literals.add(clauseLiteral);
-                    transform(children, clauses, literals, index + 1);
-                    literals.remove(clauseLiteral);
+        final int size = children.size();
+        final int[] nextAlternatives = new int[size];
+        final List<List<Literal>> addedLiterals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            addedLiterals.add(new ArrayList<>());
+        }
+        int index = 0;
+        while (index >= 0) {
+            if (index == size) {
+                LinkedHashSet<Literal> newClause = new LinkedHashSet<>(literals);
+                Throwable cancelThrowable = cancelPredicate.apply(newClause);
+                if (cancelThrowable != null) {
+                    throw new CancelledException(cancelThrowable);
                 }
+                clauses.add(newClause);
+                index--;
             } else {
-                if (isRedundant(literals, child)) {
-                    transform(children, clauses, literals, index + 1);
+                final List<Literal> added = addedLiterals.get(index);
+                if (!added.isEmpty()) {
+                    added.forEach(literals::remove);
+                    added.clear();
+                }
+                final int alternative = nextAlternatives[index];
+                final int selection = select(children.get(index), alternative, literals, added);
+                if (selection == EXHAUSTED) {
+                    index--;
                 } else {
-                    for (IExpression grandChild : child.getChildren()) {
-                        if (grandChild instanceof Literal) {
-                            Literal newlyAddedLiteral = (Literal) grandChild;
-                            if (!literals.contains(newlyAddedLiteral.invert())) {
-                                literals.add(newlyAddedLiteral);
-                                transform(children, clauses, literals, index + 1);
-                                literals.remove(newlyAddedLiteral);
-                            }
-                        } else {
-                            List<Literal> greatGrandChildren = (List<Literal>) grandChild.getChildren();
-                            if (containsNoComplements(literals, greatGrandChildren)) {
-                                List<Literal> newlyAddedLiterals = greatGrandChildren.stream()
-                                        .filter(literals::add)
-                                        .collect(Collectors.toList());
-                                transform(children, clauses, literals, index + 1);
-                                newlyAddedLiterals.forEach(literals::remove);
-                            }
-                        }
+                    nextAlternatives[index] = selection == SELECTED_LAST ? Integer.MAX_VALUE : alternative + 1;
+                    if (selection != REJECTED && ++index < size) {
+                        nextAlternatives[index] = 0;
                     }
                 }
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private int select(IExpression child, int alternative, LinkedHashSet<Literal> literals, List<Literal> added) {
+        if (child instanceof Literal) {
+            if (alternative > 0) {
+                return EXHAUSTED;
+            }
+            Literal clauseLiteral = (Literal) child;
+            if (!literals.contains(clauseLiteral)) {
+                if (literals.contains(clauseLiteral.invert())) {
+                    return EXHAUSTED;
+                }
+                literals.add(clauseLiteral);
+                added.add(clauseLiteral);
+            }
+            return SELECTED_LAST;
+        }
+        if (alternative == 0 && isRedundant(literals, child)) {
+            return SELECTED_LAST;
+        }
+        if (alternative >= child.getChildrenCount()) {
+            return EXHAUSTED;
+        }
+        IExpression grandChild = child.getChildren().get(alternative);
+        if (grandChild instanceof Literal) {
+            Literal newlyAddedLiteral = (Literal) grandChild;
+            if (literals.contains(newlyAddedLiteral.invert())) {
+                return REJECTED;
+            }
+            if (literals.add(newlyAddedLiteral)) {
+                added.add(newlyAddedLiteral);
+            }
+        } else {
+            List<Literal> greatGrandChildren = (List<Literal>) grandChild.getChildren();
+            if (!containsNoComplements(literals, greatGrandChildren)) {
+                return REJECTED;
+            }
+            for (Literal literal : greatGrandChildren) {
+                if (literals.add(literal)) {
+                    added.add(literal);
+                }
+            }
+        }
+        return SELECTED;
+    }
+
     protected boolean containsNoComplements(LinkedHashSet<Literal> literals, List<Literal> greatGrandChildren) {
         return greatGrandChildren.stream().map(Literal::invert).noneMatch(literals::contains);
     }
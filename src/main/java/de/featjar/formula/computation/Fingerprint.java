@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.ICombinationFilter;
+import de.featjar.formula.combination.ICombinationSpecification;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes a 64-bit hash of the inputs of a computation.
+ * A {@link Checkpoint checkpoint} stores the fingerprint of the computation that created it and is only resumed by a
+ * computation with the same fingerprint.
+ *
+ * @author agent
+ */
+public final class Fingerprint {
+
+    /**
+     * Number of ranks of a combination specification whose combinations are part of the fingerprint.
+     */
+    private static final int NUMBER_OF_PROBED_RANKS = 64;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = 0xcbf29ce484222325L;
+
+    public Fingerprint add(long value) {
+        hash = (hash ^ value) * PRIME;
+        return this;
+    }
+
+    public Fingerprint add(boolean value) {
+        return add(value ? 1L : 0L);
+    }
+
+    public Fingerprint add(int[] values) {
+        add(values.length);
+        for (int value : values) {
+            add(value);
+        }
+        return this;
+    }
+
+    public Fingerprint add(String value) {
+        if (value == null) {
+            return add(-1L);
+        }
+        add(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            add(value.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the names of all variables in index order.
+     *
+     * @param variableMap the variable map, may be {@code null}
+     * @return this fingerprint
+     */
+    public Fingerprint add(VariableMap variableMap) {
+        if (variableMap == null) {
+            return add(-1L);
+        }
+        List<String> variableNames = variableMap.getVariableNames();
+        add(variableNames.size());
+        for (String variableName : variableNames) {
+            add(variableName);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the variable map and the literals of all assignments of the given list.
+     *
+     * @param list the list
+     * @return this fingerprint
+     */
+    public Fingerprint add(BooleanAssignmentList list) {
+        add(list.getVariableMap());
+        add(list.size());
+        for (BooleanAssignment assignment : list.views()) {
+            add(assignment.size());
+            for (int i = 0; i < assignment.size(); i++) {
+                add(assignment.get(i));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given combination specification and the given filters.
+     * As enumerating all combinations would be as expensive as the computation itself, only the combinations of
+     * {@value #NUMBER_OF_PROBED_RANKS} evenly distributed ranks are added, together with the result of each filter for
+     * these combinations.
+     *
+     * @param combinationSpecification the combination specification
+     * @param filters the filters that are applied to each combination
+     * @return this fingerprint
+     */
+    public Fingerprint add(ICombinationSpecification combinationSpecification, ICombinationFilter... filters) {
+        add(combinationSpecification.getClass().getName());
+        add(combinationSpecification.variableMap());
+        add(combinationSpecification.maxT());
+        add(combinationSpecification.loopCount());
+        long rankCount = combinationSpecification.rankCount();
+        add(rankCount);
+        if (rankCount <= 0) {
+            return this;
+        }
+        long step = Math.max(1, rankCount / NUMBER_OF_PROBED_RANKS);
+        for (long rank = 0; rank < rankCount; rank += step) {
+            List<int[]> combinations = new ArrayList<>();
+            combinationSpecification.forEachParallel(
+                    rank,
+                    rank + 1,
+                    (Object environment, int[] combination) -> {
+                        synchronized (combinations) {
+                            combinations.add(Arrays.copyOf(combination, combination.length));
+                        }
+                    },
+                    () -> null);
+            for (int[] combination : combinations) {
+                add(combination);
+                for (ICombinationFilter filter : filters) {
+                    add(filter.test(combination));
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * {@return the fingerprint}
+     */
+    public long get() {
+        long value = hash;
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -20,6 +20,7 @@
  */
 package de.featjar.formula.computation;
 
+import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.AComputation;
 import de.featjar.base.computation.ComputeConstant;
 import de.featjar.base.computation.Dependency;
@@ -29,9 +30,13 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.ValuedBooleanAssignment;
+import de.featjar.formula.io.binary.SampleReducerCheckpointBinaryFormat;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -78,9 +83,11 @@ public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
             Dependency.newDependency(BooleanAssignmentList.class);
 
     public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
+    public static final Dependency<Checkpoint> CHECKPOINT = Dependency.newDependency(Checkpoint.class);
 
     private Config[] fieldConfigurations;
     private int n, t, t2;
+    private long fingerprint;
 
     private LinkedHashSet<BooleanAssignment> reducedSample;
     private LinkedHashSet<ValuedBooleanAssignment> interactions;
@@ -92,7 +99,7 @@ public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
     }
 
     public GreedySampleReducer(IComputation<BooleanAssignmentList> sampleComputation) {
-        super(sampleComputation, new ComputeConstant<>(1));
+        super(sampleComputation, new ComputeConstant<>(1), new ComputeConstant<>(Checkpoint.none()));
     }
 
     private void generate(int first) {
@@ -176,12 +183,13 @@ public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
             return Result.of(sample);
         }
         n = sample.get(0).size();
-
+        t = T.get(dependencyList);
         if (t > n) {
             throw new IllegalArgumentException(String.format("%d > %d", t, n));
         }
-        t = T.get(dependencyList);
         t2 = t - 1;
+        Checkpoint checkpoint = CHECKPOINT.get(dependencyList);
+        fingerprint = checkpoint.isEnabled() ? new Fingerprint().add(t).add(sample).get() : 0;
         fieldConfigurations = new Config[sample.size()];
         int fi = 0;
         for (BooleanAssignment solution : sample) {
@@ -208,7 +216,38 @@ public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
             indices[j + n] = posIndices;
         }
 
-        IntStream.range(t - 1, n).parallel().forEach(this::generate);
+        int nextFirst = t - 1;
+        Result<SampleReducerCheckpoint> savedState = checkpoint.load(new SampleReducerCheckpointBinaryFormat());
+        if (savedState.isPresent()) {
+            SampleReducerCheckpoint state = savedState.get();
+            if (state.matches(t, n, fieldConfigurations.length, fingerprint)) {
+                for (int index : state.getSelectedConfigurations()) {
+                    reducedSample.add(fieldConfigurations[index]);
+                }
+                interactions.addAll(state.getInteractions());
+                nextFirst = state.getNextFirst();
+                FeatJAR.log().info("Resuming sample reduction with %d selected configurations.", reducedSample.size());
+            } else {
+                FeatJAR.log().warning("Checkpoint %s does not match the current computation.", checkpoint.getFile());
+            }
+        }
+
+        if (checkpoint.isEnabled()) {
+            long lastSaveTime = System.currentTimeMillis();
+            int blockSize = ForkJoinPool.getCommonPoolParallelism();
+            while (nextFirst < n) {
+                int blockEnd = Math.min(n, nextFirst + blockSize);
+                IntStream.range(nextFirst, blockEnd).parallel().forEach(this::generate);
+                nextFirst = blockEnd;
+                if (checkpoint.isDue(lastSaveTime)) {
+                    saveCheckpoint(checkpoint, nextFirst);
+                    lastSaveTime = System.currentTimeMillis();
+                }
+            }
+            saveCheckpoint(checkpoint, nextFirst);
+        } else {
+            IntStream.range(nextFirst, n).parallel().forEach(this::generate);
+        }
 
         for (int j = 0; j < fieldConfigurations.length; j++) {
             BooleanAssignment config = fieldConfigurations[j];
@@ -237,7 +276,13 @@ public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
                 .collect(Collectors.toList());
         interactions.removeAll(alreadyCoveredValuedBooleanAssignments);
 
+        long lastSaveTime = System.currentTimeMillis();
         while (!interactions.isEmpty()) {
+            checkCancel();
+            if (checkpoint.isDue(lastSaveTime)) {
+                saveCheckpoint(checkpoint, n);
+                lastSaveTime = System.currentTimeMillis();
+            }
             double bestScore = -1;
             int bestConfigIndex = -1;
 
@@ -275,6 +320,29 @@ public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
 
             interactions.removeAll(coveredValuedBooleanAssignments);
         }
+        saveCheckpoint(checkpoint, n);
         return Result.of(new BooleanAssignmentList(sample.getVariableMap(), reducedSample));
     }
+
+    private void saveCheckpoint(Checkpoint checkpoint, int nextFirst) {
+        if (!checkpoint.isEnabled()) {
+            return;
+        }
+        HashMap<BooleanAssignment, Integer> configurationIndices = new HashMap<>();
+        for (int j = fieldConfigurations.length - 1; j >= 0; j--) {
+            configurationIndices.put(fieldConfigurations[j], j);
+        }
+        int[] selectedConfigurations =
+                reducedSample.stream().mapToInt(configurationIndices::get).toArray();
+        checkpoint.save(
+                new SampleReducerCheckpoint(
+                        t,
+                        n,
+                        fieldConfigurations.length,
+                        fingerprint,
+                        nextFirst,
+                        selectedConfigurations,
+                        new ArrayList<>(interactions)),
+                new SampleReducerCheckpointBinaryFormat());
+    }
 }
@@ -27,6 +27,7 @@ import de.featjar.base.data.combination.CombinationStream;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.IndexedBooleanAssignment;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -94,7 +95,7 @@ public class IncInteractionFinder {
         for (int ti = 1; ti <= tmax; ++ti) {
             List<int[]> res = findT(ti);
             if (res != null) {
-                mergedResults[ti - 1] = new BooleanAssignment(lastMerge);
+                mergedResults[ti - 1] = new IndexedBooleanAssignment(lastMerge);
                 results[ti - 1] = res;
             }
         }
@@ -166,7 +167,7 @@ public class IncInteractionFinder {
             failingLiterals = new BooleanAssignment(iterator.next().retainAll(failingLiterals.get()));
         }
         if (core != null) {
-            failingLiterals = new BooleanAssignment(failingLiterals.removeAll(core.get()));
+            failingLiterals = new IndexedBooleanAssignment(failingLiterals).removeAll(core.get());
         }
 
         final int[] commonLiterals = failingLiterals.toAssignment().get();
@@ -178,7 +179,7 @@ public class IncInteractionFinder {
                 .map(combo -> combo.select());
         List<int[]> interactions;
         if (lastMerge != null) {
-            BooleanAssignment lastLiterals = new BooleanAssignment(lastMerge);
+            BooleanAssignment lastLiterals = new IndexedBooleanAssignment(lastMerge);
             if (lastLiterals.containsAll(failingLiterals)) {
                 return null;
             }
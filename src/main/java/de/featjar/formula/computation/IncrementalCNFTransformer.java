@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.FormulaNormalForm;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.ExpressionKind;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Transforms formulas in negation normal form into strict conjunctive normal form, reusing the results of previous
+ * transformations.
+ * Each child of a top-level {@link And} is transformed separately, as in {@link ComputeCNFFormula}.
+ * The resulting clauses are cached by the structural hash of the child, such that after an edit only new or changed
+ * constraints need to be transformed.
+ * Auxiliary variables introduced by the {@link TseitinTransformer} keep their names as long as their constraint is
+ * part of the transformed formulas.
+ * Thus, the result is deterministic for a given sequence of formulas, but its auxiliary variables may be numbered
+ * differently than in the result of {@link ComputeCNFFormula}.
+ * Cache entries of constraints that are not contained in the last transformed formula are discarded.
+ * Does not modify its input and the returned formula does not share any nodes with the cache.
+ * Not thread-safe.
+ *
+ * @author Sebastian Krieter
+ */
+public class IncrementalCNFTransformer implements Function<IFormula, Result<Reference>> {
+
+    /**
+     * The clauses of a single top-level constraint.
+     */
+    private static class ClauseBlock {
+        private final IFormula constraint;
+        private final List<IFormula> clauseFormulas = new ArrayList<>();
+        private final List<TseitinTransformer.Substitution> substitutions = new ArrayList<>();
+
+        private ClauseBlock(IFormula constraint) {
+            this.constraint = constraint;
+        }
+    }
+
+    protected final boolean isPlaistedGreenbaum;
+    protected final int maximumNumberOfLiterals;
+    protected final boolean isStrict;
+
+    private HashMap<IFormula, ClauseBlock> clauseBlocks = new HashMap<>();
+    private HashMap<TseitinTransformer.Substitution, TseitinTransformer.Substitution> auxiliarySubstitutions =
+            new HashMap<>();
+    private int currentAuxiliaryVariableIndex = 0;
+
+    /**
+     * Creates a new incremental CNF transformer with the same defaults as {@link ComputeCNFFormula}.
+     */
+    public IncrementalCNFTransformer() {
+        this(false, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Creates a new incremental CNF transformer.
+     *
+     * @param isPlaistedGreenbaum whether to use the Plaisted-Greenbaum optimization
+     * @param maximumNumberOfLiterals the maximum number of literals available for distributive transformation
+     * @param isStrict whether the resulting formula is strict
+     */
+    public IncrementalCNFTransformer(boolean isPlaistedGreenbaum, int maximumNumberOfLiterals, boolean isStrict) {
+        this.isPlaistedGreenbaum = isPlaistedGreenbaum;
+        this.maximumNumberOfLiterals = maximumNumberOfLiterals;
+        this.isStrict = isStrict;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Result<Reference> apply(IFormula nnfFormula) {
+        Reference referenceFormula = null;
+        if (nnfFormula instanceof Reference) {
+            referenceFormula = (Reference) nnfFormula;
+            nnfFormula = referenceFormula.getExpression();
+        }
+        if (!ExpressionKind.NNF.test(nnfFormula)) {
+            return Result.empty(new Problem("Formula is not in NNF", Problem.Severity.ERROR));
+        }
+        List<IFormula> constraints =
+                nnfFormula instanceof And ? (List<IFormula>) nnfFormula.getChildren() : List.of(nnfFormula);
+
+        HashMap<IFormula, ClauseBlock> newClauseBlocks = new HashMap<>();
+        List<ClauseBlock> currentClauseBlocks = new ArrayList<>(constraints.size());
+        for (IFormula constraint : constraints) {
+            ClauseBlock clauseBlock = newClauseBlocks.get(constraint);
+            if (clauseBlock == null) {
+                clauseBlock = clauseBlocks.get(constraint);
+                if (clauseBlock == null) {
+                    clauseBlock = transform(constraint);
+                }
+                newClauseBlocks.put(clauseBlock.constraint, clauseBlock);
+            }
+            currentClauseBlocks.add(clauseBlock);
+        }
+
+        List<IFormula> clauseFormulas = new ArrayList<>();
+        LinkedHashMap<TseitinTransformer.Substitution, TseitinTransformer.Substitution> usedSubstitutions =
+                new LinkedHashMap<>();
+        HashMap<TseitinTransformer.Substitution, TseitinTransformer.Substitution> newAuxiliarySubstitutions =
+                new HashMap<>();
+        for (ClauseBlock clauseBlock : currentClauseBlocks) {
+            for (IFormula clauseFormula : clauseBlock.clauseFormulas) {
+                clauseFormulas.add((IFormula) clauseFormula.cloneTree());
+            }
+            for (TseitinTransformer.Substitution substitution : clauseBlock.substitutions) {
+                if (substitution.getAuxiliaryVariable() == null) {
+                    usedSubstitutions.putIfAbsent(substitution, substitution);
+                } else {
+                    TseitinTransformer.Substitution auxiliarySubstitution = auxiliarySubstitutions.get(substitution);
+                    usedSubstitutions.putIfAbsent(substitution, auxiliarySubstitution);
+                    newAuxiliarySubstitutions.putIfAbsent(substitution, auxiliarySubstitution);
+                }
+            }
+        }
+        for (TseitinTransformer.Substitution substitution : usedSubstitutions.values()) {
+            for (IFormula clauseFormula : substitution.getClauseFormulas()) {
+                clauseFormulas.add((IFormula) clauseFormula.cloneTree());
+            }
+        }
+        clauseBlocks = newClauseBlocks;
+        auxiliarySubstitutions = newAuxiliarySubstitutions;
+
+        IFormula cnf = new And(clauseFormulas);
+        if (isStrict) {
+            cnf = ComputeCNFFormula.toStrictForm(cnf);
+        }
+        Reference reference = referenceFormula != null ? referenceFormula.cloneNode() : new Reference(cnf);
+        reference.setFormula(cnf);
+        return Result.of(reference);
+    }
+
+    /**
+     * Discards all cached clauses.
+     */
+    public void clear() {
+        clauseBlocks.clear();
+        auxiliarySubstitutions.clear();
+    }
+
+    /**
+     * {@return the number of top-level constraints whose clauses are currently cached}
+     */
+    public int getNumberOfCachedConstraints() {
+        return clauseBlocks.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClauseBlock transform(IFormula formula) {
+        // the cached constraint must not change when the input formula is edited
+        IFormula constraint = (IFormula) formula.cloneTree();
+        ClauseBlock clauseBlock = new ClauseBlock(constraint);
+        if (constraint.isStrictNormalForm(FormulaNormalForm.CNF)) {
+            for (IFormula clauseFormula : (List<IFormula>) constraint.getChildren()) {
+                clauseBlock.clauseFormulas.add((IFormula) clauseFormula.cloneTree());
+            }
+        } else if (constraint.isNormalForm(FormulaNormalForm.CNF)) {
+            clauseBlock.clauseFormulas.addAll((List<IFormula>)
+                    ComputeCNFFormula.toStrictForm((IFormula) constraint.cloneTree()).getChildren());
+        } else {
+            Result<IFormula> transformationResult = new DistributiveTransformer(
+                            true,
+                            new DistributiveTransformer.MaximumNumberOfLiteralsCancelPredicate(
+                                    maximumNumberOfLiterals))
+                    .apply(constraint);
+            if (transformationResult.isPresent()) {
+                clauseBlock.clauseFormulas.addAll(
+                        (List<IFormula>) transformationResult.get().getChildren());
+            } else {
+                clauseBlock.substitutions.addAll(new TseitinTransformer(isPlaistedGreenbaum).apply(constraint));
+                nameAuxiliaryVariables(clauseBlock.substitutions);
+            }
+        }
+        return clauseBlock;
+    }
+
+    private void nameAuxiliaryVariables(List<TseitinTransformer.Substitution> substitutions) {
+        for (TseitinTransformer.Substitution substitution : substitutions) {
+            Variable variable = substitution.getAuxiliaryVariable();
+            if (variable != null) {
+                TseitinTransformer.Substitution auxiliarySubstitution = auxiliarySubstitutions.get(substitution);
+                if (auxiliarySubstitution == null) {
+                    variable.setName(
+                            TseitinTransformer.AUXILIARY_VARIABLE_NAME_PREFIX + (++currentAuxiliaryVariableIndex));
+                    auxiliarySubstitutions.put(substitution, substitution);
+                } else {
+                    variable.setName(auxiliarySubstitution.getAuxiliaryVariable().getName());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.AQuantifier;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.IConnective;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.False;
+import de.featjar.formula.structure.predicate.IInvertiblePredicate;
+import de.featjar.formula.structure.predicate.IPredicate;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.predicate.True;
+import de.featjar.formula.structure.term.value.IValue;
+import de.featjar.formula.structure.term.value.Variable;
+import de.featjar.formula.visitor.AndOrSimplifier;
+import de.featjar.formula.visitor.ConnectiveSimplifier;
+import de.featjar.formula.visitor.DeMorganApplier;
+import de.featjar.formula.visitor.TrueFalseRemover;
+import de.featjar.formula.visitor.TrueFalseSimplifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Transforms a formula into strict negation normal form in a single post-order pass.
+ * Yields a formula equivalent to applying {@link ConnectiveSimplifier}, {@link DeMorganApplier},
+ * {@link TrueFalseSimplifier}, {@link TrueFalseRemover}, and {@link AndOrSimplifier} in sequence.
+ * That is, complex connectives are replaced, negations are pushed down to the predicates, constants are propagated,
+ * and nested {@link And} and {@link Or} connectives are merged.
+ * The tree is traversed with an explicit stack and only the nodes of the resulting formula are allocated.
+ * Does not modify its input.
+ *
+ * @author Sebastian Krieter
+ */
+public class NNFTransformer implements Function<IFormula, Result<IFormula>> {
+
+    /**
+     * A connective in the resulting formula whose children are currently transformed.
+     */
+    private static final class Frame {
+        private final boolean isAnd;
+        private final boolean isNegated;
+        private final List<? extends IExpression> children;
+        private final List<IFormula> newChildren;
+        private int nextChild;
+        private boolean isAbsorbed;
+
+        private Frame(boolean isAnd, boolean isNegated, List<? extends IExpression> children) {
+            this.isAnd = isAnd;
+            this.isNegated = isNegated;
+            this.children = children;
+            newChildren = new ArrayList<>(children.size());
+        }
+
+        private void add(IFormula newChild) {
+            if (isAbsorbed) {
+                return;
+            }
+            if (newChild instanceof True || newChild instanceof False) {
+                if ((newChild instanceof False) == isAnd) {
+                    isAbsorbed = true;
+                    newChildren.clear();
+                }
+            } else if (isAnd ? newChild instanceof And : newChild instanceof Or) {
+                for (IExpression grandChild : newChild.getChildren()) {
+                    newChildren.add((IFormula) grandChild);
+                }
+            } else {
+                newChildren.add(newChild);
+            }
+        }
+
+        private IFormula build() {
+            if (isAbsorbed) {
+                return isAnd ? Expressions.False : Expressions.True;
+            }
+            switch (newChildren.size()) {
+                case 0:
+                    return isAnd ? Expressions.True : Expressions.False;
+                case 1:
+                    return newChildren.get(0);
+                default:
+                    return isAnd ? new And(newChildren) : new Or(newChildren);
+            }
+        }
+    }
+
+    protected final Variable variable;
+
+    /**
+     * Creates a new NNF transformer.
+     *
+     * @param variable the variable used to replace a constant result with a tautology or contradiction
+     */
+    public NNFTransformer(Variable variable) {
+        this.variable = variable;
+    }
+
+    @Override
+    public Result<IFormula> apply(IFormula formula) {
+        if (formula instanceof Reference) {
+            Reference reference = (Reference) formula;
+            return transform(reference.getExpression()).map(expression -> {
+                Reference newReference = reference.cloneNode();
+                newReference.setExpression(expression);
+                return newReference;
+            });
+        }
+        return transform(formula);
+    }
+
+    private Result<IFormula> transform(IFormula formula) {
+        final ArrayDeque<Frame> stack = new ArrayDeque<>();
+        IExpression expression = formula;
+        boolean isNegated = false;
+        while (true) {
+            while (expression instanceof Not) {
+                expression = ((Not) expression).getExpression();
+                isNegated = !isNegated;
+            }
+            IFormula newFormula = null;
+            if (expression instanceof And || expression instanceof Or) {
+                stack.push(new Frame((expression instanceof And) != isNegated, isNegated, expression.getChildren()));
+            } else if (expression instanceof IPredicate) {
+                newFormula = transformPredicate((IPredicate) expression, isNegated);
+            } else if (expression instanceof IConnective
+                    && !(expression instanceof AQuantifier)
+                    && !(expression instanceof Reference)) {
+                IFormula simplifiedFormula = ConnectiveSimplifier.simplify((IFormula) expression);
+                if (simplifiedFormula == null) {
+                    return unsupported(expression);
+                }
+                expression = simplifiedFormula;
+                continue;
+            } else {
+                return unsupported(expression);
+            }
+
+            while (true) {
+                Frame frame = stack.peek();
+                if (newFormula != null) {
+                    if (frame == null) {
+                        return Result.of(removeTrueFalse(newFormula));
+                    }
+                    frame.add(newFormula);
+                }
+                if (frame.nextChild < frame.children.size()) {
+                    expression = frame.children.get(frame.nextChild++);
+                    isNegated = frame.isNegated;
+                    break;
+                }
+                stack.pop();
+                newFormula = frame.build();
+            }
+        }
+    }
+
+    private static IFormula transformPredicate(IPredicate predicate, boolean isNegated) {
+        if (predicate instanceof True || predicate instanceof False) {
+            return (predicate instanceof True) != isNegated ? Expressions.True : Expressions.False;
+        } else if (predicate instanceof Literal) {
+            Literal literal = (Literal) predicate;
+            return isNegated
+                    ? new Literal(!literal.isPositive(), (IValue) literal.getExpression().cloneTree())
+                    : (IFormula) literal.cloneTree();
+        } else if (isNegated) {
+            return predicate instanceof IInvertiblePredicate
+                    ? (IFormula) ((IInvertiblePredicate) predicate).invert().cloneTree()
+                    : new Not((IFormula) predicate.cloneTree());
+        } else {
+            return (IFormula) predicate.cloneTree();
+        }
+    }
+
+    private IFormula removeTrueFalse(IFormula formula) {
+        if (formula instanceof False) {
+            return new And(new Literal(variable), new Literal(false, variable));
+        } else if (formula instanceof True) {
+            return new Or(new Literal(variable), new Literal(false, variable));
+        }
+        return formula;
+    }
+
+    private static Result<IFormula> unsupported(IExpression expression) {
+        return Result.empty(new Problem(
+                "Cannot transform " + expression.getName() + " into negation normal form.", Problem.Severity.ERROR));
+    }
+}
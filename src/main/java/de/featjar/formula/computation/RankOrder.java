@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Orders indices by primitive rank values without boxing.
+ *
+ * @author Sebastian Krieter
+ */
+final class RankOrder {
+
+    private RankOrder() {}
+
+    /**
+     * {@return the indices of the given ranks in ascending order of their rank}
+     * The order is stable, i.e., indices with equal rank remain in ascending order, as with
+     * {@link java.util.Collections#sort(java.util.List)}.
+     * The distinct ranks are determined by a parallel primitive sort, then the indices are placed by a counting sort.
+     *
+     * @param ranks the ranks
+     */
+    static int[] stableOrder(long[] ranks) {
+        final int size = ranks.length;
+        final long[] distinctRanks = Arrays.copyOf(ranks, size);
+        Arrays.parallelSort(distinctRanks);
+        int distinctCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinctCount == 0 || distinctRanks[distinctCount - 1] != distinctRanks[i]) {
+                distinctRanks[distinctCount++] = distinctRanks[i];
+            }
+        }
+        final int numberOfBuckets = distinctCount;
+        final int[] buckets = new int[size];
+        IntStream.range(0, size)
+                .parallel()
+                .forEach(i -> buckets[i] = Arrays.binarySearch(distinctRanks, 0, numberOfBuckets, ranks[i]));
+
+        final int[] positions = new int[numberOfBuckets + 1];
+        for (int bucket : buckets) {
+            positions[bucket + 1]++;
+        }
+        for (int i = 1; i < numberOfBuckets; i++) {
+            positions[i] += positions[i - 1];
+        }
+        final int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[positions[buckets[i]]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * {@return the indices of the given number of smallest ranks in ascending order of their rank}
+     * The result equals the first {@code limit} elements of {@link #stableOrder(long[])}, but is computed with a
+     * bounded heap in {@code O(n log limit)} time and {@code O(limit)} additional memory.
+     *
+     * @param ranks the ranks
+     * @param limit the maximum number of indices
+     */
+    static int[] stableOrder(long[] ranks, int limit) {
+        if (limit >= ranks.length) {
+            return stableOrder(ranks);
+        }
+        if (limit <= 0) {
+            return new int[0];
+        }
+        final int[] heap = new int[limit];
+        int heapSize = 0;
+        for (int i = 0; i < ranks.length; i++) {
+            if (heapSize < limit) {
+                heap[heapSize] = i;
+                siftUp(ranks, heap, heapSize++);
+            } else if (ranks[i] < ranks[heap[0]]) {
+                heap[0] = i;
+                siftDown(ranks, heap, heapSize);
+            }
+        }
+        final int[] order = new int[limit];
+        for (int i = limit - 1; i >= 0; i--) {
+            order[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(ranks, heap, heapSize);
+        }
+        return order;
+    }
+
+    private static boolean isAfter(long[] ranks, int index1, int index2) {
+        return ranks[index1] > ranks[index2] || (ranks[index1] == ranks[index2] && index1 > index2);
+    }
+
+    private static void siftUp(long[] ranks, int[] heap, int position) {
+        final int element = heap[position];
+        while (position > 0) {
+            final int parent = (position - 1) >> 1;
+            if (!isAfter(ranks, element, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = element;
+    }
+
+    private static void siftDown(long[] ranks, int[] heap, int heapSize) {
+        if (heapSize == 0) {
+            return;
+        }
+        final int element = heap[0];
+        int position = 0;
+        while (true) {
+            int child = (position << 1) + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isAfter(ranks, heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isAfter(ranks, heap[child], element)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = element;
+    }
+}
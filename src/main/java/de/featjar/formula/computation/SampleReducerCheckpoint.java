@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.formula.assignment.ValuedBooleanAssignment;
+import java.util.List;
+
+/**
+ * Intermediate state of a {@link GreedySampleReducer}.
+ * The reducer first collects all interactions from combinations with a last element index lower than
+ * {@link #getNextFirst()} and afterwards greedily selects configurations.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleReducerCheckpoint {
+
+    private final int t;
+    private final int numberOfVariables;
+    private final int sampleSize;
+    private final long fingerprint;
+    private final int nextFirst;
+    private final int[] selectedConfigurations;
+    private final List<ValuedBooleanAssignment> interactions;
+
+    public SampleReducerCheckpoint(
+            int t,
+            int numberOfVariables,
+            int sampleSize,
+            long fingerprint,
+            int nextFirst,
+            int[] selectedConfigurations,
+            List<ValuedBooleanAssignment> interactions) {
+        this.t = t;
+        this.numberOfVariables = numberOfVariables;
+        this.sampleSize = sampleSize;
+        this.fingerprint = fingerprint;
+        this.nextFirst = nextFirst;
+        this.selectedConfigurations = selectedConfigurations;
+        this.interactions = interactions;
+    }
+
+    public int getT() {
+        return t;
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * {@return the fingerprint of the inputs of the computation that created this checkpoint}
+     *
+     * @see Fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getNextFirst() {
+        return nextFirst;
+    }
+
+    /**
+     * {@return the indices of the configurations in the original sample that are already part of the reduced sample, in selection order}
+     */
+    public int[] getSelectedConfigurations() {
+        return selectedConfigurations;
+    }
+
+    /**
+     * {@return the interactions that are not yet covered by the reduced sample, together with the number of configurations in the original sample that cover them}
+     */
+    public List<ValuedBooleanAssignment> getInteractions() {
+        return interactions;
+    }
+
+    /**
+     * {@return whether this checkpoint was created for a computation with the given parameters}
+     *
+     * @param t the interaction size
+     * @param numberOfVariables the number of variables
+     * @param sampleSize the number of configurations in the sample
+     * @param fingerprint the fingerprint of the inputs of the computation
+     */
+    public boolean matches(int t, int numberOfVariables, int sampleSize, long fingerprint) {
+        return this.t == t
+                && this.numberOfVariables == numberOfVariables
+                && this.sampleSize == sampleSize
+                && this.fingerprint == fingerprint;
+    }
+}
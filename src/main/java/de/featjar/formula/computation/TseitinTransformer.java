@@ -31,6 +31,7 @@ import de.featjar.formula.structure.predicate.ExpressionKind;
 import de.featjar.formula.structure.predicate.IPredicate;
 import de.featjar.formula.structure.predicate.Literal;
 import de.featjar.formula.structure.term.value.Variable;
+import de.featjar.formula.visitor.ExpressionTraversal;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -178,7 +179,7 @@ public class TseitinTransformer
         ExpressionKind.NNF.assertFor(formula);
         substitutions.clear();
         stack.clear();
-        formula.traverse(this);
+        ExpressionTraversal.traverse(formula, this);
         return substitutions;
     }
 
@@ -0,0 +1,390 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.evaluation;
+
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.structure.IExpression;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a propositional formula on many boolean assignments at once.
+ * The formula is compiled once into a post-order sequence of operations (see {@link CompiledFormula}).
+ * Assignments are then processed in blocks of 64, such that each bit of a {@code long} represents one assignment and
+ * each operation is applied to 64 assignments with a few bitwise instructions.
+ * Blocks are evaluated in parallel.
+ * <p>
+ * The semantics are the same as for {@link de.featjar.formula.visitor.Evaluator}.
+ * In particular, unassigned variables evaluate to neither {@code true} nor {@code false}.
+ * Thus, each intermediate value is represented by two words, one for the assignments that evaluate to {@code true}
+ * and one for the assignments that evaluate to {@code false}.
+ *
+ * @author Sebastian Krieter
+ */
+public class BitSlicedEvaluator {
+
+    /**
+     * Reusable memory for evaluating blocks of assignments.
+     */
+    private final class Workspace {
+        private final long[] trueVariables = new long[variables.length];
+        private final long[] falseVariables = new long[variables.length];
+        private final long[] trueStack = new long[maxStackSize];
+        private final long[] falseStack = new long[maxStackSize];
+        private final long[] trueCounter = new long[counterBits];
+        private final long[] maxCounter = new long[counterBits];
+    }
+
+    private final FormulaProgram program;
+    private final int[] variables;
+    private final int[] variableSlots;
+    private final int maxStackSize;
+
+    /**
+     * Number of bits of the bit-sliced counters for cardinals, such that the number of children of each cardinal can
+     * be represented.
+     */
+    private final int counterBits;
+
+    /**
+     * For each cardinal instruction, the smallest count that satisfies the lower bound of its range.
+     */
+    private final int[] lowerBounds;
+
+    /**
+     * For each cardinal instruction, the smallest count that violates the upper bound of its range.
+     */
+    private final int[] exclusiveUpperBounds;
+
+    private BitSlicedEvaluator(FormulaProgram program) {
+        this.program = program;
+        variables = program.variables;
+        variableSlots = new int[program.variableMap.maxIndex() + 1];
+        Arrays.fill(variableSlots, -1);
+        for (int slot = 0; slot < variables.length; slot++) {
+            variableSlots[variables[slot]] = slot;
+        }
+        maxStackSize = program.maxStackSize;
+
+        final int[] instructions = program.instructions;
+        lowerBounds = new int[instructions.length];
+        exclusiveUpperBounds = new int[instructions.length];
+        int maxChildrenCount = 1;
+        for (int pc = 0; pc < instructions.length; pc++) {
+            if (FormulaProgram.operation(instructions[pc]) == FormulaProgram.CARDINAL) {
+                final int childrenCount = FormulaProgram.operand(instructions[pc]);
+                final Range range = program.ranges[pc];
+                int lowerBound = 0;
+                while (lowerBound <= childrenCount && !range.testLowerBound(lowerBound)) {
+                    lowerBound++;
+                }
+                int upperBound = childrenCount + 1;
+                while (upperBound > 0 && !range.testUpperBound(upperBound - 1)) {
+                    upperBound--;
+                }
+                lowerBounds[pc] = lowerBound;
+                exclusiveUpperBounds[pc] = upperBound;
+                maxChildrenCount = Math.max(maxChildrenCount, childrenCount);
+            }
+        }
+        counterBits = Integer.SIZE - Integer.numberOfLeadingZeros(maxChildrenCount);
+    }
+
+    /**
+     * Compiles the given expression.
+     * Fails if the expression contains non-boolean terms or predicates.
+     *
+     * @param expression the expression
+     * @param variableMap the variable map to which the literals of evaluated assignments refer
+     * @return the compiled evaluator
+     */
+    public static Result<BitSlicedEvaluator> compile(IExpression expression, VariableMap variableMap) {
+        return FormulaProgram.compile(expression, variableMap).map(BitSlicedEvaluator::new);
+    }
+
+    /**
+     * {@return the variable map to which the literals of evaluated assignments refer}
+     */
+    public VariableMap getVariableMap() {
+        return program.variableMap;
+    }
+
+    /**
+     * Evaluates the compiled expression on each assignment in the given list.
+     * The literals of the assignments must refer to the {@link #getVariableMap() variable map} given at compilation.
+     *
+     * @param assignments the assignments
+     * @return a bitset containing the indices of all assignments for which the expression evaluates to {@code true}
+     */
+    public BitSet evaluate(BooleanAssignmentList assignments) {
+        return evaluate(assignments, true);
+    }
+
+    /**
+     * Evaluates the compiled expression on each assignment in the given list.
+     * The literals of the assignments must refer to the {@link #getVariableMap() variable map} given at compilation.
+     * Assignments for which the expression evaluates to neither {@code true} nor {@code false} are contained in neither
+     * result.
+     *
+     * @param assignments the assignments
+     * @param value the value to look for
+     * @return a bitset containing the indices of all assignments for which the expression evaluates to the given value
+     */
+    public BitSet evaluate(BooleanAssignmentList assignments, boolean value) {
+        final long[] words = new long[(assignments.size() + Long.SIZE - 1) / Long.SIZE];
+        if (value) {
+            evaluate(assignments, words, null);
+        } else {
+            evaluate(assignments, null, words);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Evaluates the compiled expression on each assignment in the given list in a single pass.
+     * The literals of the assignments must refer to the {@link #getVariableMap() variable map} given at compilation.
+     * Assignments for which the expression evaluates to neither {@code true} nor {@code false} are contained in neither
+     * result.
+     *
+     * @param assignments the assignments
+     * @return two bitsets containing the indices of all assignments for which the expression evaluates to {@code true}
+     * (first element) and to {@code false} (second element)
+     */
+    public BitSet[] evaluateTrueAndFalse(BooleanAssignmentList assignments) {
+        final int numberOfBlocks = (assignments.size() + Long.SIZE - 1) / Long.SIZE;
+        final long[] trueWords = new long[numberOfBlocks];
+        final long[] falseWords = new long[numberOfBlocks];
+        evaluate(assignments, trueWords, falseWords);
+        return new BitSet[] {BitSet.valueOf(trueWords), BitSet.valueOf(falseWords)};
+    }
+
+    private void evaluate(BooleanAssignmentList assignments, long[] trueWords, long[] falseWords) {
+        final int size = assignments.size();
+        final int numberOfBlocks = (size + Long.SIZE - 1) / Long.SIZE;
+        final int numberOfChunks = Math.min(numberOfBlocks, 4 * Runtime.getRuntime().availableProcessors());
+        IntStream.range(0, numberOfChunks).parallel().forEach(chunk -> {
+            final Workspace workspace = new Workspace();
+            final int toBlock = (int) ((long) numberOfBlocks * (chunk + 1) / numberOfChunks);
+            for (int block = (int) ((long) numberOfBlocks * chunk / numberOfChunks); block < toBlock; block++) {
+                final int from = block * Long.SIZE;
+                evaluateBlock(assignments, from, Math.min(size, from + Long.SIZE), workspace);
+                final long mask = size - from >= Long.SIZE ? -1L : (1L << (size - from)) - 1;
+                if (trueWords != null) {
+                    trueWords[block] = workspace.trueStack[0] & mask;
+                }
+                if (falseWords != null) {
+                    falseWords[block] = workspace.falseStack[0] & mask;
+                }
+            }
+        });
+    }
+
+    /**
+     * Evaluates the compiled expression for a block of at most 64 assignments.
+     * Afterwards, the first elements of the true and false stack of the workspace contain the result.
+     */
+    private void evaluateBlock(BooleanAssignmentList assignments, int from, int to, Workspace workspace) {
+        final long[] trueVariables = workspace.trueVariables;
+        final long[] falseVariables = workspace.falseVariables;
+        Arrays.fill(trueVariables, 0);
+        Arrays.fill(falseVariables, 0);
+        long bit = 1L;
+        for (BooleanAssignment assignment : assignments.views(from, to)) {
+            for (int literal : assignment.get()) {
+                final int variable = Math.abs(literal);
+                if (variable < variableSlots.length) {
+                    final int slot = variableSlots[variable];
+                    if (slot >= 0) {
+                        if (literal > 0) {
+                            trueVariables[slot] |= bit;
+                        } else {
+                            falseVariables[slot] |= bit;
+                        }
+                    }
+                }
+            }
+            bit <<= 1;
+        }
+
+        final int[] instructions = program.instructions;
+        final long[] trueStack = workspace.trueStack;
+        final long[] falseStack = workspace.falseStack;
+        int stackSize = 0;
+        for (int pc = 0; pc < instructions.length; pc++) {
+            final int argument = FormulaProgram.operand(instructions[pc]);
+            switch (FormulaProgram.operation(instructions[pc])) {
+                case FormulaProgram.VARIABLE:
+                    final int slot = variableSlots[argument];
+                    trueStack[stackSize] = trueVariables[slot];
+                    falseStack[stackSize++] = falseVariables[slot];
+                    break;
+                case FormulaProgram.TRUE:
+                    stackSize -= argument;
+                    trueStack[stackSize] = -1L;
+                    falseStack[stackSize++] = 0L;
+                    break;
+                case FormulaProgram.FALSE:
+                    stackSize -= argument;
+                    trueStack[stackSize] = 0L;
+                    falseStack[stackSize++] = -1L;
+                    break;
+                case FormulaProgram.UNKNOWN:
+                    stackSize -= argument;
+                    trueStack[stackSize] = 0L;
+                    falseStack[stackSize++] = 0L;
+                    break;
+                case FormulaProgram.NOT: {
+                    final int top = stackSize - 1;
+                    final long trueWord = trueStack[top];
+                    trueStack[top] = falseStack[top];
+                    falseStack[top] = trueWord;
+                    break;
+                }
+                case FormulaProgram.AND: {
+                    long trueWord = -1L;
+                    long falseWord = 0L;
+                    for (int i = stackSize - argument; i < stackSize; i++) {
+                        trueWord &= trueStack[i];
+                        falseWord |= falseStack[i];
+                    }
+                    stackSize -= argument;
+                    trueStack[stackSize] = trueWord;
+                    falseStack[stackSize++] = falseWord;
+                    break;
+                }
+                case FormulaProgram.OR: {
+                    long trueWord = 0L;
+                    long falseWord = -1L;
+                    for (int i = stackSize - argument; i < stackSize; i++) {
+                        trueWord |= trueStack[i];
+                        falseWord &= falseStack[i];
+                    }
+                    stackSize -= argument;
+                    trueStack[stackSize] = trueWord;
+                    falseStack[stackSize++] = falseWord;
+                    break;
+                }
+                case FormulaProgram.IMPLIES: {
+                    final int a = stackSize - 2;
+                    final int b = stackSize - 1;
+                    final long trueWord = falseStack[a] | trueStack[b];
+                    final long falseWord = trueStack[a] & falseStack[b];
+                    trueStack[a] = trueWord;
+                    falseStack[a] = falseWord;
+                    stackSize = b;
+                    break;
+                }
+                case FormulaProgram.BIIMPLIES: {
+                    final int a = stackSize - 2;
+                    final int b = stackSize - 1;
+                    final long trueWord = (trueStack[a] & trueStack[b]) | (falseStack[a] & falseStack[b]);
+                    final long falseWord = (trueStack[a] & falseStack[b]) | (falseStack[a] & trueStack[b]);
+                    trueStack[a] = trueWord;
+                    falseStack[a] = falseWord;
+                    stackSize = b;
+                    break;
+                }
+                case FormulaProgram.IF_THEN_ELSE: {
+                    final int c = stackSize - 3;
+                    final int a = stackSize - 2;
+                    final int b = stackSize - 1;
+                    final long trueWord = (trueStack[c] & trueStack[a]) | (falseStack[c] & trueStack[b]);
+                    final long falseWord = (trueStack[c] & falseStack[a]) | (falseStack[c] & falseStack[b]);
+                    trueStack[c] = trueWord;
+                    falseStack[c] = falseWord;
+                    stackSize = a;
+                    break;
+                }
+                case FormulaProgram.CARDINAL: {
+                    final long[] trueCounter = workspace.trueCounter;
+                    final long[] maxCounter = workspace.maxCounter;
+                    Arrays.fill(trueCounter, 0L);
+                    Arrays.fill(maxCounter, 0L);
+                    for (int i = stackSize - argument; i < stackSize; i++) {
+                        add(trueCounter, trueStack[i]);
+                        add(maxCounter, trueStack[i] | ~falseStack[i]);
+                    }
+                    // a cardinal is false if even all unknown children together cannot satisfy its range
+                    final int lowerBound = lowerBounds[pc];
+                    final int upperBound = exclusiveUpperBounds[pc];
+                    final long trueWord = atLeast(trueCounter, lowerBound) & ~atLeast(maxCounter, upperBound);
+                    final long falseWord = ~atLeast(maxCounter, lowerBound) | atLeast(trueCounter, upperBound);
+                    stackSize -= argument;
+                    trueStack[stackSize] = trueWord;
+                    falseStack[stackSize++] = falseWord;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(String.valueOf(instructions[pc]));
+            }
+        }
+        if (stackSize == 0) {
+            trueStack[0] = 0L;
+            falseStack[0] = 0L;
+        }
+    }
+
+    /**
+     * Adds one to the count of each lane that is set in the given word.
+     * The counter is bit-sliced, that is, the i-th word contains the i-th bit of the counts of all 64 lanes.
+     *
+     * @param counter the counter
+     * @param word the lanes to increment
+     */
+    private static void add(long[] counter, long word) {
+        for (int i = 0; word != 0; i++) {
+            final long carry = counter[i] & word;
+            counter[i] ^= word;
+            word = carry;
+        }
+    }
+
+    /**
+     * {@return the lanes of the given bit-sliced counter whose count is greater or equal to the given value}
+     *
+     * @param counter the counter
+     * @param value the value
+     */
+    private static long atLeast(long[] counter, int value) {
+        if (value <= 0) {
+            return -1L;
+        }
+        if (value >>> counter.length != 0) {
+            return 0L;
+        }
+        long greater = 0L;
+        long equal = -1L;
+        for (int i = counter.length - 1; i >= 0; i--) {
+            if ((value >>> i & 1) != 0) {
+                equal &= counter[i];
+            } else {
+                greater |= equal & counter[i];
+                equal &= ~counter[i];
+            }
+        }
+        return greater | equal;
+    }
+}
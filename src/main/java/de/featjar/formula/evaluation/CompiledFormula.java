@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.evaluation;
+
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.structure.IExpression;
+
+/**
+ * A propositional formula compiled into a flat post-order instruction array.
+ * Variables are referenced by their index in a {@link VariableMap}.
+ * Evaluating a compiled formula does not traverse the expression tree and does not allocate memory.
+ * Instances are immutable and can be cached and shared between threads.
+ * <p>
+ * The semantics are the same as for {@link de.featjar.formula.visitor.Evaluator}.
+ * In particular, unassigned variables evaluate to neither {@code true} nor {@code false} and the evaluation of the
+ * formula may return {@code null}.
+ *
+ * @author Sebastian Krieter
+ */
+public class CompiledFormula {
+
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+    private static final byte UNKNOWN = 2;
+
+    private static final byte UNASSIGNED = 0;
+    private static final byte ASSIGNED_FALSE = 1;
+    private static final byte ASSIGNED_TRUE = 2;
+
+    /**
+     * Reusable memory for a single evaluation.
+     */
+    private final class Workspace {
+        private final byte[] stack = new byte[program.maxStackSize];
+        private final byte[] values = new byte[program.variableMap.maxIndex() + 1];
+    }
+
+    private final FormulaProgram program;
+    private final ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
+
+    private CompiledFormula(FormulaProgram program) {
+        this.program = program;
+    }
+
+    /**
+     * Compiles the given expression.
+     * Fails if the expression contains non-boolean terms or predicates.
+     *
+     * @param expression the expression
+     * @param variableMap the variable map to which the literals of evaluated assignments refer
+     * @return the compiled formula
+     */
+    public static Result<CompiledFormula> compile(IExpression expression, VariableMap variableMap) {
+        return FormulaProgram.compile(expression, variableMap).map(CompiledFormula::new);
+    }
+
+    /**
+     * {@return the variable map to which the literals of evaluated assignments refer}
+     */
+    public VariableMap getVariableMap() {
+        return program.variableMap;
+    }
+
+    /**
+     * {@return the indices of all variables that occur in the compiled formula}
+     */
+    public int[] getVariables() {
+        return program.variables.clone();
+    }
+
+    /**
+     * Evaluates the compiled formula on a model, i.e., an array that contains the value of the variable with index
+     * {@code i} at position {@code i - 1}, as returned by {@link de.featjar.formula.assignment.BooleanSolution#get()}.
+     * Positive entries are {@code true}, negative entries are {@code false}, and zero entries are unassigned.
+     * Variables with an index larger than the length of the array are unassigned.
+     *
+     * @param model the model
+     * @return {@link Boolean#TRUE}, {@link Boolean#FALSE}, or {@code null} if the value is undetermined
+     */
+    public Boolean evaluateModel(int[] model) {
+        return toBoolean(run(model, null, workspace.get().stack));
+    }
+
+    /**
+     * Evaluates the compiled formula on a list of literals, such as a {@link BooleanAssignment}.
+     * Variables that do not occur in the list are unassigned.
+     *
+     * @param literals the literals
+     * @return {@link Boolean#TRUE}, {@link Boolean#FALSE}, or {@code null} if the value is undetermined
+     */
+    public Boolean evaluate(int... literals) {
+        final Workspace workspace = this.workspace.get();
+        final byte[] values = workspace.values;
+        for (int literal : literals) {
+            final int variable = Math.abs(literal);
+            if (literal != 0 && variable < values.length) {
+                values[variable] = literal > 0 ? ASSIGNED_TRUE : ASSIGNED_FALSE;
+            }
+        }
+        final byte value = run(null, values, workspace.stack);
+        for (int literal : literals) {
+            final int variable = Math.abs(literal);
+            if (variable < values.length) {
+                values[variable] = UNASSIGNED;
+            }
+        }
+        return toBoolean(value);
+    }
+
+    /**
+     * Evaluates the compiled formula on the given assignment.
+     *
+     * @param assignment the assignment
+     * @return {@link Boolean#TRUE}, {@link Boolean#FALSE}, or {@code null} if the value is undetermined
+     * @see #evaluate(int...)
+     */
+    public Boolean evaluate(BooleanAssignment assignment) {
+        return evaluate(assignment.get());
+    }
+
+    private static Boolean toBoolean(byte value) {
+        return value == TRUE ? Boolean.TRUE : value == FALSE ? Boolean.FALSE : null;
+    }
+
+    private byte run(int[] model, byte[] values, byte[] stack) {
+        final int[] instructions = program.instructions;
+        int stackSize = 0;
+        for (int pc = 0; pc < instructions.length; pc++) {
+            final int operand = FormulaProgram.operand(instructions[pc]);
+            switch (FormulaProgram.operation(instructions[pc])) {
+                case FormulaProgram.VARIABLE:
+                    if (model != null) {
+                        final int literal = operand <= model.length ? model[operand - 1] : 0;
+                        stack[stackSize++] = literal > 0 ? TRUE : literal < 0 ? FALSE : UNKNOWN;
+                    } else {
+                        final byte value = values[operand];
+                        stack[stackSize++] = value == ASSIGNED_TRUE ? TRUE : value == ASSIGNED_FALSE ? FALSE : UNKNOWN;
+                    }
+                    break;
+                case FormulaProgram.TRUE:
+                    stackSize -= operand;
+                    stack[stackSize++] = TRUE;
+                    break;
+                case FormulaProgram.FALSE:
+                    stackSize -= operand;
+                    stack[stackSize++] = FALSE;
+                    break;
+                case FormulaProgram.UNKNOWN:
+                    stackSize -= operand;
+                    stack[stackSize++] = UNKNOWN;
+                    break;
+                case FormulaProgram.NOT: {
+                    final byte value = stack[stackSize - 1];
+                    stack[stackSize - 1] = value == UNKNOWN ? UNKNOWN : (byte) (1 - value);
+                    break;
+                }
+                case FormulaProgram.AND: {
+                    byte result = TRUE;
+                    for (int i = stackSize - operand; i < stackSize; i++) {
+                        final byte value = stack[i];
+                        if (value == FALSE) {
+                            result = FALSE;
+                            break;
+                        } else if (value == UNKNOWN) {
+                            result = UNKNOWN;
+                        }
+                    }
+                    stackSize -= operand;
+                    stack[stackSize++] = result;
+                    break;
+                }
+                case FormulaProgram.OR: {
+                    byte result = FALSE;
+                    for (int i = stackSize - operand; i < stackSize; i++) {
+                        final byte value = stack[i];
+                        if (value == TRUE) {
+                            result = TRUE;
+                            break;
+                        } else if (value == UNKNOWN) {
+                            result = UNKNOWN;
+                        }
+                    }
+                    stackSize -= operand;
+                    stack[stackSize++] = result;
+                    break;
+                }
+                case FormulaProgram.IMPLIES: {
+                    final byte a = stack[stackSize - 2];
+                    final byte b = stack[stackSize - 1];
+                    stackSize--;
+                    stack[stackSize - 1] =
+                            (a == FALSE || b == TRUE) ? TRUE : (a == TRUE && b == FALSE) ? FALSE : UNKNOWN;
+                    break;
+                }
+                case FormulaProgram.BIIMPLIES: {
+                    final byte a = stack[stackSize - 2];
+                    final byte b = stack[stackSize - 1];
+                    stackSize--;
+                    stack[stackSize - 1] = (a == UNKNOWN || b == UNKNOWN) ? UNKNOWN : a == b ? TRUE : FALSE;
+                    break;
+                }
+                case FormulaProgram.IF_THEN_ELSE: {
+                    final byte condition = stack[stackSize - 3];
+                    final byte thenValue = stack[stackSize - 2];
+                    final byte elseValue = stack[stackSize - 1];
+                    stackSize -= 2;
+                    stack[stackSize - 1] = condition == TRUE ? thenValue : condition == FALSE ? elseValue : UNKNOWN;
+                    break;
+                }
+                case FormulaProgram.CARDINAL: {
+                    int trueCount = 0;
+                    int unknownCount = 0;
+                    for (int i = stackSize - operand; i < stackSize; i++) {
+                        final byte value = stack[i];
+                        if (value == TRUE) {
+                            trueCount++;
+                        } else if (value == UNKNOWN) {
+                            unknownCount++;
+                        }
+                    }
+                    final Range range = program.ranges[pc];
+                    final int maxCount = trueCount + unknownCount;
+                    stackSize -= operand;
+                    if (!range.testLowerBound(maxCount) || !range.testUpperBound(trueCount)) {
+                        stack[stackSize++] = FALSE;
+                    } else if (range.testLowerBound(trueCount) && range.testUpperBound(maxCount)) {
+                        stack[stackSize++] = TRUE;
+                    } else {
+                        stack[stackSize++] = UNKNOWN;
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(String.valueOf(instructions[pc]));
+            }
+        }
+        return stackSize == 0 ? UNKNOWN : stack[0];
+    }
+}
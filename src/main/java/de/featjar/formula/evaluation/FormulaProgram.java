@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.evaluation;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.visitor.ITreeVisitor;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.connective.ACardinal;
+import de.featjar.formula.structure.connective.AQuantifier;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.False;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.predicate.ProblemFormula;
+import de.featjar.formula.structure.predicate.True;
+import de.featjar.formula.structure.term.IfThenElse;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import de.featjar.formula.visitor.ExpressionTraversal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * A propositional formula compiled into a flat post-order sequence of instructions for a stack machine.
+ * Each instruction consists of an operation code in the lowest {@value #OPERATION_BITS} bits and an operand in the
+ * remaining bits.
+ * Depending on the operation, the operand is the index of a variable in the {@link VariableMap} or the number of
+ * values the operation takes from the stack.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Sebastian Krieter
+ */
+final class FormulaProgram {
+
+    static final int OPERATION_BITS = 8;
+    static final int OPERATION_MASK = (1 << OPERATION_BITS) - 1;
+
+    static final int VARIABLE = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int UNKNOWN = 3;
+    static final int NOT = 4;
+    static final int AND = 5;
+    static final int OR = 6;
+    static final int IMPLIES = 7;
+    static final int BIIMPLIES = 8;
+    static final int CARDINAL = 9;
+    static final int IF_THEN_ELSE = 10;
+
+    private static final class Compiler implements ITreeVisitor<IExpression, FormulaProgram> {
+        private final VariableMap variableMap;
+        private final List<Integer> instructions = new ArrayList<>();
+        private final List<Range> ranges = new ArrayList<>();
+        private final LinkedHashSet<Integer> variables = new LinkedHashSet<>();
+        private int stackSize, maxStackSize;
+        private IExpression unsupportedExpression;
+
+        private Compiler(VariableMap variableMap) {
+            this.variableMap = variableMap;
+        }
+
+        @Override
+        public void reset() {
+            instructions.clear();
+            ranges.clear();
+            variables.clear();
+            stackSize = 0;
+            maxStackSize = 0;
+            unsupportedExpression = null;
+        }
+
+        @Override
+        public TraversalAction lastVisit(List<IExpression> path) {
+            final IExpression expression = ITreeVisitor.getCurrentNode(path);
+            final int childrenCount = expression.getChildrenCount();
+            if (expression instanceof Variable) {
+                if (expression.getType() != Boolean.class) {
+                    return unsupported(expression);
+                }
+                Result<Integer> index = variableMap.get(expression.getName());
+                if (index.isPresent()) {
+                    variables.add(index.get());
+                    emit(VARIABLE, index.get(), null, 0);
+                } else {
+                    emit(UNKNOWN, 0, null, 0);
+                }
+            } else if (expression instanceof Constant) {
+                Object value = ((Constant) expression).getValue();
+                if (value != null && !(value instanceof Boolean)) {
+                    return unsupported(expression);
+                }
+                emit(value == null ? UNKNOWN : (Boolean) value ? TRUE : FALSE, 0, null, 0);
+            } else if (expression instanceof True) {
+                emit(TRUE, 0, null, 0);
+            } else if (expression instanceof False) {
+                emit(FALSE, 0, null, 0);
+            } else if (expression instanceof Literal) {
+                if (!((Literal) expression).isPositive()) {
+                    emit(NOT, 1, null, 1);
+                }
+            } else if (expression instanceof Reference) {
+                // evaluates to the value of its child
+            } else if (expression instanceof Not) {
+                emit(NOT, 1, null, 1);
+            } else if (expression instanceof And) {
+                emit(AND, childrenCount, null, childrenCount);
+            } else if (expression instanceof Or) {
+                emit(OR, childrenCount, null, childrenCount);
+            } else if (expression instanceof Implies) {
+                emit(IMPLIES, 2, null, 2);
+            } else if (expression instanceof BiImplies) {
+                emit(BIIMPLIES, 2, null, 2);
+            } else if (expression instanceof ACardinal) {
+                emit(CARDINAL, childrenCount, ((ACardinal) expression).getRange(), childrenCount);
+            } else if (expression instanceof IfThenElse && expression.getType() == Boolean.class) {
+                emit(IF_THEN_ELSE, 3, null, 3);
+            } else if (expression instanceof AQuantifier || expression instanceof ProblemFormula) {
+                emit(UNKNOWN, childrenCount, null, childrenCount);
+            } else {
+                return unsupported(expression);
+            }
+            return TraversalAction.CONTINUE;
+        }
+
+        private TraversalAction unsupported(IExpression expression) {
+            unsupportedExpression = expression;
+            return TraversalAction.SKIP_ALL;
+        }
+
+        private void emit(int operation, int operand, Range range, int numberOfOperands) {
+            instructions.add(operation | (operand << OPERATION_BITS));
+            ranges.add(range);
+            stackSize += 1 - numberOfOperands;
+            maxStackSize = Math.max(maxStackSize, stackSize);
+        }
+
+        @Override
+        public Result<FormulaProgram> getResult() {
+            if (unsupportedExpression != null) {
+                return Result.empty(new Problem(
+                        "Cannot evaluate expression of type " + unsupportedExpression.getName(),
+                        Problem.Severity.ERROR));
+            }
+            return Result.of(new FormulaProgram(this));
+        }
+    }
+
+    final VariableMap variableMap;
+    final int[] instructions;
+    final Range[] ranges;
+    final int[] variables;
+    final int maxStackSize;
+
+    private FormulaProgram(Compiler compiler) {
+        variableMap = compiler.variableMap;
+        instructions = compiler.instructions.stream().mapToInt(Integer::intValue).toArray();
+        ranges = compiler.ranges.toArray(new Range[0]);
+        variables = compiler.variables.stream().mapToInt(Integer::intValue).toArray();
+        maxStackSize = Math.max(1, compiler.maxStackSize);
+    }
+
+    /**
+     * Compiles the given expression.
+     * Fails if the expression contains non-boolean terms or predicates.
+     *
+     * @param expression the expression
+     * @param variableMap the variable map used to translate variable names into indices
+     * @return the compiled program
+     */
+    static Result<FormulaProgram> compile(IExpression expression, VariableMap variableMap) {
+        return ExpressionTraversal.traverse(expression, new Compiler(variableMap));
+    }
+
+    static int operation(int instruction) {
+        return instruction & OPERATION_MASK;
+    }
+
+    static int operand(int instruction) {
+        return instruction >>> OPERATION_BITS;
+    }
+}
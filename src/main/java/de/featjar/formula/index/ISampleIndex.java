@@ -22,6 +22,7 @@ package de.featjar.formula.index;
 
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.combination.ICombinationFilter;
+import java.util.BitSet;
 
 /**
  *
@@ -42,4 +43,18 @@ public interface ISampleIndex extends ICombinationFilter {
     int getNumberOfVariables();
 
     int[] getConfiguration(int configurationID);
+
+    /**
+     * {@return a bitset representing the ids of all assignments that contains the given values}
+     * @param literals the values
+     */
+    BitSet getBitSet(int... literals);
+
+    /**
+     * Modifies a given bitset to only represent assignments that also contain the given values.
+     * @param bitSet the original bitset
+     * @param literals the values
+     * @return the modified bitset (no copy)
+     */
+    BitSet updateBitSet(BitSet bitSet, int... literals);
 }
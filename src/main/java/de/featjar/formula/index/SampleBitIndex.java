@@ -80,7 +80,7 @@ public class SampleBitIndex implements ISampleIndex {
      */
     public SampleBitIndex(BooleanAssignmentList sample) {
         this(sample.getVariableMap(), sample.size());
-        sample.forEach(this::addConfiguration);
+        sample.views().forEach(this::addConfiguration);
     }
 
     public void addConfiguration(BooleanAssignment config) {
@@ -289,13 +289,21 @@ public class SampleBitIndex implements ISampleIndex {
 
     @Override
     public SampleBitIndex remap(VariableMap newVariableMap) {
-        int newNumberOfVariables = variableMap.size();
+        int[] adapted = new int[numberOfVariables + 1];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            adapted[i] = variableMap.adapt(i, newVariableMap, true);
+        }
+        int newNumberOfVariables = newVariableMap.size();
         BitSet[] newBitSetReference = new BitSet[2 * newNumberOfVariables + 1];
 
         for (int i = 1; i <= numberOfVariables; i++) {
-            int adapt = variableMap.adapt(i, newVariableMap, true);
-            newBitSetReference[newNumberOfVariables + adapt] = bitSetReference[numberOfVariables + i];
-            newBitSetReference[newNumberOfVariables - adapt] = bitSetReference[numberOfVariables - i];
+            newBitSetReference[newNumberOfVariables + adapted[i]] = bitSetReference[numberOfVariables + i];
+            newBitSetReference[newNumberOfVariables - adapted[i]] = bitSetReference[numberOfVariables - i];
+        }
+        for (int j = 0; j < newBitSetReference.length; j++) {
+            if (newBitSetReference[j] == null) {
+                newBitSetReference[j] = new BitSet();
+            }
         }
         numberOfVariables = newNumberOfVariables;
         bitSetReference = newBitSetReference;
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.function.Function;
+
+/**
+ * The available implementations of {@link ISampleIndex}.
+ *
+ * @author Sebastian Krieter
+ */
+public enum SampleIndexType {
+    /**
+     * Uncompressed bitsets, see {@link SampleBitIndex}.
+     */
+    BIT(SampleBitIndex::new),
+    /**
+     * Sorted lists of assignment ids, see {@link SampleListIndex}.
+     */
+    LIST(SampleListIndex::new),
+    /**
+     * Compressed bitmaps, see {@link SampleRoaringIndex}.
+     */
+    ROARING(SampleRoaringIndex::new),
+    /**
+     * Chooses between {@link #LIST}, {@link #ROARING}, and {@link #BIT} depending on the density and the size of the
+     * sample, see {@link #choose(BooleanAssignmentList)}.
+     * Computations use {@link #BIT} by default and only choose automatically if this type is set explicitly.
+     */
+    AUTOMATIC(sample -> choose(sample).create(sample));
+
+    /**
+     * Maximum ratio of assigned variables in a sample for which {@link #LIST} is chosen by {@link #AUTOMATIC}.
+     * Below this ratio, the id lists use less memory than the bitsets and their intersection has to consider less
+     * elements than the word-wise intersection of bitsets.
+     */
+    public static final double LIST_DENSITY_THRESHOLD = 1.0 / 32;
+
+    /**
+     * Minimum number of assignments in a sample for which {@link #ROARING} can be chosen by {@link #AUTOMATIC}.
+     * Smaller samples fit into a single container of a compressed bitmap, such that the bitsets are small anyway and
+     * their intersection is faster.
+     */
+    public static final int ROARING_SIZE_THRESHOLD = 1 << 16;
+
+    /**
+     * Maximum estimated ratio between the size of the compressed bitmaps and the size of the bitsets for which
+     * {@link #ROARING} is chosen by {@link #AUTOMATIC}.
+     */
+    public static final double ROARING_COMPRESSION_THRESHOLD = 0.5;
+
+    /**
+     * Number of evenly spaced assignments that are inspected to estimate the literal frequencies of a sample.
+     */
+    private static final int NUMBER_OF_INSPECTED_ASSIGNMENTS = 256;
+
+    private final Function<BooleanAssignmentList, ISampleIndex> constructor;
+
+    private SampleIndexType(Function<BooleanAssignmentList, ISampleIndex> constructor) {
+        this.constructor = constructor;
+    }
+
+    /**
+     * {@return the index type that is most suitable for the given sample}
+     * Estimates the frequency of each literal from at most {@value #NUMBER_OF_INSPECTED_ASSIGNMENTS} evenly spaced
+     * assignments of the sample and chooses
+     * <ul>
+     * <li>{@link #LIST} for sparse samples, i.e., samples containing mostly partial assignments, such as sets of
+     * interactions (see {@link #LIST_DENSITY_THRESHOLD}),
+     * <li>{@link #ROARING} for large samples with many core, dead, rarely, or almost always selected variables, which
+     * is typical for samples of real feature models (see {@link #ROARING_SIZE_THRESHOLD} and
+     * {@link #ROARING_COMPRESSION_THRESHOLD}), and
+     * <li>{@link #BIT} otherwise, in particular for all samples with less than {@link #ROARING_SIZE_THRESHOLD}
+     * complete assignments.
+     * </ul>
+     * The size of a compressed bitmap for a literal with frequency {@code f} is estimated per assignment as the
+     * minimum of {@code 16 f} bits for an array of ids, {@code 32 f (1 - f)} bits for runs of consecutive ids
+     * (assuming random order), and one bit for an uncompressed bitmap.
+     * Empty samples and samples without a variable map are indexed with {@link #BIT}.
+     *
+     * @param sample the sample
+     */
+    public static SampleIndexType choose(BooleanAssignmentList sample) {
+        int sampleSize = sample.size();
+        if (sampleSize == 0 || sample.getVariableMap() == null) {
+            return BIT;
+        }
+        int numberOfVariables = sample.getVariableMap().size();
+        if (numberOfVariables == 0) {
+            return BIT;
+        }
+        int stride = Math.max(1, sampleSize / NUMBER_OF_INSPECTED_ASSIGNMENTS);
+        int[] positiveCounts = new int[sample.getVariableMap().maxIndex() + 1];
+        int[] negativeCounts = new int[positiveCounts.length];
+        int numberOfInspectedAssignments = 0;
+        long numberOfLiterals = 0;
+        int index = 0;
+        for (BooleanAssignment assignment : sample.views()) {
+            if (index++ % stride != 0) {
+                continue;
+            }
+            for (int literal : assignment.get()) {
+                if (literal > 0 && literal < positiveCounts.length) {
+                    positiveCounts[literal]++;
+                    numberOfLiterals++;
+                } else if (literal < 0 && -literal < negativeCounts.length) {
+                    negativeCounts[-literal]++;
+                    numberOfLiterals++;
+                }
+            }
+            if (++numberOfInspectedAssignments == NUMBER_OF_INSPECTED_ASSIGNMENTS) {
+                break;
+            }
+        }
+
+        if (numberOfLiterals < LIST_DENSITY_THRESHOLD * numberOfInspectedAssignments * numberOfVariables) {
+            return LIST;
+        }
+        if (sampleSize < ROARING_SIZE_THRESHOLD) {
+            return BIT;
+        }
+        double compressedSize = 0;
+        for (int variable = 1; variable < positiveCounts.length; variable++) {
+            compressedSize += estimateCompressedSize((double) positiveCounts[variable] / numberOfInspectedAssignments);
+            compressedSize += estimateCompressedSize((double) negativeCounts[variable] / numberOfInspectedAssignments);
+        }
+        return compressedSize <= ROARING_COMPRESSION_THRESHOLD * 2 * numberOfVariables ? ROARING : BIT;
+    }
+
+    private static double estimateCompressedSize(double frequency) {
+        return Math.min(Math.min(16 * frequency, 32 * frequency * (1 - frequency)), 1);
+    }
+
+    /**
+     * {@return a new index containing all assignments of the given sample}
+     * @param sample the sample
+     */
+    public ISampleIndex create(BooleanAssignmentList sample) {
+        return constructor.apply(sample);
+    }
+}
@@ -21,9 +21,11 @@
 package de.featjar.formula.index;
 
 import de.featjar.base.data.ExpandableIntegerList;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -34,9 +36,35 @@ import java.util.List;
  */
 public class SampleListIndex implements ISampleIndex {
 
-    private final ExpandableIntegerList[] configurationIndices;
-    private final int numberOfVariables;
+    private static final int TEST = 0;
+    private static final int FIRST = 1;
+    private static final int COUNT = 2;
+    private static final int COLLECT = 3;
+
+    /**
+     * Reusable arrays for intersecting id lists, such that queries do not allocate memory.
+     */
+    private static final class IntersectionState {
+        private int[][] lists = new int[0][];
+        private int[] sizes = new int[0];
+        private int[] positions = new int[0];
+
+        private int[][] lists(int length) {
+            if (lists.length < length) {
+                lists = new int[length][];
+                sizes = new int[length];
+                positions = new int[length];
+            }
+            return lists;
+        }
+    }
+
+    private final ThreadLocal<IntersectionState> intersectionState = ThreadLocal.withInitial(IntersectionState::new);
+
+    private ExpandableIntegerList[] configurationIndices;
+    private int numberOfVariables;
     private int sampleSize;
+    private VariableMap variableMap;
 
     public SampleListIndex(final int numberOfVariables) {
         this.numberOfVariables = numberOfVariables;
@@ -65,7 +93,8 @@ public class SampleListIndex implements ISampleIndex {
 
     public SampleListIndex(BooleanAssignmentList sample) {
         this(sample.getVariableMap().size(), sample.size());
-        sample.forEach(this::addConfiguration);
+        variableMap = sample.getVariableMap();
+        sample.views().forEach(this::addConfiguration);
     }
 
     public void addConfiguration(BooleanAssignment config) {
@@ -85,54 +114,154 @@ public class SampleListIndex implements ISampleIndex {
     }
 
     public boolean test(int... literals) {
-        return index(literals) >= 0;
+        return intersect(literals, TEST, null) > 0;
     }
 
     public int index(int... literals) {
-        if (literals.length < 2) {
-            ExpandableIntegerList i0 = configurationIndices[numberOfVariables + literals[0]];
-            return i0.isEmpty() ? -1 : i0.get(0);
+        return intersect(literals, FIRST, null);
+    }
+
+    @Override
+    public int size(int... literals) {
+        return intersect(literals, COUNT, null);
+    }
+
+    @Override
+    public BitSet getBitSet(int... literals) {
+        BitSet bitSet = new BitSet(sampleSize);
+        intersect(literals, COLLECT, bitSet);
+        return bitSet;
+    }
+
+    @Override
+    public BitSet updateBitSet(BitSet bitSet, int... literals) {
+        for (int k = 0; k < literals.length; k++) {
+            ExpandableIntegerList ik = configurationIndices[numberOfVariables + literals[k]];
+            int[] iak = ik.getInternalArray();
+            int searchIndex = 0;
+            for (int id = bitSet.nextSetBit(0); id >= 0; id = bitSet.nextSetBit(id + 1)) {
+                searchIndex = gallop(iak, searchIndex, ik.size(), id);
+                if (searchIndex == ik.size()) {
+                    bitSet.clear(id, bitSet.length());
+                    break;
+                } else if (iak[searchIndex] != id) {
+                    bitSet.clear(id, iak[searchIndex]);
+                    id = iak[searchIndex] - 1;
+                }
+            }
         }
-        ExpandableIntegerList[] selectedIndexedSolutions = new ExpandableIntegerList[literals.length];
-        for (int i = 0; i < literals.length; i++) {
-            final ExpandableIntegerList indexedSolution = configurationIndices[numberOfVariables + literals[i]];
-            if (indexedSolution.size() == 0) {
-                return -1;
+        return bitSet;
+    }
+
+    /**
+     * Intersects the sorted id lists of the given literals.
+     * The lists are processed in ascending order of their length.
+     * Candidates are taken from the shortest list and searched in the longer lists using galloping search, which skips
+     * over large parts of the longer lists.
+     *
+     * @param literals the literals
+     * @param mode one of {@link #TEST}, {@link #FIRST}, {@link #COUNT}, or {@link #COLLECT}
+     * @param result the bitset to which all found ids are added in {@link #COLLECT} mode
+     * @return 1 if there is a common id in {@link #TEST} mode, the first common id (or -1) in {@link #FIRST} mode, and
+     *         the number of common ids otherwise
+     */
+    private int intersect(int[] literals, int mode, BitSet result) {
+        final int length = literals.length;
+        if (length == 0) {
+            return mode == FIRST ? -1 : 0;
+        }
+        final IntersectionState state = intersectionState.get();
+        final int[][] lists = state.lists(length);
+        final int[] sizes = state.sizes;
+        final int[] positions = state.positions;
+
+        for (int i = 0; i < length; i++) {
+            final ExpandableIntegerList list = configurationIndices[numberOfVariables + literals[i]];
+            final int size = list.size();
+            if (size == 0) {
+                return mode == FIRST ? -1 : 0;
+            }
+            final int[] array = list.getInternalArray();
+            int j = i;
+            for (; j > 0 && sizes[j - 1] > size; j--) {
+                lists[j] = lists[j - 1];
+                sizes[j] = sizes[j - 1];
             }
-            selectedIndexedSolutions[i] = indexedSolution;
-        }
-        Arrays.sort(selectedIndexedSolutions, (a, b) -> a.size() - b.size());
-        final int[] searchIndices = new int[literals.length - 1];
-
-        final ExpandableIntegerList i0 = selectedIndexedSolutions[0];
-        final int[] ia0 = i0.getInternalArray();
-        loop:
-        for (int i = 0; i < i0.size(); i++) {
-            int id0 = ia0[i];
-            for (int j = 1; j < literals.length; j++) {
-                final ExpandableIntegerList ij = selectedIndexedSolutions[j];
-                final int searchIndex = search(ij, searchIndices[j - 1], id0);
-                if (searchIndex < 0) {
-                    int nextIndex = -searchIndex - 1;
-                    if (nextIndex < ij.size()) {
-                        searchIndices[j - 1] = nextIndex;
-                        continue loop;
-                    } else {
-                        return -1;
-                    }
-                } else {
-                    searchIndices[j - 1] = searchIndex;
+            lists[j] = array;
+            sizes[j] = size;
+            positions[i] = 0;
+        }
+
+        final int[] list0 = lists[0];
+        final int size0 = sizes[0];
+        int count = 0;
+        int position0 = 0;
+        candidateLoop:
+        while (position0 < size0) {
+            final int candidate = list0[position0];
+            for (int j = 1; j < length; j++) {
+                final int position = gallop(lists[j], positions[j], sizes[j], candidate);
+                if (position == sizes[j]) {
+                    break candidateLoop;
+                }
+                positions[j] = position;
+                final int id = lists[j][position];
+                if (id != candidate) {
+                    position0 = gallop(list0, position0 + 1, size0, id);
+                    continue candidateLoop;
                 }
             }
-            return id0;
+            switch (mode) {
+                case TEST:
+                    return 1;
+                case FIRST:
+                    return candidate;
+                case COLLECT:
+                    result.set(candidate);
+                // $FALL-THROUGH$
+                default:
+                    count++;
+            }
+            position0++;
         }
-        return -1;
+        return mode == FIRST ? -1 : count;
     }
 
-    @Override
-    public int size(int... literals) {
-        // TODO implement exhaustive search
-        throw new UnsupportedOperationException();
+    /**
+     * {@return the index of the first element in the given range of the sorted array that is greater or equal to the
+     * given value, or the end of the range if there is none}
+     * Uses an exponential search starting at the beginning of the range, followed by a binary search.
+     *
+     * @param array the sorted array
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param value the value to search for
+     */
+    private static int gallop(int[] array, int from, int to, int value) {
+        if (from >= to || array[from] >= value) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < to && array[high] < value) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        if (high > to) {
+            high = to;
+        }
+        // array[low] < value && (high == to || array[high] >= value)
+        while (high - low > 1) {
+            final int mid = (low + high) >>> 1;
+            if (array[mid] < value) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
     }
 
     private int search(ExpandableIntegerList ij, int minIndex, int id0) {
@@ -173,4 +302,38 @@ public class SampleListIndex implements ISampleIndex {
         }
         return model;
     }
+
+    /**
+     * Moves the id lists of all literals to their index in the given variable map.
+     * Indices that were not created from a {@link BooleanAssignmentList} have no variable map and are not changed.
+     *
+     * @param newVariableMap the new variable map
+     * @return this index
+     */
+    @Override
+    public SampleListIndex remap(VariableMap newVariableMap) {
+        if (variableMap == null) {
+            return this;
+        }
+        int[] adapted = new int[numberOfVariables + 1];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            adapted[i] = variableMap.adapt(i, newVariableMap, true);
+        }
+        int newNumberOfVariables = newVariableMap.size();
+        ExpandableIntegerList[] newConfigurationIndices = new ExpandableIntegerList[2 * newNumberOfVariables + 1];
+
+        for (int i = 1; i <= numberOfVariables; i++) {
+            newConfigurationIndices[newNumberOfVariables + adapted[i]] = configurationIndices[numberOfVariables + i];
+            newConfigurationIndices[newNumberOfVariables - adapted[i]] = configurationIndices[numberOfVariables - i];
+        }
+        for (int j = 0; j < newConfigurationIndices.length; j++) {
+            if (newConfigurationIndices[j] == null) {
+                newConfigurationIndices[j] = new ExpandableIntegerList();
+            }
+        }
+        numberOfVariables = newNumberOfVariables;
+        configurationIndices = newConfigurationIndices;
+        variableMap = newVariableMap;
+        return this;
+    }
 }
@@ -0,0 +1,514 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Stores assignments in compressed bitmaps, one for each literal.
+ * Similar to roaring bitmaps, the ids of the assignments are partitioned into chunks of 2<sup>16</sup> ids.
+ * Within each chunk, the ids are stored either as sorted array (sparse literals), as bitmap (dense literals), or as
+ * sequence of runs (literals that occur in long consecutive ranges, e.g., core features).
+ * Intersections of multiple literals are computed by leapfrogging from the smallest container through the others, or
+ * word-wise, if all containers are bitmaps.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleRoaringIndex implements ISampleIndex {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final int BITMAP_WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+
+    private static final int TEST = 0;
+    private static final int FIRST = 1;
+    private static final int COUNT = 2;
+    private static final int COLLECT = 3;
+
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(int value);
+
+        /**
+         * {@return the smallest value greater or equal to the given value, or -1 if there is none}
+         * @param from the lower bound
+         */
+        abstract int nextValue(int from);
+
+        /**
+         * Adds a value that is greater than all values in this container.
+         * @param value the value
+         * @return this or a new container that replaces this one
+         */
+        abstract Container append(int value);
+
+        abstract int numberOfRuns();
+
+        Container optimize() {
+            final int cardinality = cardinality();
+            final int runBytes = 4 * numberOfRuns();
+            final int arrayBytes = 2 * cardinality;
+            final int bitmapBytes = 8 * BITMAP_WORDS;
+            if (runBytes < Math.min(arrayBytes, bitmapBytes)) {
+                return this instanceof RunContainer ? this : RunContainer.of(this);
+            } else if (arrayBytes <= bitmapBytes) {
+                return this instanceof ArrayContainer ? this : ArrayContainer.of(this);
+            } else {
+                return this instanceof BitmapContainer ? this : BitmapContainer.of(this);
+            }
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int size;
+
+        static ArrayContainer of(Container container) {
+            ArrayContainer newContainer = new ArrayContainer();
+            newContainer.values = new char[Math.max(4, container.cardinality())];
+            for (int v = container.nextValue(0); v >= 0; v = container.nextValue(v + 1)) {
+                newContainer.values[newContainer.size++] = (char) v;
+            }
+            return newContainer;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, (char) value) >= 0;
+        }
+
+        @Override
+        int nextValue(int from) {
+            if (from > CHUNK_MASK) {
+                return -1;
+            }
+            int index = Arrays.binarySearch(values, 0, size, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size ? values[index] : -1;
+        }
+
+        @Override
+        Container append(int value) {
+            if (size == MAX_ARRAY_SIZE) {
+                return BitmapContainer.of(this).append(value);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_ARRAY_SIZE, 2 * size));
+            }
+            values[size++] = (char) value;
+            return this;
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        static BitmapContainer of(Container container) {
+            BitmapContainer newContainer = new BitmapContainer();
+            for (int v = container.nextValue(0); v >= 0; v = container.nextValue(v + 1)) {
+                newContainer.words[v >>> 6] |= 1L << v;
+            }
+            newContainer.cardinality = container.cardinality();
+            return newContainer;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int nextValue(int from) {
+            if (from > CHUNK_MASK) {
+                return -1;
+            }
+            int wordIndex = from >>> 6;
+            long word = words[wordIndex] & (-1L << from);
+            while (word == 0) {
+                if (++wordIndex == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[wordIndex];
+            }
+            return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        Container append(int value) {
+            words[value >>> 6] |= 1L << value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = 0;
+            long previousHighBit = 0;
+            for (long word : words) {
+                runs += Long.bitCount(word & ~((word << 1) | previousHighBit));
+                previousHighBit = word >>> 63;
+            }
+            return runs;
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        private char[] starts = new char[4];
+        private char[] ends = new char[4];
+        private int runs;
+        private int cardinality;
+
+        static RunContainer of(Container container) {
+            RunContainer newContainer = new RunContainer();
+            int runs = container.numberOfRuns();
+            newContainer.starts = new char[Math.max(4, runs)];
+            newContainer.ends = new char[Math.max(4, runs)];
+            for (int v = container.nextValue(0); v >= 0; v = container.nextValue(v + 1)) {
+                newContainer.append(v);
+            }
+            return newContainer;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        private int findRun(int value) {
+            int low = 0;
+            int high = runs - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        @Override
+        boolean contains(int value) {
+            int run = findRun(value);
+            return run >= 0 && value <= ends[run];
+        }
+
+        @Override
+        int nextValue(int from) {
+            if (from > CHUNK_MASK) {
+                return -1;
+            }
+            int run = findRun(from);
+            if (run >= 0 && from <= ends[run]) {
+                return from;
+            }
+            return run + 1 < runs ? starts[run + 1] : -1;
+        }
+
+        @Override
+        Container append(int value) {
+            if (runs > 0 && ends[runs - 1] + 1 == value) {
+                ends[runs - 1] = (char) value;
+            } else {
+                if (runs == starts.length) {
+                    starts = Arrays.copyOf(starts, 2 * runs);
+                    ends = Arrays.copyOf(ends, 2 * runs);
+                }
+                starts[runs] = (char) value;
+                ends[runs] = (char) value;
+                runs++;
+            }
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        int numberOfRuns() {
+            return runs;
+        }
+    }
+
+    private static final Container[] EMPTY = new Container[0];
+
+    private Container[][] containers;
+    private int numberOfVariables;
+    private int sampleSize;
+    private VariableMap variableMap;
+
+    public SampleRoaringIndex(final int numberOfVariables) {
+        this.numberOfVariables = numberOfVariables;
+        containers = new Container[2 * numberOfVariables + 1][];
+        Arrays.fill(containers, EMPTY);
+        sampleSize = 0;
+    }
+
+    public SampleRoaringIndex(BooleanAssignmentList sample) {
+        this(sample.getVariableMap().size());
+        variableMap = sample.getVariableMap();
+        sample.views().forEach(this::addConfiguration);
+        optimize();
+    }
+
+    public void addConfiguration(BooleanAssignment config) {
+        addConfiguration(config.get());
+    }
+
+    public void addConfiguration(int[] config) {
+        final int configurationIndex = sampleSize++;
+        final int key = configurationIndex >>> CHUNK_BITS;
+        final int value = configurationIndex & CHUNK_MASK;
+        for (int literal : config) {
+            if (literal != 0) {
+                Container[] chunks = containers[numberOfVariables + literal];
+                if (key >= chunks.length) {
+                    chunks = Arrays.copyOf(chunks, key + 1);
+                    containers[numberOfVariables + literal] = chunks;
+                }
+                Container container = chunks[key];
+                chunks[key] = (container == null ? new ArrayContainer() : container).append(value);
+            }
+        }
+    }
+
+    /**
+     * Converts each container into its most compact representation.
+     * Is called automatically after adding all assignments of a sample in the constructor.
+     */
+    public void optimize() {
+        for (Container[] chunks : containers) {
+            for (int i = 0; i < chunks.length; i++) {
+                if (chunks[i] != null) {
+                    chunks[i] = chunks[i].optimize();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean test(int... literals) {
+        return literals.length > 0 && intersect(literals, TEST, null) > 0;
+    }
+
+    @Override
+    public int index(int... literals) {
+        return intersect(literals, FIRST, null);
+    }
+
+    @Override
+    public int size(int... literals) {
+        return intersect(literals, COUNT, null);
+    }
+
+    @Override
+    public BitSet getBitSet(int... literals) {
+        BitSet bitSet = new BitSet(sampleSize);
+        intersect(literals, COLLECT, bitSet);
+        return bitSet;
+    }
+
+    @Override
+    public BitSet updateBitSet(BitSet bitSet, int... literals) {
+        for (int id = bitSet.nextSetBit(0); id >= 0; id = bitSet.nextSetBit(id + 1)) {
+            final int key = id >>> CHUNK_BITS;
+            final int value = id & CHUNK_MASK;
+            for (int literal : literals) {
+                if (!contains(numberOfVariables + literal, key, value)) {
+                    bitSet.clear(id);
+                    break;
+                }
+            }
+        }
+        return bitSet;
+    }
+
+    private int intersect(int[] literals, int mode, BitSet result) {
+        int numberOfChunks = Integer.MAX_VALUE;
+        for (int literal : literals) {
+            numberOfChunks = Math.min(numberOfChunks, containers[numberOfVariables + literal].length);
+        }
+        int count = 0;
+        if (numberOfChunks == Integer.MAX_VALUE) {
+            return mode == FIRST ? -1 : 0;
+        }
+        final Container[] chunkContainers = new Container[literals.length];
+        chunkLoop:
+        for (int key = 0; key < numberOfChunks; key++) {
+            int smallest = 0;
+            boolean allBitmaps = true;
+            for (int i = 0; i < literals.length; i++) {
+                Container container = containers[numberOfVariables + literals[i]][key];
+                if (container == null) {
+                    continue chunkLoop;
+                }
+                chunkContainers[i] = container;
+                if (container.cardinality() < chunkContainers[smallest].cardinality()) {
+                    smallest = i;
+                }
+                allBitmaps &= container instanceof BitmapContainer;
+            }
+            final int offset = key << CHUNK_BITS;
+            if (allBitmaps) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = ((BitmapContainer) chunkContainers[0]).words[w];
+                    for (int i = 1; i < chunkContainers.length && word != 0; i++) {
+                        word &= ((BitmapContainer) chunkContainers[i]).words[w];
+                    }
+                    if (word != 0) {
+                        switch (mode) {
+                            case TEST:
+                                return 1;
+                            case FIRST:
+                                return offset + (w << 6) + Long.numberOfTrailingZeros(word);
+                            case COLLECT:
+                                for (; word != 0; word &= word - 1) {
+                                    result.set(offset + (w << 6) + Long.numberOfTrailingZeros(word));
+                                }
+                            // $FALL-THROUGH$
+                            default:
+                                count += Long.bitCount(word);
+                        }
+                    }
+                }
+            } else {
+                final Container smallestContainer = chunkContainers[smallest];
+                int candidate = smallestContainer.nextValue(0);
+                candidateLoop:
+                while (candidate >= 0) {
+                    for (int i = 0; i < chunkContainers.length; i++) {
+                        if (i != smallest) {
+                            final int next = chunkContainers[i].nextValue(candidate);
+                            if (next < 0) {
+                                break candidateLoop;
+                            } else if (next != candidate) {
+                                candidate = smallestContainer.nextValue(next);
+                                continue candidateLoop;
+                            }
+                        }
+                    }
+                    switch (mode) {
+                        case TEST:
+                            return 1;
+                        case FIRST:
+                            return offset + candidate;
+                        case COLLECT:
+                            result.set(offset + candidate);
+                        // $FALL-THROUGH$
+                        default:
+                            count++;
+                    }
+                    candidate = smallestContainer.nextValue(candidate + 1);
+                }
+            }
+        }
+        return mode == FIRST ? -1 : count;
+    }
+
+    @Override
+    public int size() {
+        return sampleSize;
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    @Override
+    public int[] getConfiguration(int configurationID) {
+        final int key = configurationID >>> CHUNK_BITS;
+        final int value = configurationID & CHUNK_MASK;
+        int[] model = new int[numberOfVariables];
+        for (int l = 1; l <= numberOfVariables; l++) {
+            if (contains(numberOfVariables + l, key, value)) {
+                model[l - 1] = l;
+            } else if (contains(numberOfVariables - l, key, value)) {
+                model[l - 1] = -l;
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Moves the containers of all literals to their index in the given variable map.
+     * Indices that were not created from a {@link BooleanAssignmentList} have no variable map and are not changed.
+     *
+     * @param newVariableMap the new variable map
+     * @return this index
+     */
+    @Override
+    public SampleRoaringIndex remap(VariableMap newVariableMap) {
+        if (variableMap == null) {
+            return this;
+        }
+        int[] adapted = new int[numberOfVariables + 1];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            adapted[i] = variableMap.adapt(i, newVariableMap, true);
+        }
+        int newNumberOfVariables = newVariableMap.size();
+        Container[][] newContainers = new Container[2 * newNumberOfVariables + 1][];
+        Arrays.fill(newContainers, EMPTY);
+
+        for (int i = 1; i <= numberOfVariables; i++) {
+            newContainers[newNumberOfVariables + adapted[i]] = containers[numberOfVariables + i];
+            newContainers[newNumberOfVariables - adapted[i]] = containers[numberOfVariables - i];
+        }
+        numberOfVariables = newNumberOfVariables;
+        containers = newContainers;
+        variableMap = newVariableMap;
+        return this;
+    }
+
+    private boolean contains(int literalIndex, int key, int value) {
+        Container[] chunks = containers[literalIndex];
+        return key < chunks.length && chunks[key] != null && chunks[key].contains(value);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io;
+
+import de.featjar.base.io.output.AOutput;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes text to a {@link Writer} through a reusable char buffer.
+ * Integers are formatted directly into the buffer without creating intermediate strings.
+ * The underlying writer is flushed, but never closed.
+ *
+ * @author Sebastian Krieter
+ */
+public class BufferedTextWriter implements Flushable {
+
+    /**
+     * The default size of the char buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer writer;
+    private final char[] buffer;
+    private int position;
+
+    /**
+     * Creates a new writer for the given output using its charset.
+     *
+     * @param output the output
+     */
+    public BufferedTextWriter(AOutput output) {
+        this(new OutputStreamWriter(output.getOutputStream(), output.getCharset()));
+    }
+
+    /**
+     * Creates a new writer with the default buffer size.
+     *
+     * @param writer the underlying writer
+     */
+    public BufferedTextWriter(Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param writer the underlying writer
+     * @param bufferSize the size of the char buffer, at least 16
+     */
+    public BufferedTextWriter(Writer writer, int bufferSize) {
+        this.writer = writer;
+        buffer = new char[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * Writes a single character.
+     *
+     * @param c the character
+     * @return this writer
+     * @throws IOException if writing to the underlying writer failed
+     */
+    public BufferedTextWriter write(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+        return this;
+    }
+
+    /**
+     * Writes a string.
+     *
+     * @param s the string
+     * @return this writer
+     * @throws IOException if writing to the underlying writer failed
+     */
+    public BufferedTextWriter write(String s) throws IOException {
+        int offset = 0;
+        int length = s.length();
+        while (offset < length) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int count = Math.min(length - offset, buffer.length - position);
+            s.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+        return this;
+    }
+
+    /**
+     * Writes the content of a string builder.
+     *
+     * @param sb the string builder
+     * @return this writer
+     * @throws IOException if writing to the underlying writer failed
+     */
+    public BufferedTextWriter write(StringBuilder sb) throws IOException {
+        int offset = 0;
+        int length = sb.length();
+        while (offset < length) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int count = Math.min(length - offset, buffer.length - position);
+            sb.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+        return this;
+    }
+
+    /**
+     * Writes the decimal representation of an integer.
+     *
+     * @param value the integer
+     * @return this writer
+     * @throws IOException if writing to the underlying writer failed
+     */
+    public BufferedTextWriter write(int value) throws IOException {
+        if (buffer.length - position < 11) {
+            flushBuffer();
+        }
+        long v = value;
+        if (v < 0) {
+            buffer[position++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long limit = 10; limit <= v; limit *= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + (v % 10));
+            v /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    /**
+     * Writes the system-dependent line separator.
+     *
+     * @return this writer
+     * @throws IOException if writing to the underlying writer failed
+     */
+    public BufferedTextWriter newLine() throws IOException {
+        return write(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes all buffered characters and flushes the underlying writer.
+     *
+     * @throws IOException if writing to the underlying writer failed
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
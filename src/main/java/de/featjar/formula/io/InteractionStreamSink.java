@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.combination.IInteractionSink;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams interactions to an output stream with bounded memory.
+ * Each thread encodes interactions into its own buffer. Full buffers are handed to a dedicated writer thread via a
+ * bounded queue. If the output cannot keep up, producing threads block until a buffer has been written.
+ * <p>
+ * In {@link Encoding#DIMACS DIMACS} encoding, the output starts with one comment line {@code c <index> <name>} per
+ * variable, followed by one line per interaction with its literals terminated by {@code 0}.
+ * In {@link Encoding#BINARY binary} encoding, the output starts with the maximum variable index and the variable names
+ * (each as length-prefixed UTF-8), followed by the interactions, each as its length and its literals.
+ * All numbers are written as variable-length integers, literals in zig-zag encoding.
+ *
+ * @author Sebastian Krieter
+ */
+public class InteractionStreamSink implements IInteractionSink {
+
+    public enum Encoding {
+        BINARY,
+        DIMACS
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private static final class Buffer {
+        private final byte[] bytes;
+        private int position;
+
+        private Buffer(int size) {
+            bytes = new byte[size];
+        }
+    }
+
+    private static final class Slot {
+        private Buffer buffer;
+    }
+
+    private static final Buffer END = new Buffer(0);
+
+    private final OutputStream out;
+    private final Encoding encoding;
+    private final int bufferSize;
+    private final ArrayBlockingQueue<Buffer> fullBuffers;
+    private final ArrayBlockingQueue<Buffer> freeBuffers;
+    private final List<Slot> slots = new ArrayList<>();
+    private final ThreadLocal<Slot> slot;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicBoolean initialized = new AtomicBoolean();
+    private final Thread writer;
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new sink with default buffer size and queue capacity.
+     *
+     * @param out the output stream, is closed together with this sink
+     * @param encoding the encoding of the interactions
+     */
+    public InteractionStreamSink(OutputStream out, Encoding encoding) {
+        this(out, encoding, DEFAULT_BUFFER_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a new sink.
+     *
+     * @param out the output stream, is closed together with this sink
+     * @param encoding the encoding of the interactions
+     * @param bufferSize the size of each buffer in bytes
+     * @param queueCapacity the maximum number of full buffers waiting to be written
+     */
+    public InteractionStreamSink(OutputStream out, Encoding encoding, int bufferSize, int queueCapacity) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException(
+                    String.format("Buffer size must be at least 64. Value was %d.", bufferSize));
+        }
+        this.out = out;
+        this.encoding = encoding;
+        this.bufferSize = bufferSize;
+        fullBuffers = new ArrayBlockingQueue<>(queueCapacity);
+        freeBuffers = new ArrayBlockingQueue<>(queueCapacity);
+        slot = ThreadLocal.withInitial(() -> {
+            Slot newSlot = new Slot();
+            newSlot.buffer = new Buffer(bufferSize);
+            synchronized (slots) {
+                slots.add(newSlot);
+            }
+            return newSlot;
+        });
+        writer = new Thread(this::write, "InteractionStreamSink");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * {@return the number of interactions passed to this sink}
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Writes a header describing the given variable map.
+     * The header is handed to the writer thread immediately, such that it precedes all interactions in the output.
+     * Only the first call writes a header, all subsequent calls are ignored.
+     *
+     * @throws IllegalStateException if an interaction was passed to this sink before the first call
+     */
+    @Override
+    public void init(VariableMap variableMap) {
+        if (!initialized.compareAndSet(false, true)) {
+            return;
+        }
+        if (count.get() > 0) {
+            throw new IllegalStateException("Header must be written before the first interaction.");
+        }
+        final int maxIndex = variableMap.maxIndex();
+        Slot current = new Slot();
+        current.buffer = new Buffer(bufferSize);
+        if (encoding == Encoding.BINARY) {
+            ensureCapacity(current, 5);
+            current.buffer.position = writeVarInt(current.buffer.bytes, current.buffer.position, maxIndex);
+        }
+        for (int i = 1; i <= maxIndex; i++) {
+            byte[] name = variableMap.get(i).orElse("").getBytes(StandardCharsets.UTF_8);
+            if (encoding == Encoding.BINARY) {
+                ensureCapacity(current, 5);
+                current.buffer.position = writeVarInt(current.buffer.bytes, current.buffer.position, name.length);
+                writeBytes(current, name);
+            } else if (name.length > 0) {
+                ensureCapacity(current, 14);
+                Buffer buffer = current.buffer;
+                buffer.bytes[buffer.position++] = 'c';
+                buffer.bytes[buffer.position++] = ' ';
+                buffer.position = writeDecimal(buffer.bytes, buffer.position, i);
+                buffer.bytes[buffer.position++] = ' ';
+                writeBytes(current, name);
+                ensureCapacity(current, 1);
+                current.buffer.bytes[current.buffer.position++] = '\n';
+            }
+        }
+        if (current.buffer.position > 0) {
+            try {
+                fullBuffers.put(current.buffer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if this sink is already closed
+     */
+    @Override
+    public void accept(int... literals) {
+        if (closed) {
+            throw new IllegalStateException("Sink is already closed.");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        final Slot current = slot.get();
+        if (encoding == Encoding.BINARY) {
+            ensureCapacity(current, 5 * (literals.length + 1));
+            final Buffer buffer = current.buffer;
+            int position = writeVarInt(buffer.bytes, buffer.position, literals.length);
+            for (int literal : literals) {
+                position = writeVarInt(buffer.bytes, position, (literal << 1) ^ (literal >> 31));
+            }
+            buffer.position = position;
+        } else {
+            ensureCapacity(current, 12 * literals.length + 2);
+            final Buffer buffer = current.buffer;
+            int position = buffer.position;
+            for (int literal : literals) {
+                position = writeDecimal(buffer.bytes, position, literal);
+                buffer.bytes[position++] = ' ';
+            }
+            buffer.bytes[position++] = '0';
+            buffer.bytes[position++] = '\n';
+            buffer.position = position;
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Writes all remaining buffers and closes the output stream.
+     * Must not be called while other threads still pass interactions to this sink.
+     *
+     * @throws IOException if writing to the output stream failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            synchronized (slots) {
+                for (Slot remaining : slots) {
+                    if (remaining.buffer.position > 0) {
+                        fullBuffers.put(remaining.buffer);
+                        remaining.buffer = new Buffer(0);
+                    }
+                }
+            }
+            fullBuffers.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            out.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void ensureCapacity(Slot current, int length) {
+        if (current.buffer.bytes.length - current.buffer.position < length) {
+            if (current.buffer.position > 0) {
+                try {
+                    fullBuffers.put(current.buffer);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            Buffer next = freeBuffers.poll();
+            current.buffer =
+                    next != null && next.bytes.length >= length ? next : new Buffer(Math.max(bufferSize, length));
+        }
+    }
+
+    private void writeBytes(Slot current, byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureCapacity(current, 1);
+            Buffer buffer = current.buffer;
+            int length = Math.min(bytes.length - offset, buffer.bytes.length - buffer.position);
+            System.arraycopy(bytes, offset, buffer.bytes, buffer.position, length);
+            buffer.position += length;
+            offset += length;
+        }
+    }
+
+    private void write() {
+        try {
+            for (Buffer buffer = fullBuffers.take(); buffer != END; buffer = fullBuffers.take()) {
+                if (failure == null) {
+                    try {
+                        out.write(buffer.bytes, 0, buffer.position);
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                buffer.position = 0;
+                freeBuffers.offer(buffer);
+            }
+            if (failure == null) {
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private static int writeVarInt(byte[] bytes, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    private static int writeDecimal(byte[] bytes, int position, int value) {
+        long v = value;
+        if (v < 0) {
+            bytes[position++] = '-';
+            v = -v;
+        }
+        int start = position;
+        do {
+            bytes[position++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte temp = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = temp;
+        }
+        return position;
+    }
+}
@@ -24,7 +24,7 @@ import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
 import de.featjar.base.io.input.AInputMapper;
-import de.featjar.formula.io.textual.ExpressionParser;
+import de.featjar.composition.ExpressionParser;
 import de.featjar.formula.io.textual.PropositionalModelSymbols;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
@@ -36,10 +36,17 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Parses feature-model formula files created by KConfigReader.
  * TODO: this is currently mostly a hack and should be parsed properly as first-order formulas
+ * <p>
+ * In parallel mode, the lines are split into chunks that are parsed concurrently with one expression parser per
+ * thread. The resulting formula and the reported problems are the same as in sequential mode.
+ * The registered format parses in parallel if the system property {@value #PARALLEL_PROPERTY} is set to
+ * {@code true}.
  *
  * @author Elias Kuiter
  * @author Andreas Gerasimow
@@ -68,30 +75,115 @@ public class KConfigReaderFormat implements IFormat<IExpression> {
         return matcher.find() ? matcher.replaceAll("$1") : null;
     }
 
-    @Override
-    public Result<IExpression> parse(AInputMapper inputMapper) {
-        final ArrayList<Problem> problems = new ArrayList<>();
-        final ExpressionParser expressionParser = new ExpressionParser();
-        expressionParser.setSymbols(PropositionalModelSymbols.INSTANCE);
+    /**
+     * The default number of lines parsed as one task in parallel mode.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    /**
+     * The system property that enables parallel mode for formats created with {@link #KConfigReaderFormat()}.
+     */
+    public static final String PARALLEL_PROPERTY = "de.featjar.formula.io.kconfigreader.parallel";
+
+    private final boolean parallel;
+    private final int chunkSize;
 
-        List<IFormula> subformulas = inputMapper
-                .get()
-                .getLineStream()
-                .map(String::trim)
+    /**
+     * Creates a format that parses the input in parallel if the system property {@value #PARALLEL_PROPERTY} is
+     * {@code true}, and sequentially otherwise.
+     */
+    public KConfigReaderFormat() {
+        this(Boolean.getBoolean(PARALLEL_PROPERTY));
+    }
+
+    /**
+     * Creates a format that parses the input sequentially or in parallel using {@link #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param parallel whether to parse the input in parallel
+     */
+    public KConfigReaderFormat(boolean parallel) {
+        this(parallel, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a format that parses the input sequentially or in parallel.
+     *
+     * @param parallel whether to parse the input in parallel
+     * @param chunkSize the number of lines parsed as one task in parallel mode
+     */
+    public KConfigReaderFormat(boolean parallel, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.parallel = parallel;
+        this.chunkSize = chunkSize;
+    }
+
+    private static Stream<String> findDefinitions(Stream<String> lines) {
+        return lines.map(String::trim)
                 .filter(l -> !l.isEmpty())
                 .filter(l -> !l.startsWith("#"))
                 .map(KConfigReaderFormat::fixNonBooleanConstraints)
                 .map(KConfigReaderFormat::findDef)
-                .filter(Objects::nonNull)
+                .filter(Objects::nonNull);
+    }
+
+    private static ExpressionParser createExpressionParser() {
+        final ExpressionParser expressionParser = new ExpressionParser();
+        expressionParser.setSymbols(PropositionalModelSymbols.INSTANCE);
+        return expressionParser;
+    }
+
+    private static List<IFormula> parseLines(
+            Stream<String> lines, ExpressionParser expressionParser, List<Problem> problems) {
+        return findDefinitions(lines)
                 .map(expressionParser::parse)
                 .peek(r -> problems.addAll(r.getProblems()))
                 .filter(Result::isPresent)
                 .map(expressionResult -> (IFormula) expressionResult.get())
                 .collect(Collectors.toList());
+    }
 
+    @Override
+    public Result<IExpression> parse(AInputMapper inputMapper) {
+        final ArrayList<Problem> problems = new ArrayList<>();
+        final List<IFormula> subformulas;
+        if (parallel) {
+            subformulas = parseParallel(inputMapper.get().getLineStream().collect(Collectors.toList()), problems);
+        } else {
+            subformulas = parseLines(inputMapper.get().getLineStream(), createExpressionParser(), problems);
+        }
         return Result.of(new Reference(subformulas.size() == 1 ? subformulas.get(0) : new And(subformulas)), problems);
     }
 
+    private List<IFormula> parseParallel(List<String> lines, List<Problem> problems) {
+        final ThreadLocal<ExpressionParser> expressionParsers =
+                ThreadLocal.withInitial(KConfigReaderFormat::createExpressionParser);
+        final int chunkCount = (lines.size() + chunkSize - 1) / chunkSize;
+        final List<Chunk> chunks = IntStream.range(0, chunkCount)
+                .parallel()
+                .mapToObj(i -> {
+                    final Chunk chunk = new Chunk();
+                    final int from = i * chunkSize;
+                    final int to = Math.min(from + chunkSize, lines.size());
+                    chunk.subformulas =
+                            parseLines(lines.subList(from, to).stream(), expressionParsers.get(), chunk.problems);
+                    return chunk;
+                })
+                .collect(Collectors.toList());
+        final ArrayList<IFormula> subformulas = new ArrayList<>();
+        for (final Chunk chunk : chunks) {
+            subformulas.addAll(chunk.subformulas);
+            problems.addAll(chunk.problems);
+        }
+        return subformulas;
+    }
+
+    private static final class Chunk {
+        private List<IFormula> subformulas;
+        private final ArrayList<Problem> problems = new ArrayList<>();
+    }
+
     @Override
     public boolean supportsParse() {
         return true;
@@ -67,7 +67,7 @@ public class BooleanAssignmentGroupsBinaryFormat extends ABinaryFormat<BooleanAs
         out.writeInt(groups.size());
         for (BooleanAssignmentList group : groups) {
             out.writeInt(group.size());
-            for (BooleanAssignment assignment : group) {
+            for (BooleanAssignment assignment : group.views()) {
                 final int[] literals = assignment.get();
                 if (assignment instanceof BooleanSolution) {
                     out.writeByte(BooleanSolutionType);
@@ -61,7 +61,7 @@ public class BooleanAssignmentListBinaryFormat extends ABinaryFormat<BooleanAssi
             writeString(out, variableMap.get(i).orElse(""));
         }
         out.writeInt(assignmentList.size());
-        for (BooleanAssignment assignment : assignmentList) {
+        for (BooleanAssignment assignment : assignmentList.views()) {
             final int[] literals = assignment.get();
             if (assignment instanceof BooleanSolution) {
                 out.writeByte(BooleanSolutionType);
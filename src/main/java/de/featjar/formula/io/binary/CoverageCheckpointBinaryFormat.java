@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.binary;
+
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.binary.ABinaryFormat;
+import de.featjar.base.io.format.ParseProblem;
+import de.featjar.base.io.input.AInput;
+import de.featjar.base.io.input.AInputMapper;
+import de.featjar.base.io.output.AOutput;
+import de.featjar.base.io.output.AOutputMapper;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.computation.CoverageCheckpoint;
+import java.io.IOException;
+
+/**
+ * Reads / Writes the intermediate state of a coverage computation.
+ *
+ * @author Sebastian Krieter
+ */
+public class CoverageCheckpointBinaryFormat extends ABinaryFormat<CoverageCheckpoint> {
+
+    private static final byte VERSION = 2;
+
+    @Override
+    public void write(CoverageCheckpoint checkpoint, AOutputMapper outputMapper) throws IOException {
+        AOutput out = outputMapper.get();
+        final CoverageStatistic statistic = checkpoint.getStatistic();
+
+        out.writeByte(VERSION);
+        writeLong(out, checkpoint.getRankCount());
+        writeLong(out, checkpoint.getFingerprint());
+        writeLong(out, checkpoint.getNextRank());
+        writeLong(out, statistic.covered());
+        writeLong(out, statistic.uncovered());
+        writeLong(out, statistic.invalid());
+        writeLong(out, statistic.ignored());
+        out.flush();
+    }
+
+    @Override
+    public Result<CoverageCheckpoint> parse(AInputMapper inputMapper) {
+        final AInput in = inputMapper.get();
+        try {
+            final byte version = in.readByte();
+            if (version != VERSION) {
+                return Result.empty(
+                        new ParseProblem("Unsupported checkpoint version " + version, Severity.ERROR, 0));
+            }
+            final long rankCount = readLong(in);
+            final long fingerprint = readLong(in);
+            final long nextRank = readLong(in);
+            final CoverageStatistic statistic = new CoverageStatistic();
+            statistic.setNumberOfCoveredElements(readLong(in));
+            statistic.setNumberOfUncoveredElements(readLong(in));
+            statistic.setNumberOfInvalidElements(readLong(in));
+            statistic.setNumberOfIgnoredElements(readLong(in));
+            return Result.of(new CoverageCheckpoint(rankCount, fingerprint, nextRank, statistic));
+        } catch (final IOException e) {
+            return Result.empty(e);
+        }
+    }
+
+    static void writeLong(AOutput out, long value) throws IOException {
+        out.writeInt((int) (value >>> 32));
+        out.writeInt((int) value);
+    }
+
+    static long readLong(AInput in) throws IOException {
+        final long high = in.readInt();
+        final long low = in.readInt() & 0xFFFF_FFFFL;
+        return (high << 32) | low;
+    }
+
+    @Override
+    public boolean supportsWrite() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParse() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Coverage Checkpoint";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ckpt";
+    }
+}
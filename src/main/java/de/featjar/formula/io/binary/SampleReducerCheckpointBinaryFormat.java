@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.binary;
+
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.binary.ABinaryFormat;
+import de.featjar.base.io.format.ParseProblem;
+import de.featjar.base.io.input.AInput;
+import de.featjar.base.io.input.AInputMapper;
+import de.featjar.base.io.output.AOutput;
+import de.featjar.base.io.output.AOutputMapper;
+import de.featjar.formula.assignment.ValuedBooleanAssignment;
+import de.featjar.formula.computation.SampleReducerCheckpoint;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads / Writes the intermediate state of a greedy sample reduction.
+ * Interactions are stored as sequences of {@code t} literals without length prefix.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleReducerCheckpointBinaryFormat extends ABinaryFormat<SampleReducerCheckpoint> {
+
+    private static final byte VERSION = 2;
+
+    @Override
+    public void write(SampleReducerCheckpoint checkpoint, AOutputMapper outputMapper) throws IOException {
+        AOutput out = outputMapper.get();
+
+        out.writeByte(VERSION);
+        out.writeInt(checkpoint.getT());
+        out.writeInt(checkpoint.getNumberOfVariables());
+        out.writeInt(checkpoint.getSampleSize());
+        CoverageCheckpointBinaryFormat.writeLong(out, checkpoint.getFingerprint());
+        out.writeInt(checkpoint.getNextFirst());
+
+        final int[] selectedConfigurations = checkpoint.getSelectedConfigurations();
+        out.writeInt(selectedConfigurations.length);
+        for (int index : selectedConfigurations) {
+            out.writeInt(index);
+        }
+
+        final List<ValuedBooleanAssignment> interactions = checkpoint.getInteractions();
+        out.writeInt(interactions.size());
+        for (ValuedBooleanAssignment interaction : interactions) {
+            for (int l : interaction.get()) {
+                out.writeInt(l);
+            }
+            out.writeInt((int) interaction.getValue());
+        }
+        out.flush();
+    }
+
+    @Override
+    public Result<SampleReducerCheckpoint> parse(AInputMapper inputMapper) {
+        final AInput in = inputMapper.get();
+        try {
+            final byte version = in.readByte();
+            if (version != VERSION) {
+                return Result.empty(
+                        new ParseProblem("Unsupported checkpoint version " + version, Severity.ERROR, 0));
+            }
+            final int t = in.readInt();
+            final int numberOfVariables = in.readInt();
+            final int sampleSize = in.readInt();
+            final long fingerprint = CoverageCheckpointBinaryFormat.readLong(in);
+            final int nextFirst = in.readInt();
+
+            final int[] selectedConfigurations = new int[in.readInt()];
+            for (int i = 0; i < selectedConfigurations.length; i++) {
+                selectedConfigurations[i] = in.readInt();
+            }
+
+            final int numberOfInteractions = in.readInt();
+            final List<ValuedBooleanAssignment> interactions = new ArrayList<>(numberOfInteractions);
+            for (int i = 0; i < numberOfInteractions; i++) {
+                final int[] literals = new int[t];
+                for (int k = 0; k < t; k++) {
+                    literals[k] = in.readInt();
+                }
+                final ValuedBooleanAssignment interaction = new ValuedBooleanAssignment(literals);
+                interaction.setValue(in.readInt());
+                interactions.add(interaction);
+            }
+            return Result.of(new SampleReducerCheckpoint(
+                    t, numberOfVariables, sampleSize, fingerprint, nextFirst, selectedConfigurations, interactions));
+        } catch (final IOException e) {
+            return Result.empty(e);
+        }
+    }
+
+    @Override
+    public boolean supportsWrite() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParse() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Sample Reducer Checkpoint";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ckpt";
+    }
+}
@@ -26,14 +26,15 @@ import de.featjar.base.io.NonEmptyLineIterator;
 import de.featjar.base.io.format.ParseProblem;
 import de.featjar.base.io.input.AInputMapper;
 import de.featjar.base.io.input.InputHeader;
-import de.featjar.base.io.output.AOutput;
 import de.featjar.base.io.output.AOutputMapper;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentGroups;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.io.IBooleanAssignmentGroupsFormat;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,94 +48,73 @@ import java.util.stream.Collectors;
 public class BooleanAssignmentGroupsCSVFormat implements IBooleanAssignmentGroupsFormat {
     private static final String ASSIGNMENT_COLUMN_NAME = "ID";
     private static final String GROUP_COLUMN_NAME = "Group";
-    private static final String VALUE_SEPARATOR = ";";
-    private static final String LINE_SEPARATOR = "\n";
-    private static final String POSITIVE_VALUE = "+";
-    private static final String NEGATIVE_VALUE = "-";
-    private static final String NULL_VALUE = "0";
 
     @Override
     public void write(BooleanAssignmentGroups assignmentGroups, AOutputMapper outputMapper) throws IOException {
-        final VariableMap variableMap = assignmentGroups.getVariableMap();
-        final List<Pair<Integer, String>> namePairs = variableMap.stream().collect(Collectors.toList());
-        final List<BooleanAssignmentList> groups = assignmentGroups.getGroups();
-
-        AOutput out = outputMapper.get();
-        out.writeText(serializeHeader(namePairs));
-
-        int groupIndex = 0;
-        int assignmentIndex = 0;
-        for (BooleanAssignmentList group : groups) {
-            for (final BooleanAssignment assignment : group) {
-                out.writeText(serializeAssignment(namePairs, groupIndex, assignmentIndex, assignment));
-                assignmentIndex++;
-            }
-            groupIndex++;
-        }
+        final BufferedTextWriter writer = new BufferedTextWriter(outputMapper.get());
+        write(assignmentGroups, writer);
+        writer.flush();
         outputMapper.close();
     }
 
     @Override
     public Result<String> serialize(BooleanAssignmentGroups assignmentGroups) {
+        final StringWriter csv = new StringWriter();
+        try {
+            final BufferedTextWriter writer = new BufferedTextWriter(csv);
+            write(assignmentGroups, writer);
+            writer.flush();
+        } catch (IOException e) {
+            return Result.empty(e);
+        }
+        return Result.of(csv.toString());
+    }
+
+    private void write(BooleanAssignmentGroups assignmentGroups, BufferedTextWriter writer) throws IOException {
         final VariableMap variableMap = assignmentGroups.getVariableMap();
         final List<Pair<Integer, String>> namePairs = variableMap.stream().collect(Collectors.toList());
         final List<? extends BooleanAssignmentList> groups = assignmentGroups.getGroups();
 
-        final StringBuilder csv = new StringBuilder();
-        csv.append(serializeHeader(namePairs));
+        writer.write(serializeHeader(namePairs));
 
+        final CSVValueWriter valueWriter = new CSVValueWriter(
+                writer, namePairs.stream().mapToInt(Pair::getKey).toArray());
         int groupIndex = 0;
         int assignmentIndex = 0;
         for (BooleanAssignmentList group : groups) {
-            for (final BooleanAssignment assignment : group) {
-                csv.append(serializeAssignment(namePairs, groupIndex, assignmentIndex, assignment));
+            for (final BooleanAssignment assignment : group.views()) {
+                writer.write(assignmentIndex);
+                writer.write(CSVValueWriter.VALUE_SEPARATOR);
+                writer.write(groupIndex);
+                valueWriter.writeValues(assignment);
+                writer.write(CSVValueWriter.LINE_SEPARATOR);
                 assignmentIndex++;
             }
             groupIndex++;
         }
-
-        return Result.of(csv.toString());
     }
 
     private String serializeHeader(final List<Pair<Integer, String>> namePairs) {
         final StringBuilder header = new StringBuilder();
         header.append(ASSIGNMENT_COLUMN_NAME);
-        header.append(VALUE_SEPARATOR);
+        header.append(CSVValueWriter.VALUE_SEPARATOR);
         header.append(GROUP_COLUMN_NAME);
         for (final Pair<Integer, String> namePair : namePairs) {
             final String name = namePair.getValue();
             if (name != null) {
-                header.append(VALUE_SEPARATOR);
+                header.append(CSVValueWriter.VALUE_SEPARATOR);
                 header.append(name);
             }
         }
-        header.append(LINE_SEPARATOR);
+        header.append(CSVValueWriter.LINE_SEPARATOR);
         return header.toString();
     }
 
-    private String serializeAssignment(
-            final List<Pair<Integer, String>> namePairs,
-            int groupIndex,
-            int assignmentIndex,
-            final BooleanAssignment configuration) {
-        final StringBuilder line = new StringBuilder();
-        line.append(assignmentIndex);
-        line.append(VALUE_SEPARATOR);
-        line.append(groupIndex);
-        for (final Pair<Integer, String> namePair : namePairs) {
-            line.append(VALUE_SEPARATOR);
-            final Result<Boolean> value = configuration.getValue(namePair.getKey());
-            line.append(value.isPresent() ? ((boolean) value.get() ? POSITIVE_VALUE : NEGATIVE_VALUE) : NULL_VALUE);
-        }
-        line.append(LINE_SEPARATOR);
-        return line.toString();
-    }
-
     @Override
     public Result<BooleanAssignmentGroups> parse(AInputMapper inputMapper) {
         try {
             final NonEmptyLineIterator lines = inputMapper.get().getNonEmptyLineIterator();
-            final String[] headerColumns = lines.get().split(VALUE_SEPARATOR);
+            final String[] headerColumns = lines.get().split(String.valueOf(CSVValueWriter.VALUE_SEPARATOR));
             if (headerColumns.length < 2) {
                 throw new ParseException(
                         "Missing first two columns " + ASSIGNMENT_COLUMN_NAME + " and " + GROUP_COLUMN_NAME,
@@ -152,7 +132,7 @@ public class BooleanAssignmentGroupsCSVFormat implements IBooleanAssignmentGroup
             }
             final ArrayList<BooleanAssignmentList> groups = new ArrayList<>();
             for (String line = lines.get(); line != null; line = lines.get()) {
-                final String[] values = line.split(VALUE_SEPARATOR);
+                final String[] values = line.split(String.valueOf(CSVValueWriter.VALUE_SEPARATOR));
                 if (headerColumns.length != values.length) {
                     throw new ParseException(
                             String.format(
@@ -181,14 +161,14 @@ public class BooleanAssignmentGroupsCSVFormat implements IBooleanAssignmentGroup
                 final int[] literals = new int[values.length - 2];
                 for (int i = 2; i < values.length; i++) {
                     String value = values[i];
-                    switch (value) {
-                        case POSITIVE_VALUE:
+                    switch (CSVValueWriter.toValueCharacter(value)) {
+                        case CSVValueWriter.POSITIVE_VALUE:
                             literals[i - 2] = i - 1;
                             break;
-                        case NEGATIVE_VALUE:
+                        case CSVValueWriter.NEGATIVE_VALUE:
                             literals[i - 2] = -(i - 1);
                             break;
-                        case NULL_VALUE:
+                        case CSVValueWriter.NULL_VALUE:
                             break;
                         default:
                             throw new ParseException(String.format("Unknown value %s", value), lines.getLineCount());
@@ -213,7 +193,7 @@ public class BooleanAssignmentGroupsCSVFormat implements IBooleanAssignmentGroup
     public boolean supportsContent(InputHeader inputHeader) {
         StringBuilder header = new StringBuilder();
         header.append(ASSIGNMENT_COLUMN_NAME);
-        header.append(VALUE_SEPARATOR);
+        header.append(CSVValueWriter.VALUE_SEPARATOR);
         header.append(GROUP_COLUMN_NAME);
         return inputHeader.get().startsWith(header.toString());
     }
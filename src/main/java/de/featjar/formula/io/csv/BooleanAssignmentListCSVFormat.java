@@ -25,16 +25,18 @@ import de.featjar.base.io.NonEmptyLineIterator;
 import de.featjar.base.io.format.ParseProblem;
 import de.featjar.base.io.input.AInputMapper;
 import de.featjar.base.io.input.InputHeader;
-import de.featjar.base.io.output.AOutput;
 import de.featjar.base.io.output.AOutputMapper;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.io.IBooleanAssignmentListFormat;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.text.ParseException;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Writes a list of configuration.
@@ -44,11 +46,6 @@ import java.util.List;
 public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFormat {
 
     private static final String ID_COLUMN = "Configuration";
-    private static final String VALUE_SEPARATOR = ";";
-    private static final String LINE_SEPARATOR = "\n";
-    private static final String POSITIVE_VALUE = "+";
-    private static final String NEGATIVE_VALUE = "-";
-    private static final String NULL_VALUE = "0";
 
     /**
      * The identifier of this format.
@@ -57,56 +54,48 @@ public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFor
 
     @Override
     public void write(BooleanAssignmentList booleanAssignmentList, AOutputMapper outputMapper) throws IOException {
-        AOutput output = outputMapper.get();
-        output.writeText(ID_COLUMN);
-        VariableMap variableMap = booleanAssignmentList.getVariableMap();
-        final List<String> names = variableMap.getObjects(true);
-        for (final String name : names) {
-            output.writeText(VALUE_SEPARATOR);
-            output.writeText(name != null ? name : "");
-        }
-        output.writeText(LINE_SEPARATOR);
-        int configurationIndex = 0;
-        for (final BooleanAssignment configuration : booleanAssignmentList) {
-            output.writeText(Integer.toString(configurationIndex++));
-            final int[] literals = configuration.toSolution(variableMap.size()).get();
-            for (int l : literals) {
-                output.writeText(VALUE_SEPARATOR);
-                output.writeText(l == 0 ? NULL_VALUE : l > 0 ? POSITIVE_VALUE : NEGATIVE_VALUE);
-            }
-            output.writeText(LINE_SEPARATOR);
-        }
+        final BufferedTextWriter writer = new BufferedTextWriter(outputMapper.get());
+        write(booleanAssignmentList, writer);
+        writer.flush();
     }
 
     @Override
     public Result<String> serialize(BooleanAssignmentList booleanAssignmentList) {
-        final StringBuilder csv = new StringBuilder();
-        csv.append(ID_COLUMN);
+        final StringWriter csv = new StringWriter();
+        try {
+            final BufferedTextWriter writer = new BufferedTextWriter(csv);
+            write(booleanAssignmentList, writer);
+            writer.flush();
+        } catch (IOException e) {
+            return Result.empty(e);
+        }
+        return Result.of(csv.toString());
+    }
+
+    private void write(BooleanAssignmentList booleanAssignmentList, BufferedTextWriter writer) throws IOException {
+        writer.write(ID_COLUMN);
         VariableMap variableMap = booleanAssignmentList.getVariableMap();
         final List<String> names = variableMap.getObjects(true);
         for (final String name : names) {
-            csv.append(VALUE_SEPARATOR);
-            csv.append(name != null ? name : "");
+            writer.write(CSVValueWriter.VALUE_SEPARATOR);
+            writer.write(name != null ? name : "");
         }
-        csv.append(LINE_SEPARATOR);
+        writer.write(CSVValueWriter.LINE_SEPARATOR);
+        final CSVValueWriter valueWriter = new CSVValueWriter(
+                writer, IntStream.rangeClosed(1, variableMap.size()).toArray());
         int configurationIndex = 0;
-        for (final BooleanAssignment configuration : booleanAssignmentList) {
-            csv.append(configurationIndex++);
-            final int[] literals = configuration.toSolution(variableMap.size()).get();
-            for (int l : literals) {
-                csv.append(VALUE_SEPARATOR);
-                csv.append(l == 0 ? NULL_VALUE : l > 0 ? POSITIVE_VALUE : NEGATIVE_VALUE);
-            }
-            csv.append(LINE_SEPARATOR);
+        for (final BooleanAssignment configuration : booleanAssignmentList.views()) {
+            writer.write(configurationIndex++);
+            valueWriter.writeValues(configuration);
+            writer.write(CSVValueWriter.LINE_SEPARATOR);
         }
-        return Result.of(csv.toString());
     }
 
     @Override
     public Result<BooleanAssignmentList> parse(AInputMapper inputMapper) {
         try {
             final NonEmptyLineIterator lines = inputMapper.get().getNonEmptyLineIterator();
-            final String[] headerColumns = lines.get().split(VALUE_SEPARATOR);
+            final String[] headerColumns = lines.get().split(String.valueOf(CSVValueWriter.VALUE_SEPARATOR));
             if (headerColumns.length < 1) {
                 throw new ParseException("Missing first column " + ID_COLUMN, lines.getLineCount());
             }
@@ -120,7 +109,7 @@ public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFor
             }
             final BooleanAssignmentList group = new BooleanAssignmentList(variableMap);
             for (String line = lines.get(); line != null; line = lines.get()) {
-                final String[] values = line.split(VALUE_SEPARATOR);
+                final String[] values = line.split(String.valueOf(CSVValueWriter.VALUE_SEPARATOR));
                 if (headerColumns.length != values.length) {
                     throw new ParseException(
                             String.format(
@@ -137,14 +126,14 @@ public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFor
                 final int[] literals = new int[values.length - 1];
                 for (int i = 1; i < values.length; i++) {
                     String value = values[i];
-                    switch (value) {
-                        case POSITIVE_VALUE:
+                    switch (CSVValueWriter.toValueCharacter(value)) {
+                        case CSVValueWriter.POSITIVE_VALUE:
                             literals[i - 1] = i;
                             break;
-                        case NEGATIVE_VALUE:
+                        case CSVValueWriter.NEGATIVE_VALUE:
                             literals[i - 1] = -(i);
                             break;
-                        case NULL_VALUE:
+                        case CSVValueWriter.NULL_VALUE:
                             literals[i - 1] = 0;
                             break;
                         default:
@@ -180,7 +169,7 @@ public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFor
     public boolean supportsContent(InputHeader inputHeader) {
         StringBuilder header = new StringBuilder();
         header.append(ID_COLUMN);
-        header.append(VALUE_SEPARATOR);
+        header.append(CSVValueWriter.VALUE_SEPARATOR);
         return inputHeader.get().startsWith(header.toString());
     }
 
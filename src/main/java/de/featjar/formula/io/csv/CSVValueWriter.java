@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.csv;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.io.BufferedTextWriter;
+import java.io.IOException;
+
+/**
+ * Writes the values of Boolean assignments as cells of a CSV row.
+ * Each assignment is projected once into a reusable dense array of signs indexed by variable, from which all cells
+ * of the row are written to a {@link BufferedTextWriter} without allocating any objects.
+ * If a variable occurs more than once in an assignment, its first occurrence determines the value.
+ *
+ * @author Sebastian Krieter
+ */
+class CSVValueWriter {
+
+    static final char VALUE_SEPARATOR = ';';
+    static final char LINE_SEPARATOR = '\n';
+    static final char POSITIVE_VALUE = '+';
+    static final char NEGATIVE_VALUE = '-';
+    static final char NULL_VALUE = '0';
+
+    private final BufferedTextWriter writer;
+    private final int[] columnVariables;
+    private final byte[] signs;
+
+    /**
+     * {@return the character of the given cell, or {@code 0} if the cell does not consist of exactly one character}
+     * Allows parsers to compare cells with {@link #POSITIVE_VALUE}, {@link #NEGATIVE_VALUE}, and {@link #NULL_VALUE}.
+     *
+     * @param value the cell
+     */
+    static char toValueCharacter(String value) {
+        return value.length() == 1 ? value.charAt(0) : 0;
+    }
+
+    /**
+     * Creates a new value writer.
+     *
+     * @param writer the writer
+     * @param columnVariables the variable of each column, in column order
+     */
+    CSVValueWriter(BufferedTextWriter writer, int[] columnVariables) {
+        this.writer = writer;
+        this.columnVariables = columnVariables;
+        int maxVariable = 0;
+        for (int variable : columnVariables) {
+            maxVariable = Math.max(maxVariable, variable);
+        }
+        signs = new byte[maxVariable + 1];
+    }
+
+    /**
+     * Writes one cell for each column, each preceded by a separator.
+     *
+     * @param assignment the assignment
+     * @throws IOException if writing to the underlying writer failed
+     */
+    void writeValues(BooleanAssignment assignment) throws IOException {
+        final int[] literals = assignment.get();
+        for (int literal : literals) {
+            final int variable = Math.abs(literal);
+            if (literal != 0 && variable < signs.length && signs[variable] == 0) {
+                signs[variable] = literal > 0 ? (byte) 1 : (byte) -1;
+            }
+        }
+        for (int variable : columnVariables) {
+            writer.write(VALUE_SEPARATOR);
+            final byte sign = signs[variable];
+            writer.write(sign == 0 ? NULL_VALUE : sign > 0 ? POSITIVE_VALUE : NEGATIVE_VALUE);
+        }
+        for (int literal : literals) {
+            final int variable = Math.abs(literal);
+            if (variable < signs.length) {
+                signs[variable] = 0;
+            }
+        }
+    }
+}
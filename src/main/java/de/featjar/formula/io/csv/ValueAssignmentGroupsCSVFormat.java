@@ -44,35 +44,33 @@ import java.util.List;
 public class ValueAssignmentGroupsCSVFormat implements IFormat<ValueAssignmentGroups> {
     private static final String ASSIGNMENT_COLUMN_NAME = "ID";
     private static final String GROUP_COLUMN_NAME = "Group";
-    private static final String VALUE_SEPARATOR = ";";
-    private static final String LINE_SEPARATOR = "\n";
 
     @Override
     public Result<String> serialize(ValueAssignmentGroups assignmentSpace) {
         final StringBuilder csv = new StringBuilder();
         csv.append(ASSIGNMENT_COLUMN_NAME);
-        csv.append(VALUE_SEPARATOR);
+        csv.append(CSVValueWriter.VALUE_SEPARATOR);
         csv.append(GROUP_COLUMN_NAME);
         final VariableMap variableMap = assignmentSpace.getVariableMap();
         final List<String> names = variableMap.getVariableNames();
         for (final String name : names) {
-            csv.append(VALUE_SEPARATOR);
+            csv.append(CSVValueWriter.VALUE_SEPARATOR);
             csv.append(name);
         }
-        csv.append(LINE_SEPARATOR);
+        csv.append(CSVValueWriter.LINE_SEPARATOR);
         int groupIndex = 0;
         int configurationIndex = 0;
         final List<? extends ValueAssignmentList> groups = assignmentSpace.getGroups();
         for (ValueAssignmentList group : groups) {
             for (final ValueAssignment configuration : group) {
                 csv.append(configurationIndex++);
-                csv.append(VALUE_SEPARATOR);
+                csv.append(CSVValueWriter.VALUE_SEPARATOR);
                 csv.append(groupIndex);
                 for (final String name : names) {
-                    csv.append(VALUE_SEPARATOR);
+                    csv.append(CSVValueWriter.VALUE_SEPARATOR);
                     configuration.getValue(variableMap.get(name).get()).ifPresent(csv::append);
                 }
-                csv.append(LINE_SEPARATOR);
+                csv.append(CSVValueWriter.LINE_SEPARATOR);
             }
             groupIndex++;
         }
@@ -83,7 +81,7 @@ public class ValueAssignmentGroupsCSVFormat implements IFormat<ValueAssignmentGr
     public Result<ValueAssignmentGroups> parse(AInputMapper inputMapper) {
         try {
             final NonEmptyLineIterator lines = inputMapper.get().getNonEmptyLineIterator();
-            final String[] headerColumns = lines.get().split(VALUE_SEPARATOR);
+            final String[] headerColumns = lines.get().split(String.valueOf(CSVValueWriter.VALUE_SEPARATOR));
             if (headerColumns.length < 2) {
                 throw new ParseException(
                         "Missing first two columns " + ASSIGNMENT_COLUMN_NAME + " and " + GROUP_COLUMN_NAME,
@@ -101,7 +99,7 @@ public class ValueAssignmentGroupsCSVFormat implements IFormat<ValueAssignmentGr
             }
             final ArrayList<ValueAssignmentList> groups = new ArrayList<>();
             for (String line = lines.get(); line != null; line = lines.get()) {
-                final String[] values = line.split(VALUE_SEPARATOR);
+                final String[] values = line.split(String.valueOf(CSVValueWriter.VALUE_SEPARATOR));
                 if (headerColumns.length != values.length) {
                     throw new ParseException(
                             String.format(
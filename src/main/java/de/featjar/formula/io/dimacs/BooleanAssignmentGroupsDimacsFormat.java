@@ -44,10 +44,10 @@ public class BooleanAssignmentGroupsDimacsFormat implements IBooleanAssignmentGr
     @Override
     public Result<String> serialize(BooleanAssignmentGroups assignmentSpace) {
         Objects.requireNonNull(assignmentSpace);
-        return Result.of(DimacsSerializer.serialize(
+        return DimacsSerializer.serialize(
                 assignmentSpace.getVariableMap(),
                 assignmentSpace.getMergedGroups().getAll(),
-                BooleanAssignment::get));
+                BooleanAssignment::get);
     }
 
     @Override
@@ -28,7 +28,10 @@ import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentGroups;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.io.IBooleanAssignmentGroupsFormat;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.text.ParseException;
 import java.util.List;
 import java.util.Objects;
@@ -45,14 +48,20 @@ public class BooleanAssignmentGroupsDimacsListFormat implements IBooleanAssignme
     public Result<String> serialize(BooleanAssignmentGroups assignmentSpace) {
         Objects.requireNonNull(assignmentSpace);
 
-        final StringBuilder sb = new StringBuilder();
-        DimacsSerializer.writeVariables(sb, assignmentSpace.getVariableMap());
-        int variableCount = assignmentSpace.getVariableMap().size();
-        for (BooleanAssignmentList booleanAssignmentList : assignmentSpace) {
-            DimacsSerializer.writeProblem(sb, variableCount, booleanAssignmentList.size());
-            DimacsSerializer.writeClauses(sb, booleanAssignmentList.getAll(), BooleanAssignment::get);
+        final StringWriter dimacs = new StringWriter();
+        try {
+            final BufferedTextWriter writer = new BufferedTextWriter(dimacs);
+            DimacsSerializer.writeVariables(writer, assignmentSpace.getVariableMap());
+            int variableCount = assignmentSpace.getVariableMap().size();
+            for (BooleanAssignmentList booleanAssignmentList : assignmentSpace) {
+                DimacsSerializer.writeProblem(writer, variableCount, booleanAssignmentList.size());
+                DimacsSerializer.writeClauses(writer, booleanAssignmentList.getAll(), BooleanAssignment::get);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            return Result.empty(e);
         }
-        return Result.of(sb.toString());
+        return Result.of(dimacs.toString());
     }
 
     @Override
@@ -43,8 +43,8 @@ public class BooleanAssignmentListDimacsFormat implements IBooleanAssignmentList
     @Override
     public Result<String> serialize(BooleanAssignmentList booleanAssignmentList) {
         Objects.requireNonNull(booleanAssignmentList);
-        return Result.of(DimacsSerializer.serialize(
-                booleanAssignmentList.getVariableMap(), booleanAssignmentList.getAll(), BooleanAssignment::get));
+        return DimacsSerializer.serialize(
+                booleanAssignmentList.getVariableMap(), booleanAssignmentList.getAll(), BooleanAssignment::get);
     }
 
     @Override
@@ -20,8 +20,14 @@
  */
 package de.featjar.formula.io.dimacs;
 
+import de.featjar.base.data.Pair;
+import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
+import de.featjar.formula.io.BufferedTextWriter;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.function.Function;
 
 /**
@@ -40,46 +46,81 @@ public class DimacsSerializer {
     /** Token denoting the end of a clause. */
     public static final String CLAUSE_END = "0";
 
-    public static <C> String serialize(VariableMap variableMap, Collection<C> clauses, Function<C, int[]> serializer) {
-        final StringBuilder sb = new StringBuilder();
-        writeVariables(sb, variableMap);
-        writeProblem(sb, variableMap.size(), clauses.size());
-        writeClauses(sb, clauses, serializer);
-        return sb.toString();
+    /**
+     * {@return the given clauses in DIMACS format}
+     * Writes the clauses to a string with {@link #write(BufferedTextWriter, VariableMap, Collection, Function)}.
+     *
+     * @param <C> the type of the clauses
+     * @param variableMap the variable map
+     * @param clauses the clauses
+     * @param serializer converts a clause into its literals
+     */
+    public static <C> Result<String> serialize(
+            VariableMap variableMap, Collection<C> clauses, Function<C, int[]> serializer) {
+        final StringWriter dimacs = new StringWriter();
+        try {
+            write(new BufferedTextWriter(dimacs), variableMap, clauses, serializer);
+        } catch (IOException e) {
+            return Result.empty(e);
+        }
+        return Result.of(dimacs.toString());
+    }
+
+    /**
+     * Writes the given clauses to the given writer without building the entire text in memory.
+     * The writer is flushed afterwards.
+     *
+     * @param <C> the type of the clauses
+     * @param writer the writer
+     * @param variableMap the variable map
+     * @param clauses the clauses
+     * @param serializer converts a clause into its literals
+     * @throws IOException if writing failed
+     */
+    public static <C> void write(
+            BufferedTextWriter writer, VariableMap variableMap, Collection<C> clauses, Function<C, int[]> serializer)
+            throws IOException {
+        writeVariables(writer, variableMap);
+        writeProblem(writer, variableMap.size(), clauses.size());
+        writeClauses(writer, clauses, serializer);
+        writer.flush();
     }
 
-    public static <C> void writeClauses(final StringBuilder sb, Collection<C> clauses, Function<C, int[]> serializer) {
+    public static <C> void writeClauses(
+            BufferedTextWriter writer, Collection<C> clauses, Function<C, int[]> serializer) throws IOException {
         for (final C clause : clauses) {
             for (final int l : serializer.apply(clause)) {
-                sb.append(l);
-                sb.append(' ');
+                writer.write(l);
+                writer.write(' ');
             }
-            sb.append(CLAUSE_END);
-            sb.append(System.lineSeparator());
+            writer.write(CLAUSE_END);
+            writer.newLine();
         }
     }
 
-    public static void writeProblem(final StringBuilder sb, int variableCount, int clauseCount) {
-        sb.append(PROBLEM);
-        sb.append(' ');
-        sb.append(TYPE);
-        sb.append(' ');
-        sb.append(variableCount);
-        sb.append(' ');
-        sb.append(clauseCount);
-        sb.append(System.lineSeparator());
+    public static void writeProblem(BufferedTextWriter writer, int variableCount, int clauseCount)
+            throws IOException {
+        writer.write(PROBLEM);
+        writer.write(' ');
+        writer.write(TYPE);
+        writer.write(' ');
+        writer.write(variableCount);
+        writer.write(' ');
+        writer.write(clauseCount);
+        writer.newLine();
     }
 
-    public static void writeVariables(final StringBuilder sb, VariableMap variableMap) {
-        variableMap.stream().forEach(e -> {
-            if (e.getValue() != null) {
-                sb.append(COMMENT);
-                sb.append(' ');
-                sb.append(e.getKey());
-                sb.append(' ');
-                sb.append(e.getValue());
-                sb.append(System.lineSeparator());
+    public static void writeVariables(BufferedTextWriter writer, VariableMap variableMap) throws IOException {
+        for (Iterator<Pair<Integer, String>> iterator = variableMap.stream().iterator(); iterator.hasNext(); ) {
+            Pair<Integer, String> entry = iterator.next();
+            if (entry.getValue() != null) {
+                writer.write(COMMENT);
+                writer.write(' ');
+                writer.write(entry.getKey());
+                writer.write(' ');
+                writer.write(entry.getValue());
+                writer.newLine();
             }
-        });
+        }
     }
 }
@@ -23,13 +23,16 @@ package de.featjar.formula.io.dimacs;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
+import de.featjar.base.io.output.AOutputMapper;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.Reference;
 import de.featjar.formula.structure.predicate.Literal;
+import java.io.IOException;
 
 /**
  * Reads and writes feature models in the DIMACS CNF format.
@@ -46,8 +49,23 @@ public class FormulaCNFDimacsFormat implements IFormat<IFormula> {
                 .set(ComputeCNFFormula.IS_STRICT, true)
                 .compute();
         VariableMap variableMap = new VariableMap(formula.getVariableMap().keySet());
-        return Result.of(DimacsSerializer.serialize(
-                variableMap, cnfFormula.getExpression().getChildren(), c -> writeClause(c, variableMap)));
+        return DimacsSerializer.serialize(
+                variableMap, cnfFormula.getExpression().getChildren(), c -> writeClause(c, variableMap));
+    }
+
+    @Override
+    public void write(IFormula formula, AOutputMapper outputMapper) throws IOException {
+        Reference cnfFormula = Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.IS_STRICT, true)
+                .compute();
+        VariableMap variableMap = new VariableMap(formula.getVariableMap().keySet());
+        DimacsSerializer.write(
+                new BufferedTextWriter(outputMapper.get()),
+                variableMap,
+                cnfFormula.getExpression().getChildren(),
+                c -> writeClause(c, variableMap));
     }
 
     private static int[] writeClause(IExpression clause, VariableMap variableMap) {
@@ -25,7 +25,9 @@ import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
 import de.featjar.base.io.format.ParseProblem;
 import de.featjar.base.io.input.AInputMapper;
+import de.featjar.base.io.output.AOutputMapper;
 import de.featjar.formula.VariableMap;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.structure.FormulaNormalForm;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
@@ -34,6 +36,7 @@ import de.featjar.formula.structure.connective.Or;
 import de.featjar.formula.structure.connective.Reference;
 import de.featjar.formula.structure.predicate.Literal;
 import de.featjar.formula.structure.term.value.Variable;
+import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -54,8 +57,21 @@ public class FormulaDimacsFormat implements IFormat<IFormula> {
             return Result.empty(new IllegalArgumentException("Formula is not in CNF"));
         }
         VariableMap variableMap = new VariableMap(formula.getVariableMap().keySet());
-        return Result.of(
-                DimacsSerializer.serialize(variableMap, cnfFormula.getChildren(), c -> writeClause(c, variableMap)));
+        return DimacsSerializer.serialize(variableMap, cnfFormula.getChildren(), c -> writeClause(c, variableMap));
+    }
+
+    @Override
+    public void write(IFormula formula, AOutputMapper outputMapper) throws IOException {
+        IFormula cnfFormula = (formula instanceof Reference) ? ((Reference) formula).getExpression() : formula;
+        if (!cnfFormula.isStrictNormalForm(FormulaNormalForm.CNF)) {
+            throw new IllegalArgumentException("Formula is not in CNF");
+        }
+        VariableMap variableMap = new VariableMap(formula.getVariableMap().keySet());
+        DimacsSerializer.write(
+                new BufferedTextWriter(outputMapper.get()),
+                variableMap,
+                cnfFormula.getChildren(),
+                c -> writeClause(c, variableMap));
     }
 
     private static int[] writeClause(IExpression clause, VariableMap variableMap) {
@@ -40,7 +40,7 @@ public class BooleanAssignmentListSimpleTextFormat implements IBooleanAssignment
     @Override
     public Result<String> serialize(BooleanAssignmentList booleanAssignmentList) {
         final StringBuilder lines = new StringBuilder();
-        for (final BooleanAssignment configuration : booleanAssignmentList) {
+        for (final BooleanAssignment configuration : booleanAssignmentList.views()) {
             final int[] literals = configuration.get();
             for (int l : literals) {
                 if (l > 0) {
@@ -22,9 +22,12 @@ package de.featjar.formula.io.textual;
 
 import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
+import de.featjar.base.io.output.AOutputMapper;
 import de.featjar.base.tree.Trees;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.io.textual.ExpressionSerializer.Notation;
 import de.featjar.formula.structure.IExpression;
+import java.io.IOException;
 
 /**
  * Parses and serializes propositional and first-order expressions.
@@ -55,8 +58,17 @@ public class ExpressionFormat implements IFormat<IExpression> {
 
     @Override
     public Result<String> serialize(IExpression expression) {
+        return Trees.traverse(expression, createSerializer());
+    }
+
+    @Override
+    public void write(IExpression expression, AOutputMapper outputMapper) throws IOException {
+        createSerializer().write(expression, new BufferedTextWriter(outputMapper.get()));
+    }
+
+    private static ExpressionSerializer createSerializer() {
         ExpressionSerializer serializer = new ExpressionSerializer();
         serializer.setNotation(Notation.POSTFIX);
-        return Trees.traverse(expression, serializer);
+        return serializer;
     }
 }
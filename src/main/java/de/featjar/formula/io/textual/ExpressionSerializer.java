@@ -21,8 +21,10 @@
 package de.featjar.formula.io.textual;
 
 import de.featjar.base.data.Result;
+import de.featjar.base.tree.Trees;
 import de.featjar.base.tree.visitor.IInOrderTreeVisitor;
 import de.featjar.base.tree.visitor.ITreeVisitor;
+import de.featjar.formula.io.BufferedTextWriter;
 import de.featjar.formula.structure.ATerminalExpression;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.connective.And;
@@ -38,6 +40,7 @@ import de.featjar.formula.structure.connective.Not;
 import de.featjar.formula.structure.connective.Or;
 import de.featjar.formula.structure.connective.Reference;
 import de.featjar.formula.structure.predicate.Literal;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -253,7 +256,52 @@ public class ExpressionSerializer implements IInOrderTreeVisitor<IExpression, St
         return enquoteAlways;
     }
 
+    /**
+     * Number of buffered characters after which the text is passed on to the writer, if any.
+     */
+    private static final int FLUSH_THRESHOLD = 1 << 15;
+
     private StringBuilder sb = new StringBuilder();
+    private BufferedTextWriter writer;
+    private IOException writeException;
+
+    /**
+     * Writes the given expression to the given writer.
+     * In contrast to {@link #getResult()}, the text is passed on to the writer while the expression is traversed,
+     * so the entire text is never held in memory.
+     * The writer is flushed afterwards.
+     *
+     * @param expression the expression
+     * @param writer the writer
+     * @throws IOException if writing failed
+     */
+    public void write(IExpression expression, BufferedTextWriter writer) throws IOException {
+        this.writer = writer;
+        try {
+            Result<String> result = Trees.traverse(expression, this);
+            if (writeException != null) {
+                throw writeException;
+            }
+            writer.write(result.orElseThrow());
+            writer.flush();
+        } finally {
+            this.writer = null;
+            writeException = null;
+        }
+    }
+
+    private TraversalAction flushIfFull() {
+        if (writer != null && sb.length() >= FLUSH_THRESHOLD) {
+            try {
+                writer.write(sb);
+                sb.setLength(0);
+            } catch (IOException e) {
+                writeException = e;
+                return TraversalAction.FAIL;
+            }
+        }
+        return TraversalAction.CONTINUE;
+    }
 
     @Override
     public TraversalAction firstVisit(List<IExpression> path) {
@@ -298,7 +346,7 @@ public class ExpressionSerializer implements IInOrderTreeVisitor<IExpression, St
                     break;
             }
         }
-        return TraversalAction.CONTINUE;
+        return flushIfFull();
     }
 
     @Override
@@ -323,7 +371,7 @@ public class ExpressionSerializer implements IInOrderTreeVisitor<IExpression, St
                     break;
             }
         }
-        return TraversalAction.CONTINUE;
+        return flushIfFull();
     }
 
     @Override
@@ -353,7 +401,7 @@ public class ExpressionSerializer implements IInOrderTreeVisitor<IExpression, St
                     break;
             }
         }
-        return TraversalAction.CONTINUE;
+        return flushIfFull();
     }
 
     private boolean isInfix(final IExpression node) {
@@ -28,6 +28,7 @@ import de.featjar.formula.structure.IFormula;
 
 /**
  * Format for feature model formulas from FeatureIDE XML files.
+ * Reads the document with {@link XMLFeatureModelFormulaStreamParser}, which does not build a DOM.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -59,6 +60,6 @@ public class XMLFeatureModelFormulaFormat implements IFormat<IFormula> {
 
     @Override
     public Result<IFormula> parse(AInputMapper inputMapper) {
-        return new XMLFeatureModelFormulaParser().parse(inputMapper);
+        return new XMLFeatureModelFormulaStreamParser().parse(inputMapper);
     }
 }
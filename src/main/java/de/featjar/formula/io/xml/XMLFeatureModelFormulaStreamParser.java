@@ -0,0 +1,426 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.xml;
+
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.ABSTRACT;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.ALT;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.AND;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.ATMOST1;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.CONJ;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.CONSTRAINTS;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.DESCRIPTION;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.DISJ;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.EQ;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.EXT_FEATURE_MODEL;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.FEATURE;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.FEATURE_MODEL;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.HIDDEN;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.IMP;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.MANDATORY;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.NAME;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.NOT;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.OR;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.PROPERTY;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.RULE;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.STRUCT;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.TAGS;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.TRUE;
+import static de.featjar.formula.io.xml.XMLFeatureModelConstants.VAR;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.Sets;
+import de.featjar.base.io.format.ParseException;
+import de.featjar.base.io.format.ParseProblem;
+import de.featjar.base.io.input.AInputMapper;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.AtMost;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Variable;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Parses a feature model in FeatureIDE XML format into a formula without building a DOM.
+ * Implements the same semantics as {@link XMLFeatureModelFormulaParser}, but reads the document with a pull parser
+ * and passes each constraint to a consumer as soon as it is complete.
+ * Apart from the parsed constraints and the feature names, the memory used is proportional to the depth of the
+ * feature tree and the constraint formulas.
+ * Constraints are emitted in document order, which, for documents that place the {@code struct} element before the
+ * {@code constraints} element (as required by the FeatureIDE schema), equals the order of the DOM-based parser.
+ *
+ * @author Sebastian Krieter
+ */
+public class XMLFeatureModelFormulaStreamParser {
+
+    private final List<Problem> problems = new ArrayList<>();
+
+    private LinkedHashSet<String> features;
+    private Consumer<IFormula> constraintConsumer;
+    private XMLStreamReader reader;
+    private int depth;
+
+    /**
+     * Parses a feature model into a single formula.
+     * The result is identical to the one of {@link XMLFeatureModelFormulaParser}.
+     *
+     * @param inputMapper the input mapper
+     * @return the parsed formula, or an empty result if the document could not be parsed
+     */
+    public Result<IFormula> parse(AInputMapper inputMapper) {
+        final ArrayList<IFormula> constraints = new ArrayList<>();
+        final Result<LinkedHashSet<String>> featureNames =
+                parse(inputMapper.get().getInputStream(), constraints::add);
+        if (featureNames.isEmpty()) {
+            return Result.empty(featureNames.getProblems());
+        }
+        Reference reference = new Reference(constraints.size() == 1 ? constraints.get(0) : new And(constraints));
+        reference.setFreeVariables(
+                featureNames.get().stream().map(Variable::new).collect(Collectors.toList()));
+        return Result.of(reference, featureNames.getProblems());
+    }
+
+    /**
+     * Parses a feature model and passes each constraint to the given consumer as soon as it has been read.
+     *
+     * @param inputStream the input stream containing the document
+     * @param constraintConsumer the consumer for all constraints of the feature model
+     * @return the names of all features in document order, or an empty result if the document could not be parsed
+     */
+    public Result<LinkedHashSet<String>> parse(InputStream inputStream, Consumer<IFormula> constraintConsumer) {
+        problems.clear();
+        features = Sets.empty();
+        depth = 0;
+        this.constraintConsumer = constraintConsumer;
+        try {
+            reader = createFactory().createXMLStreamReader(inputStream);
+            try {
+                parseDocument();
+                return Result.of(features, new ArrayList<>(problems));
+            } catch (final ParseException e) {
+                problems.add(new ParseProblem(e.getMessage(), Problem.Severity.ERROR, getLineNumber()));
+                return Result.empty(new ArrayList<>(problems));
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            problems.add(new ParseProblem(
+                    e.getMessage(),
+                    Problem.Severity.ERROR,
+                    e.getLocation() != null ? e.getLocation().getLineNumber() : 0));
+            return Result.empty(new ArrayList<>(problems));
+        } finally {
+            reader = null;
+            this.constraintConsumer = null;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        return factory;
+    }
+
+    private void parseDocument() throws XMLStreamException, ParseException {
+        if (!nextChildElement()) {
+            throw new ParseException("Missing document element!");
+        }
+        final String documentElement = reader.getLocalName();
+        if (!FEATURE_MODEL.equals(documentElement) && !EXT_FEATURE_MODEL.equals(documentElement)) {
+            throw new ParseException("Unexpected document element: " + documentElement);
+        }
+        boolean hasStruct = false, hasConstraints = false;
+        while (nextChildElement()) {
+            final String nodeName = reader.getLocalName();
+            if (!hasStruct && STRUCT.equals(nodeName)) {
+                hasStruct = true;
+                parseFeatureTree(null, false);
+            } else if (!hasConstraints && CONSTRAINTS.equals(nodeName)) {
+                hasConstraints = true;
+                parseConstraints();
+            } else {
+                skipElement();
+            }
+        }
+        if (!hasStruct) {
+            throw new ParseException("Missing element: " + STRUCT);
+        }
+    }
+
+    private ArrayList<Literal> parseFeatureTree(Literal parentFeature, boolean and)
+            throws XMLStreamException, ParseException {
+        final ArrayList<Literal> childFeatures = new ArrayList<>();
+        boolean hasChildNodes = false;
+        int elementCount = 0;
+        for (int event = next(); event != XMLStreamConstants.END_ELEMENT; event = next()) {
+            hasChildNodes = true;
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            elementCount++;
+            if (parentFeature == null && elementCount > 1) {
+                throw new ParseException("Multiple root features!");
+            }
+            final String nodeName = reader.getLocalName();
+            switch (nodeName) {
+                case DESCRIPTION:
+                case PROPERTY:
+                    if (parentFeature == null) {
+                        addParseProblem("Misplaced metadata element " + nodeName);
+                    }
+                    skipElement();
+                    break;
+                case AND:
+                case OR:
+                case ALT:
+                case FEATURE:
+                    childFeatures.add(parseFeature(parentFeature, nodeName, and));
+                    break;
+                default:
+                    skipElement();
+                    break;
+            }
+        }
+        if (parentFeature == null) {
+            if (elementCount == 0) {
+                throw new ParseException("No root feature!");
+            }
+        } else if (hasChildNodes && elementCount == 0) {
+            addParseProblem("No feature in group!");
+        }
+        return hasChildNodes ? childFeatures : null;
+    }
+
+    private Literal parseFeature(Literal parentFeature, String nodeName, boolean and)
+            throws XMLStreamException, ParseException {
+        boolean mandatory = false;
+        String name = null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String attributeName = reader.getAttributeLocalName(i);
+            switch (attributeName) {
+                case ABSTRACT:
+                case HIDDEN:
+                    break;
+                case MANDATORY:
+                    mandatory = reader.getAttributeValue(i).equals(TRUE);
+                    break;
+                case NAME:
+                    name = reader.getAttributeValue(i);
+                    break;
+                default:
+                    addParseProblem("Unknown feature attribute: " + attributeName);
+                    break;
+            }
+        }
+
+        final Literal feature = newFeature(name, parentFeature, and && mandatory);
+
+        final ArrayList<Literal> childFeatures = parseFeatureTree(feature, AND.equals(nodeName));
+        if (childFeatures != null) {
+            switch (nodeName) {
+                case OR:
+                    constraintConsumer.accept(
+                            childFeatures.size() == 1
+                                    ? new Implies(feature, childFeatures.get(0))
+                                    : new Implies(feature, new Or(childFeatures)));
+                    break;
+                case ALT:
+                    constraintConsumer.accept(
+                            childFeatures.size() == 1
+                                    ? new Implies(feature, childFeatures.get(0))
+                                    : new And(
+                                            new Implies(feature, new Or(childFeatures)),
+                                            new AtMost(1, childFeatures)));
+                    break;
+                default:
+                    break;
+            }
+        } else if (!FEATURE.equals(nodeName)) {
+            throw new ParseException("Empty group!");
+        }
+        return feature;
+    }
+
+    private Literal newFeature(String name, Literal parentFeature, boolean mandatory) throws ParseException {
+        if (!features.add(name)) {
+            throw new ParseException("Duplicate feature name: " + name);
+        }
+        final Literal literal = new Literal(name);
+        if (parentFeature == null) {
+            constraintConsumer.accept(literal);
+        } else {
+            constraintConsumer.accept(new Implies(literal, parentFeature));
+            if (mandatory) {
+                constraintConsumer.accept(new Implies(parentFeature, literal));
+            }
+        }
+        return literal;
+    }
+
+    private void parseConstraints() throws XMLStreamException {
+        while (nextChildElement()) {
+            final String nodeName = reader.getLocalName();
+            if (RULE.equals(nodeName)) {
+                final int ruleDepth = depth;
+                try {
+                    final List<IFormula> formulaParts = parseConstraint();
+                    if (formulaParts.size() == 1) {
+                        constraintConsumer.accept(formulaParts.get(0));
+                    } else {
+                        addParseProblem("could not parse constraint node " + nodeName);
+                    }
+                } catch (final RuntimeException exception) {
+                    addParseProblem(exception.getMessage());
+                    while (depth >= ruleDepth) {
+                        next();
+                    }
+                }
+            } else {
+                addParseProblem("Encountered unknown node " + nodeName);
+                skipElement();
+            }
+        }
+    }
+
+    private List<IFormula> parseConstraint() throws XMLStreamException {
+        final List<IFormula> formulaParts = new ArrayList<>();
+        while (nextChildElement()) {
+            final String nodeName = reader.getLocalName();
+            switch (nodeName) {
+                case DESCRIPTION:
+                case PROPERTY:
+                case TAGS:
+                    skipElement();
+                    break;
+                case DISJ:
+                    formulaParts.add(new Or(parseConstraint()));
+                    break;
+                case CONJ:
+                    formulaParts.add(new And(parseConstraint()));
+                    break;
+                case EQ: {
+                    List<IFormula> children = parseConstraint();
+                    if (children.size() == 2) {
+                        formulaParts.add(new BiImplies(children.get(0), children.get(1)));
+                    } else {
+                        addParseProblem("unexpected number of operands for equivalence");
+                    }
+                    break;
+                }
+                case IMP: {
+                    List<IFormula> children = parseConstraint();
+                    if (children.size() == 2) {
+                        formulaParts.add(new Implies(children.get(0), children.get(1)));
+                    } else {
+                        addParseProblem("unexpected number of operands for implication");
+                    }
+                    break;
+                }
+                case NOT: {
+                    List<IFormula> children = parseConstraint();
+                    if (children.size() == 1) {
+                        formulaParts.add(new Not(children.get(0)));
+                    } else {
+                        addParseProblem("unexpected number of operands for negation");
+                    }
+                    break;
+                }
+                case ATMOST1:
+                    formulaParts.add(new AtMost(1, parseConstraint()));
+                    break;
+                case VAR:
+                    formulaParts.add(new Literal(readTextContent()));
+                    break;
+                default:
+                    addParseProblem("Unknown constraint type: " + nodeName);
+                    skipElement();
+            }
+        }
+        return formulaParts;
+    }
+
+    private String readTextContent() throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        final int elementDepth = depth;
+        for (int event = next(); depth >= elementDepth; event = next()) {
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private boolean nextChildElement() throws XMLStreamException {
+        int event = next();
+        while (event != XMLStreamConstants.START_ELEMENT
+                && event != XMLStreamConstants.END_ELEMENT
+                && event != XMLStreamConstants.END_DOCUMENT) {
+            event = next();
+        }
+        return event == XMLStreamConstants.START_ELEMENT;
+    }
+
+    private void skipElement() throws XMLStreamException {
+        final int elementDepth = depth;
+        while (depth >= elementDepth) {
+            next();
+        }
+    }
+
+    private int next() throws XMLStreamException {
+        final int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+            depth++;
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+            depth--;
+        }
+        return event;
+    }
+
+    private int getLineNumber() {
+        return reader != null && reader.getLocation() != null ? reader.getLocation().getLineNumber() : 0;
+    }
+
+    private void addParseProblem(String message) {
+        problems.add(new ParseProblem(message, Problem.Severity.WARNING, getLineNumber()));
+    }
+}
@@ -21,25 +21,330 @@
 package de.featjar.formula.structure;
 
 import de.featjar.base.tree.structure.ATree;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
 
 /**
  * A non-terminal node in a formula.
+ * The structural hash code of a node is cached until the node or an expression in its subtree is modified.
+ * Each expression references the only non-terminal expression containing it, such that a modification marks the
+ * cached hash codes of the modified expression and its ancestors as invalid. Hashing a tree again only recomputes the
+ * hash codes of these expressions. Equality checks first compare the cached hash codes.
+ * The reference is not always removed together with the expression, which only causes unnecessary invalidations.
+ * An expression that is contained in more than one non-terminal expression is marked as shared, as its ancestors
+ * cannot be followed unambiguously. Modifying a shared expression or one of its descendants increments a global
+ * counter instead, which invalidates the cached hash codes of all expressions that contain a shared expression.
+ * Modifications of expressions that are not shared do not affect other trees.
+ * Subclasses must call {@link #invalidateHashCode()} whenever a property considered by
+ * {@link #equalsNode(IExpression)} changes.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
  */
 public abstract class ANonTerminalExpression extends ATree<IExpression> implements IExpression {
+
+    /**
+     * Marks an expression that is or was contained in more than one non-terminal expression.
+     */
+    static final Object SHARED = new Object();
+
+    private static final AtomicReferenceFieldUpdater<ANonTerminalExpression, Object> PARENT =
+            AtomicReferenceFieldUpdater.newUpdater(ANonTerminalExpression.class, Object.class, "parent");
+
+    private static final AtomicLong SHARED_MODIFICATION_COUNT = new AtomicLong();
+
+    private static final int NOT_HASHED = 0;
+    private static final int HASHED = 1;
+    private static final int HASHED_WITH_SHARED = 2;
+
+    /**
+     * The only non-terminal expression containing this expression, {@link #SHARED}, or {@code null}.
+     */
+    private volatile Object parent;
+
+    private int cachedHashCode;
+
+    /**
+     * The number of modifications of shared expressions at the time the hash code was cached.
+     * Only considered if the subtree of this expression contains a shared expression.
+     */
+    private long sharedModificationCount;
+
+    private volatile int hashState = NOT_HASHED;
+
     protected ANonTerminalExpression(IExpression... children) {
         super(children.length);
         if (children.length > 0) super.setChildren(Arrays.asList(children));
+        updateParents(Collections.emptyList());
     }
 
     protected ANonTerminalExpression(List<? extends IExpression> children) {
         super(children.size());
         super.setChildren(children);
+        updateParents(Collections.emptyList());
+    }
+
+    /**
+     * Counts a modification of a shared expression or one of its descendants.
+     */
+    static void countSharedModification() {
+        SHARED_MODIFICATION_COUNT.incrementAndGet();
+    }
+
+    /**
+     * Invalidates the cached hash code of this expression and of all expressions containing it.
+     * Must be called whenever this expression is modified.
+     */
+    protected void invalidateHashCode() {
+        ANonTerminalExpression expression = this;
+        while (true) {
+            expression.hashState = NOT_HASHED;
+            final Object parent = expression.parent;
+            if (parent == SHARED) {
+                countSharedModification();
+                return;
+            }
+            if (parent == null) {
+                return;
+            }
+            expression = (ANonTerminalExpression) parent;
+            if (expression.hashState == NOT_HASHED) {
+                // ancestors of an expression without a valid hash code never have a valid hash code themselves
+                return;
+            }
+        }
+    }
+
+    private static Object getParent(IExpression expression) {
+        if (expression instanceof ANonTerminalExpression) {
+            return ((ANonTerminalExpression) expression).parent;
+        } else if (expression instanceof ATerminalExpression) {
+            return ((ATerminalExpression) expression).parent;
+        } else {
+            return SHARED;
+        }
+    }
+
+    private static boolean compareAndSetParent(IExpression expression, Object expectedParent, Object newParent) {
+        if (expression instanceof ANonTerminalExpression) {
+            return PARENT.compareAndSet((ANonTerminalExpression) expression, expectedParent, newParent);
+        } else if (expression instanceof ATerminalExpression) {
+            return ATerminalExpression.compareAndSetParent((ATerminalExpression) expression, expectedParent, newParent);
+        } else {
+            return true;
+        }
+    }
+
+    private void addParent(IExpression child) {
+        while (true) {
+            final Object childParent = getParent(child);
+            if (childParent == this || childParent == SHARED) {
+                return;
+            }
+            final boolean shared = childParent != null && ((ANonTerminalExpression) childParent).containsChild(child);
+            if (compareAndSetParent(child, childParent, shared ? SHARED : this)) {
+                if (shared) {
+                    // the former parent now contains a shared expression
+                    ((ANonTerminalExpression) childParent).invalidateHashCode();
+                }
+                return;
+            }
+        }
+    }
+
+    private void removeParent(IExpression child) {
+        if (!containsChild(child)) {
+            compareAndSetParent(child, this, null);
+        }
+    }
+
+    private boolean containsChild(IExpression child) {
+        for (final IExpression otherChild : getChildren()) {
+            if (otherChild == child) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateParents(List<? extends IExpression> oldChildren) {
+        final List<? extends IExpression> children = getChildren();
+        if (!oldChildren.isEmpty()) {
+            final Set<IExpression> currentChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+            currentChildren.addAll(children);
+            for (final IExpression oldChild : oldChildren) {
+                if (!currentChildren.contains(oldChild)) {
+                    compareAndSetParent(oldChild, this, null);
+                }
+            }
+        }
+        for (final IExpression child : children) {
+            addParent(child);
+        }
+    }
+
+    private boolean isHashCodeValid() {
+        final int state = hashState;
+        return state == HASHED
+                || (state == HASHED_WITH_SHARED && sharedModificationCount == SHARED_MODIFICATION_COUNT.get());
+    }
+
+    private static boolean containsShared(IExpression expression) {
+        return getParent(expression) == SHARED
+                || (expression instanceof ANonTerminalExpression
+                        && ((ANonTerminalExpression) expression).hashState == HASHED_WITH_SHARED);
+    }
+
+    @Override
+    public int hashCode() {
+        if (isHashCodeValid()) {
+            return cachedHashCode;
+        }
+        final long currentSharedModificationCount = SHARED_MODIFICATION_COUNT.get();
+        ANonTerminalExpression[] expressions = new ANonTerminalExpression[16];
+        int[] positions = new int[16];
+        int top = 0;
+        expressions[0] = this;
+        positions[0] = 0;
+        while (top >= 0) {
+            final ANonTerminalExpression expression = expressions[top];
+            final List<? extends IExpression> children = expression.getChildren();
+            final int size = children.size();
+            int position = positions[top];
+            ANonTerminalExpression invalidChild = null;
+            for (; position < size; position++) {
+                final IExpression child = children.get(position);
+                if (child instanceof ANonTerminalExpression && !((ANonTerminalExpression) child).isHashCodeValid()) {
+                    invalidChild = (ANonTerminalExpression) child;
+                    break;
+                }
+            }
+            if (invalidChild != null) {
+                positions[top] = position + 1;
+                if (++top == expressions.length) {
+                    expressions = Arrays.copyOf(expressions, top << 1);
+                    positions = Arrays.copyOf(positions, top << 1);
+                }
+                expressions[top] = invalidChild;
+                positions[top] = 0;
+            } else {
+                int hashCode = expression.hashCodeNode();
+                boolean containsShared = false;
+                for (final IExpression child : children) {
+                    hashCode = 31 * hashCode + child.hashCode();
+                    containsShared |= containsShared(child);
+                }
+                expression.cachedHashCode = hashCode;
+                expression.sharedModificationCount = currentSharedModificationCount;
+                expression.hashState = containsShared ? HASHED_WITH_SHARED : HASHED;
+                expressions[top--] = null;
+            }
+        }
+        return cachedHashCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Expressions with a different number of children or a different hash code are rejected without comparing their
+     * subtrees.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        final ANonTerminalExpression expression = (ANonTerminalExpression) other;
+        if (getChildrenCount() != expression.getChildrenCount() || hashCode() != expression.hashCode()) {
+            return false;
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public void setChildren(List<? extends IExpression> children) {
+        final List<IExpression> oldChildren = new ArrayList<>(getChildren());
+        super.setChildren(children);
+        updateParents(oldChildren);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void addChild(int index, IExpression newChild) {
+        super.addChild(index, newChild);
+        addParent(newChild);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void addChild(IExpression newChild) {
+        super.addChild(newChild);
+        addParent(newChild);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void removeChild(IExpression child) {
+        super.removeChild(child);
+        removeParent(child);
+        invalidateHashCode();
+    }
+
+    @Override
+    public IExpression removeChild(int index) {
+        final IExpression child = super.removeChild(index);
+        removeParent(child);
+        invalidateHashCode();
+        return child;
+    }
+
+    @Override
+    public void replaceChild(IExpression oldChild, IExpression newChild) {
+        super.replaceChild(oldChild, newChild);
+        removeParent(oldChild);
+        addParent(newChild);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void replaceChild(int index, IExpression newChild) {
+        super.replaceChild(index, newChild);
+        addParent(newChild);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void replaceChildren(Function<? super IExpression, ? extends IExpression> mapper) {
+        final List<IExpression> oldChildren = new ArrayList<>(getChildren());
+        super.replaceChildren(mapper);
+        updateParents(oldChildren);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void flatReplaceChildren(Function<? super IExpression, ? extends List<? extends IExpression>> mapper) {
+        final List<IExpression> oldChildren = new ArrayList<>(getChildren());
+        super.flatReplaceChildren(mapper);
+        updateParents(oldChildren);
+        invalidateHashCode();
+    }
+
+    @Override
+    public void clearChildren() {
+        final List<IExpression> oldChildren = new ArrayList<>(getChildren());
+        super.clearChildren();
+        updateParents(oldChildren);
+        invalidateHashCode();
     }
 
     @Override
@@ -22,6 +22,7 @@ package de.featjar.formula.structure;
 
 import de.featjar.base.tree.structure.ALeafNode;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * A terminal expression.
@@ -30,6 +31,33 @@ import java.util.Objects;
  * @author Elias Kuiter
  */
 public abstract class ATerminalExpression extends ALeafNode<IExpression> implements IExpression {
+
+    private static final AtomicReferenceFieldUpdater<ATerminalExpression, Object> PARENT =
+            AtomicReferenceFieldUpdater.newUpdater(ATerminalExpression.class, Object.class, "parent");
+
+    /**
+     * The only non-terminal expression containing this expression, {@link ANonTerminalExpression#SHARED}, or
+     * {@code null}.
+     */
+    volatile Object parent;
+
+    static boolean compareAndSetParent(ATerminalExpression expression, Object expectedParent, Object newParent) {
+        return PARENT.compareAndSet(expression, expectedParent, newParent);
+    }
+
+    /**
+     * Invalidates the cached hash codes of all expressions that contain this expression.
+     * Must be called whenever a property considered by {@link #equalsNode(IExpression)} changes.
+     */
+    protected void invalidateHashCode() {
+        final Object parent = this.parent;
+        if (parent == ANonTerminalExpression.SHARED) {
+            ANonTerminalExpression.countSharedModification();
+        } else if (parent != null) {
+            ((ANonTerminalExpression) parent).invalidateHashCode();
+        }
+    }
+
     @Override
     public boolean equalsNode(IExpression other) {
         return (getClass() == other.getClass())
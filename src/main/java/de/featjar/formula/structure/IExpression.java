@@ -20,23 +20,29 @@
  */
 package de.featjar.formula.structure;
 
+import de.featjar.base.data.Result;
 import de.featjar.base.io.IO;
 import de.featjar.base.tree.Trees;
 import de.featjar.base.tree.structure.ITree;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.Assignment;
 import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.IAssignment;
 import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.evaluation.BitSlicedEvaluator;
+import de.featjar.formula.evaluation.CompiledFormula;
 import de.featjar.formula.io.textual.ExpressionFormat;
 import de.featjar.formula.structure.predicate.ExpressionKind;
 import de.featjar.formula.structure.term.ITerm;
 import de.featjar.formula.structure.term.value.Constant;
 import de.featjar.formula.structure.term.value.Variable;
 import de.featjar.formula.visitor.Evaluator;
+import de.featjar.formula.visitor.ExpressionTraversal;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -78,11 +84,14 @@ public interface IExpression extends ITree<IExpression> {
      * @param assignment the value assignment
      */
     default Optional<Object> evaluate(IAssignment<String, Object> assignment) {
-        return traverse(new Evaluator(assignment)).orElseThrow();
+        return ExpressionTraversal.traverse(this, new Evaluator(assignment)).orElseThrow();
     }
 
     /**
      * {@return the evaluation of this formula on a given boolean assignment}
+     * To evaluate the same formula on many assignments, compile it once with
+     * {@link CompiledFormula#compile(IExpression, VariableMap)} or use a
+     * {@link de.featjar.analysis.FormulaConfigurationTester} instead.
      *
      * @param booleanAssignment the boolean assignment
      * @param variableMap the {@link VariableMap variable map} mapping the indices in the assignment to variable names
@@ -91,6 +100,18 @@ public interface IExpression extends ITree<IExpression> {
         return evaluate(variableMap.toAssignment(booleanAssignment).get());
     }
 
+    /**
+     * {@return the indices of all assignments in the given list on which this formula evaluates to {@code true}}
+     * Evaluates 64 assignments at once using a {@link BitSlicedEvaluator}.
+     * Fails if this formula contains non-boolean terms or predicates.
+     *
+     * @param booleanAssignmentList the boolean assignments
+     */
+    default Result<BitSet> evaluate(BooleanAssignmentList booleanAssignmentList) {
+        return BitSlicedEvaluator.compile(this, booleanAssignmentList.getVariableMap())
+                .map(evaluator -> evaluator.evaluate(booleanAssignmentList));
+    }
+
     /**
      * {@return the evaluation of this formula on a given boolean assignment}
      *
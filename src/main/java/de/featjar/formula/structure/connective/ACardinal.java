@@ -58,6 +58,7 @@ public abstract class ACardinal extends ANonTerminalExpression implements IConne
 
     public void setRange(Range range) {
         this.range = range;
+        invalidateHashCode();
     }
 
     @Override
@@ -108,6 +108,7 @@ public class NonBooleanLiteral extends ANonTerminalExpression implements ILitera
     @Override
     public void setPositive(boolean isPositive) {
         this.isPositive = isPositive;
+        invalidateHashCode();
     }
 
     public Constant getConstant() {
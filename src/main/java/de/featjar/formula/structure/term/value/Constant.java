@@ -38,8 +38,8 @@ public class Constant extends ATerminalExpression implements IValue {
     protected Class<?> type;
 
     private Constant(Constant constant) {
-        setValue(constant.value);
-        setType(constant.type);
+        value = constant.value;
+        type = constant.type;
     }
 
     public Constant(Object value, Class<?> type) {
@@ -62,6 +62,7 @@ public class Constant extends ATerminalExpression implements IValue {
 
     public void setValue(Object value) {
         this.value = value;
+        invalidateHashCode();
     }
 
     @Override
@@ -76,6 +77,7 @@ public class Constant extends ATerminalExpression implements IValue {
 
     public void setType(Class<?> type) {
         this.type = type;
+        invalidateHashCode();
     }
 
     @Override
@@ -36,8 +36,8 @@ public class Variable extends ATerminalExpression implements IValue {
     protected Class<?> type;
 
     private Variable(Variable variable) {
-        setName(variable.name);
-        setType(variable.type);
+        name = variable.name;
+        type = variable.type;
     }
 
     public Variable(String name, Class<?> type) {
@@ -56,6 +56,7 @@ public class Variable extends ATerminalExpression implements IValue {
 
     public void setName(String name) {
         this.name = name;
+        invalidateHashCode();
     }
 
     @Override
@@ -65,6 +66,7 @@ public class Variable extends ATerminalExpression implements IValue {
 
     public void setType(Class<?> type) {
         this.type = type;
+        invalidateHashCode();
     }
 
     @Override
@@ -21,7 +21,6 @@
 package de.featjar.formula.visitor;
 
 import de.featjar.base.data.Result;
-import de.featjar.base.tree.Trees;
 import de.featjar.base.tree.visitor.ITreeVisitor;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
@@ -60,7 +59,7 @@ public abstract class ANormalFormTester implements ITreeVisitor<IFormula, Boolea
 
     @Override
     public boolean test(IFormula formula) {
-        Trees.traverse(formula, this);
+        ExpressionTraversal.traverse(formula, this);
         return getResult().get();
     }
 
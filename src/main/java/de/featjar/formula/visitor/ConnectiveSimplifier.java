@@ -79,7 +79,6 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
         return TraversalAction.CONTINUE;
     }
 
-    @SuppressWarnings("unchecked")
     private IFormula replace(IExpression formula) {
         if ((formula instanceof IPredicate)
                 || (formula instanceof And)
@@ -87,35 +86,48 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
                 || (formula instanceof Not)) {
             return null;
         }
+        final IFormula newFormula = simplify((IFormula) formula);
+        if (newFormula == null) {
+            fail = true;
+        }
+        return newFormula;
+    }
+
+    /**
+     * Replaces a single complex connective with an equivalent formula over {@link And}, {@link Or}, and {@link Not}.
+     * The children of the given connective are not modified and are shared with the returned formula.
+     *
+     * @param formula the connective
+     * @return the equivalent formula, or {@code null} if the given formula is not a supported complex connective
+     */
+    @SuppressWarnings("unchecked")
+    public static IFormula simplify(IFormula formula) {
         final List<IFormula> children = (List<IFormula>) formula.getChildren();
-        IFormula newFormula;
         if (formula instanceof Implies) {
-            newFormula = new Or(new Not(children.get(0)), children.get(1));
+            return new Or(new Not(children.get(0)), children.get(1));
         } else if (formula instanceof BiImplies) {
-            newFormula = new And( //
+            return new And( //
                     new Or(new Not(children.get(0)), children.get(1)),
                     new Or(new Not(children.get(1)), children.get(0)));
         } else if (formula instanceof AtLeast) {
-            newFormula = new And(atLeastK(children, ((AtLeast) formula).getMinimum()));
+            return new And(atLeastK(children, ((AtLeast) formula).getMinimum()));
         } else if (formula instanceof AtMost) {
-            newFormula = new And(atMostK(children, ((AtMost) formula).getMaximum()));
+            return new And(atMostK(children, ((AtMost) formula).getMaximum()));
         } else if (formula instanceof Between) {
             final Between between = (Between) formula;
-            newFormula = new And(
+            return new And(
                     new And(atLeastK(children, between.getMinimum())),
                     new And(atMostK(children, between.getMaximum())));
         } else if (formula instanceof Choose) {
             final Choose choose = (Choose) formula;
-            newFormula = new And(
+            return new And(
                     new And(atLeastK(children, choose.getBound())), new And(atMostK(children, choose.getBound())));
         } else {
-            fail = true;
             return null;
         }
-        return newFormula;
     }
 
-    private void atMostOneRec(List<? extends IFormula> elements, List<IFormula> groupedElements) {
+    private static void atMostOneRec(List<? extends IFormula> elements, List<IFormula> groupedElements) {
         final int n = elements.size();
         if (n > 1) {
             int half = n / 2;
@@ -127,7 +139,7 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
         }
     }
 
-    private List<IFormula> atMostK(List<? extends IFormula> elements, int k) {
+    private static List<IFormula> atMostK(List<? extends IFormula> elements, int k) {
         final int n = elements.size();
 
         // return tautology
@@ -150,7 +162,7 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
         }
     }
 
-    private List<IFormula> atLeastK(List<? extends IFormula> elements, int k) {
+    private static List<IFormula> atLeastK(List<? extends IFormula> elements, int k) {
         final int n = elements.size();
 
         // return tautology
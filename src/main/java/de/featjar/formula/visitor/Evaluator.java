@@ -25,8 +25,7 @@ import de.featjar.base.tree.visitor.ITreeVisitor;
 import de.featjar.formula.assignment.IAssignment;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.term.value.Variable;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,7 +36,7 @@ import java.util.Optional;
  * @author Elias Kuiter
  */
 public class Evaluator implements ITreeVisitor<IExpression, Optional<Object>> {
-    private final LinkedList<Object> values = new LinkedList<>();
+    private final ArrayList<Object> values = new ArrayList<>();
 
     private final IAssignment<String, Object> valueAssignment;
     private Boolean defaultBooleanValue;
@@ -61,7 +60,7 @@ public class Evaluator implements ITreeVisitor<IExpression, Optional<Object>> {
 
     @Override
     public Result<Optional<Object>> getResult() {
-        return Result.ofNullable(Optional.ofNullable(values.peek()));
+        return Result.ofNullable(Optional.ofNullable(values.isEmpty() ? null : values.get(values.size() - 1)));
     }
 
     @Override
@@ -73,23 +72,22 @@ public class Evaluator implements ITreeVisitor<IExpression, Optional<Object>> {
             final Object value = valueAssignment.getValue(variableName).orElse(null);
             if (value != null) {
                 if (variable.getType().isInstance(value)) {
-                    values.push(value);
+                    values.add(value);
                 } else {
                     throw new IllegalArgumentException(String.valueOf(value));
                 }
             } else {
                 if (variable.getType() == Boolean.class) {
-                    values.push(defaultBooleanValue);
+                    values.add(defaultBooleanValue);
                 } else {
-                    values.push(null);
+                    values.add(null);
                 }
             }
         } else {
-            final List<Object> arguments = values.subList(0, expression.getChildrenCount());
-            Collections.reverse(arguments);
+            final List<Object> arguments = values.subList(values.size() - expression.getChildrenCount(), values.size());
             final Object value = expression.evaluate(arguments).orElse(null);
             arguments.clear();
-            values.push(value);
+            values.add(value);
         }
         return TraversalAction.CONTINUE;
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.data.Void;
+import de.featjar.base.tree.Trees;
+import de.featjar.base.tree.visitor.ITreeVisitor;
+import de.featjar.base.tree.visitor.ITreeVisitor.TraversalAction;
+import de.featjar.formula.structure.IExpression;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Traverses expressions depth-first with an explicit stack.
+ * Behaves like {@link Trees#traverse(de.featjar.base.tree.structure.ITree, ITreeVisitor)}, but uses constant native
+ * stack regardless of the depth of the expression, so that deeply nested formulas (e.g., long implication chains) can
+ * be visited without a {@link StackOverflowError}.
+ * The visitor is passed the same path list for each visit, which is modified in place instead of being copied.
+ * Thus, visitors must not store the path between visits.
+ * Children are read from their parent right before they are visited, so a visitor may replace the children of the
+ * current node in {@link ITreeVisitor#firstVisit(List)} and the children of any node in
+ * {@link ITreeVisitor#lastVisit(List)}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ExpressionTraversal {
+
+    private static final int INITIAL_DEPTH = 64;
+    private static final int SKIPPED = -1;
+    private static final int UNVISITED = -2;
+
+    private ExpressionTraversal() {}
+
+    /**
+     * Traverses the given expression with the given visitor.
+     *
+     * @param <T> the type of the expression
+     * @param <R> the type of the result
+     * @param expression the expression
+     * @param visitor the visitor
+     * @return the result of the visitor, or an empty result if the visitor failed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IExpression, R> Result<R> traverse(T expression, ITreeVisitor<T, R> visitor) {
+        visitor.reset();
+        if (expression == null) {
+            return visitor.getResult();
+        }
+        final ArrayList<T> path = new ArrayList<>(INITIAL_DEPTH);
+        int[] nextChildIndices = new int[INITIAL_DEPTH];
+        path.add(expression);
+        nextChildIndices[0] = UNVISITED;
+        while (!path.isEmpty()) {
+            final int depth = path.size() - 1;
+            final T node = path.get(depth);
+            final int childIndex = nextChildIndices[depth];
+            if (childIndex == UNVISITED) {
+                final Result<Void> validation = visitor.nodeValidator(path);
+                if (validation.isEmpty()) {
+                    return Result.empty(validation.getProblems());
+                }
+                final TraversalAction action = visitor.firstVisit(path);
+                switch (action) {
+                    case CONTINUE:
+                        nextChildIndices[depth] = 0;
+                        break;
+                    case SKIP_CHILDREN:
+                        nextChildIndices[depth] = SKIPPED;
+                        break;
+                    case SKIP_ALL:
+                        return visitor.getResult();
+                    case FAIL:
+                        return fail(visitor, path);
+                    default:
+                        throw new IllegalStateException(String.valueOf(action));
+                }
+            } else if (childIndex != SKIPPED && childIndex < node.getChildrenCount()) {
+                nextChildIndices[depth] = childIndex + 1;
+                path.add((T) node.getChildren().get(childIndex));
+                if (path.size() > nextChildIndices.length) {
+                    nextChildIndices = Arrays.copyOf(nextChildIndices, 2 * nextChildIndices.length);
+                }
+                nextChildIndices[depth + 1] = UNVISITED;
+            } else {
+                final TraversalAction action = visitor.lastVisit(path);
+                if (action == TraversalAction.SKIP_ALL) {
+                    return visitor.getResult();
+                } else if (action == TraversalAction.FAIL) {
+                    return fail(visitor, path);
+                }
+                path.remove(depth);
+            }
+        }
+        return visitor.getResult();
+    }
+
+    private static <T extends IExpression, R> Result<R> fail(ITreeVisitor<T, R> visitor, List<T> path) {
+        final Result<Void> validation = visitor.nodeValidator(path);
+        return validation.hasProblems()
+                ? Result.empty(validation.getProblems())
+                : Result.empty(new Problem("visitor failed at " + ITreeVisitor.getCurrentNode(path)));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.composition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.assignment.Assignment;
+import de.featjar.formula.io.textual.JavaSymbols;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AnnotatedFile}.
+ *
+ * @author Sebastian Krieter
+ */
+public class AnnotatedFileTest {
+
+    private static final List<String> NESTED_FILE = List.of(
+            "a",
+            "#if A",
+            "b",
+            "#if B && !C",
+            "c",
+            "#else",
+            "d",
+            "#endif",
+            "e",
+            "#else",
+            "f",
+            "#endif",
+            "g");
+
+    private static final List<String> ELIF_FILE =
+            List.of("a", "#if A", "b", "#elif B", "c", "#else", "d", "#endif", "e");
+
+    @BeforeAll
+    public static void init() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void deinit() {
+        FeatJAR.deinitialize();
+    }
+
+    private static final List<String> NESTED_ELIF_FILE = List.of(
+            "#if X", "#if A", "a", "#elif B", "b", "#elif C", "c", "#endif", "x", "#endif", "y", "#endif", "z");
+
+    @Test
+    public void nestedBlocks() {
+        Preprocessor preprocessor = new Preprocessor("#", JavaSymbols.INSTANCE);
+        AnnotatedFile annotatedFile = preprocessor.compile(NESTED_FILE);
+        assertEquals(List.of("A", "B", "C"), annotatedFile.getVariableNames());
+
+        checkVariants(
+                NESTED_FILE,
+                List.of(
+                        new Assignment("A", true, "B", true, "C", false),
+                        new Assignment("A", true, "B", true, "C", true),
+                        new Assignment("A", false, "B", true, "C", false),
+                        new Assignment("A", true, "B", false, "C", null),
+                        new Assignment("A", true, "B", true, "C", null)),
+                List.of(
+                        List.of("a", "b", "c", "e", "g"),
+                        List.of("a", "b", "d", "e", "g"),
+                        List.of("a", "f", "g"),
+                        List.of("a", "b", "d", "e", "g"),
+                        List.of("a", "b", "d", "e", "g")));
+    }
+
+    @Test
+    public void elifChain() {
+        checkVariants(
+                ELIF_FILE,
+                List.of(
+                        new Assignment("A", true, "B", true),
+                        new Assignment("A", false, "B", true),
+                        new Assignment("A", false, "B", false)),
+                List.of(List.of("a", "b", "e"), List.of("a", "c", "e"), List.of("a", "d", "e")));
+    }
+
+    /**
+     * A single {@code endif} closes a chain of {@code if} and {@code elif} annotations.
+     * The last {@code endif} of the file has no matching annotation and is ignored.
+     */
+    @Test
+    public void endifClosesElifChain() {
+        checkVariants(
+                NESTED_ELIF_FILE,
+                List.of(
+                        new Assignment("X", false, "A", true, "B", true, "C", true),
+                        new Assignment("X", true, "A", true, "B", true, "C", true),
+                        new Assignment("X", true, "A", false, "B", true, "C", true),
+                        new Assignment("X", true, "A", false, "B", false, "C", true),
+                        new Assignment("X", true, "A", false, "B", false, "C", false)),
+                List.of(
+                        List.of("y", "z"),
+                        List.of("a", "x", "y", "z"),
+                        List.of("b", "x", "y", "z"),
+                        List.of("c", "x", "y", "z"),
+                        List.of("x", "y", "z")));
+    }
+
+    /**
+     * Checks that both the {@link Preprocessor} and the compiled {@link AnnotatedFile} derive the expected variants.
+     */
+    private static void checkVariants(
+            List<String> lines, List<Assignment> assignments, List<List<String>> expectedVariants) {
+        Preprocessor preprocessor = new Preprocessor("#", JavaSymbols.INSTANCE);
+        List<List<String>> variants = preprocessor.compile(lines).preprocess(assignments);
+        for (int i = 0; i < assignments.size(); i++) {
+            assertEquals(expectedVariants.get(i), variants.get(i));
+            assertEquals(
+                    expectedVariants.get(i),
+                    preprocessor.preprocess(lines.stream(), assignments.get(i)).collect(Collectors.toList()));
+        }
+    }
+}
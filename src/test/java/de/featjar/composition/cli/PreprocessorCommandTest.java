@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.composition.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.io.IO;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.io.binary.BooleanAssignmentListBinaryFormat;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the batch mode of {@link PreprocessorCommand}.
+ *
+ * @author agent
+ */
+public class PreprocessorCommandTest {
+
+    private static final String PLAIN_FILE = "a\r\nb\n\n  c";
+    private static final String ANNOTATED_FILE = "x\r\n#if A\r\ny\r\n#else\r\nz\r\n#endif\r\nw";
+
+    @TempDir
+    Path directory;
+
+    private Path input;
+    private Path output;
+    private Path sample;
+
+    private void createFiles() throws IOException {
+        input = directory.resolve("input");
+        output = directory.resolve("output");
+        sample = directory.resolve("sample.bin");
+        Files.createDirectories(input.resolve("src"));
+        Files.write(input.resolve("plain.txt"), PLAIN_FILE.getBytes(StandardCharsets.UTF_8));
+        Files.write(input.resolve("src").resolve("annotated.c"), ANNOTATED_FILE.getBytes(StandardCharsets.UTF_8));
+
+        BooleanAssignmentList configurations = new BooleanAssignmentList(new VariableMap(List.of("A", "B")));
+        configurations.add(new BooleanAssignment(1, -2));
+        configurations.add(new BooleanAssignment(-1, 2));
+        configurations.add(new BooleanAssignment(1, 2));
+        IO.save(configurations, sample, new BooleanAssignmentListBinaryFormat());
+    }
+
+    private int runBatch() {
+        return FeatJAR.runTest(
+                "preprocessor",
+                "--input",
+                input.toString(),
+                "--output",
+                output.toString(),
+                "--mode",
+                "PROCESS_BATCH",
+                "--sample",
+                sample.toString());
+    }
+
+    @Test
+    public void filesWithoutAnnotationsAreCopiedByteForByte() throws IOException {
+        createFiles();
+        assertEquals(0, runBatch());
+        for (String variant : List.of("0", "1")) {
+            assertArrayEquals(
+                    PLAIN_FILE.getBytes(StandardCharsets.UTF_8),
+                    Files.readAllBytes(output.resolve(variant).resolve("plain.txt")));
+        }
+    }
+
+    @Test
+    public void eachVariantIsWrittenToItsOwnDirectory() throws IOException {
+        createFiles();
+        assertEquals(0, runBatch());
+        assertEquals("x\r\ny\r\nw", read(output.resolve("0").resolve("src").resolve("annotated.c")));
+        assertEquals("x\r\nz\r\nw", read(output.resolve("1").resolve("src").resolve("annotated.c")));
+    }
+
+    @Test
+    public void configurationsThatAgreeOnAllVariablesOfAFileYieldTheSameVariant() throws IOException {
+        createFiles();
+        assertEquals(0, runBatch());
+        assertEquals("x\r\ny\r\nw", read(output.resolve("2").resolve("src").resolve("annotated.c")));
+    }
+
+    @Test
+    public void identicalFilesAreNotRewritten() throws IOException {
+        createFiles();
+        assertEquals(0, runBatch());
+
+        FileTime past = FileTime.fromMillis(0);
+        Path unchangedFile = output.resolve("0").resolve("src").resolve("annotated.c");
+        Path changedFile = output.resolve("1").resolve("src").resolve("annotated.c");
+        Files.setLastModifiedTime(unchangedFile, past);
+        Files.write(changedFile, "modified".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(changedFile, past);
+
+        assertEquals(0, runBatch());
+        assertEquals(past, Files.getLastModifiedTime(unchangedFile));
+        assertEquals("x\r\nz\r\nw", read(changedFile));
+        assertNotEquals(past, Files.getLastModifiedTime(changedFile));
+    }
+
+    @Test
+    public void batchModeWithoutSampleFails() throws IOException {
+        createFiles();
+        assertEquals(
+                1,
+                FeatJAR.runTest(
+                        "preprocessor",
+                        "--input",
+                        input.toString(),
+                        "--output",
+                        output.toString(),
+                        "--mode",
+                        "PROCESS_BATCH"));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
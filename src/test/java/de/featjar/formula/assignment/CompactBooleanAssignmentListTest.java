@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.metrics.DistanceMetrics;
+import de.featjar.formula.assignment.metrics.HammingDistance;
+import de.featjar.formula.assignment.metrics.ISampleMetric;
+import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.io.csv.BooleanAssignmentListCSVFormat;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CompactBooleanAssignmentList} against a list of assignment objects.
+ *
+ * @author Sebastian Krieter
+ */
+public class CompactBooleanAssignmentListTest {
+
+    private static final VariableMap VARIABLES = new VariableMap(List.of("a", "b", "c", "d", "e"));
+
+    @Test
+    public void randomModifications() {
+        Random random = new Random(1);
+        List<BooleanAssignment> expected = new ArrayList<>();
+        CompactBooleanAssignmentList list = new CompactBooleanAssignmentList(VARIABLES);
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(10);
+            BooleanAssignment assignment = createAssignment(random);
+            if (operation < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, assignment);
+                list.add(index, assignment);
+            } else if (operation < 7) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index).get());
+            } else if (operation < 9) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, assignment), list.get(index));
+                list.set(index, assignment);
+            } else {
+                list.trimToSize();
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getClass(), list.get(i).getClass());
+            assertArrayEquals(expected.get(i).get(), list.get(i).get());
+        }
+        assertEquals(expected, list.getAll());
+        assertEquals(expected, list.clone().getAll());
+        assertEquals(
+                expected,
+                new CompactBooleanAssignmentList(new BooleanAssignmentList(VARIABLES, expected)).getAll());
+    }
+
+    @Test
+    public void views() {
+        CompactBooleanAssignmentList list = new CompactBooleanAssignmentList(
+                VARIABLES,
+                List.of(
+                        new BooleanSolution(1, -2, 3, 0, 5),
+                        new BooleanClause(-1, 4),
+                        new BooleanSolution(-1, 2, 0, 4, -5),
+                        new BooleanAssignment(3)));
+        Iterator<BooleanAssignment> views = list.views().iterator();
+        BooleanAssignment first = views.next();
+        assertArrayEquals(new int[] {1, -2, 3, 0, 5}, first.get());
+        assertArrayEquals(new int[] {-1, 4}, views.next().get());
+        BooleanAssignment third = views.next();
+        assertSame(first, third);
+        assertArrayEquals(new int[] {-1, 2, 0, 4, -5}, third.get());
+        assertEquals(new BooleanSolution(-1, 2, 0, 4, -5).hashCode(), third.hashCode());
+        assertArrayEquals(new int[] {3}, views.next().get());
+        assertEquals(new BooleanSolution(1, -2, 3, 0, 5), list.get(0));
+    }
+
+    @Test
+    public void consumers() {
+        BooleanAssignmentList sample = new BooleanAssignmentList(
+                VARIABLES, new BooleanSolution(1, -2, 3, -4, 5), new BooleanSolution(-1, -2, 3, 4, 0));
+        CompactBooleanAssignmentList compactSample = new CompactBooleanAssignmentList(sample);
+        assertEquals(
+                new BooleanAssignmentListCSVFormat().serialize(sample).orElseThrow(),
+                new BooleanAssignmentListCSVFormat().serialize(compactSample).orElseThrow());
+        SampleBitIndex index = new SampleBitIndex(sample);
+        SampleBitIndex compactIndex = new SampleBitIndex(compactSample);
+        for (int literal = -5; literal <= 5; literal++) {
+            if (literal != 0) {
+                assertEquals(index.size(literal, 3), compactIndex.size(literal, 3));
+            }
+        }
+    }
+
+    @Test
+    public void literalAccessAndSelection() {
+        Random random = new Random(2);
+        List<BooleanAssignment> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(createAssignment(random));
+        }
+        BooleanAssignmentList list = new BooleanAssignmentList(VARIABLES, expected);
+        CompactBooleanAssignmentList compactList = new CompactBooleanAssignmentList(list);
+
+        int[][] literalArrays = compactList.getLiteralArrays();
+        assertEquals(expected.size(), literalArrays.length);
+        for (int i = 0; i < literalArrays.length; i++) {
+            assertArrayEquals(expected.get(i).get(), literalArrays[i]);
+            assertSame(expected.get(i).get(), list.getLiteralArrays()[i]);
+        }
+
+        int[] indices = {5, 3, 199, 0, 3};
+        CompactBooleanAssignmentList selection = compactList.copySelection(indices);
+        BooleanAssignmentList expectedSelection = list.copySelection(indices);
+        assertEquals(indices.length, selection.size());
+        for (int i = 0; i < indices.length; i++) {
+            assertSame(expected.get(indices[i]), expectedSelection.get(i));
+            assertSame(expected.get(indices[i]).getClass(), selection.get(i).getClass());
+            assertArrayEquals(expected.get(indices[i]).get(), selection.get(i).get());
+        }
+
+        // assignments returned by get are copies, changes must be stored explicitly
+        BooleanAssignment copy = compactList.get(0);
+        int[] original = copy.get().clone();
+        if (copy.get().length > 0) {
+            copy.get()[0] = -copy.get()[0];
+            assertArrayEquals(original, compactList.get(0).get());
+            compactList.set(0, copy);
+            assertArrayEquals(copy.get(), compactList.get(0).get());
+        }
+    }
+
+    @Test
+    public void remap() {
+        Random random = new Random(4);
+        BooleanAssignmentList list = new BooleanAssignmentList(VARIABLES);
+        for (int i = 0; i < 200; i++) {
+            list.add(createAssignment(random));
+        }
+        CompactBooleanAssignmentList compactList = new CompactBooleanAssignmentList(list);
+        RemappingPlan remappingPlan =
+                new RemappingPlan(VARIABLES, new VariableMap(List.of("e", "f", "c", "a", "d", "b")));
+
+        BooleanAssignmentList expected = list.remap(remappingPlan);
+        CompactBooleanAssignmentList remapped = compactList.remap(remappingPlan);
+        assertSame(remappingPlan.getNewVariableMap(), remapped.getVariableMap());
+        assertEquals(expected.size(), remapped.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getClass(), remapped.get(i).getClass());
+            assertArrayEquals(expected.get(i).get(), remapped.get(i).get());
+        }
+        assertEquals(compactList.getAll(), new CompactBooleanAssignmentList(list).getAll());
+    }
+
+    @Test
+    public void distanceMetrics() {
+        Random random = new Random(3);
+        BooleanAssignmentList sample = new BooleanAssignmentList(VARIABLES);
+        for (int i = 0; i < 50; i++) {
+            int[] literals = new int[VARIABLES.size()];
+            for (int j = 0; j < literals.length; j++) {
+                literals[j] = random.nextBoolean() ? j + 1 : -(j + 1);
+            }
+            sample.add(new BooleanSolution(literals));
+        }
+        CompactBooleanAssignmentList compactSample = new CompactBooleanAssignmentList(sample);
+        for (boolean streaming : new boolean[] {false, true}) {
+            List<ISampleMetric> metrics = DistanceMetrics.getAllAggregates(new HammingDistance(), streaming);
+            List<ISampleMetric> compactMetrics = DistanceMetrics.getAllAggregates(new HammingDistance(), streaming);
+            for (int i = 0; i < metrics.size(); i++) {
+                assertEquals(metrics.get(i).get(sample), compactMetrics.get(i).get(compactSample), 1e-9);
+            }
+        }
+    }
+
+    private static BooleanAssignment createAssignment(Random random) {
+        int[] literals = new int[random.nextInt(VARIABLES.size() + 1)];
+        switch (random.nextInt(3)) {
+            case 0:
+                for (int i = 0; i < literals.length; i++) {
+                    literals[i] = (random.nextInt(VARIABLES.size()) + 1) * (random.nextBoolean() ? 1 : -1);
+                }
+                return new BooleanAssignment(literals);
+            case 1:
+                for (int i = 0; i < literals.length; i++) {
+                    literals[i] = (i + 1) * (random.nextBoolean() ? 1 : -1);
+                }
+                return new BooleanClause(literals);
+            default:
+                literals = new int[VARIABLES.size()];
+                for (int i = 0; i < literals.length; i++) {
+                    literals[i] = random.nextInt(3) == 0 ? 0 : (i + 1) * (random.nextBoolean() ? 1 : -1);
+                }
+                return new BooleanSolution(literals, false);
+        }
+    }
+}
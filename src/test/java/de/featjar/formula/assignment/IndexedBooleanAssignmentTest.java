@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the variable-set operations of {@link BooleanAssignment} and {@link IndexedBooleanAssignment} against naive
+ * implementations.
+ *
+ * @author Sebastian Krieter
+ */
+public class IndexedBooleanAssignmentTest {
+
+    private static final int NUMBER_OF_VARIABLES = 20;
+
+    @Test
+    public void uniqueVariables() {
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            check(createLiterals(random, true, 1), random, 1);
+        }
+    }
+
+    @Test
+    public void repeatedVariablesAndZeros() {
+        Random random = new Random(2);
+        for (int i = 0; i < 500; i++) {
+            check(createLiterals(random, false, 1), random, 1);
+        }
+    }
+
+    @Test
+    public void sparseVariables() {
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            check(createLiterals(random, random.nextBoolean(), 1000), random, 1000);
+        }
+    }
+
+    @Test
+    public void negativeVariable() {
+        IndexedBooleanAssignment assignment = new IndexedBooleanAssignment(1, -2, 3);
+        assertThrows(IllegalArgumentException.class, () -> assignment.indexOfVariable(-2));
+        assertThrows(IllegalArgumentException.class, () -> assignment.retainAllVariablesInts(2, -3));
+        assertThrows(
+                IllegalArgumentException.class, () -> new BooleanAssignment(1, -2, 3).removeAllVariablesInts(-1));
+    }
+
+    private static void check(int[] literals, Random random, int scale) {
+        BooleanAssignment assignment = new BooleanAssignment(literals);
+        IndexedBooleanAssignment indexedAssignment = new IndexedBooleanAssignment(literals);
+        int[] otherLiterals = createLiterals(random, random.nextBoolean(), scale);
+        int[] variables = IntStream.of(otherLiterals).map(Math::abs).toArray();
+
+        for (int i = -NUMBER_OF_VARIABLES - 1; i <= NUMBER_OF_VARIABLES + 1; i++) {
+            int literal = i * scale;
+            assertEquals(indexOf(literals, literal), indexedAssignment.indexOf(literal));
+            assertArrayEquals(indicesOf(literals, literal), indexedAssignment.indicesOf(literal));
+            if (literal >= 0) {
+                assertEquals(indexOfVariable(literals, literal), assignment.indexOfVariable(literal));
+                assertEquals(indexOfVariable(literals, literal), indexedAssignment.indexOfVariable(literal));
+                assertArrayEquals(indicesOfVariable(literals, literal), indexedAssignment.indicesOfVariable(literal));
+            }
+        }
+
+        int[] retained = filter(literals, e -> IntStream.of(variables).anyMatch(v -> v == Math.abs(e)));
+        int[] removed = filter(literals, e -> IntStream.of(variables).noneMatch(v -> v == Math.abs(e)));
+        int[] retainedNegated = filter(literals, e -> IntStream.of(otherLiterals).anyMatch(l -> l == -e));
+        boolean containsAllVariables = IntStream.of(variables).allMatch(v -> indexOfVariable(literals, v) >= 0);
+        boolean containsAnyVariable = IntStream.of(variables).anyMatch(v -> indexOfVariable(literals, v) >= 0);
+        boolean containsAll = IntStream.of(otherLiterals).allMatch(l -> indexOf(literals, l) >= 0);
+
+        for (BooleanAssignment a : Arrays.asList(assignment, indexedAssignment)) {
+            assertArrayEquals(retained, a.retainAllVariablesInts(variables));
+            assertArrayEquals(removed, a.removeAllVariablesInts(variables));
+            assertArrayEquals(retainedNegated, a.retainAllNegatedInts(otherLiterals));
+            assertEquals(containsAllVariables, a.containsAllVariables(variables));
+            assertEquals(containsAnyVariable, a.containsAnyVariable(variables));
+            assertEquals(!containsAnyVariable, a.containsNoneVariables(variables));
+            assertEquals(containsAll, a.containsAll(otherLiterals));
+        }
+    }
+
+    private static int[] createLiterals(Random random, boolean uniqueVariables, int scale) {
+        int[] literals = IntStream.rangeClosed(1, NUMBER_OF_VARIABLES)
+                .map(v -> random.nextBoolean() ? v * scale : -v * scale)
+                .toArray();
+        for (int i = literals.length - 1; i > 0; i--) {
+            int swapIndex = random.nextInt(i + 1);
+            int temp = literals[i];
+            literals[i] = literals[swapIndex];
+            literals[swapIndex] = temp;
+        }
+        int size = random.nextInt(NUMBER_OF_VARIABLES + 1);
+        if (uniqueVariables) {
+            return Arrays.copyOf(literals, size);
+        }
+        return IntStream.range(0, size)
+                .map(i -> random.nextInt(5) == 0 ? 0 : literals[random.nextInt(literals.length)])
+                .toArray();
+    }
+
+    private static int[] filter(int[] literals, IntPredicate predicate) {
+        return IntStream.of(literals).filter(predicate).toArray();
+    }
+
+    private static int indexOf(int[] literals, int literal) {
+        int[] indices = indicesOf(literals, literal);
+        return indices.length > 0 ? indices[0] : -1;
+    }
+
+    private static int[] indicesOf(int[] literals, int literal) {
+        return IntStream.range(0, literals.length)
+                .filter(i -> literals[i] == literal)
+                .toArray();
+    }
+
+    private static int indexOfVariable(int[] literals, int variable) {
+        int[] indices = indicesOfVariable(literals, variable);
+        return indices.length > 0 ? indices[0] : -1;
+    }
+
+    private static int[] indicesOfVariable(int[] literals, int variable) {
+        return IntStream.range(0, literals.length)
+                .filter(i -> Math.abs(literals[i]) == variable)
+                .toArray();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link RemappingPlan}.
+ *
+ * @author Sebastian Krieter
+ */
+public class RemappingPlanTest {
+
+    private static final VariableMap OLD_MAP = new VariableMap(List.of("a", "b", "c", "d"));
+    private static final VariableMap NEW_MAP = new VariableMap(List.of("d", "c", "x", "a", "b"));
+
+    @Test
+    public void remapLiterals() {
+        RemappingPlan plan = new RemappingPlan(OLD_MAP, NEW_MAP);
+        assertFalse(plan.isIdentity());
+        assertTrue(plan.appliesTo(new VariableMap(OLD_MAP), NEW_MAP));
+        assertArrayEquals(new int[] {4, -5, 2, -1, 0}, plan.remap(new int[] {1, -2, 3, -4, 0}));
+        assertTrue(new RemappingPlan(OLD_MAP, new VariableMap(OLD_MAP)).isIdentity());
+    }
+
+    @Test
+    public void missingVariable() {
+        RemappingPlan plan = new RemappingPlan(NEW_MAP, OLD_MAP);
+        assertEquals(-3, plan.remapLiteral(-2));
+        assertThrows(IllegalArgumentException.class, () -> plan.remapLiteral(3));
+        assertThrows(IllegalArgumentException.class, () -> plan.remapLiteral(6));
+    }
+
+    @Test
+    public void remapList() {
+        BooleanAssignmentList list = new BooleanAssignmentList(
+                OLD_MAP,
+                new BooleanAssignment(1, -3),
+                new BooleanClause(-2, 4),
+                new BooleanSolution(new int[] {1, -2, 0, 4}, false));
+        BooleanAssignmentList remappedList = list.remap(new RemappingPlan(OLD_MAP, NEW_MAP));
+
+        assertSame(NEW_MAP, remappedList.getVariableMap());
+        assertEquals(3, remappedList.size());
+        assertEquals(BooleanAssignment.class, remappedList.get(0).getClass());
+        assertArrayEquals(new int[] {4, -2}, remappedList.get(0).get());
+        assertEquals(new BooleanClause(-5, 1), remappedList.get(1));
+        assertEquals(BooleanSolution.class, remappedList.get(2).getClass());
+        assertArrayEquals(new int[] {1, 0, 0, 4, -5}, remappedList.get(2).get());
+        assertEquals(remappedList, list.remap(NEW_MAP));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.CompactBooleanAssignmentList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link StreamingStatistics} and {@link QuantileSketch}.
+ *
+ * @author Sebastian Krieter
+ */
+public class StreamingStatisticsTest {
+
+    @Test
+    public void exactForSmallStreams() {
+        final Random random = new Random(1);
+        for (int n = 1; n < 100; n++) {
+            final double[] values = new double[n];
+            final StreamingStatistics statistics = new StreamingStatistics();
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt(20) / 3.0;
+                statistics.add(values[i]);
+            }
+            final double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            final int middle = n / 2;
+            final double median = (n % 2 != 0) ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+            final double mean = Arrays.stream(values).sum() / n;
+            final double variance = Arrays.stream(values).map(v -> (v - mean) * (v - mean)).sum() / n;
+
+            assertTrue(statistics.getSketch().isExact());
+            assertEquals(n, statistics.getCount());
+            assertEquals(sorted[0], statistics.getMin());
+            assertEquals(sorted[n - 1], statistics.getMax());
+            assertEquals(median, statistics.getMedian());
+            assertEquals(mean, statistics.getMean(), 1e-9);
+            assertEquals(variance, statistics.getVariance(), 1e-9);
+        }
+    }
+
+    @Test
+    public void mergedApproximateQuantiles() {
+        final int n = 200_000;
+        final int capacity = 256;
+        final Random random = new Random(2);
+        final double[] values = new double[n];
+        final StreamingStatistics[] parts = new StreamingStatistics[5];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new StreamingStatistics(capacity);
+        }
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextGaussian();
+            parts[i % parts.length].add(values[i]);
+        }
+        final StreamingStatistics statistics = parts[0];
+        for (int p = 1; p < parts.length; p++) {
+            statistics.merge(parts[p]);
+        }
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final double mean = Arrays.stream(values).sum() / n;
+
+        assertFalse(statistics.getSketch().isExact());
+        assertEquals(n, statistics.getCount());
+        assertEquals(sorted[0], statistics.getMin());
+        assertEquals(sorted[n - 1], statistics.getMax());
+        assertEquals(mean, statistics.getMean(), 1e-9);
+        final double maxRankError = (Math.log((double) n / capacity) / Math.log(2)) / capacity;
+        for (double fraction : new double[] {0.01, 0.1, 0.5, 0.9, 0.99}) {
+            final int rank = Arrays.binarySearch(sorted, statistics.getSketch().getQuantile(fraction));
+            assertEquals(fraction, (double) rank / n, maxRankError);
+        }
+    }
+
+    @Test
+    public void streamingDistanceMetricsMatchStoredValues() {
+        final int variableCount = 20;
+        final Random random = new Random(3);
+        final BooleanAssignmentList sample = new BooleanAssignmentList(new VariableMap());
+        for (int i = 0; i < 50; i++) {
+            final int[] literals = new int[variableCount];
+            for (int v = 0; v < variableCount; v++) {
+                literals[v] = random.nextBoolean() ? v + 1 : -(v + 1);
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+        for (IDistanceFunction function : List.of(new HammingDistance(), new JaccardSelectedDistance())) {
+            checkStreamingDistanceMetrics(function, sample, false);
+            checkStreamingDistanceMetrics(function, sample, true);
+        }
+    }
+
+    @Test
+    public void streamingCountMetricsMatchStoredValues() {
+        final int variableCount = 30;
+        final Random random = new Random(4);
+        final BooleanAssignmentList sample = new CompactBooleanAssignmentList(new VariableMap());
+        for (int i = 0; i < 3000; i++) {
+            final int[] literals = new int[1 + random.nextInt(variableCount)];
+            for (int v = 0; v < literals.length; v++) {
+                literals[v] = random.nextBoolean() ? v + 1 : -(v + 1);
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+        final List<ISampleMetric> aggregates = CountMetrics.getAllAggregates(new PositiveCount(), false);
+        final List<ISampleMetric> streamingAggregates = CountMetrics.getAllAggregates(new PositiveCount(), true);
+        for (int i = 0; i < aggregates.size(); i++) {
+            assertEquals(aggregates.get(i).getName(), streamingAggregates.get(i).getName());
+            assertEquals(aggregates.get(i).get(sample), streamingAggregates.get(i).get(sample), 1e-9);
+        }
+    }
+
+    private static void checkStreamingDistanceMetrics(
+            IDistanceFunction function, BooleanAssignmentList sample, boolean reversed) {
+        final List<ISampleMetric> aggregates = DistanceMetrics.getAllAggregates(function, false);
+        final List<ISampleMetric> streamingAggregates = DistanceMetrics.getAllAggregates(function, true);
+        for (int k = 0; k < aggregates.size(); k++) {
+            final int i = reversed ? aggregates.size() - 1 - k : k;
+            assertEquals(aggregates.get(i).getName(), streamingAggregates.get(i).getName());
+            assertEquals(aggregates.get(i).get(sample), streamingAggregates.get(i).get(sample), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link VantagePointTree}.
+ *
+ * @author Sebastian Krieter
+ */
+public class VantagePointTreeTest {
+
+    private static int[][] createConfigurations(int size, int variableCount, long seed) {
+        final Random random = new Random(seed);
+        final int[][] configurations = new int[size][variableCount];
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && random.nextInt(10) == 0) {
+                configurations[i] = configurations[random.nextInt(i)].clone();
+            } else {
+                for (int v = 0; v < variableCount; v++) {
+                    configurations[i][v] = random.nextBoolean() ? v + 1 : -(v + 1);
+                }
+            }
+        }
+        return configurations;
+    }
+
+    private static void check(int[][] configurations, IDistanceFunction function, double epsilon) {
+        final VantagePointTree tree = new VantagePointTree(configurations, function, new Random(1));
+        assertEquals(configurations.length, tree.size());
+        for (int i = 0; i < configurations.length; i++) {
+            double nearest = Double.MAX_VALUE;
+            double farthest = 0;
+            for (int j = 0; j < configurations.length; j++) {
+                if (i != j) {
+                    final double d = function.computeDistance(configurations[i], configurations[j]);
+                    nearest = Math.min(nearest, d);
+                    farthest = Math.max(farthest, d);
+                }
+            }
+            final double nearestResult = tree.getNearestDistance(i, epsilon);
+            final double farthestResult = tree.getFarthestDistance(i, epsilon);
+            if (epsilon == 0) {
+                assertEquals(nearest, nearestResult);
+                assertEquals(farthest, farthestResult);
+            } else {
+                assertTrue(nearestResult >= nearest && nearestResult <= nearest * (1 + epsilon));
+                assertTrue(farthestResult <= farthest && farthestResult * (1 + epsilon) >= farthest);
+            }
+        }
+    }
+
+    @Test
+    public void exactHamming() {
+        check(createConfigurations(500, 40, 2), new HammingDistance(), 0);
+    }
+
+    @Test
+    public void exactEuclidean() {
+        check(createConfigurations(500, 40, 3), new EuclideanDistance(), 0);
+    }
+
+    @Test
+    public void approximateHamming() {
+        check(createConfigurations(500, 40, 4), new HammingDistance(), 0.5);
+    }
+
+    @Test
+    public void singlePoint() {
+        final VantagePointTree tree =
+                new VantagePointTree(createConfigurations(1, 5, 5), new HammingDistance(), new Random(1));
+        assertEquals(Double.MAX_VALUE, tree.getNearestDistance(0, 0));
+        assertEquals(0.0, tree.getFarthestDistance(0, 0));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.combination;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.BinomialCalculator;
+import de.featjar.formula.VariableMap;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CombinationRanks}.
+ *
+ * @author Sebastian Krieter
+ */
+public class CombinationRanksTest {
+
+    @Test
+    public void unrankIsConsistentWithNext() {
+        for (int n = 1; n <= 8; n++) {
+            for (int t = 1; t <= n; t++) {
+                checkEnumeration(n, t);
+            }
+        }
+    }
+
+    @Test
+    public void rankRangesPartitionCombinations() {
+        VariableMap variableMap = new VariableMap(
+                IntStream.rangeClosed(1, 7).mapToObj(i -> "x" + i).collect(Collectors.toList()));
+        checkPartition(new LiteralCombinationSpecification(3, new int[] {1, -2, 3, -4, 5, 6, -7}, variableMap));
+        checkPartition(new VariableCombinationSpecification(2, variableMap));
+        checkPartition(new MultiCombinationSpecification(
+                new VariableCombinationSpecification(1, variableMap),
+                new VariableCombinationSpecification(3, variableMap)));
+        checkPartition(new LiteralSetsCombinationSpecification(
+                new int[] {2, 1, 2}, new int[][] {{1, -2, 3}, {4, -5}, {-6, 7, -1, 2}}, variableMap));
+    }
+
+    @Test
+    public void rankRangesStayDisjointWhenShuffledOrReduced() {
+        VariableMap variableMap = new VariableMap(
+                IntStream.rangeClosed(1, 7).mapToObj(i -> "x" + i).collect(Collectors.toList()));
+        VariableCombinationSpecification specification = new VariableCombinationSpecification(3, variableMap);
+        long split = specification.rankCount() / 3;
+        RankRangeCombinationSpecification first =
+                new RankRangeCombinationSpecification(specification.copy(), 0, split);
+        RankRangeCombinationSpecification second =
+                new RankRangeCombinationSpecification(specification.copy(), split, specification.rankCount());
+
+        first.shuffleElements(new Random(42));
+        second.shuffleElements(new Random(42));
+        checkDisjointUnion(specification, first, second);
+
+        RankRangeCombinationSpecification reducedFirst = first.reduceTTo(2);
+        RankRangeCombinationSpecification reducedSecond = second.reduceTTo(2);
+        checkDisjointUnion(specification.reduceTTo(2), reducedFirst, reducedSecond);
+    }
+
+    private static void checkDisjointUnion(ICombinationSpecification expected, ICombinationSpecification... parts) {
+        Set<String> actual = new HashSet<>();
+        for (ICombinationSpecification part : parts) {
+            for (String combination : collect(part::forEach)) {
+                assertTrue(actual.add(combination), combination);
+            }
+        }
+        assertEquals(collect(expected::forEach), actual);
+    }
+
+    private static void checkEnumeration(int n, int t) {
+        long[][] binomials = CombinationRanks.binomials(n, t);
+        long count = BinomialCalculator.computeBinomial(n, t);
+        assertEquals(count, binomials[n][t]);
+
+        int[] indices = new int[t];
+        int[] expected = new int[t];
+        CombinationRanks.unrank(0, binomials, indices);
+        for (long rank = 0; rank < count; rank++) {
+            CombinationRanks.unrank(rank, binomials, expected);
+            assertArrayEquals(expected, indices, String.format("n=%d, t=%d, rank=%d", n, t, rank));
+            for (int i = 1; i < t; i++) {
+                assertTrue(indices[i - 1] < indices[i]);
+            }
+            assertTrue(indices[t - 1] < n);
+            boolean hasNext = CombinationRanks.next(indices, n);
+            assertEquals(rank + 1 < count, hasNext);
+        }
+        assertFalse(CombinationRanks.next(indices, n));
+    }
+
+    private static void checkPartition(ICombinationSpecification specification) {
+        Set<String> expected = collect(specification::forEach);
+        assertEquals(specification.loopCount(), expected.size());
+
+        long rankCount = specification.rankCount();
+        Set<String> actual = new HashSet<>();
+        long split = rankCount / 3;
+        List<long[]> ranges = Arrays.asList(new long[] {0, split}, new long[] {split, rankCount});
+        for (long[] range : ranges) {
+            Set<String> part = collect(consumer -> specification.forEachParallel(
+                    range[0],
+                    range[1],
+                    (Object environment, int[] combination) -> consumer.accept(combination),
+                    () -> null));
+            for (String combination : part) {
+                assertTrue(actual.add(combination), combination);
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static Set<String> collect(Consumer<Consumer<int[]>> iteration) {
+        Set<String> combinations = new HashSet<>();
+        iteration.accept(combination -> {
+            int[] sorted = Arrays.copyOf(combination, combination.length);
+            Arrays.sort(sorted);
+            String key = Arrays.toString(sorted);
+            synchronized (combinations) {
+                combinations.add(key);
+            }
+        });
+        return combinations;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.io.IO;
+import de.featjar.base.io.format.IFormat;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.IInteractionSink;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.io.binary.CoverageCheckpointBinaryFormat;
+import de.featjar.formula.io.binary.SampleReducerCheckpointBinaryFormat;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests saving, interrupting, and resuming computations with a {@link Checkpoint}.
+ *
+ * @author agent
+ */
+public class CheckpointTest {
+
+    private static class KilledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Simulates an interruption of the computation directly after the given number of checkpoints was written.
+     */
+    private static class KillingCheckpoint extends Checkpoint {
+        private int remainingSaves;
+
+        public KillingCheckpoint(Path file, int numberOfSaves) {
+            super(file, 0, true);
+            remainingSaves = numberOfSaves;
+        }
+
+        @Override
+        public <T> void save(T state, IFormat<T> format) {
+            super.save(state, format);
+            if (--remainingSaves == 0) {
+                throw new KilledException();
+            }
+        }
+    }
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("a", "b", "c", "d", "e", "f", "g", "h"));
+
+    private static final BooleanAssignmentList SAMPLE = new BooleanAssignmentList(
+            VARIABLE_MAP,
+            new BooleanSolution(1, 2, 3, 4, 5, 6, 7, 8),
+            new BooleanSolution(-1, -2, -3, -4, -5, -6, -7, -8),
+            new BooleanSolution(1, 2, -3, 4, -5, 6, -7, 8),
+            new BooleanSolution(-1, -2, 3, -4, 5, -6, 7, -8),
+            new BooleanSolution(1, 2, 3, -4, -5, 6, 7, -8));
+
+    private static final BooleanAssignmentList OTHER_SAMPLE = new BooleanAssignmentList(
+            VARIABLE_MAP,
+            new BooleanSolution(1, 2, 3, 4, 5, 6, 7, 8),
+            new BooleanSolution(-1, -2, -3, -4, -5, -6, -7, -8),
+            new BooleanSolution(1, -2, -3, 4, -5, 6, -7, 8),
+            new BooleanSolution(-1, 2, 3, -4, 5, -6, 7, -8),
+            new BooleanSolution(1, 2, 3, -4, -5, 6, 7, -8));
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void coverageResumesFromCheckpoint() {
+        Path file = directory.resolve("coverage.ckpt");
+        CoverageStatistic expected = coverage(SAMPLE, Checkpoint.none(), IInteractionSink.none());
+
+        computeUntilKilled(coverageComputation(SAMPLE, new KillingCheckpoint(file, 10), IInteractionSink.none()));
+        CoverageCheckpoint state =
+                IO.load(file, new CoverageCheckpointBinaryFormat()).orElseThrow();
+        assertEquals(10, state.getNextRank());
+
+        AtomicLong reported = new AtomicLong();
+        CoverageStatistic actual =
+                coverage(SAMPLE, new Checkpoint(file, 0, true), literals -> reported.incrementAndGet());
+        assertStatisticEquals(expected, actual);
+        assertTrue(reported.get() < expected.uncovered(), "Computation was not resumed.");
+    }
+
+    @Test
+    public void resumedCoverageOnlyReportsRemainingInteractions() {
+        Path file = directory.resolve("coverage.ckpt");
+        Set<String> expected = ConcurrentHashMap.newKeySet();
+        coverage(SAMPLE, Checkpoint.none(), literals -> expected.add(Arrays.toString(literals)));
+
+        Set<String> beforeCheckpoint = ConcurrentHashMap.newKeySet();
+        computeUntilKilled(coverageComputation(
+                SAMPLE,
+                new KillingCheckpoint(file, 10),
+                literals -> beforeCheckpoint.add(Arrays.toString(literals))));
+        Set<String> afterCheckpoint = ConcurrentHashMap.newKeySet();
+        coverage(SAMPLE, new Checkpoint(file, 0, true), literals -> afterCheckpoint.add(Arrays.toString(literals)));
+
+        assertTrue(Collections.disjoint(beforeCheckpoint, afterCheckpoint));
+        Set<String> actual = new HashSet<>(beforeCheckpoint);
+        actual.addAll(afterCheckpoint);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void coverageDoesNotResumeCheckpointOfDifferentSample() {
+        Path file = directory.resolve("coverage.ckpt");
+        CoverageStatistic expected = coverage(OTHER_SAMPLE, Checkpoint.none(), IInteractionSink.none());
+
+        computeUntilKilled(coverageComputation(SAMPLE, new KillingCheckpoint(file, 10), IInteractionSink.none()));
+
+        AtomicLong reported = new AtomicLong();
+        CoverageStatistic actual =
+                coverage(OTHER_SAMPLE, new Checkpoint(file, 0, true), literals -> reported.incrementAndGet());
+        assertStatisticEquals(expected, actual);
+        assertEquals(expected.uncovered(), reported.get());
+    }
+
+    @Test
+    public void sampleReductionResumesFromCheckpoint() {
+        Path file = directory.resolve("reducer.ckpt");
+
+        computeUntilKilled(reducerComputation(SAMPLE, new KillingCheckpoint(file, 1)));
+        SampleReducerCheckpoint state =
+                IO.load(file, new SampleReducerCheckpointBinaryFormat()).orElseThrow();
+
+        BooleanAssignmentList reduced =
+                reducerComputation(SAMPLE, new Checkpoint(file, 0, true)).compute();
+        Set<String> reducedConfigurations = keys(reduced);
+        for (int index : state.getSelectedConfigurations()) {
+            assertTrue(reducedConfigurations.contains(Arrays.toString(SAMPLE.get(index).get())));
+        }
+        assertTrue(keys(SAMPLE).containsAll(reducedConfigurations));
+        assertStatisticEquals(
+                coverage(SAMPLE, Checkpoint.none(), IInteractionSink.none()),
+                coverage(reduced, Checkpoint.none(), IInteractionSink.none()));
+    }
+
+    @Test
+    public void sampleReductionDoesNotResumeCheckpointOfDifferentSample() {
+        Path file = directory.resolve("reducer.ckpt");
+
+        computeUntilKilled(reducerComputation(SAMPLE, new KillingCheckpoint(file, 1)));
+        SampleReducerCheckpoint state =
+                IO.load(file, new SampleReducerCheckpointBinaryFormat()).orElseThrow();
+
+        BooleanAssignmentList reduced =
+                reducerComputation(OTHER_SAMPLE, new Checkpoint(file, 0, true)).compute();
+        SampleReducerCheckpoint otherState =
+                IO.load(file, new SampleReducerCheckpointBinaryFormat()).orElseThrow();
+        assertNotEquals(state.getFingerprint(), otherState.getFingerprint());
+        assertTrue(keys(OTHER_SAMPLE).containsAll(keys(reduced)));
+        assertStatisticEquals(
+                coverage(OTHER_SAMPLE, Checkpoint.none(), IInteractionSink.none()),
+                coverage(reduced, Checkpoint.none(), IInteractionSink.none()));
+    }
+
+    private static IComputation<CoverageStatistic> coverageComputation(
+            BooleanAssignmentList sample, Checkpoint checkpoint, IInteractionSink uncoveredInteractions) {
+        return Computations.of(sample)
+                .map(ComputeAbsoluteTWiseCoverage::new)
+                .set(AComputeTWiseCoverage.COMBINATION_SET, new VariableCombinationSpecification(2, VARIABLE_MAP))
+                .set(AComputeTWiseCoverage.CHECKPOINT, checkpoint)
+                .set(AComputeTWiseCoverage.UNCOVERED_INTERACTIONS, uncoveredInteractions);
+    }
+
+    private static CoverageStatistic coverage(
+            BooleanAssignmentList sample, Checkpoint checkpoint, IInteractionSink uncoveredInteractions) {
+        return coverageComputation(sample, checkpoint, uncoveredInteractions).compute();
+    }
+
+    private static IComputation<BooleanAssignmentList> reducerComputation(
+            BooleanAssignmentList sample, Checkpoint checkpoint) {
+        return Computations.of(sample)
+                .map(GreedySampleReducer::new)
+                .set(GreedySampleReducer.T, 2)
+                .set(GreedySampleReducer.CHECKPOINT, checkpoint);
+    }
+
+    private static void computeUntilKilled(IComputation<?> computation) {
+        try {
+            computation.computeResult();
+        } catch (KilledException e) {
+            // expected, the computation may also report the exception as a problem
+        }
+    }
+
+    private static Set<String> keys(BooleanAssignmentList list) {
+        Set<String> keys = new HashSet<>();
+        for (BooleanAssignment assignment : list) {
+            keys.add(Arrays.toString(assignment.get()));
+        }
+        return keys;
+    }
+
+    private static void assertStatisticEquals(CoverageStatistic expected, CoverageStatistic actual) {
+        assertEquals(expected.total(), actual.total());
+        assertEquals(expected.covered(), actual.covered());
+        assertEquals(expected.uncovered(), actual.uncovered());
+        assertEquals(expected.ignored(), actual.ignored());
+        assertEquals(expected.invalid(), actual.invalid());
+    }
+}
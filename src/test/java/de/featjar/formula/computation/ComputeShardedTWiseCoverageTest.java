@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Result;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ComputeShardedTWiseCoverage} against {@link ComputeAbsoluteTWiseCoverage}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeShardedTWiseCoverageTest {
+
+    /**
+     * Replaces the workers of all shards but the first by the given command.
+     */
+    private static class FaultyShardedTWiseCoverage extends ComputeShardedTWiseCoverage {
+        private final List<String> faultyCommand;
+
+        public FaultyShardedTWiseCoverage(IComputation<BooleanAssignmentList> sample, List<String> faultyCommand) {
+            super(sample);
+            this.faultyCommand = faultyCommand;
+        }
+
+        public FaultyShardedTWiseCoverage(FaultyShardedTWiseCoverage other) {
+            super(other);
+            faultyCommand = other.faultyCommand;
+        }
+
+        @Override
+        protected List<String> workerCommand(
+                Path sampleFile, Path partialFile, int t, long fromRank, long toRank, int threads) {
+            return fromRank == 0
+                    ? super.workerCommand(sampleFile, partialFile, t, fromRank, toRank, threads)
+                    : new ArrayList<>(faultyCommand);
+        }
+    }
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("a", "b", "c", "d", "e"));
+
+    private static final BooleanAssignmentList SAMPLE = new BooleanAssignmentList(
+            VARIABLE_MAP,
+            new BooleanSolution(1, 2, 3, 4, 5),
+            new BooleanSolution(-1, -2, -3, -4, -5),
+            new BooleanSolution(1, -2, 3, -4, 5),
+            new BooleanSolution(-1, 2, -3, 4, 5));
+
+    private static final String PARALLELISM_PROPERTY = "java.util.concurrent.ForkJoinPool.common.parallelism";
+
+    private static final String JAVA =
+            Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void shardedCoverageEqualsLocalCoverage() {
+        CoverageStatistic expected = Computations.of(SAMPLE)
+                .map(ComputeAbsoluteTWiseCoverage::new)
+                .set(AComputeTWiseCoverage.COMBINATION_SET, new VariableCombinationSpecification(2, VARIABLE_MAP))
+                .compute();
+        CoverageStatistic actual = Computations.of(SAMPLE)
+                .map(ComputeShardedTWiseCoverage::new)
+                .set(ComputeShardedTWiseCoverage.T, 2)
+                .set(ComputeShardedTWiseCoverage.NUMBER_OF_SHARDS, 3)
+                .compute();
+
+        assertEquals(expected.total(), actual.total());
+        assertEquals(expected.covered(), actual.covered());
+        assertEquals(expected.uncovered(), actual.uncovered());
+        assertEquals(expected.ignored(), actual.ignored());
+        assertEquals(expected.invalid(), actual.invalid());
+    }
+
+    @Test
+    public void workerInheritsVirtualMachineArguments() {
+        List<String> command = new ComputeShardedTWiseCoverage(Computations.of(SAMPLE))
+                .workerCommand(Path.of("sample.bin"), Path.of("partial.ckpt"), 2, 0, 10, 1);
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!argument.contains("jdwp") && !argument.startsWith("-D" + PARALLELISM_PROPERTY)) {
+                assertTrue(command.contains(argument), argument);
+            }
+        }
+        assertEquals(
+                List.of("-D" + PARALLELISM_PROPERTY + "=0"),
+                command.stream()
+                        .filter(argument -> argument.startsWith("-D" + PARALLELISM_PROPERTY))
+                        .collect(Collectors.toList()));
+        assertTrue(command.indexOf(ComputeShardedTWiseCoverage.WORKER_MAIN_CLASS) > command.indexOf("-cp"));
+    }
+
+    @Test
+    public void failedWorkerIsReported() {
+        assertFails(List.of(JAVA, "-cp", System.getProperty("java.class.path"), "de.featjar.NoSuchMainClass"));
+    }
+
+    @Test
+    public void missingStatisticIsReported() {
+        assertFails(List.of(JAVA, "-version"));
+    }
+
+    private static void assertFails(List<String> faultyCommand) {
+        Result<CoverageStatistic> result = Computations.of(SAMPLE)
+                .map(sample -> new FaultyShardedTWiseCoverage(sample, faultyCommand))
+                .set(ComputeShardedTWiseCoverage.T, 2)
+                .set(ComputeShardedTWiseCoverage.NUMBER_OF_SHARDS, 3)
+                .computeResult();
+        assertFalse(result.isPresent());
+        assertTrue(result.hasProblems());
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanAssignmentList.ReadOnlyBooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.ValuedBooleanAssignment;
+import de.featjar.formula.assignment.ValuedBooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ComputeSortedSample} and {@link ComputeRankedSample} against a sequential reference ordering.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeSortedSampleTest {
+
+    private static final int VARIABLE_COUNT = 8;
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static BooleanAssignmentList createSample(Random random, int size) {
+        VariableMap variableMap = new VariableMap(
+                IntStream.rangeClosed(1, VARIABLE_COUNT).mapToObj(i -> "v" + i).collect(Collectors.toList()));
+        BooleanAssignmentList sample = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[VARIABLE_COUNT];
+            for (int v = 0; v < VARIABLE_COUNT; v++) {
+                literals[v] = random.nextBoolean() ? v + 1 : -(v + 1);
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+        return sample;
+    }
+
+    private static ValuedBooleanAssignmentList createValues(Random random, int size) {
+        ValuedBooleanAssignmentList values = new ValuedBooleanAssignmentList();
+        for (int i = 0; i < size; i++) {
+            int v1 = 1 + random.nextInt(VARIABLE_COUNT - 1);
+            int v2 = v1 + 1 + random.nextInt(VARIABLE_COUNT - v1);
+            ValuedBooleanAssignment value = new ValuedBooleanAssignment(
+                    random.nextBoolean() ? v1 : -v1, random.nextBoolean() ? v2 : -v2);
+            value.setValue(random.nextInt(5));
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Test
+    public void sortedSampleKeepsStableRankOrder() {
+        Random random = new Random(1);
+        BooleanAssignmentList sample = createSample(random, 60);
+        ValuedBooleanAssignmentList values = createValues(random, 200);
+
+        long maxScore = values.stream()
+                .mapToLong(ValuedBooleanAssignment::getValue)
+                .max()
+                .orElse(0);
+        long[] ranks = new long[sample.size()];
+        for (ValuedBooleanAssignment value : values) {
+            for (int i = 0; i < sample.size(); i++) {
+                if (sample.get(i).containsAll(value)) {
+                    ranks[i] += maxScore - value.getValue();
+                }
+            }
+        }
+        List<Integer> expected = IntStream.range(0, sample.size()).boxed().collect(Collectors.toList());
+        expected.sort(Comparator.comparingLong(i -> ranks[i]));
+
+        BooleanAssignmentList sorted = Computations.of(sample)
+                .map(ComputeSortedSample::new)
+                .set(ComputeSortedSample.SORTING_VALUES, values)
+                .compute();
+
+        assertEquals(sample.size(), sorted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(sample.get(expected.get(i)), sorted.get(i));
+        }
+    }
+
+    @Test
+    public void rankedSampleKeepsStableRankOrder() {
+        Random random = new Random(2);
+        BooleanAssignmentList sample = createSample(random, 40);
+        ValuedBooleanAssignmentList values = createValues(random, 30);
+
+        List<ValuedBooleanAssignment> sortedValues = new ArrayList<>(values);
+        sortedValues.sort(Comparator.comparingLong(ValuedBooleanAssignment::getValue));
+        boolean[] used = new boolean[sample.size()];
+        List<BooleanAssignment> expected = new ArrayList<>();
+        for (ValuedBooleanAssignment value : sortedValues) {
+            for (int i = 0; i < sample.size(); i++) {
+                if (sample.get(i).containsAll(value)) {
+                    if (!used[i]) {
+                        expected.add(sample.get(i));
+                        used[i] = true;
+                    }
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                expected.add(sample.get(i));
+            }
+        }
+
+        BooleanAssignmentList ranked = Computations.of(sample)
+                .map(ComputeRankedSample::new)
+                .set(ComputeRankedSample.RANK_VALUES, values)
+                .compute();
+
+        assertEquals(expected.size(), ranked.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), ranked.get(i));
+        }
+    }
+
+    @Test
+    public void limitSelectsPrefixOfOrdering() {
+        Random random = new Random(3);
+        BooleanAssignmentList sample = createSample(random, 50);
+        ValuedBooleanAssignmentList values = createValues(random, 100);
+
+        BooleanAssignmentList sorted = Computations.of(sample)
+                .map(ComputeSortedSample::new)
+                .set(ComputeSortedSample.SORTING_VALUES, values)
+                .compute();
+        for (boolean optimize : new boolean[] {false, true}) {
+            BooleanAssignmentList ranked = Computations.of(sample)
+                    .map(ComputeRankedSample::new)
+                    .set(ComputeRankedSample.RANK_VALUES, values)
+                    .set(ComputeRankedSample.OPTIMIZE, optimize)
+                    .compute();
+            for (int limit : new int[] {0, 1, 7, 50}) {
+                BooleanAssignmentList sortedPrefix = Computations.of(sample)
+                        .map(ComputeSortedSample::new)
+                        .set(ComputeSortedSample.SORTING_VALUES, values)
+                        .set(ComputeSortedSample.LIMIT, limit)
+                        .compute();
+                BooleanAssignmentList rankedPrefix = Computations.of(sample)
+                        .map(ComputeRankedSample::new)
+                        .set(ComputeRankedSample.RANK_VALUES, values)
+                        .set(ComputeRankedSample.OPTIMIZE, optimize)
+                        .set(ComputeRankedSample.LIMIT, limit)
+                        .compute();
+                assertEquals(sorted.getAll().subList(0, limit), sortedPrefix.getAll());
+                assertEquals(ranked.getAll().subList(0, limit), rankedPrefix.getAll());
+                for (int i = 0; i < limit; i++) {
+                    assertSame(sorted.get(i), sortedPrefix.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void limitedSampleIsModifiable() {
+        Random random = new Random(4);
+        BooleanAssignmentList sample = createSample(random, 20);
+        ValuedBooleanAssignmentList values = createValues(random, 30);
+
+        for (int limit : new int[] {5, 20}) {
+            BooleanAssignmentList sortedPrefix = Computations.of(sample)
+                    .map(ComputeSortedSample::new)
+                    .set(ComputeSortedSample.SORTING_VALUES, values)
+                    .set(ComputeSortedSample.LIMIT, limit)
+                    .compute();
+            BooleanAssignmentList rankedPrefix = Computations.of(sample)
+                    .map(ComputeRankedSample::new)
+                    .set(ComputeRankedSample.RANK_VALUES, values)
+                    .set(ComputeRankedSample.LIMIT, limit)
+                    .compute();
+            for (BooleanAssignmentList prefix : List.of(sortedPrefix, rankedPrefix)) {
+                assertEquals(BooleanAssignmentList.class, prefix.getClass());
+                prefix.add(sample.get(0));
+                assertEquals(limit + 1, prefix.size());
+                prefix.remove();
+                prefix.clear();
+                assertEquals(0, prefix.size());
+            }
+        }
+        assertEquals(20, sample.size());
+    }
+
+    @Test
+    public void selectionIsReadOnly() {
+        BooleanAssignmentList sample = createSample(new Random(5), 10);
+        ReadOnlyBooleanAssignmentList selection = sample.select(3, 1, 4);
+
+        assertEquals(3, selection.size());
+        assertSame(sample.get(3), selection.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> selection.add(sample.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> selection.set(0, sample.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> selection.remove(0));
+        assertThrows(UnsupportedOperationException.class, selection::clear);
+        assertEquals(3, new BooleanAssignmentList(selection).getAll().size());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.FormulaConfigurationTester;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CompiledFormula}, {@link BitSlicedEvaluator}, and {@link FormulaConfigurationTester} against
+ * {@link de.featjar.formula.visitor.Evaluator}.
+ *
+ * @author Sebastian Krieter
+ */
+public class FormulaEvaluationTest {
+
+    private static final int NUMBER_OF_VARIABLES = 6;
+
+    private static final List<String> NAMES =
+            IntStream.rangeClosed(1, NUMBER_OF_VARIABLES).mapToObj(i -> "x" + i).collect(Collectors.toList());
+
+    @BeforeAll
+    public static void init() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void deinit() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void randomFormulas() {
+        Random random = new Random(1);
+        VariableMap variableMap = new VariableMap(NAMES);
+        BooleanAssignmentList assignments = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 200; i++) {
+            int[] literals = new int[NUMBER_OF_VARIABLES];
+            for (int j = 0; j < NUMBER_OF_VARIABLES; j++) {
+                int value = random.nextInt(5);
+                literals[j] = value == 0 ? 0 : value % 2 == 0 ? j + 1 : -(j + 1);
+            }
+            assignments.add(new BooleanAssignment(literals));
+        }
+        for (int i = 0; i < 200; i++) {
+            checkFormula(createFormula(random, 4), assignments);
+        }
+    }
+
+    @Test
+    public void unknownVariable() {
+        VariableMap variableMap = new VariableMap(NAMES);
+        BooleanAssignmentList assignments =
+                new BooleanAssignmentList(variableMap, new BooleanAssignment(1, 2), new BooleanAssignment(-1, 2));
+        checkFormula(Expressions.or(Expressions.literal("x1"), Expressions.literal("y")), assignments);
+        checkFormula(Expressions.and(Expressions.literal("x2"), Expressions.literal(false, "y")), assignments);
+    }
+
+    @Test
+    public void nonBooleanFormula() {
+        VariableMap variableMap = new VariableMap(NAMES);
+        IFormula formula = Expressions.equals(Expressions.variable("z", Long.class), Expressions.constant(1L));
+        Result<BitSet> result = formula.evaluate(new BooleanAssignmentList(variableMap, new BooleanAssignment(1)));
+        assertTrue(result.isEmpty());
+        assertTrue(CompiledFormula.compile(formula, variableMap).isEmpty());
+        assertTrue(new FormulaConfigurationTester(formula, variableMap)
+                .test(new BooleanAssignment(1))
+                .isEmpty());
+        assertTrue(formula.evaluate(new BooleanAssignment(1), variableMap).isEmpty());
+    }
+
+    private static void checkFormula(IFormula formula, BooleanAssignmentList assignments) {
+        CompiledFormula compiledFormula = CompiledFormula.compile(formula, assignments.getVariableMap()).orElseThrow();
+        FormulaConfigurationTester tester = new FormulaConfigurationTester(formula, assignments.getVariableMap());
+        BitSet expected = new BitSet();
+        for (int i = 0; i < assignments.size(); i++) {
+            BooleanAssignment assignment = assignments.get(i);
+            Object value = formula.evaluate(assignment, assignments.getVariableMap()).orElse(null);
+            if (Boolean.TRUE.equals(value)) {
+                expected.set(i);
+            }
+            Result<Integer> testResult = tester.test(assignment);
+            assertEquals(value == null ? null : (Boolean) value ? 0 : 1, testResult.orElse(null), formula.print());
+            assertEquals(value, compiledFormula.evaluate(assignment), formula.print());
+            // assignments are created in model form
+            assertEquals(value, compiledFormula.evaluateModel(assignment.get()), formula.print());
+        }
+        assertEquals(expected, formula.evaluate(assignments).orElseThrow(), formula.print());
+    }
+
+    private static IFormula createFormula(Random random, int depth) {
+        if (depth == 0 || random.nextInt(5) == 0) {
+            switch (random.nextInt(10)) {
+                case 0:
+                    return Expressions.True;
+                case 1:
+                    return Expressions.False;
+                default:
+                    return Expressions.literal(random.nextBoolean(), NAMES.get(random.nextInt(NUMBER_OF_VARIABLES)));
+            }
+        }
+        IFormula[] children = new IFormula[random.nextInt(4) + 1];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = createFormula(random, depth - 1);
+        }
+        switch (random.nextInt(9)) {
+            case 0:
+                return Expressions.not(children[0]);
+            case 1:
+                return Expressions.implies(children[0], createFormula(random, depth - 1));
+            case 2:
+                return Expressions.biImplies(children[0], createFormula(random, depth - 1));
+            case 3:
+                return Expressions.atLeast(random.nextInt(children.length + 1), children);
+            case 4:
+                return Expressions.atMost(random.nextInt(children.length + 1), children);
+            case 5:
+                return Expressions.choose(random.nextInt(children.length + 1), children);
+            case 6:
+                int minimum = random.nextInt(children.length + 1);
+                return Expressions.between(minimum, minimum + random.nextInt(2), children);
+            case 7:
+                return Expressions.and(children);
+            default:
+                return Expressions.or(children);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests implementations of {@link ISampleIndex} against {@link SampleBitIndex}.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleIndexTest {
+
+    private static final int NUMBER_OF_VARIABLES = 6;
+
+    @Test
+    public void roaringIndexSmallSample() {
+        checkIndex(SampleIndexType.ROARING, createSample(100, 1, false));
+    }
+
+    @Test
+    public void roaringIndexSampleWithMultipleChunks() {
+        checkIndex(SampleIndexType.ROARING, createSample(150_000, 2, false));
+    }
+
+    @Test
+    public void listIndex() {
+        checkIndex(SampleIndexType.LIST, createSample(5_000, 3, false));
+        checkIndex(SampleIndexType.LIST, createSample(5_000, 4, true));
+    }
+
+    @Test
+    public void automaticIndexChoice() {
+        assertEquals(SampleIndexType.BIT, SampleIndexType.choose(createSample(1_000, 5, false)));
+        assertEquals(SampleIndexType.LIST, SampleIndexType.choose(createSample(1_000, 6, true)));
+        assertEquals(SampleIndexType.LIST, SampleIndexType.choose(createSample(100_000, 7, true)));
+    }
+
+    @Test
+    public void automaticIndexChoiceForLargeSamples() {
+        int size = SampleIndexType.ROARING_SIZE_THRESHOLD + 1;
+        assertEquals(SampleIndexType.BIT, SampleIndexType.choose(createCompleteSample(size - 2, 8, 0.01)));
+        assertEquals(SampleIndexType.ROARING, SampleIndexType.choose(createCompleteSample(size, 9, 0.01)));
+        assertEquals(SampleIndexType.ROARING, SampleIndexType.choose(createCompleteSample(size, 10, 0.99)));
+        assertEquals(SampleIndexType.BIT, SampleIndexType.choose(createCompleteSample(size, 11, 0.5)));
+        assertEquals(SampleIndexType.BIT, SampleIndexType.choose(createSample(size, 12, false)));
+    }
+
+    @Test
+    public void automaticIndexChoiceWithoutVariableMap() {
+        assertEquals(SampleIndexType.BIT, SampleIndexType.choose(new BooleanAssignmentList(null, 0)));
+        BooleanAssignmentList sample = new BooleanAssignmentList(null, 1);
+        sample.add(new BooleanAssignment(1, -2));
+        assertEquals(SampleIndexType.BIT, SampleIndexType.choose(sample));
+    }
+
+    @Test
+    public void remappedIndex() {
+        BooleanAssignmentList sample = createSample(5_000, 13, false);
+        checkRemappedIndex(SampleIndexType.BIT, sample);
+        checkRemappedIndex(SampleIndexType.LIST, sample);
+        checkRemappedIndex(SampleIndexType.ROARING, sample);
+    }
+
+    private static BooleanAssignmentList createCompleteSample(int size, long seed, double frequency) {
+        Random random = new Random(seed);
+        VariableMap variableMap = new VariableMap(IntStream.rangeClosed(1, NUMBER_OF_VARIABLES)
+                .mapToObj(i -> "x" + i)
+                .collect(Collectors.toList()));
+        BooleanAssignmentList sample = new BooleanAssignmentList(variableMap, size);
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[NUMBER_OF_VARIABLES];
+            for (int j = 0; j < NUMBER_OF_VARIABLES; j++) {
+                literals[j] = random.nextDouble() < frequency ? j + 1 : -(j + 1);
+            }
+            sample.add(new BooleanAssignment(literals));
+        }
+        return sample;
+    }
+
+    private static BooleanAssignmentList createSample(int size, long seed, boolean sparse) {
+        Random random = new Random(seed);
+        VariableMap variableMap = new VariableMap(IntStream.rangeClosed(1, NUMBER_OF_VARIABLES)
+                .mapToObj(i -> "x" + i)
+                .collect(Collectors.toList()));
+        BooleanAssignmentList sample = new BooleanAssignmentList(variableMap, size);
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[NUMBER_OF_VARIABLES];
+            // core variable (runs), rare variable (arrays), dense variable (bitmaps), and block-wise variable
+            literals[0] = 1;
+            literals[1] = random.nextInt(100) == 0 ? 2 : -2;
+            literals[2] = random.nextBoolean() ? 3 : -3;
+            literals[3] = (i / 1000) % 2 == 0 ? 4 : -4;
+            literals[4] = random.nextInt(10) == 0 ? -5 : 5;
+            // unassigned variable
+            literals[5] = random.nextInt(3) == 0 ? 0 : (random.nextBoolean() ? 6 : -6);
+            if (sparse) {
+                int variable = random.nextInt(NUMBER_OF_VARIABLES * 8);
+                Arrays.fill(literals, 0);
+                if (variable < NUMBER_OF_VARIABLES) {
+                    literals[variable] = random.nextBoolean() ? variable + 1 : -(variable + 1);
+                }
+            }
+            sample.add(new BooleanAssignment(literals));
+        }
+        return sample;
+    }
+
+    private static void checkIndex(SampleIndexType type, BooleanAssignmentList sample) {
+        SampleBitIndex expectedIndex = new SampleBitIndex(sample);
+        ISampleIndex index = type.create(sample);
+        assertEquals(expectedIndex.size(), index.size());
+        assertEquals(expectedIndex.getNumberOfVariables(), index.getNumberOfVariables());
+
+        int[] literals = IntStream.rangeClosed(-NUMBER_OF_VARIABLES, NUMBER_OF_VARIABLES)
+                .filter(l -> l != 0)
+                .toArray();
+        for (int l1 : literals) {
+            checkLiterals(expectedIndex, index, l1);
+            for (int l2 : literals) {
+                checkLiterals(expectedIndex, index, l1, l2);
+                for (int l3 : literals) {
+                    checkLiterals(expectedIndex, index, l1, l2, l3);
+                }
+            }
+        }
+
+        for (int id = 0; id < sample.size(); id += 997) {
+            assertArrayEquals(expectedIndex.getConfiguration(id), index.getConfiguration(id));
+        }
+    }
+
+    private static void checkRemappedIndex(SampleIndexType type, BooleanAssignmentList sample) {
+        SampleBitIndex expectedIndex = new SampleBitIndex(sample);
+        VariableMap variableMap = sample.getVariableMap();
+        List<String> variableNames = new ArrayList<>(variableMap.getVariableNames());
+        Collections.reverse(variableNames);
+        variableNames.add(1, "y");
+        VariableMap newVariableMap = new VariableMap(variableNames);
+        int newVariable = newVariableMap.get("y").get();
+
+        ISampleIndex index = (ISampleIndex) type.create(sample).remap(newVariableMap);
+        assertEquals(expectedIndex.size(), index.size());
+        assertEquals(newVariableMap.size(), index.getNumberOfVariables());
+        assertEquals(0, index.size(newVariable));
+        assertEquals(0, index.size(-newVariable));
+
+        int[] literals = IntStream.rangeClosed(-NUMBER_OF_VARIABLES, NUMBER_OF_VARIABLES)
+                .filter(l -> l != 0)
+                .toArray();
+        for (int l1 : literals) {
+            for (int l2 : literals) {
+                int[] oldLiterals = {l1, l2};
+                int[] newLiterals = {remap(l1, variableMap, newVariableMap), remap(l2, variableMap, newVariableMap)};
+                String message = Arrays.toString(oldLiterals);
+                assertEquals(expectedIndex.test(oldLiterals), index.test(newLiterals), message);
+                assertEquals(expectedIndex.index(oldLiterals), index.index(newLiterals), message);
+                assertEquals(expectedIndex.size(oldLiterals), index.size(newLiterals), message);
+                assertEquals(expectedIndex.getBitSet(oldLiterals), index.getBitSet(newLiterals), message);
+            }
+        }
+
+        for (int id = 0; id < sample.size(); id += 997) {
+            int[] expectedConfiguration = new int[newVariableMap.size()];
+            for (int literal : expectedIndex.getConfiguration(id)) {
+                if (literal != 0) {
+                    int newLiteral = remap(literal, variableMap, newVariableMap);
+                    expectedConfiguration[Math.abs(newLiteral) - 1] = newLiteral;
+                }
+            }
+            assertArrayEquals(expectedConfiguration, index.getConfiguration(id));
+        }
+    }
+
+    private static int remap(int literal, VariableMap variableMap, VariableMap newVariableMap) {
+        int newVariable = newVariableMap
+                .get(variableMap.get(Math.abs(literal)).get())
+                .get();
+        return literal > 0 ? newVariable : -newVariable;
+    }
+
+    private static void checkLiterals(SampleBitIndex expectedIndex, ISampleIndex index, int... literals) {
+        String message = Arrays.toString(literals);
+        assertEquals(expectedIndex.test(literals), index.test(literals), message);
+        assertEquals(expectedIndex.index(literals), index.index(literals), message);
+        assertEquals(expectedIndex.size(literals), index.size(literals), message);
+        assertEquals(expectedIndex.getBitSet(literals), index.getBitSet(literals), message);
+
+        BitSet expectedBitSet = expectedIndex.updateBitSet(expectedIndex.getBitSet(literals[0]), literals);
+        assertEquals(expectedBitSet, index.updateBitSet(index.getBitSet(literals[0]), literals), message);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.io.IO;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.io.csv.BooleanAssignmentGroupsCSVFormat;
+import de.featjar.formula.io.csv.BooleanAssignmentGroupsUngroupedCSVFormat;
+import de.featjar.formula.io.csv.BooleanAssignmentListCSVFormat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CSV formats for Boolean assignments.
+ *
+ * @author Sebastian Krieter
+ */
+public class CSVFormatTest {
+
+    private static final VariableMap VARIABLES = new VariableMap(List.of("a", "b", "c"));
+
+    @Test
+    public void listFormat() {
+        BooleanAssignmentList list = new BooleanAssignmentList(
+                VARIABLES, new BooleanSolution(1, -2, 3), new BooleanAssignment(-3, 1), new BooleanAssignment());
+        assertEquals(
+                "Configuration;a;b;c\n0;+;-;+\n1;+;0;-\n2;0;0;0\n",
+                new BooleanAssignmentListCSVFormat().serialize(list).orElseThrow());
+    }
+
+    @Test
+    public void listFormatParsesValues() {
+        BooleanAssignmentList list = IO.load("Configuration;a;b;c\n0;+;-;0\n", new BooleanAssignmentListCSVFormat())
+                .orElseThrow();
+        assertEquals(1, list.size());
+        assertArrayEquals(new int[] {1, -2, 0}, list.get(0).get());
+        assertTrue(IO.load("Configuration;a;b;c\n0;+;++;0\n", new BooleanAssignmentListCSVFormat())
+                .isEmpty());
+    }
+
+    @Test
+    public void ungroupedFormat() {
+        BooleanAssignmentGroups groups = new BooleanAssignmentGroups(
+                VARIABLES,
+                List.of(
+                        new BooleanAssignmentList(VARIABLES, new BooleanAssignment(2)),
+                        new BooleanAssignmentList(VARIABLES, new BooleanAssignment(-1, 3))));
+        assertEquals(
+                "Configuration;a;b;c\n0;0;+;0\n1;-;0;+\n",
+                new BooleanAssignmentGroupsUngroupedCSVFormat().serialize(groups).orElseThrow());
+    }
+
+    @Test
+    public void groupedFormat() {
+        BooleanAssignmentGroups groups = new BooleanAssignmentGroups(
+                VARIABLES,
+                List.of(
+                        new BooleanAssignmentList(VARIABLES, new BooleanAssignment(2, -3)),
+                        new BooleanAssignmentList(VARIABLES, new BooleanAssignment(-1))));
+        assertEquals(
+                "ID;Group;a;b;c\n0;0;0;+;-\n1;1;-;0;0\n",
+                new BooleanAssignmentGroupsCSVFormat().serialize(groups).orElseThrow());
+    }
+}
@@ -24,6 +24,7 @@ import static de.featjar.formula.structure.Expressions.and;
 import static de.featjar.formula.structure.Expressions.literal;
 import static de.featjar.formula.structure.Expressions.or;
 import static de.featjar.formula.structure.Expressions.reference;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.featjar.Common;
@@ -31,8 +32,12 @@ import de.featjar.FormatTest;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.io.IO;
 import de.featjar.formula.io.dimacs.FormulaDimacsFormat;
+import de.featjar.formula.structure.IFormula;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -118,6 +123,33 @@ public class DIMACSFormatTest extends Common {
         test("void");
     }
 
+    @Test
+    public void streamingWrite() throws IOException {
+        IFormula[] clauses = new IFormula[20_000];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = or(literal(i % 3 == 0, "x" + i), literal(i % 2 == 0, "x" + (i + 1)));
+        }
+        IFormula formula = reference(and(clauses));
+        FormulaDimacsFormat format = new FormulaDimacsFormat();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IO.save(formula, out, format);
+        assertEquals(format.serialize(formula).orElseThrow(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void integerFormatting() throws IOException {
+        StringWriter out = new StringWriter();
+        BufferedTextWriter writer = new BufferedTextWriter(out, 16);
+        int[] values = {0, 1, -1, 9, 10, -10, 99, 100, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        StringBuilder expected = new StringBuilder();
+        for (int value : values) {
+            writer.write(value).write(' ');
+            expected.append(value).append(' ');
+        }
+        writer.flush();
+        assertEquals(expected.toString(), out.toString());
+    }
+
     private static void test(String name) {
         FormatTest.testSerializeAndParse(getFormula(name), new FormulaDimacsFormat());
     }
@@ -20,6 +20,10 @@
  */
 package de.featjar.formula.io;
 
+import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.not;
+import static de.featjar.formula.structure.Expressions.or;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import de.featjar.Common;
@@ -30,6 +34,8 @@ import de.featjar.formula.io.textual.ExpressionSerializer.Notation;
 import de.featjar.formula.io.textual.JavaSymbols;
 import de.featjar.formula.io.textual.TextualSymbols;
 import de.featjar.formula.structure.IFormula;
+import java.io.IOException;
+import java.io.StringWriter;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -102,4 +108,20 @@ public class ExpressionSerializerTest extends Common {
         s.setNotation(Notation.POSTFIX);
         assertEquals("A not B or", Trees.traverse(formula, s).get());
     }
+
+    @Test
+    public void streamingWrite() throws IOException {
+        IFormula[] clauses = new IFormula[20_000];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = or(literal(i % 3 == 0, "x" + i), not(literal(i % 2 == 0, "x" + (i + 1))));
+        }
+        IFormula formula = and(clauses);
+        for (Notation notation : Notation.values()) {
+            final ExpressionSerializer s = new ExpressionSerializer();
+            s.setNotation(notation);
+            StringWriter out = new StringWriter();
+            s.write(formula, new BufferedTextWriter(out, 100));
+            assertEquals(Trees.traverse(formula, s).get(), out.toString());
+        }
+    }
 }
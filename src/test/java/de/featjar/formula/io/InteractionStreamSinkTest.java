@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.computation.AComputeTWiseCoverage;
+import de.featjar.formula.computation.ComputeAbsoluteTWiseCoverage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link InteractionStreamSink}.
+ *
+ * @author Sebastian Krieter
+ */
+public class InteractionStreamSinkTest {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void streamsAllUncoveredInteractions() throws IOException {
+        VariableMap variableMap = new VariableMap(List.of("a", "b", "c", "d"));
+        BooleanAssignmentList sample = new BooleanAssignmentList(
+                variableMap, new BooleanSolution(1, 2, 3, 4), new BooleanSolution(-1, -2, 3, -4));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InteractionStreamSink sink = new InteractionStreamSink(out, InteractionStreamSink.Encoding.DIMACS, 64, 2);
+        CoverageStatistic statistic = Computations.of(sample)
+                .map(ComputeAbsoluteTWiseCoverage::new)
+                .set(AComputeTWiseCoverage.COMBINATION_SET, new VariableCombinationSpecification(2, variableMap))
+                .set(AComputeTWiseCoverage.UNCOVERED_INTERACTIONS, sink)
+                .compute();
+        assertThrows(IllegalStateException.class, () -> sink.accept(1, 2));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8)
+                .lines()
+                .filter(line -> !line.startsWith("c "))
+                .collect(Collectors.toList());
+        assertEquals(statistic.uncovered(), sink.getCount());
+        assertEquals(statistic.uncovered(), lines.size());
+        for (String line : lines) {
+            assertTrue(line.endsWith(" 0"), line);
+            assertEquals(3, line.split(" ").length, line);
+        }
+    }
+
+    @Test
+    public void binaryOutputOfConcurrentProducersCanBeReadBack() throws Exception {
+        int numberOfThreads = 4;
+        int interactionsPerThread = 2000;
+        VariableMap variableMap = new VariableMap(
+                IntStream.rangeClosed(1, 40).mapToObj(i -> "variable" + i).collect(Collectors.toList()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InteractionStreamSink sink = new InteractionStreamSink(out, InteractionStreamSink.Encoding.BINARY, 64, 2);
+        sink.init(variableMap);
+        List<Thread> producers = new ArrayList<>();
+        for (int thread = 0; thread < numberOfThreads; thread++) {
+            int offset = thread * interactionsPerThread;
+            producers.add(new Thread(() -> {
+                for (int i = offset; i < offset + interactionsPerThread; i++) {
+                    sink.accept(interaction(i));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        sink.close();
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(variableMap.maxIndex(), readVarInt(in));
+        for (int i = 1; i <= variableMap.maxIndex(); i++) {
+            byte[] name = new byte[readVarInt(in)];
+            assertEquals(name.length, in.read(name, 0, name.length));
+            assertEquals(variableMap.get(i).orElseThrow(), new String(name, StandardCharsets.UTF_8));
+        }
+        List<String> expected = IntStream.range(0, numberOfThreads * interactionsPerThread)
+                .mapToObj(i -> Arrays.toString(interaction(i)))
+                .sorted()
+                .collect(Collectors.toList());
+        List<String> actual = new ArrayList<>();
+        while (in.available() > 0) {
+            int[] literals = new int[readVarInt(in)];
+            for (int k = 0; k < literals.length; k++) {
+                int value = readVarInt(in);
+                literals[k] = (value >>> 1) ^ -(value & 1);
+            }
+            actual.add(Arrays.toString(literals));
+        }
+        actual.sort(null);
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), sink.getCount());
+    }
+
+    @Test
+    public void acceptAfterCloseFails() throws IOException {
+        InteractionStreamSink sink =
+                new InteractionStreamSink(new ByteArrayOutputStream(), InteractionStreamSink.Encoding.DIMACS);
+        sink.accept(1, -2);
+        sink.close();
+        assertThrows(IllegalStateException.class, () -> sink.accept(1, 2));
+    }
+
+    @Test
+    public void headerIsOnlyWrittenOnce() throws IOException {
+        VariableMap variableMap = new VariableMap(List.of("a", "b"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InteractionStreamSink sink = new InteractionStreamSink(out, InteractionStreamSink.Encoding.DIMACS);
+        sink.init(variableMap);
+        sink.accept(1, -2);
+        sink.init(variableMap);
+        sink.accept(-1, 2);
+        sink.close();
+        sink.close();
+
+        assertEquals(
+                List.of("c 1 a", "c 2 b", "1 -2 0", "-1 2 0"),
+                out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void initAfterFirstInteractionFails() throws IOException {
+        InteractionStreamSink sink =
+                new InteractionStreamSink(new ByteArrayOutputStream(), InteractionStreamSink.Encoding.DIMACS);
+        sink.accept(1, -2);
+        assertThrows(IllegalStateException.class, () -> sink.init(new VariableMap(List.of("a", "b"))));
+        sink.close();
+    }
+
+    private static int[] interaction(int i) {
+        return new int[] {i % 40 + 1, -(i / 40 % 40 + 1), i};
+    }
+
+    private static int readVarInt(ByteArrayInputStream in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
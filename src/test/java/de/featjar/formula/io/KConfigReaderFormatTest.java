@@ -52,7 +52,29 @@ public class KConfigReaderFormatTest {
         test("nAB", 1);
     }
 
+    @Test
+    public void KConfigReader_parallel() {
+        testParallel("empty", 2);
+        testParallel("nA", 1);
+        testParallel("nAB", 1);
+    }
+
+    @Test
+    public void KConfigReader_parallelProperty() {
+        System.setProperty(KConfigReaderFormat.PARALLEL_PROPERTY, "true");
+        try {
+            test("nAB", 1);
+        } finally {
+            System.clearProperty(KConfigReaderFormat.PARALLEL_PROPERTY);
+        }
+    }
+
     private static void test(String name, int count) {
         FormatTest.testParse(Common.getFormula(name), "KConfigReader/" + name, count, new KConfigReaderFormat());
     }
+
+    private static void testParallel(String name, int count) {
+        FormatTest.testParse(
+                Common.getFormula(name), "KConfigReader/" + name, count, new KConfigReaderFormat(true, 1));
+    }
 }
@@ -20,13 +20,26 @@
  */
 package de.featjar.formula.io;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import de.featjar.Common;
 import de.featjar.FormatTest;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.input.AInputMapper;
 import de.featjar.formula.io.xml.XMLFeatureModelFormulaFormat;
+import de.featjar.formula.io.xml.XMLFeatureModelFormulaParser;
+import de.featjar.formula.structure.IFormula;
 import org.junit.jupiter.api.Test;
 
 public class XMLFeatureModelFormatTest {
 
+    private static class DOMFormat extends XMLFeatureModelFormulaFormat {
+        @Override
+        public Result<IFormula> parse(AInputMapper inputMapper) {
+            return new XMLFeatureModelFormulaParser().parse(inputMapper);
+        }
+    }
+
     @Test
     void testFixtures() {
         FormatTest.testParse(Common.getFormula("A"), "FeatureIDE/A", 2, new XMLFeatureModelFormulaFormat());
@@ -37,6 +50,17 @@ public class XMLFeatureModelFormatTest {
                 new XMLFeatureModelFormulaFormat());
     }
 
+    @Test
+    void streamingParserEqualsDOMParser() {
+        for (String modelName : new String[] {"basic", "simple", "car", "gpl_medium_model", "berkeley_db_model"}) {
+            String modelPath = "testFeatureModels/" + modelName + ".xml";
+            assertEquals(
+                    Common.load(modelPath, new DOMFormat()),
+                    Common.load(modelPath, new XMLFeatureModelFormulaFormat()),
+                    modelName);
+        }
+    }
+
     //    @Test
     //    public void FeatureIDE_ABC_nAnBnC() {
     //        test("ABC-nAnBnC");
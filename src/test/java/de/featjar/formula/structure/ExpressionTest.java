@@ -21,20 +21,28 @@
 package de.featjar.formula.structure;
 
 import static de.featjar.formula.structure.Expressions.False;
+import static de.featjar.formula.structure.Expressions.and;
 import static de.featjar.formula.structure.Expressions.constant;
 import static de.featjar.formula.structure.Expressions.implies;
 import static de.featjar.formula.structure.Expressions.integerAdd;
 import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.not;
+import static de.featjar.formula.structure.Expressions.or;
 import static de.featjar.formula.structure.Expressions.variable;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.featjar.base.data.Sets;
 import de.featjar.formula.assignment.Assignment;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
 import de.featjar.formula.structure.term.ITerm;
 import de.featjar.formula.structure.term.value.Constant;
 import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
@@ -117,6 +125,123 @@ class ExpressionTest {
         assertEquals(List.of(42L), term.getConstantValues());
     }
 
+    @Test
+    void hashCodeFollowsModifications() {
+        Literal b1 = literal("b");
+        Literal b2 = literal("b");
+        IFormula formula1 = and(or(literal("a"), b1), not(literal("c")));
+        IFormula formula2 = and(or(literal("a"), b2), not(literal("c")));
+        assertEquals(formula1, formula2);
+        assertEquals(formula1.hashCode(), formula2.hashCode());
+
+        b1.setPositive(false);
+        assertNotEquals(formula1, formula2);
+        assertEquals(and(or(literal("a"), literal(false, "b")), not(literal("c"))).hashCode(), formula1.hashCode());
+
+        b2.setPositive(false);
+        assertEquals(formula1, formula2);
+        assertEquals(formula1.hashCode(), formula2.hashCode());
+
+        ((Variable) b1.getChildren().get(0)).setName("d");
+        assertNotEquals(formula1, formula2);
+
+        formula2.replaceChild(0, or(literal("a"), literal(false, "d")));
+        assertEquals(formula1, formula2);
+        assertEquals(formula1.hashCode(), formula2.hashCode());
+    }
+
+    @Test
+    void hashCodeOfSharedSubtree() {
+        Literal shared = literal("b");
+        IFormula formula1 = and(literal("a"), or(shared, literal("c")));
+        IFormula formula2 = or(not(shared), literal("d"));
+        int hashCode1 = formula1.hashCode();
+        formula2.hashCode();
+
+        for (int i = 0; i < 100; i++) {
+            new Variable("x").setName("y" + i);
+        }
+        assertEquals(hashCode1, formula1.hashCode());
+
+        ((Variable) shared.getChildren().get(0)).setName("e");
+        assertEquals(and(literal("a"), or(literal("e"), literal("c"))).hashCode(), formula1.hashCode());
+        assertEquals(or(not(literal("e")), literal("d")).hashCode(), formula2.hashCode());
+        assertEquals(and(literal("a"), or(literal("e"), literal("c"))), formula1);
+    }
+
+    @Test
+    void hashCodeFollowsChildModifications() {
+        IFormula formula = and(literal("a"), or(literal("b"), literal("c")), literal("d"));
+        formula.hashCode();
+
+        formula.replaceChildren(child -> child instanceof Or ? and(literal("b"), literal("c")) : child);
+        assertEqualsAndHashCode(and(literal("a"), and(literal("b"), literal("c")), literal("d")), formula);
+
+        formula.flatReplaceChildren(child -> child instanceof And ? new ArrayList<>(child.getChildren()) : null);
+        assertEqualsAndHashCode(and(literal("a"), literal("b"), literal("c"), literal("d")), formula);
+
+        formula.addChild(literal("e"));
+        assertEqualsAndHashCode(and(literal("a"), literal("b"), literal("c"), literal("d"), literal("e")), formula);
+
+        formula.removeChild(0);
+        formula.removeChild(formula.getChildren().get(0));
+        assertEqualsAndHashCode(and(literal("c"), literal("d"), literal("e")), formula);
+
+        formula.replaceChild(0, literal("f"));
+        formula.replaceChild(formula.getChildren().get(1), literal("g"));
+        assertEqualsAndHashCode(and(literal("f"), literal("g"), literal("e")), formula);
+
+        formula.setChildren(List.of(literal("h"), not(literal("i"))));
+        assertEqualsAndHashCode(and(literal("h"), not(literal("i"))), formula);
+
+        formula.clearChildren();
+        assertEqualsAndHashCode(and(), formula);
+    }
+
+    @Test
+    void hashCodeFollowsNestedChildModifications() {
+        Literal shared = literal("c");
+        IFormula formula1 = and(or(literal("a"), literal("b")), not(shared));
+        IFormula formula2 = or(shared, literal("d"));
+        formula1.hashCode();
+        formula2.hashCode();
+
+        ((IFormula) formula1.getChildren().get(0))
+                .replaceChildren(child -> literal(false, ((Literal) child).getExpression().getName()));
+        assertEqualsAndHashCode(and(or(literal(false, "a"), literal(false, "b")), not(literal("c"))), formula1);
+
+        ((IFormula) formula1.getChildren().get(0)).flatReplaceChildren(child -> List.of(child, literal("e")));
+        assertEqualsAndHashCode(
+                and(
+                        or(literal(false, "a"), literal("e"), literal(false, "b"), literal("e")),
+                        not(literal("c"))),
+                formula1);
+
+        shared.setPositive(false);
+        assertEqualsAndHashCode(
+                and(
+                        or(literal(false, "a"), literal("e"), literal(false, "b"), literal("e")),
+                        not(literal(false, "c"))),
+                formula1);
+        assertEqualsAndHashCode(or(literal(false, "c"), literal("d")), formula2);
+    }
+
+    private static void assertEqualsAndHashCode(IFormula expected, IFormula actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    void hashCodeOfDeepFormula() {
+        IFormula deepFormula1 = literal("a");
+        IFormula deepFormula2 = literal("a");
+        for (int i = 0; i < 100_000; i++) {
+            deepFormula1 = not(deepFormula1);
+            deepFormula2 = not(deepFormula2);
+        }
+        assertEquals(deepFormula1.hashCode(), deepFormula2.hashCode());
+    }
+
     @Test
     void printParseable() {
         // TODO
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.transform;
+
+import static de.featjar.formula.structure.Expressions.False;
+import static de.featjar.formula.structure.Expressions.True;
+import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.or;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.computation.ComputeDNFCubes;
+import de.featjar.formula.computation.DNFCubeIterator;
+import de.featjar.formula.structure.IFormula;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class DNFCubeIteratorTest {
+
+    private static final int NUMBER_OF_VARIABLES = 5;
+
+    private static final List<String> NAMES =
+            IntStream.rangeClosed(1, NUMBER_OF_VARIABLES).mapToObj(i -> "x" + i).collect(Collectors.toList());
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void cubes() {
+        VariableMap variableMap = new VariableMap(List.of("a", "b", "c"));
+        assertEquals(
+                List.of(new BooleanAssignment(1, 3), new BooleanAssignment(2, 3)),
+                new DNFCubeIterator(and(or(literal("a"), literal("b")), literal("c")), variableMap)
+                        .stream()
+                        .collect(Collectors.toList()));
+        assertEquals(
+                List.of(new BooleanAssignment(-2, 3)),
+                new DNFCubeIterator(
+                                and(or(literal("a"), literal(false, "b")), literal(false, "a"), literal("c")),
+                                variableMap)
+                        .stream()
+                        .collect(Collectors.toList()));
+        assertEquals(
+                List.of(new BooleanAssignment()),
+                new DNFCubeIterator(True, variableMap).stream().collect(Collectors.toList()));
+        assertFalse(new DNFCubeIterator(False, variableMap).hasNext());
+        assertFalse(new DNFCubeIterator(and(literal("a"), literal(false, "a")), variableMap).hasNext());
+    }
+
+    @Test
+    public void randomFormulas() {
+        Random random = new Random(1);
+        VariableMap variableMap = new VariableMap(NAMES);
+        List<BooleanAssignment> assignments =
+                FormulaCreator.streamAllAssignments(NUMBER_OF_VARIABLES).collect(Collectors.toList());
+        for (int i = 0; i < 200; i++) {
+            IFormula formula = createFormula(random, 4);
+            List<BooleanAssignment> cubes =
+                    new DNFCubeIterator(formula, variableMap).stream().collect(Collectors.toList());
+            for (BooleanAssignment assignment : assignments) {
+                boolean expected = Boolean.TRUE.equals(
+                        formula.evaluate(assignment, variableMap).orElse(null));
+                boolean actual = cubes.stream().anyMatch(cube -> assignment.containsAll(cube));
+                assertEquals(expected, actual, formula::print);
+            }
+        }
+    }
+
+    @Test
+    public void limit() {
+        IFormula[] clauses = new IFormula[60];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = or(literal("a" + i), literal("b" + i));
+        }
+        IFormula formula = and(clauses);
+        assertEquals(10, new DNFCubeIterator(formula).stream().limit(10).count());
+
+        BooleanAssignmentList cubes = Computations.of(formula)
+                .map(nnfFormula -> new ComputeDNFCubes(nnfFormula, 5))
+                .compute();
+        assertEquals(5, cubes.size());
+        for (BooleanAssignment cube : cubes) {
+            assertEquals(clauses.length, cube.size());
+        }
+    }
+
+    private static IFormula createFormula(Random random, int depth) {
+        if (depth == 0 || random.nextInt(5) == 0) {
+            switch (random.nextInt(12)) {
+                case 0:
+                    return True;
+                case 1:
+                    return False;
+                default:
+                    return literal(random.nextBoolean(), NAMES.get(random.nextInt(NUMBER_OF_VARIABLES)));
+            }
+        }
+        IFormula[] children = new IFormula[random.nextInt(4)];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = createFormula(random, depth - 1);
+        }
+        return random.nextBoolean() ? and(children) : or(children);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.transform;
+
+import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.or;
+import static de.featjar.formula.structure.Expressions.reference;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.IncrementalCNFTransformer;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Reference;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class IncrementalCNFTransformerTest {
+
+    private static final IFormula CONSTRAINT1 =
+            or(and(literal("a"), literal("b")), and(literal("c"), literal(false, "d")));
+    private static final IFormula CONSTRAINT2 = or(literal("a"), and(literal("e"), literal("f")));
+    private static final IFormula CONSTRAINT3 =
+            or(and(literal(false, "e"), literal("f")), and(literal("b"), literal("c")));
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void sameAsComputeCNFFormula() {
+        IncrementalCNFTransformer transformer = new IncrementalCNFTransformer();
+        for (IFormula formula : List.of(
+                and(CONSTRAINT1, CONSTRAINT2),
+                and(CONSTRAINT1, CONSTRAINT3),
+                and(literal("a"), or(literal("b")), CONSTRAINT3),
+                CONSTRAINT2)) {
+            IFormula expected = Computations.of((IFormula) reference((IFormula) formula.cloneTree()))
+                    .map(ComputeCNFFormula::new)
+                    .get()
+                    .orElseThrow();
+            assertEquals(expected, transformer.apply(reference(formula)).orElseThrow());
+        }
+    }
+
+    @Test
+    public void reusesAuxiliaryVariables() {
+        IncrementalCNFTransformer transformer = new IncrementalCNFTransformer(false, 0, true);
+        List<? extends IFormula> clauses1 = getClauses(transformer.apply(and(CONSTRAINT1)).orElseThrow());
+        List<? extends IFormula> clauses12 =
+                getClauses(transformer.apply(and(CONSTRAINT1, CONSTRAINT2)).orElseThrow());
+        List<? extends IFormula> clauses13 =
+                getClauses(transformer.apply(and(CONSTRAINT1, CONSTRAINT3)).orElseThrow());
+        assertTrue(clauses12.containsAll(clauses1));
+        assertTrue(clauses13.containsAll(clauses1));
+        assertEquals(2, transformer.getNumberOfCachedConstraints());
+
+        IncrementalCNFTransformer otherTransformer = new IncrementalCNFTransformer(false, 0, true);
+        otherTransformer.apply(and(CONSTRAINT1));
+        otherTransformer.apply(and(CONSTRAINT1, CONSTRAINT2));
+        assertEquals(
+                clauses13,
+                getClauses(otherTransformer
+                        .apply(and(CONSTRAINT1, CONSTRAINT3))
+                        .orElseThrow()));
+    }
+
+    @Test
+    public void doesNotModifyCache() {
+        IncrementalCNFTransformer transformer = new IncrementalCNFTransformer();
+        IFormula formula = and((IFormula) CONSTRAINT1.cloneTree(), (IFormula) CONSTRAINT2.cloneTree());
+        Reference cnf = transformer.apply(formula).orElseThrow();
+        IFormula expected = (IFormula) cnf.cloneTree();
+        cnf.getExpression().getChildren().get(0).setChildren(List.of(literal("x")));
+        formula.getChildren().get(0).setChildren(List.of(literal("x")));
+        assertEquals(expected, transformer.apply(and(CONSTRAINT1, CONSTRAINT2)).orElseThrow());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends IFormula> getClauses(Reference cnf) {
+        return (List<? extends IFormula>) cnf.getExpression().getChildren();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.transform;
+
+import static de.featjar.formula.structure.Expressions.False;
+import static de.featjar.formula.structure.Expressions.True;
+import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.biImplies;
+import static de.featjar.formula.structure.Expressions.forAll;
+import static de.featjar.formula.structure.Expressions.implies;
+import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.not;
+import static de.featjar.formula.structure.Expressions.or;
+import static de.featjar.formula.structure.Expressions.reference;
+import static de.featjar.formula.structure.Expressions.variable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.Trees;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.computation.NNFTransformer;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.FormulaNormalForm;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.term.value.Variable;
+import de.featjar.formula.visitor.AndOrSimplifier;
+import de.featjar.formula.visitor.ConnectiveSimplifier;
+import de.featjar.formula.visitor.DeMorganApplier;
+import de.featjar.formula.visitor.TrueFalseRemover;
+import de.featjar.formula.visitor.TrueFalseSimplifier;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link NNFTransformer} with the sequence of visitors it replaces.
+ */
+class NNFTransformerTest {
+
+    private static final int NUMBER_OF_VARIABLES = 5;
+
+    private static final List<String> NAMES =
+            IntStream.rangeClosed(1, NUMBER_OF_VARIABLES).mapToObj(i -> "x" + i).collect(Collectors.toList());
+
+    @BeforeAll
+    public static void init() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void deinit() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void sameAsVisitors() {
+        assertSameAsVisitors(and(literal("a")));
+        assertSameAsVisitors(and(literal("a"), True));
+        assertSameAsVisitors(implies(literal("a"), False));
+        assertSameAsVisitors(not(or(literal("a"), literal("b"))));
+        assertSameAsVisitors(and(not(or(literal("a"), literal("b"))), literal("c")));
+        assertSameAsVisitors(and(True, and(True, and(True), or(False), or(True, False)), literal("x")));
+        assertSameAsVisitors(or(and(), literal("x")));
+        assertSameAsVisitors(biImplies(literal("a"), literal("b")));
+        assertSameAsVisitors(not(biImplies(literal("a"), not(literal("b")))));
+        assertSameAsVisitors(not(implies(and(literal("a"), literal("b")), or(literal("c"), not(literal("d"))))));
+        assertSameAsVisitors(reference(and(
+                literal("Root"),
+                implies(literal("A"), literal("Root")),
+                implies(literal("B"), literal("Root")),
+                and(literal("A"), literal("B")))));
+    }
+
+    @Test
+    public void randomFormulas() {
+        Random random = new Random(1);
+        VariableMap variableMap = new VariableMap(NAMES);
+        List<BooleanAssignment> assignments =
+                FormulaCreator.streamAllAssignments(NUMBER_OF_VARIABLES).collect(Collectors.toList());
+        int comparedWithVisitors = 0;
+        for (int i = 0; i < 500; i++) {
+            IFormula formula = reference(createFormula(random, 4));
+            if (formula.getVariables().isEmpty()) {
+                continue;
+            }
+            IFormula original = (IFormula) formula.cloneTree();
+            Variable variable = formula.getVariables().get(0);
+
+            IFormula nnf = new NNFTransformer(variable).apply(formula).orElseThrow();
+            assertEquals(original, formula, "input was modified");
+            assertTrue(nnf.isStrictNormalForm(FormulaNormalForm.NNF), nnf::print);
+
+            Result<IFormula> visitorNNF = applyVisitors(formula, variable);
+            for (BooleanAssignment assignment : assignments) {
+                Object expected = formula.evaluate(assignment, variableMap).orElse(null);
+                assertEquals(expected, nnf.evaluate(assignment, variableMap).orElse(null), formula::print);
+                if (visitorNNF.isPresent()) {
+                    assertEquals(
+                            expected,
+                            visitorNNF.get().evaluate(assignment, variableMap).orElse(null),
+                            formula::print);
+                }
+            }
+            if (visitorNNF.isPresent()) {
+                assertTrue(countNodes(nnf) <= countNodes(visitorNNF.get()), formula::print);
+                comparedWithVisitors++;
+            }
+        }
+        assertTrue(comparedWithVisitors > 0);
+    }
+
+    @Test
+    public void unsupportedFormulas() {
+        Variable variable = variable("a");
+        assertTrue(new NNFTransformer(variable)
+                .apply(implies(literal("a"), forAll(variable("x"), True)))
+                .isEmpty());
+        assertTrue(new NNFTransformer(variable)
+                .apply(and(False, forAll(variable("x"), True)))
+                .isEmpty());
+        assertTrue(new NNFTransformer(variable)
+                .apply(not(and(literal("a"), reference(literal("b")))))
+                .isEmpty());
+    }
+
+    private static void assertSameAsVisitors(IFormula formula) {
+        Variable variable = formula.getVariables().get(0);
+        IFormula expected = applyVisitors(formula, variable).orElseThrow();
+        IFormula nnf = new NNFTransformer(variable).apply(formula).orElseThrow();
+        assertEquals(expected, nnf, Expressions.print(expected) + "!=\n" + Expressions.print(nnf));
+    }
+
+    private static Result<IFormula> applyVisitors(IFormula formula, Variable variable) {
+        try {
+            return Reference.mutateClone(formula, reference -> Trees.traverse(reference, new ConnectiveSimplifier())
+                    .flatMap(_void -> Trees.traverse(reference, new DeMorganApplier()))
+                    .flatMap(_void -> Trees.traverse(reference, new TrueFalseSimplifier()))
+                    .flatMap(_void -> Trees.traverse(reference, new TrueFalseRemover(variable)))
+                    .flatMap(_void -> Trees.traverse(reference, new AndOrSimplifier())));
+        } catch (ClassCastException e) {
+            // DeMorganApplier cannot negate true and false
+            return Result.empty();
+        }
+    }
+
+    private static long countNodes(IFormula formula) {
+        return Trees.preOrderStream((IExpression) formula).count();
+    }
+
+    private static IFormula createFormula(Random random, int depth) {
+        if (depth == 0 || random.nextInt(5) == 0) {
+            switch (random.nextInt(10)) {
+                case 0:
+                    return True;
+                case 1:
+                    return False;
+                default:
+                    return literal(random.nextBoolean(), NAMES.get(random.nextInt(NUMBER_OF_VARIABLES)));
+            }
+        }
+        IFormula[] children = new IFormula[random.nextInt(4) + 1];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = createFormula(random, depth - 1);
+        }
+        switch (random.nextInt(9)) {
+            case 0:
+                return not(children[0]);
+            case 1:
+                return implies(children[0], createFormula(random, depth - 1));
+            case 2:
+                return biImplies(children[0], createFormula(random, depth - 1));
+            case 3:
+                return Expressions.atLeast(random.nextInt(children.length + 1), children);
+            case 4:
+                return Expressions.atMost(random.nextInt(children.length + 1), children);
+            case 5:
+                return Expressions.choose(random.nextInt(children.length + 1), children);
+            case 6:
+                int minimum = random.nextInt(children.length + 1);
+                return Expressions.between(minimum, minimum + random.nextInt(2), children);
+            case 7:
+                return and(children);
+            default:
+                return or(children);
+        }
+    }
+}
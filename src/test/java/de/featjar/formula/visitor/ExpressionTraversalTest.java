@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import static de.featjar.formula.structure.Expressions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.base.tree.Trees;
+import de.featjar.formula.assignment.Assignment;
+import de.featjar.formula.structure.FormulaNormalForm;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Reference;
+import org.junit.jupiter.api.Test;
+
+class ExpressionTraversalTest {
+    private static final int DEPTH = 200_000;
+
+    @Test
+    void deepNegationChain() {
+        IFormula formula = literal("a");
+        for (int i = 0; i < DEPTH; i++) {
+            formula = not(formula);
+        }
+        assertFalse(formula.isNNF());
+        assertFalse(formula.isCNF());
+        assertEquals(Boolean.TRUE, formula.evaluate(new Assignment("a", true)).orElseThrow());
+        assertEquals(Boolean.FALSE, formula.evaluate(new Assignment("a", false)).orElseThrow());
+
+        Reference reference = reference(formula);
+        assertTrue(ExpressionTraversal.traverse(reference, new DeMorganApplier())
+                .getProblems()
+                .isEmpty());
+        assertEquals(literal("a"), reference.getExpression());
+    }
+
+    @Test
+    void deepImplicationChain() {
+        IFormula formula = literal("x" + DEPTH);
+        for (int i = DEPTH - 1; i >= 0; i--) {
+            formula = implies(literal("x" + i), formula);
+        }
+        Object[] values = new Object[2 * (DEPTH + 1)];
+        for (int i = 0; i <= DEPTH; i++) {
+            values[2 * i] = "x" + i;
+            values[2 * i + 1] = i == DEPTH;
+        }
+        assertEquals(Boolean.TRUE, formula.evaluate(new Assignment(values)).orElseThrow());
+
+        Reference reference = reference(formula);
+        assertTrue(ExpressionTraversal.traverse(reference, new ConnectiveSimplifier())
+                .getProblems()
+                .isEmpty());
+        assertTrue(reference.getExpression().isNNF());
+        assertFalse(reference.getExpression().isStrictNormalForm(FormulaNormalForm.NNF));
+        assertTrue(ExpressionTraversal.traverse(reference, new TrueFalseSimplifier())
+                .getProblems()
+                .isEmpty());
+    }
+
+    @Test
+    void agreesWithTrees() {
+        IFormula formula =
+                reference(and(implies(literal("a"), literal("b")), biImplies(literal("b"), not(literal("c")))));
+        IFormula expected = (IFormula) formula.cloneTree();
+        IFormula actual = (IFormula) formula.cloneTree();
+        assertTrue(Trees.traverse(expected, new ConnectiveSimplifier()).getProblems().isEmpty());
+        assertTrue(ExpressionTraversal.traverse(actual, new ConnectiveSimplifier())
+                .getProblems()
+                .isEmpty());
+        assertNotEquals(formula, actual);
+        assertEquals(expected, actual);
+    }
+}